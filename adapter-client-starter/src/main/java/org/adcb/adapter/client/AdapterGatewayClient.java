@@ -2,7 +2,10 @@ package org.adcb.adapter.client;
 
 import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.gateway.capture.TrafficCapture;
 import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.adcb.adapter.spi.context.RequestScope;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -27,6 +30,11 @@ import java.util.stream.Collectors;
  *   <li>Simplified method signatures for common use cases</li>
  * </ul>
  *
+ * <p>Calls carry a {@link RequestContext}: pass one built from the ids your service received
+ * ({@link RequestContext#resolve}) to keep one correlation id across services. Otherwise the
+ * context bound to the calling thread is used, then one in the Reactor context of a reactive
+ * call, and failing all of those new ids are generated.
+ *
  * <p>Example usage:
  * <pre>{@code
  * @Autowired
@@ -49,6 +57,7 @@ import java.util.stream.Collectors;
 public class AdapterGatewayClient {
 
     private final EnhancedProtocolAdapterService protocolAdapterService;
+    private final TrafficCapture trafficCapture;
 
     /**
      * Creates a new AdapterGatewayClient.
@@ -57,10 +66,22 @@ public class AdapterGatewayClient {
      * @throws IllegalArgumentException if protocolAdapterService is null
      */
     public AdapterGatewayClient(EnhancedProtocolAdapterService protocolAdapterService) {
+        this(protocolAdapterService, null);
+    }
+
+    /**
+     * Creates a new AdapterGatewayClient that records invocations with {@code trafficCapture}.
+     *
+     * @param protocolAdapterService the underlying adapter service
+     * @param trafficCapture         ingress capture, or null to capture nothing
+     * @throws IllegalArgumentException if protocolAdapterService is null
+     */
+    public AdapterGatewayClient(EnhancedProtocolAdapterService protocolAdapterService, TrafficCapture trafficCapture) {
         if (protocolAdapterService == null) {
             throw new IllegalArgumentException("EnhancedProtocolAdapterService cannot be null");
         }
         this.protocolAdapterService = protocolAdapterService;
+        this.trafficCapture = trafficCapture;
         log.info("AdapterGatewayClient initialized successfully");
     }
 
@@ -74,11 +95,27 @@ public class AdapterGatewayClient {
      * @throws IllegalArgumentException if serviceName is null or empty
      */
     public StandardResponse<?> invoke(String serviceName, Map<String, Object> requestParams) {
+        return invoke(serviceName, requestParams, null);
+    }
+
+    /**
+     * Invokes a configured downstream service synchronously with the caller's correlation/interaction ids.
+     *
+     * @param serviceName    Service name as configured in application.yml
+     * @param requestParams  Request parameters to populate templates
+     * @param requestContext caller's ids, or null to use the bound context or generate one
+     * @return StandardResponse containing success data or error details
+     * @throws ServiceInvocationException if the service call fails
+     * @throws IllegalArgumentException if serviceName is null or empty
+     */
+    public StandardResponse<?> invoke(String serviceName, Map<String, Object> requestParams,
+                                      RequestContext requestContext) {
         validateServiceName(serviceName);
         log.debug("Invoking service '{}' with parameters: {}", serviceName, requestParams);
+        capture(serviceName, requestParams);
 
         try {
-            StandardResponse<?> response = protocolAdapterService.invoke(serviceName, requestParams);
+            StandardResponse<?> response = protocolAdapterService.invoke(serviceName, requestParams, requestContext);
             log.debug("Service '{}' completed with status: {}", serviceName, response.getStatus());
             return response;
         } catch (Exception ex) {
@@ -97,12 +134,32 @@ public class AdapterGatewayClient {
      * @throws IllegalArgumentException if serviceName is null or empty
      */
     public Mono<StandardResponse<?>> invokeAsync(String serviceName, Map<String, Object> requestParams) {
+        return invokeAsync(serviceName, requestParams, null);
+    }
+
+    /**
+     * Invokes a configured downstream service reactively with the caller's correlation/interaction ids.
+     *
+     * @param serviceName    Service name as configured in application.yml
+     * @param requestParams  Request parameters to populate templates
+     * @param requestContext caller's ids, or null to use the context bound now, then the one in the
+     *                       subscriber's Reactor context, then a generated one
+     * @return Mono emitting StandardResponse with success data or error details
+     * @throws IllegalArgumentException if serviceName is null or empty
+     */
+    public Mono<StandardResponse<?>> invokeAsync(String serviceName, Map<String, Object> requestParams,
+                                                 RequestContext requestContext) {
         validateServiceName(serviceName);
         log.debug("Invoking service '{}' asynchronously with parameters: {}", serviceName, requestParams);
+        capture(serviceName, requestParams);
 
-        return Mono.<StandardResponse<?>>fromCallable(() ->
-                        (StandardResponse<?>) protocolAdapterService.invoke(serviceName, requestParams)
-                )
+        // The call runs on another thread, so resolve the context here rather than where it executes
+        RequestContext assembled = requestContext != null ? requestContext : RequestContext.current();
+        return Mono.deferContextual(view -> {
+                    RequestContext context = assembled != null ? assembled : RequestScope.get(view);
+                    return Mono.<StandardResponse<?>>fromCallable(() ->
+                            protocolAdapterService.invoke(serviceName, requestParams, context));
+                })
                 .subscribeOn(Schedulers.boundedElastic())
                 .doOnSuccess(response ->
                         log.debug("Async service '{}' completed with status: {}", serviceName, response.getStatus())
@@ -209,6 +266,12 @@ public class AdapterGatewayClient {
         }
     }
 
+    private void capture(String serviceName, Map<String, Object> requestParams) {
+        if (trafficCapture != null) {
+            trafficCapture.capture(serviceName, requestParams);
+        }
+    }
+
     private void validateServiceName(String serviceName) {
         if (serviceName == null || serviceName.trim().isEmpty()) {
             throw new IllegalArgumentException("Service name cannot be null or empty");
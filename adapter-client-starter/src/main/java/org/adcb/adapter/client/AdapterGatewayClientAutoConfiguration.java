@@ -1,7 +1,9 @@
 package org.adcb.adapter.client;
 
 import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.gateway.capture.TrafficCapture;
 import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -43,15 +45,17 @@ public class AdapterGatewayClientAutoConfiguration {
      *
      * @param protocolAdapterService the adapter service to wrap
      * @param properties configuration properties
+     * @param trafficCapture ingress capture, when the gateway defines one
      * @return configured AdapterGatewayClient instance
      */
     @Bean
     @ConditionalOnMissingBean
     public AdapterGatewayClient adapterGatewayClient(
             EnhancedProtocolAdapterService protocolAdapterService,
-            AdapterClientProperties properties) {
+            AdapterClientProperties properties,
+            ObjectProvider<TrafficCapture> trafficCapture) {
 
         log.info("Auto-configuring AdapterGatewayClient with properties: {}", properties);
-        return new AdapterGatewayClient(protocolAdapterService);
+        return new AdapterGatewayClient(protocolAdapterService, trafficCapture.getIfAvailable());
     }
 }
@@ -17,14 +17,40 @@ dependencies {
 
     implementation("com.fasterxml.jackson.core:jackson-databind:2.15.2")
     implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-xml:2.15.2")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.15.2")
+    implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.15.2")
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird:2.15.2")
 
     testImplementation("org.junit.jupiter:junit-jupiter")
-    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.boot:spring-boot-starter-test:3.5.5")
     testImplementation("com.github.tomakehurst:wiremock-jre8:2.35.0")   // For mocking REST HTTP
-    testImplementation("org.springframework.ws:spring-ws-test")         // For mocking SOAP
+    testImplementation("org.springframework.ws:spring-ws-test:4.0.3")   // For mocking SOAP
 
 }
 
+// JMH benchmarks live in src/jmh/java; run with `gradle :adapter-commons:jmh`
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks."
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args = listOf("-f", "1", "-wi", "3", "-i", "5")
+}
+
 tasks.jar {
     enabled = true
 }
@@ -0,0 +1,106 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ErrorSeverity;
+import org.adcb.adapter.commons.PerformanceMetrics;
+import org.adcb.adapter.commons.ResponseStatus;
+import org.adcb.adapter.commons.StandardResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective bean serialization of {@link StandardResponse} with the shared
+ * {@link AdapterCodecs#json()} mapper, for a success and an error response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StandardResponseSerializationBenchmark {
+
+    private ObjectMapper reflective;
+    private ObjectMapper shared;
+    private StandardResponse<Object> success;
+    private StandardResponse<Object> error;
+
+    @Setup
+    public void setUp() {
+        reflective = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        shared = AdapterCodecs.json();
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("accountNumber", "1234567890");
+        payload.put("balance", 1520.75);
+        payload.put("currency", "AED");
+        payload.put("status", "ACTIVE");
+
+        PerformanceMetrics performance = PerformanceMetrics.builder()
+                .executionTimeMs(42L)
+                .downstreamCallTimeMs(35L)
+                .retryAttempts(0)
+                .build();
+
+        success = StandardResponse.builder()
+                .success(true)
+                .status(ResponseStatus.SUCCESS)
+                .payload(payload)
+                .correlationId("c0ffee00-1234-4567-89ab-0123456789ab")
+                .timestamp(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .serviceName("account-balance")
+                .protocol("REST_JSON")
+                .performance(performance)
+                .build();
+
+        error = StandardResponse.builder()
+                .success(false)
+                .status(ResponseStatus.ERROR)
+                .error(ErrorDetails.builder()
+                        .errorCode("DOWNSTREAM_UNAVAILABLE")
+                        .errorMessage("Downstream service timed out")
+                        .category(ErrorCategory.NETWORK)
+                        .severity(ErrorSeverity.HIGH)
+                        .retryable(true)
+                        .build())
+                .correlationId("c0ffee00-1234-4567-89ab-0123456789ab")
+                .timestamp(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .serviceName("account-balance")
+                .protocol("REST_JSON")
+                .performance(performance)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] reflectiveSuccess() throws Exception {
+        return reflective.writeValueAsBytes(success);
+    }
+
+    @Benchmark
+    public byte[] sharedSuccess() throws Exception {
+        return shared.writeValueAsBytes(success);
+    }
+
+    @Benchmark
+    public byte[] reflectiveError() throws Exception {
+        return reflective.writeValueAsBytes(error);
+    }
+
+    @Benchmark
+    public byte[] sharedError() throws Exception {
+        return shared.writeValueAsBytes(error);
+    }
+}
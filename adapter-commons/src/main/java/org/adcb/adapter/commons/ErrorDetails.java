@@ -8,7 +8,7 @@ import java.util.Map;
  * Detailed error information for failures.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class ErrorDetails {
@@ -14,4 +14,5 @@ public class PerformanceMetrics {
     private String circuitBreakerState;
     private Boolean cacheHit;
     private Long queueWaitTimeMs;
+    private Boolean retryBudgetExhausted;
 }
\ No newline at end of file
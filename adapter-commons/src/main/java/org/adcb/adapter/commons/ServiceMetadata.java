@@ -1,7 +1,9 @@
 package org.adcb.adapter.commons;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import org.adcb.adapter.commons.auth.AuthConfig;
+import org.adcb.adapter.commons.context.ContextPropagationConfig;
 import org.adcb.adapter.commons.resilience.ResilienceConfig;
 
 import java.util.Map;
@@ -17,6 +19,9 @@ public class ServiceMetadata {
     private String endpointUrl;
     private String requestTemplate;
     private String responseTemplate;
+    private String templateEngine; // SUBSTITUTION (default when unset), FREEMARKER, COMPILED
+    private String responseMapping; // optional JsonPath/XPath mapping spec, replaces responseTemplate
+    private String payloadMode; // PARSED (default), RAW = validate and splice downstream JSON as-is, RAW_TRUSTED = splice without validation
     private String httpMethod;
     private Map<String, String> headers;
 
@@ -26,11 +31,16 @@ public class ServiceMetadata {
     // Resilience settings
     private ResilienceConfig resilience;
 
+    // Correlation/interaction id headers sent downstream; none when unset
+    private ContextPropagationConfig contextPropagation;
+
     // SOAP error extraction
     private String errorCodeXPath;
     private String errorDescriptionXPath;
 
-    // Runtime fields
+    // Runtime fields, not part of the configuration (ignored when diffing reloaded config)
+    @EqualsAndHashCode.Exclude
     private Integer lastHttpStatus;
+    @EqualsAndHashCode.Exclude
     private String lastErrorDescription;
 }
@@ -0,0 +1,120 @@
+package org.adcb.adapter.commons.auth;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Masks the credentials in service configurations shown by admin endpoints, and checks
+ * the shared tokens that guard those endpoints.
+ *
+ * <p>Masked fields are the OAuth2 client secret, the API key or bearer token in
+ * {@code tokenSource}, key and trust store passwords, and static headers whose name
+ * suggests a credential. A configuration that was read masked and sent back keeps its
+ * real secrets: {@link #restore} puts them back wherever the {@link #MASK} is still in place.
+ *
+ * @since 1.0
+ */
+public final class ServiceSecrets {
+
+    public static final String MASK = "******";
+
+    private static final String[] SECRET_HEADER_HINTS = {"authorization", "token", "secret", "password", "api-key", "apikey"};
+
+    private ServiceSecrets() {
+    }
+
+    /**
+     * Copy of {@code service} with its secrets replaced by {@link #MASK}; the original is untouched.
+     */
+    public static ServiceMetadata redact(ServiceMetadata service) {
+        if (service == null) {
+            return null;
+        }
+        ServiceMetadata copy = AdapterCodecs.json().convertValue(service, ServiceMetadata.class);
+        AuthConfig auth = copy.getAuth();
+        if (auth != null) {
+            auth.setClientSecret(mask(auth.getClientSecret()));
+            auth.setTokenSource(mask(auth.getTokenSource()));
+            auth.setKeystorePassword(mask(auth.getKeystorePassword()));
+            auth.setTruststorePassword(mask(auth.getTruststorePassword()));
+        }
+        if (copy.getHeaders() != null) {
+            Map<String, String> headers = new LinkedHashMap<>(copy.getHeaders());
+            headers.replaceAll((name, value) -> isSecretHeader(name) ? mask(value) : value);
+            copy.setHeaders(headers);
+        }
+        return copy;
+    }
+
+    /**
+     * Redacts every service of a configuration map, keeping its order.
+     */
+    public static Map<String, ServiceMetadata> redact(Map<String, ServiceMetadata> services) {
+        Map<String, ServiceMetadata> redacted = new LinkedHashMap<>();
+        services.forEach((name, service) -> redacted.put(name, redact(service)));
+        return redacted;
+    }
+
+    /**
+     * Replaces fields of {@code incoming} that still hold {@link #MASK} with the value from
+     * {@code current}, so a masked configuration can be edited and submitted back.
+     */
+    public static void restore(ServiceMetadata incoming, ServiceMetadata current) {
+        if (incoming == null || current == null) {
+            return;
+        }
+        AuthConfig auth = incoming.getAuth();
+        AuthConfig currentAuth = current.getAuth();
+        if (auth != null && currentAuth != null) {
+            restore(auth, currentAuth, AuthConfig::getClientSecret, AuthConfig::setClientSecret);
+            restore(auth, currentAuth, AuthConfig::getTokenSource, AuthConfig::setTokenSource);
+            restore(auth, currentAuth, AuthConfig::getKeystorePassword, AuthConfig::setKeystorePassword);
+            restore(auth, currentAuth, AuthConfig::getTruststorePassword, AuthConfig::setTruststorePassword);
+        }
+        if (incoming.getHeaders() != null && current.getHeaders() != null) {
+            Map<String, String> headers = new LinkedHashMap<>(incoming.getHeaders());
+            headers.replaceAll((name, value) -> MASK.equals(value) && current.getHeaders().containsKey(name)
+                    ? current.getHeaders().get(name) : value);
+            incoming.setHeaders(headers);
+        }
+    }
+
+    /**
+     * Constant-time comparison of a presented token with the configured one; always false
+     * when no token is configured.
+     */
+    public static boolean tokenMatches(String expected, String presented) {
+        if (expected == null || expected.isBlank() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> void restore(T incoming, T current, Function<T, String> getter, BiConsumer<T, String> setter) {
+        if (MASK.equals(getter.apply(incoming))) {
+            setter.accept(incoming, getter.apply(current));
+        }
+    }
+
+    private static String mask(String value) {
+        return value != null ? MASK : null;
+    }
+
+    private static boolean isSecretHeader(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String hint : SECRET_HEADER_HINTS) {
+            if (lower.contains(hint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
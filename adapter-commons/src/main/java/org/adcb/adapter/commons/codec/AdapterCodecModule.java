@@ -0,0 +1,25 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.PerformanceMetrics;
+import org.adcb.adapter.commons.StandardResponse;
+
+/**
+ * Jackson module registering the hand-written serializers for the standard response model.
+ *
+ * <p>Register it on any mapper that writes gateway responses (Spring Boot picks up a
+ * {@code Module} bean automatically) so {@link StandardResponse} is written without
+ * bean introspection.
+ *
+ * @since 1.0
+ */
+public class AdapterCodecModule extends SimpleModule {
+
+    public AdapterCodecModule() {
+        super("AdapterCodecModule");
+        addSerializer(new StandardResponseSerializer());
+        addSerializer(ErrorDetails.class, new ErrorDetailsSerializer());
+        addSerializer(PerformanceMetrics.class, new PerformanceMetricsSerializer());
+    }
+}
@@ -0,0 +1,75 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Shared, pre-tuned Jackson mappers for all adapter modules.
+ *
+ * <p>Mappers are expensive to create and keep per-instance caches of serializers and
+ * deserializers, so every handler, transformer and utility should use these instances
+ * instead of {@code new ObjectMapper()}. All are configured once here and are thread-safe;
+ * callers must not reconfigure them. Configuration:
+ * <ul>
+ *   <li>{@link BlackbirdModule} - generated accessors instead of reflection for bean properties</li>
+ *   <li>{@link JavaTimeModule} with ISO-8601 dates rather than numeric timestamps</li>
+ *   <li>unknown properties are ignored, as downstream payloads evolve independently</li>
+ *   <li>{@link AdapterCodecModule} - streaming serializers for the standard response model</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+public final class AdapterCodecs {
+
+    private static final ObjectMapper JSON = JsonMapper.builder()
+            .addModule(new BlackbirdModule())
+            .addModule(new JavaTimeModule())
+            .addModule(new AdapterCodecModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final XmlMapper XML = XmlMapper.builder()
+            .addModule(new BlackbirdModule())
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final SmileMapper SMILE = SmileMapper.builder()
+            .addModule(new BlackbirdModule())
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private AdapterCodecs() {
+    }
+
+    /**
+     * Shared JSON mapper.
+     */
+    public static ObjectMapper json() {
+        return JSON;
+    }
+
+    /**
+     * Shared XML mapper.
+     */
+    public static XmlMapper xml() {
+        return XML;
+    }
+
+    /**
+     * Shared Smile (binary JSON) mapper, used for compact configuration snapshots.
+     */
+    public static SmileMapper smile() {
+        return SMILE;
+    }
+}
@@ -0,0 +1,66 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.adcb.adapter.commons.ErrorDetails;
+
+import java.io.IOException;
+
+import static org.adcb.adapter.commons.codec.StandardResponseSerializer.writeString;
+
+/**
+ * Streaming serializer for {@link ErrorDetails}; null fields are omitted.
+ */
+public class ErrorDetailsSerializer extends StdSerializer<ErrorDetails> {
+
+    public ErrorDetailsSerializer() {
+        super(ErrorDetails.class);
+    }
+
+    @Override
+    public void serialize(ErrorDetails value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(value, gen, provider);
+    }
+
+    static void write(ErrorDetails value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        writeString(gen, "errorCode", value.getErrorCode());
+        writeString(gen, "errorMessage", value.getErrorMessage());
+        writeString(gen, "errorDescription", value.getErrorDescription());
+        if (value.getCategory() != null) {
+            gen.writeStringField("category", value.getCategory().name());
+        }
+        if (value.getSeverity() != null) {
+            gen.writeStringField("severity", value.getSeverity().name());
+        }
+        writeString(gen, "source", value.getSource());
+        writeString(gen, "technicalMessage", value.getTechnicalMessage());
+        writeString(gen, "exceptionClass", value.getExceptionClass());
+        writeString(gen, "businessRuleViolated", value.getBusinessRuleViolated());
+        if (value.getValidationErrors() != null) {
+            provider.defaultSerializeField("validationErrors", value.getValidationErrors(), gen);
+        }
+        gen.writeBooleanField("retryable", value.isRetryable());
+        if (value.getRetryAfterSeconds() != null) {
+            gen.writeNumberField("retryAfterSeconds", value.getRetryAfterSeconds());
+        }
+        writeString(gen, "downstreamService", value.getDownstreamService());
+        if (value.getHttpStatusCode() != null) {
+            gen.writeNumberField("httpStatusCode", value.getHttpStatusCode());
+        }
+        writeString(gen, "originalErrorCode", value.getOriginalErrorCode());
+        if (value.getAdditionalContext() != null) {
+            provider.defaultSerializeField("additionalContext", value.getAdditionalContext(), gen);
+        }
+        if (value.getResolutionSteps() != null) {
+            gen.writeArrayFieldStart("resolutionSteps");
+            for (String step : value.getResolutionSteps()) {
+                gen.writeString(step);
+            }
+            gen.writeEndArray();
+        }
+        writeString(gen, "supportReferenceId", value.getSupportReferenceId());
+        gen.writeEndObject();
+    }
+}
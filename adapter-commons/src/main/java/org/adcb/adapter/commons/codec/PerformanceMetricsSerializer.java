@@ -0,0 +1,51 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.adcb.adapter.commons.PerformanceMetrics;
+
+import java.io.IOException;
+
+import static org.adcb.adapter.commons.codec.StandardResponseSerializer.writeString;
+
+/**
+ * Streaming serializer for {@link PerformanceMetrics}; null fields are omitted.
+ */
+public class PerformanceMetricsSerializer extends StdSerializer<PerformanceMetrics> {
+
+    public PerformanceMetricsSerializer() {
+        super(PerformanceMetrics.class);
+    }
+
+    @Override
+    public void serialize(PerformanceMetrics value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(value, gen);
+    }
+
+    static void write(PerformanceMetrics value, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(value);
+        writeLong(gen, "executionTimeMs", value.getExecutionTimeMs());
+        writeLong(gen, "downstreamCallTimeMs", value.getDownstreamCallTimeMs());
+        writeLong(gen, "transformationTimeMs", value.getTransformationTimeMs());
+        writeLong(gen, "authenticationTimeMs", value.getAuthenticationTimeMs());
+        if (value.getRetryAttempts() != null) {
+            gen.writeNumberField("retryAttempts", value.getRetryAttempts());
+        }
+        writeString(gen, "circuitBreakerState", value.getCircuitBreakerState());
+        if (value.getCacheHit() != null) {
+            gen.writeBooleanField("cacheHit", value.getCacheHit());
+        }
+        writeLong(gen, "queueWaitTimeMs", value.getQueueWaitTimeMs());
+        if (value.getRetryBudgetExhausted() != null) {
+            gen.writeBooleanField("retryBudgetExhausted", value.getRetryBudgetExhausted());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value != null) {
+            gen.writeNumberField(name, value);
+        }
+    }
+}
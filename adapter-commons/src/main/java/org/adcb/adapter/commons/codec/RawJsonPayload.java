@@ -0,0 +1,93 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * A payload that is already JSON text and is written into the response envelope as-is.
+ *
+ * <p>Used for pass-through services: the downstream body is spliced into the
+ * {@code payload} field of {@code StandardResponse} instead of being parsed into a Map and
+ * serialized again. Instances are created either
+ * <ul>
+ *   <li>{@link #validated(String)} - the text is checked token by token (no tree or Map is
+ *       built), so malformed downstream output can never corrupt the envelope, or</li>
+ *   <li>{@link #trusted(String)} - no check at all, for downstreams known to emit valid JSON.</li>
+ * </ul>
+ *
+ * <p>Serialization works with any Jackson mapper, not only {@link AdapterCodecs}.
+ *
+ * @since 1.0
+ */
+public final class RawJsonPayload extends JsonSerializable.Base {
+
+    private final String json;
+
+    private RawJsonPayload(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Wraps {@code json} after checking that it is exactly one well-formed JSON value.
+     *
+     * @throws IllegalArgumentException if the text is not valid JSON
+     */
+    public static RawJsonPayload validated(String json) {
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException("Raw JSON payload is empty");
+        }
+        try (JsonParser parser = AdapterCodecs.json().getFactory().createParser(json)) {
+            if (parser.nextToken() == null) {
+                throw new IllegalArgumentException("Raw JSON payload is empty");
+            }
+            parser.skipChildren();
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Raw JSON payload has trailing content");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Raw JSON payload is not valid JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Raw JSON payload could not be read", e);
+        }
+        return new RawJsonPayload(json);
+    }
+
+    /**
+     * Wraps {@code json} without any check; the caller guarantees it is valid JSON.
+     */
+    public static RawJsonPayload trusted(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("Raw JSON payload is null");
+        }
+        return new RawJsonPayload(json);
+    }
+
+    /**
+     * The JSON text as received.
+     */
+    public String getJson() {
+        return json;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
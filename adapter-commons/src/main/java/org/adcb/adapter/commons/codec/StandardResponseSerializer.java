@@ -0,0 +1,82 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.adcb.adapter.commons.StandardResponse;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Streaming serializer for {@link StandardResponse}.
+ *
+ * <p>Writes the fields in declaration order and omits nulls, matching the
+ * {@code @JsonInclude(NON_NULL)} bean output, but without per-call property
+ * introspection. The payload, the timestamp and the rarely used nested types are delegated
+ * to the provider, so custom payload serializers and the mapper's date format still apply.
+ */
+public class StandardResponseSerializer extends StdSerializer<StandardResponse<?>> {
+
+    public StandardResponseSerializer() {
+        super(StandardResponse.class, false);
+    }
+
+    @Override
+    public void serialize(StandardResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeBooleanField("success", value.isSuccess());
+        if (value.getStatus() != null) {
+            gen.writeStringField("status", value.getStatus().name());
+        }
+        if (value.getPayload() != null) {
+            gen.writeFieldName("payload");
+            provider.defaultSerializeValue(value.getPayload(), gen);
+        }
+        if (value.getMetadata() != null) {
+            provider.defaultSerializeField("metadata", value.getMetadata(), gen);
+        }
+        if (value.getError() != null) {
+            gen.writeFieldName("error");
+            ErrorDetailsSerializer.write(value.getError(), gen, provider);
+        }
+        writeString(gen, "correlationId", value.getCorrelationId());
+        if (value.getTimestamp() != null) {
+            provider.defaultSerializeField("timestamp", value.getTimestamp(), gen);
+        }
+        writeString(gen, "serviceName", value.getServiceName());
+        writeString(gen, "protocol", value.getProtocol());
+        if (value.getPagination() != null) {
+            provider.defaultSerializeField("pagination", value.getPagination(), gen);
+        }
+        if (value.getPerformance() != null) {
+            gen.writeFieldName("performance");
+            PerformanceMetricsSerializer.write(value.getPerformance(), gen);
+        }
+        writeStringMap(gen, "warnings", value.getWarnings());
+        writeStringMap(gen, "links", value.getLinks());
+        gen.writeEndObject();
+    }
+
+    static void writeString(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeStringMap(JsonGenerator gen, String name, Map<String, String> map) throws IOException {
+        if (map == null) {
+            return;
+        }
+        gen.writeObjectFieldStart(name);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            gen.writeFieldName(entry.getKey());
+            if (entry.getValue() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(entry.getValue());
+            }
+        }
+        gen.writeEndObject();
+    }
+}
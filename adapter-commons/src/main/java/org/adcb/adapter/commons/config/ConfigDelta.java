@@ -0,0 +1,35 @@
+package org.adcb.adapter.commons.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.adcb.adapter.commons.ServiceMetadata;
+
+/**
+ * One service-level change published by the config server.
+ *
+ * <p>Every change bumps the server revision by exactly one, so a subscriber that sees a
+ * {@code version} other than its current revision + 1 has missed a change and must
+ * fetch a fresh {@link ConfigSnapshot}.
+ *
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigDelta {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        UPSERT, DELETE
+    }
+
+    private long version;
+    private Type type;
+    private String serviceName;
+    private ServiceMetadata service; // null for DELETE
+}
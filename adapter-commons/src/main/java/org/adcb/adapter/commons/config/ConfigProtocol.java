@@ -0,0 +1,30 @@
+package org.adcb.adapter.commons.config;
+
+/**
+ * Wire contract between the config server and gateways.
+ *
+ * <ul>
+ *   <li>{@code GET /config/snapshot} - current {@link ConfigSnapshot}, Smile-encoded
+ *       ({@value #SMILE_MEDIA_TYPE}) or JSON</li>
+ *   <li>{@code GET /config/deltas?since=N} - server-sent events: {@value #DELTA_EVENT} events
+ *       carry a JSON {@link ConfigDelta} (event id = revision); a {@value #RESYNC_EVENT} event
+ *       means revision N is no longer in the server's change log and a snapshot must be fetched</li>
+ * </ul>
+ *
+ * <p>Snapshots carry service credentials, and the service endpoints can be changed through the
+ * API, so every {@code /config/} request must present the shared token in {@value #TOKEN_HEADER}.
+ *
+ * @since 1.0
+ */
+public final class ConfigProtocol {
+
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    public static final String SNAPSHOT_PATH = "/config/snapshot";
+    public static final String DELTAS_PATH = "/config/deltas";
+    public static final String DELTA_EVENT = "delta";
+    public static final String RESYNC_EVENT = "resync";
+    public static final String TOKEN_HEADER = "X-Config-Token";
+
+    private ConfigProtocol() {
+    }
+}
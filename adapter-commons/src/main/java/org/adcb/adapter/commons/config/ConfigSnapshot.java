@@ -0,0 +1,52 @@
+package org.adcb.adapter.commons.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.adcb.adapter.commons.ServiceMetadata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Complete set of service configurations at one config server revision.
+ *
+ * <p>{@code version} is the server-wide revision the snapshot reflects; {@code serviceVersions}
+ * records the revision at which each service last changed. Gateways fetch a snapshot on
+ * startup (Smile-encoded, see {@link ConfigProtocol}), keep a copy on local disk and then
+ * follow {@link ConfigDelta}s from {@code version + 1} onwards.
+ *
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigSnapshot {
+
+    private long version;
+    private Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+    private Map<String, Long> serviceVersions = new LinkedHashMap<>();
+
+    /**
+     * Empty snapshot at revision 0.
+     */
+    public static ConfigSnapshot empty() {
+        return new ConfigSnapshot();
+    }
+
+    /**
+     * Returns a new snapshot with {@code delta} applied; this snapshot is not modified.
+     */
+    public ConfigSnapshot apply(ConfigDelta delta) {
+        Map<String, ServiceMetadata> nextServices = new LinkedHashMap<>(services);
+        Map<String, Long> nextVersions = new LinkedHashMap<>(serviceVersions);
+        if (delta.getType() == ConfigDelta.Type.DELETE) {
+            nextServices.remove(delta.getServiceName());
+            nextVersions.remove(delta.getServiceName());
+        } else {
+            nextServices.put(delta.getServiceName(), delta.getService());
+            nextVersions.put(delta.getServiceName(), delta.getVersion());
+        }
+        return new ConfigSnapshot(delta.getVersion(), nextServices, nextVersions);
+    }
+}
@@ -0,0 +1,16 @@
+package org.adcb.adapter.commons.context;
+
+import lombok.Data;
+
+/**
+ * Per-service forwarding of the {@link RequestContext} to the downstream service
+ * ({@code contextPropagation} in the service configuration). Services without this block
+ * receive no context headers.
+ */
+@Data
+public class ContextPropagationConfig {
+    private boolean enabled = true;
+    private String correlationIdHeader = RequestContext.CORRELATION_ID_HEADER;
+    /** Blank to forward only the correlation id. */
+    private String interactionIdHeader = RequestContext.INTERACTION_ID_HEADER;
+}
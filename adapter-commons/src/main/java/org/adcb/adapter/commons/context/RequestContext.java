@@ -0,0 +1,122 @@
+package org.adcb.adapter.commons.context;
+
+/**
+ * Identity of one request as it travels through the adapter: the caller's correlation id and
+ * interaction id.
+ *
+ * <p>Callers may supply both ids ({@value #CORRELATION_ID_HEADER} and
+ * {@value #INTERACTION_ID_HEADER} on the gateway endpoint, or explicitly through the client);
+ * missing or malformed ids are replaced by a {@link RequestIds generated} one. A request
+ * without an interaction id is its own interaction, so the interaction id then equals the
+ * correlation id.
+ *
+ * <p>The context of the invocation running on a thread is available through {@link #current()};
+ * the gateway binds it while an invocation runs, together with the logging MDC, and carries it
+ * across Reactor operators in the subscriber context.
+ *
+ * @since 1.0
+ */
+public final class RequestContext {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String INTERACTION_ID_HEADER = "X-Interaction-Id";
+
+    /** MDC and template variable names. */
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String INTERACTION_ID = "interactionId";
+
+    /** Longest caller-supplied id that is accepted. */
+    public static final int MAX_ID_LENGTH = 128;
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    private final String correlationId;
+    private final String interactionId;
+
+    private RequestContext(String correlationId, String interactionId) {
+        this.correlationId = correlationId;
+        this.interactionId = interactionId;
+    }
+
+    /**
+     * Builds the context for a request from caller-supplied ids, generating what is missing.
+     * Ids longer than {@link #MAX_ID_LENGTH} or containing anything but visible ASCII are
+     * treated as missing, so they can be logged and forwarded as headers safely.
+     */
+    public static RequestContext resolve(String callerCorrelationId, String callerInteractionId) {
+        String correlationId = isValidId(callerCorrelationId) ? callerCorrelationId : RequestIds.next();
+        String interactionId = isValidId(callerInteractionId) ? callerInteractionId : correlationId;
+        return new RequestContext(correlationId, interactionId);
+    }
+
+    /**
+     * A context with freshly generated ids.
+     */
+    public static RequestContext generate() {
+        String id = RequestIds.next();
+        return new RequestContext(id, id);
+    }
+
+    /**
+     * The context bound to this thread, or {@code null} outside an invocation.
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * The bound context's correlation id, or a newly generated one outside an invocation.
+     */
+    public static String currentCorrelationId() {
+        RequestContext context = CURRENT.get();
+        return context != null ? context.correlationId : RequestIds.next();
+    }
+
+    /**
+     * Binds this context to the current thread.
+     *
+     * @return the previously bound context, to pass to {@link #restore}
+     */
+    public RequestContext bind() {
+        RequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the binding returned by {@link #bind()}.
+     */
+    public static void restore(RequestContext previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public String getInteractionId() {
+        return interactionId;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestContext[correlationId=" + correlationId + ", interactionId=" + interactionId + "]";
+    }
+
+    private static boolean isValidId(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c <= ' ' || c > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
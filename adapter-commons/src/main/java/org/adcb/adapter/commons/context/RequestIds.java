@@ -0,0 +1,46 @@
+package org.adcb.adapter.commons.context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates correlation ids without touching {@code SecureRandom}.
+ *
+ * <p>An id is {@code adcb-} followed by 16 hex digits: a 24-bit instance prefix chosen at
+ * startup and a 40-bit sequence that starts at a random offset. Ids are unique within the
+ * process until the sequence wraps (2<sup>40</sup> ids) and distinct across instances with
+ * high probability. Generating one is a lock-free increment and a single String allocation.
+ *
+ * <p>Ids only need to be unique, not unpredictable; never use them as secrets or tokens.
+ */
+public final class RequestIds {
+
+    public static final String PREFIX = "adcb-";
+
+    private static final int SEQUENCE_BITS = 40;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long INSTANCE = (ThreadLocalRandom.current().nextLong() & 0xFFFFFFL) << SEQUENCE_BITS;
+    private static final AtomicLong SEQUENCE = new AtomicLong(ThreadLocalRandom.current().nextLong() & SEQUENCE_MASK);
+
+    private RequestIds() {
+    }
+
+    /**
+     * Returns a new id, e.g. {@code adcb-3fa9c10000012d4e}.
+     */
+    public static String next() {
+        long value = INSTANCE | (SEQUENCE.getAndIncrement() & SEQUENCE_MASK);
+        byte[] chars = new byte[PREFIX.length() + 16];
+        for (int i = 0; i < PREFIX.length(); i++) {
+            chars[i] = (byte) PREFIX.charAt(i);
+        }
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+}
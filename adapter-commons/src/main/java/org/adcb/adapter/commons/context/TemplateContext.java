@@ -0,0 +1,256 @@
+package org.adcb.adapter.commons.context;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-only, layered view used as the data model for request/response templates.
+ *
+ * <p>Instead of copying the caller's request map at every stage, one context is built per
+ * invocation and shared by the gateway, the protocol handlers and the template engines.
+ * Lookups check three layers in order:
+ * <ul>
+ *   <li>system layer - per-invocation values (correlation id, service name, timestamps)
+ *       that take precedence over caller data</li>
+ *   <li>data layer - the caller's request map (or a parsed response), never copied</li>
+ *   <li>fallback layer - values used only when the data does not supply them,
+ *       such as a generated correlation id</li>
+ * </ul>
+ *
+ * <p>System values may be lazy: a {@link Supplier} is evaluated on first read and the
+ * result kept for the rest of the invocation, so e.g. {@code currentTimeISO} is formatted
+ * at most once and only if a template uses it.
+ *
+ * <p>A context is confined to one invocation, but that invocation's retry attempts may read it
+ * from different threads: lazy values are computed at most once and safely published. System
+ * values are set while the invocation is prepared, before the context is handed to a handler.
+ *
+ * <p>Iterating the context (e.g. serializing it) flattens all layers once and caches the result,
+ * which forces every lazy value. Code that sends a request body downstream should use
+ * {@link #dataOf(Object)} instead: the caller's data plus only the request fields the gateway
+ * has always added to bodies ({@code correlationId}, {@code timestamp}, {@code serviceName},
+ * {@code systemVersion}), never the template variables.
+ *
+ * @since 1.0
+ */
+public final class TemplateContext extends AbstractMap<String, Object> {
+
+    public static final String SYSTEM_NAME = "ADCB_ADAPTER";
+    public static final String VERSION = "1.0";
+
+    private static final String[] STANDARD_KEYS = {"currentTimestamp", "currentTimeISO", "systemName", "version"};
+    private static final String[] BODY_KEYS = {RequestContext.CORRELATION_ID, "timestamp", "serviceName", "systemVersion"};
+
+    private final Map<String, Object> system;
+    private final Map<String, Object> data;
+    private final Map<String, Object> fallback;
+    private Set<Map.Entry<String, Object>> entrySet;
+    private volatile Map<String, Object> merged;
+    private volatile Map<String, Object> body;
+
+    private TemplateContext(Map<String, Object> system, Map<String, Object> data, Map<String, Object> fallback) {
+        this.system = system;
+        this.data = data;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Wraps {@code data} with the standard template system variables
+     * ({@code currentTimestamp}, {@code currentTimeISO}, {@code systemName}, {@code version})
+     * and a lazy {@code correlationId} fallback: the {@link RequestContext#current() current request's}
+     * id, or a generated one outside an invocation. An existing context is returned as-is.
+     */
+    public static TemplateContext of(Map<String, Object> data) {
+        if (data instanceof TemplateContext context) {
+            return context;
+        }
+        TemplateContext context = new TemplateContext(new HashMap<>(8), data != null ? data : Map.of(), new HashMap<>(2));
+        context.system.put("currentTimestamp", new Lazy(System::currentTimeMillis));
+        context.system.put("currentTimeISO", new Lazy(() -> LocalDateTime.now().toString()));
+        context.system.put("systemName", SYSTEM_NAME);
+        context.system.put("version", VERSION);
+        context.fallback.put(RequestContext.CORRELATION_ID, new Lazy(RequestContext::currentCorrelationId));
+        return context;
+    }
+
+    /**
+     * Adds or replaces a system value; system values shadow the data layer.
+     */
+    public TemplateContext withSystem(String key, Object value) {
+        system.put(key, value);
+        merged = null;
+        body = null;
+        return this;
+    }
+
+    /**
+     * Adds a system value computed on first read.
+     */
+    public TemplateContext withLazySystem(String key, Supplier<?> supplier) {
+        return withSystem(key, new Lazy(supplier));
+    }
+
+    /**
+     * Returns a context over a different data layer, e.g. a parsed downstream response.
+     * Only the standard template variables are carried over (sharing already computed
+     * lazy values); the invocation's correlation id becomes a fallback so response
+     * fields are never shadowed.
+     */
+    public TemplateContext over(Map<String, Object> otherData) {
+        Map<String, Object> standard = new HashMap<>(8);
+        for (String key : STANDARD_KEYS) {
+            Object value = system.get(key);
+            if (value != null) {
+                standard.put(key, value);
+            }
+        }
+        Map<String, Object> fallbackValues = new HashMap<>(fallback);
+        Object correlationId = system.get("correlationId");
+        if (correlationId != null) {
+            fallbackValues.put("correlationId", correlationId);
+        }
+        return new TemplateContext(standard, otherData != null ? otherData : Map.of(), fallbackValues);
+    }
+
+    /**
+     * The caller's data layer, without system values.
+     */
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    /**
+     * The request body behind {@code value} if it is a context, otherwise {@code value} itself.
+     * Use this when a request is serialized or iterated: the body is the caller's data with the
+     * request fields set in the system layer ({@code correlationId}, {@code timestamp},
+     * {@code serviceName}, {@code systemVersion}) shadowing it, as bodies have always carried
+     * them. Template variables stay out and their lazy values are not forced. Without any
+     * request fields set, the caller's map is returned as-is.
+     */
+    public static Object dataOf(Object value) {
+        return value instanceof TemplateContext context ? context.body() : value;
+    }
+
+    private Map<String, Object> body() {
+        Map<String, Object> view = body;
+        if (view == null) {
+            Map<String, Object> flat = null;
+            for (String key : BODY_KEYS) {
+                Object value = system.get(key);
+                if (value != null) {
+                    if (flat == null) {
+                        flat = new LinkedHashMap<>(data.size() + BODY_KEYS.length);
+                        flat.putAll(data);
+                    }
+                    flat.put(key, value instanceof Lazy lazy ? lazy.get() : value);
+                }
+            }
+            view = flat != null ? Collections.unmodifiableMap(flat) : data;
+            body = view;
+        }
+        return view;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = system.get(key);
+        if (value == null) {
+            value = data.get(key);
+        }
+        if (value == null) {
+            value = fallback.get(key);
+            if (value instanceof Lazy lazy) {
+                // Resolve once so repeated reads see the same fallback value
+                return lazy.get();
+            }
+            return value;
+        }
+        return value instanceof Lazy lazy ? lazy.get() : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return system.containsKey(key) || data.containsKey(key) || fallback.containsKey(key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        // Answerable without flattening the layers
+        return system.isEmpty() && data.isEmpty() && fallback.isEmpty();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Flattened, unmodifiable view of all layers; built on first iteration and reused until
+     * a system value changes.
+     */
+    private Map<String, Object> merged() {
+        Map<String, Object> view = merged;
+        if (view == null) {
+            Map<String, Object> flat = new LinkedHashMap<>(fallback.size() + data.size() + system.size());
+            fallback.forEach((k, v) -> flat.put(k, v instanceof Lazy lazy ? lazy.get() : v));
+            flat.putAll(data);
+            system.forEach((k, v) -> flat.put(k, v instanceof Lazy lazy ? lazy.get() : v));
+            view = Collections.unmodifiableMap(flat);
+            merged = view;
+        }
+        return view;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return merged().entrySet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return merged().size();
+        }
+    }
+
+    /**
+     * Value computed on first access and then cached. Attempts on different threads may race
+     * to the first read; the supplier still runs once and every reader sees its result.
+     */
+    private static final class Lazy {
+        private static final Object UNSET = new Object();
+
+        private final Supplier<?> supplier;
+        private volatile Object value = UNSET;
+
+        Lazy(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        Object get() {
+            Object result = value;
+            if (result == UNSET) {
+                synchronized (this) {
+                    result = value;
+                    if (result == UNSET) {
+                        result = supplier.get();
+                        value = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared names and the recording check for the adapter's Flight Recorder events.
+ *
+ * <p>All events are registered under {@value #NAME_PREFIX} and grouped in the
+ * {@value #CATEGORY} category, so one setting enables them together:
+ * <pre>
+ *   -XX:StartFlightRecording:filename=adapter.jfr,settings=profile
+ *   jfr print --categories "ADCB Adapter" adapter.jfr
+ * </pre>
+ *
+ * <p>Emission sites call the events' static {@code start()}/{@code emit(...)} helpers,
+ * which check {@link #isRecording()} before creating an event; while no recording is running
+ * the instrumentation costs one volatile read and allocates nothing.
+ *
+ * @since 1.0
+ */
+public final class AdapterEvents {
+
+    public static final String NAME_PREFIX = "org.adcb.adapter.";
+    public static final String CATEGORY = "ADCB Adapter";
+
+    private static final Set<Long> RUNNING = ConcurrentHashMap.newKeySet();
+    private static volatile boolean recording;
+
+    static {
+        // Registering a listener does not start Flight Recorder
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording r) {
+                if (r.getState() == RecordingState.RUNNING) {
+                    RUNNING.add(r.getId());
+                } else {
+                    RUNNING.remove(r.getId());
+                }
+                recording = !RUNNING.isEmpty();
+            }
+        });
+        // Recordings started before this class loaded, e.g. with -XX:StartFlightRecording
+        if (FlightRecorder.isInitialized()) {
+            for (Recording r : FlightRecorder.getFlightRecorder().getRecordings()) {
+                if (r.getState() == RecordingState.RUNNING) {
+                    RUNNING.add(r.getId());
+                }
+            }
+            recording = !RUNNING.isEmpty();
+        }
+    }
+
+    private AdapterEvents() {
+    }
+
+    /**
+     * Whether a Flight Recorder recording is running in this JVM; events are only created then.
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Outcome label for a failure: the exception's simple name, or {@code SUCCESS}.
+     */
+    static String outcome(Throwable failure) {
+        return failure == null ? "SUCCESS" : failure.getClass().getSimpleName();
+    }
+}
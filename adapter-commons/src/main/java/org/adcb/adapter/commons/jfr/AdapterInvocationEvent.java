@@ -0,0 +1,82 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One gateway invocation of a configured service, from admission to the standardized
+ * response, including every retry attempt.
+ */
+@Name(AdapterEvents.NAME_PREFIX + "AdapterInvocation")
+@Label("Adapter Invocation")
+@Category({AdapterEvents.CATEGORY, "Invocation"})
+@Description("Service invocation through the adapter gateway")
+@StackTrace(false)
+public class AdapterInvocationEvent extends Event {
+
+    @Label("Service")
+    String serviceName;
+
+    @Label("Protocol")
+    String protocol;
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Retries")
+    int retries;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Outcome")
+    @Description("SUCCESS, or the error code of the returned response")
+    String outcome;
+
+    /**
+     * Begins an invocation event, or returns {@code null} when nothing is recording.
+     */
+    public static AdapterInvocationEvent start() {
+        if (!AdapterEvents.isRecording()) {
+            return null;
+        }
+        AdapterInvocationEvent event = new AdapterInvocationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it passes the recording's threshold.
+     */
+    public void finish(String serviceName, String protocol, String correlationId, long requestBytes,
+                       long responseBytes, int retries, boolean success, String errorCode) {
+        end();
+        if (shouldCommit()) {
+            this.serviceName = serviceName;
+            this.protocol = protocol;
+            this.correlationId = correlationId;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.retries = retries;
+            this.success = success;
+            this.outcome = success ? "SUCCESS" : errorCode;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * State transition of a service's circuit breaker.
+ */
+@Name(AdapterEvents.NAME_PREFIX + "CircuitStateChange")
+@Label("Circuit State Change")
+@Category({AdapterEvents.CATEGORY, "Resilience"})
+@Description("Circuit breaker transitioned between states")
+@StackTrace(false)
+public class CircuitStateChangeEvent extends Event {
+
+    @Label("Service")
+    String serviceName;
+
+    @Label("From State")
+    String fromState;
+
+    @Label("To State")
+    String toState;
+
+    /**
+     * Records a transition when something is recording.
+     */
+    public static void emit(String serviceName, String fromState, String toState) {
+        if (!AdapterEvents.isRecording()) {
+            return;
+        }
+        CircuitStateChangeEvent event = new CircuitStateChangeEvent();
+        if (event.shouldCommit()) {
+            event.serviceName = serviceName;
+            event.fromState = fromState;
+            event.toState = toState;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP exchange between a protocol handler and the downstream service.
+ */
+@Name(AdapterEvents.NAME_PREFIX + "DownstreamCall")
+@Label("Downstream Call")
+@Category({AdapterEvents.CATEGORY, "Downstream"})
+@Description("HTTP call from a protocol handler to the downstream service")
+@StackTrace(false)
+public class DownstreamCallEvent extends Event {
+
+    @Label("Service")
+    String serviceName;
+
+    @Label("Protocol")
+    String protocol;
+
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("HTTP Status")
+    @Description("Status of an error response, 0 when the call succeeded or never got a response")
+    int httpStatus;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Begins a call event, or returns {@code null} when nothing is recording.
+     */
+    public static DownstreamCallEvent start() {
+        if (!AdapterEvents.isRecording()) {
+            return null;
+        }
+        DownstreamCallEvent event = new DownstreamCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it passes the recording's threshold.
+     *
+     * @param failure the exception the call ended with, or {@code null}
+     */
+    public void finish(String serviceName, String protocol, String httpMethod, long requestBytes,
+                       long responseBytes, int httpStatus, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.serviceName = serviceName;
+            this.protocol = protocol;
+            this.httpMethod = httpMethod;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.httpStatus = httpStatus;
+            this.outcome = AdapterEvents.outcome(failure);
+            commit();
+        }
+    }
+}
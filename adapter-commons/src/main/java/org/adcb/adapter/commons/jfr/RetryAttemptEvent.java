@@ -0,0 +1,51 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Retry decision after a failed attempt: either a retry is scheduled or the reason it
+ * was not.
+ */
+@Name(AdapterEvents.NAME_PREFIX + "RetryAttempt")
+@Label("Retry Attempt")
+@Category({AdapterEvents.CATEGORY, "Resilience"})
+@Description("Retry decision taken after a retryable failure")
+@StackTrace(false)
+public class RetryAttemptEvent extends Event {
+
+    @Label("Service")
+    String serviceName;
+
+    @Label("Failed Attempt")
+    int attempt;
+
+    @Label("Retry-After")
+    @Description("Seconds requested by the downstream Retry-After header, -1 when absent")
+    int retryAfterSeconds;
+
+    @Label("Outcome")
+    @Description("RETRY, MAX_ATTEMPTS, RETRY_AFTER_TOO_LONG or BUDGET_EXHAUSTED")
+    String outcome;
+
+    /**
+     * Records a retry decision when something is recording.
+     */
+    public static void emit(String serviceName, int attempt, Integer retryAfterSeconds, String outcome) {
+        if (!AdapterEvents.isRecording()) {
+            return;
+        }
+        RetryAttemptEvent event = new RetryAttemptEvent();
+        if (event.shouldCommit()) {
+            event.serviceName = serviceName;
+            event.attempt = attempt;
+            event.retryAfterSeconds = retryAfterSeconds != null ? retryAfterSeconds : -1;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Rendering of one request or response template.
+ */
+@Name(AdapterEvents.NAME_PREFIX + "TemplateRender")
+@Label("Template Render")
+@Category({AdapterEvents.CATEGORY, "Template"})
+@Description("Request or response template rendered by a template engine")
+@StackTrace(false)
+public class TemplateRenderEvent extends Event {
+
+    @Label("Template")
+    String templateName;
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Output Size")
+    @Description("Characters rendered by Freemarker or UTF-8 bytes by compiled templates; -1 when streamed")
+    @DataAmount
+    long outputSize;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Begins a render event, or returns {@code null} when nothing is recording.
+     */
+    public static TemplateRenderEvent start() {
+        if (!AdapterEvents.isRecording()) {
+            return null;
+        }
+        TemplateRenderEvent event = new TemplateRenderEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it passes the recording's threshold.
+     *
+     * @param failure the exception that aborted rendering, or {@code null}
+     */
+    public void finish(String templateName, String engine, long outputSize, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.templateName = templateName;
+            this.engine = engine;
+            this.outputSize = outputSize;
+            this.outcome = AdapterEvents.outcome(failure);
+            commit();
+        }
+    }
+}
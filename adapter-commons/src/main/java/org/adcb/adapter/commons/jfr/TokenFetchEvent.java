@@ -0,0 +1,64 @@
+package org.adcb.adapter.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Fetch of an OAuth2 access token from a token endpoint; cached tokens are not recorded.
+ */
+@Name(AdapterEvents.NAME_PREFIX + "TokenFetch")
+@Label("Token Fetch")
+@Category({AdapterEvents.CATEGORY, "Authentication"})
+@Description("OAuth2 client-credentials token fetched from the token endpoint")
+@StackTrace(false)
+public class TokenFetchEvent extends Event {
+
+    @Label("Token Endpoint")
+    String tokenEndpoint;
+
+    @Label("Client Id")
+    String clientId;
+
+    @Label("Expires In")
+    @Timespan(Timespan.SECONDS)
+    long expiresIn;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Begins a fetch event, or returns {@code null} when nothing is recording.
+     */
+    public static TokenFetchEvent start() {
+        if (!AdapterEvents.isRecording()) {
+            return null;
+        }
+        TokenFetchEvent event = new TokenFetchEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it passes the recording's threshold.
+     *
+     * @param failure the exception the fetch ended with, or {@code null}
+     */
+    public void finish(String tokenEndpoint, String clientId, long expiresIn, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.tokenEndpoint = tokenEndpoint;
+            this.clientId = clientId;
+            this.expiresIn = expiresIn;
+            this.outcome = AdapterEvents.outcome(failure);
+            commit();
+        }
+    }
+}
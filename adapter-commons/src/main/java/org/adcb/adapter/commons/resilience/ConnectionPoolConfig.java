@@ -0,0 +1,13 @@
+package org.adcb.adapter.commons.resilience;
+
+import lombok.Data;
+
+/**
+ * Per-service HTTP connection pool settings.
+ */
+@Data
+public class ConnectionPoolConfig {
+    private int maxConnections = 50;
+    private long pendingAcquireTimeoutMs = 5000;
+    private long maxIdleTimeMs = 30000;
+}
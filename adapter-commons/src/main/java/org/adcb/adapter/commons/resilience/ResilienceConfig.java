@@ -4,7 +4,7 @@ import lombok.Data;
 import java.util.List;
 
 /**
- * Resilience configuration: circuit breaker, retry, timeout, rate limiter.
+ * Resilience configuration: circuit breaker, retry, timeout, rate limiter, connection pool.
  */
 @Data
 public class ResilienceConfig {
@@ -12,4 +12,5 @@ public class ResilienceConfig {
     private RetryConfig retry;
     private TimeoutConfig timeouts;
     private RateLimiterConfig rateLimiter;
+    private ConnectionPoolConfig connectionPool;
 }
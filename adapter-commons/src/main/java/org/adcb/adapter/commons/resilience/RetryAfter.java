@@ -0,0 +1,54 @@
+package org.adcb.adapter.commons.resilience;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the HTTP {@code Retry-After} header and decides which HTTP errors it makes retryable.
+ */
+public final class RetryAfter {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private RetryAfter() {
+    }
+
+    /**
+     * Whether a downstream HTTP error is worth retrying: any 5xx, and a 429 that says when to
+     * come back. Whether that wait is acceptable, and whether the retry budget allows it, is
+     * left to the retry policy.
+     *
+     * @param retryAfterSeconds the parsed {@code Retry-After}, or {@code null}
+     */
+    public static boolean isRetryable(int status, Integer retryAfterSeconds) {
+        return status >= 500 && status < 600 || status == TOO_MANY_REQUESTS && retryAfterSeconds != null;
+    }
+
+    /**
+     * Converts a {@code Retry-After} value, either delay-seconds or an HTTP date, to seconds
+     * from now.
+     *
+     * @return seconds to wait (0 for dates in the past), or {@code null} if the header is
+     * missing or malformed
+     */
+    public static Integer parseSeconds(String headerValue) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return null;
+        }
+        String value = headerValue.trim();
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delay-seconds, try HTTP-date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            long seconds = Duration.between(ZonedDateTime.now(at.getZone()), at).toSeconds();
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, seconds));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -13,4 +13,10 @@ public class RetryConfig {
     private double multiplier;
     private long maxInterval;
     private List<String> retryableExceptions;
+
+    // Retry budget: retries within the last 10s may not exceed
+    // budgetRatio * successful calls + budgetMinRetriesPerSecond * 10
+    private boolean budgetEnabled = true;
+    private double budgetRatio = 0.1;
+    private int budgetMinRetriesPerSecond = 10;
 }
\ No newline at end of file
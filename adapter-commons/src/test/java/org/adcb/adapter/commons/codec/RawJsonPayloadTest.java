@@ -0,0 +1,48 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.adcb.adapter.commons.StandardResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawJsonPayloadTest {
+
+    @Test
+    void testValidated_acceptsExactlyOneJsonValue() {
+        for (String json : List.of("{\"a\": [1, {\"b\": null}]}", "[1,2]", "\"text\"", "42", " true \n")) {
+            assertEquals(json, RawJsonPayload.validated(json).getJson());
+        }
+    }
+
+    @Test
+    void testValidated_rejectsMalformedEmptyAndTrailingContent() {
+        for (String json : List.of("{\"a\": 1", "{\"a\": 1}}", "{} {}", "[1] x", "1 2", "", "   ")) {
+            assertThrows(IllegalArgumentException.class, () -> RawJsonPayload.validated(json), json);
+        }
+        assertThrows(IllegalArgumentException.class, () -> RawJsonPayload.validated(null));
+    }
+
+    @Test
+    void testTrusted_skipsValidationButRejectsNull() {
+        assertEquals("{not json", RawJsonPayload.trusted("{not json").getJson());
+        assertThrows(IllegalArgumentException.class, () -> RawJsonPayload.trusted(null));
+    }
+
+    @Test
+    void testSerialize_splicesPayloadVerbatimIntoEnvelope() throws Exception {
+        String downstream = "{\"id\": 7,  \"tags\": [\"a\",\"b\"], \"amount\": 1.50}";
+        StandardResponse<RawJsonPayload> response = StandardResponse.<RawJsonPayload>builder()
+                .success(true).payload(RawJsonPayload.validated(downstream)).correlationId("corr-1").build();
+
+        String codec = AdapterCodecs.json().writeValueAsString(response);
+        String bean = new ObjectMapper().writeValueAsString(response);
+
+        // The downstream text is written as-is, not re-serialized (spacing and 1.50 survive)
+        assertEquals("{\"success\":true,\"payload\":" + downstream + ",\"correlationId\":\"corr-1\"}", codec);
+        assertEquals(codec, bean);
+        assertEquals(AdapterCodecs.json().readTree(downstream), AdapterCodecs.json().readTree(codec).get("payload"));
+    }
+}
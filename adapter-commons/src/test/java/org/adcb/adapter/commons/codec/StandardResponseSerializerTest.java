@@ -0,0 +1,99 @@
+package org.adcb.adapter.commons.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ErrorSeverity;
+import org.adcb.adapter.commons.PaginationInfo;
+import org.adcb.adapter.commons.PerformanceMetrics;
+import org.adcb.adapter.commons.ResponseMetadata;
+import org.adcb.adapter.commons.ResponseStatus;
+import org.adcb.adapter.commons.StandardResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandardResponseSerializerTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+
+    /**
+     * Bean serialization, with nulls skipped in the error and performance sections as the
+     * streaming serializers do: the output those serializers must reproduce.
+     */
+    private static ObjectMapper beanMapper(boolean datesAsTimestamps) {
+        JsonInclude.Value nonNull = JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL);
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, datesAsTimestamps)
+                .withConfigOverride(ErrorDetails.class, o -> o.setInclude(nonNull))
+                .withConfigOverride(PerformanceMetrics.class, o -> o.setInclude(nonNull))
+                .build();
+    }
+
+    private static ObjectMapper codecMapper(boolean datesAsTimestamps) {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new AdapterCodecModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, datesAsTimestamps)
+                .build();
+    }
+
+    private static StandardResponse<Object> fullResponse() {
+        return StandardResponse.builder()
+                .success(false)
+                .status(ResponseStatus.BUSINESS_ERROR)
+                .payload(Map.of("accounts", List.of(Map.of("id", 1, "balance", 12.5))))
+                .metadata(ResponseMetadata.builder().version("v1").requestId("req-1").processedAt(TIMESTAMP).build())
+                .error(ErrorDetails.builder()
+                        .errorCode("E1").errorMessage("denied").category(ErrorCategory.BUSINESS)
+                        .severity(ErrorSeverity.HIGH).retryable(true).retryAfterSeconds(5).httpStatusCode(409)
+                        .validationErrors(Map.of("amount", "negative"))
+                        .additionalContext(Map.of("limit", 100))
+                        .resolutionSteps(new String[]{"check", "retry"})
+                        .build())
+                .correlationId("corr-1")
+                .timestamp(TIMESTAMP)
+                .serviceName("accounts")
+                .protocol("REST_JSON")
+                .pagination(PaginationInfo.builder().page(1).size(20).hasNext(true).build())
+                .performance(PerformanceMetrics.builder().executionTimeMs(12L).retryAttempts(1).cacheHit(false).build())
+                .warnings(Map.of("stale", "cached copy"))
+                .links(Map.of("self", "/accounts"))
+                .build();
+    }
+
+    @Test
+    void testSerialize_matchesBeanSerializerForPopulatedAndSparseResponses() throws Exception {
+        List<StandardResponse<?>> responses = List.of(
+                fullResponse(),
+                StandardResponse.success(Map.of("ok", true)),
+                StandardResponse.error(ErrorDetails.builder().errorCode("E2").build()),
+                new StandardResponse<>());
+
+        for (StandardResponse<?> response : responses) {
+            assertEquals(beanMapper(false).valueToTree(response), AdapterCodecs.json().valueToTree(response),
+                    response.toString());
+        }
+    }
+
+    @Test
+    void testSerialize_timestampFollowsMapperDateFormat() throws Exception {
+        StandardResponse<Object> response = fullResponse();
+
+        String iso = codecMapper(false).writeValueAsString(response);
+        assertTrue(iso.contains("\"timestamp\":\"2025-03-14T09:26:53.589\""), iso);
+
+        // Numeric dates configured on the mapper apply to the streamed envelope as well
+        assertEquals(beanMapper(true).readTree(beanMapper(true).writeValueAsString(response)),
+                codecMapper(true).readTree(codecMapper(true).writeValueAsString(response)));
+    }
+}
@@ -0,0 +1,88 @@
+package org.adcb.adapter.commons.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateContextTest {
+
+    @Test
+    void testGet_systemShadowsDataShadowsFallback() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("serviceName", "from-caller");
+        data.put("correlationId", "caller-corr");
+        data.put("amount", 10);
+        TemplateContext context = TemplateContext.of(data).withSystem("serviceName", "payments");
+
+        assertEquals("payments", context.get("serviceName"));
+        assertEquals("caller-corr", context.get("correlationId"));
+        assertEquals(10, context.get("amount"));
+        assertEquals("ADCB_ADAPTER", context.get("systemName"));
+        assertSame(data, context.getData());
+        // Bodies carry the request fields of the system layer, but not the template variables
+        assertEquals(Map.of("serviceName", "payments", "correlationId", "caller-corr", "amount", 10),
+                TemplateContext.dataOf(context));
+        assertSame(data, TemplateContext.dataOf(TemplateContext.of(data)));
+        assertEquals("payments", context.entrySet().stream()
+                .filter(e -> e.getKey().equals("serviceName")).findFirst().orElseThrow().getValue());
+
+        // A response context keeps the invocation's correlation id as a fallback only
+        TemplateContext response = context.withSystem("correlationId", "inv-corr")
+                .over(Map.of("correlationId", "from-response"));
+        assertEquals("from-response", response.get("correlationId"));
+        assertEquals("inv-corr", context.over(Map.of()).get("correlationId"));
+    }
+
+    @Test
+    void testLazySystemValue_computedOnceOnFirstRead() {
+        AtomicInteger calls = new AtomicInteger();
+        TemplateContext context = TemplateContext.of(Map.of("a", 1))
+                .withLazySystem("expensive", () -> "v" + calls.incrementAndGet());
+
+        assertEquals(1, context.get("a"));
+        assertEquals(0, calls.get());
+        assertEquals("v1", context.get("expensive"));
+        assertEquals("v1", context.get("expensive"));
+        assertEquals(context.size(), context.entrySet().size());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testLazySystemValue_sharedSafelyAcrossThreads() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        TemplateContext context = TemplateContext.of(Map.of()).withLazySystem("ts", () -> {
+            calls.incrementAndGet();
+            return new StringBuilder("value").toString();
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return context.get("ts");
+                }));
+            }
+            start.countDown();
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+}
@@ -1,5 +1,7 @@
 plugins {
-    `java-library`
+    id("org.springframework.boot") version "3.5.5"
+    id("io.spring.dependency-management") version "1.1.0"
+    java
 }
 
 group = "org.adcb.adapter"
@@ -13,3 +15,21 @@ java {
     sourceCompatibility = JavaVersion.VERSION_21
     targetCompatibility = JavaVersion.VERSION_21
 }
+
+dependencies {
+    implementation(project(":adapter-commons"))
+
+    // WebFlux for the snapshot API and the server-sent delta stream
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
@@ -1,10 +0,0 @@
-package com.company.adapter.config;
-
-/**
- * Entry point placeholder for the Adapter Config Service.
- */
-public class ConfigServiceApplication {
-    public static void main(String[] args) {
-        System.out.println("Config Service starting...");
-    }
-}
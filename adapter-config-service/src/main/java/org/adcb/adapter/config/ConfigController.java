@@ -0,0 +1,101 @@
+package org.adcb.adapter.config;
+
+import lombok.RequiredArgsConstructor;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.config.ConfigDelta;
+import org.adcb.adapter.commons.config.ConfigProtocol;
+import org.adcb.adapter.commons.config.ConfigSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP API of the config service; see {@link ConfigProtocol} for the gateway-facing contract.
+ *
+ * <p>Mutations persist the store and therefore run on the bounded elastic scheduler.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ConfigController {
+
+    private final ConfigStore store;
+
+    @Value("${adapter.config-server.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @GetMapping(value = ConfigProtocol.SNAPSHOT_PATH, produces = ConfigProtocol.SMILE_MEDIA_TYPE)
+    public ResponseEntity<byte[]> snapshotSmile(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        ConfigStore.EncodedSnapshot encoded = store.encodedSnapshot();
+        String etag = "\"" + encoded.version() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.parseMediaType(ConfigProtocol.SMILE_MEDIA_TYPE))
+                .body(encoded.bytes());
+    }
+
+    @GetMapping(value = ConfigProtocol.SNAPSHOT_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ConfigSnapshot snapshotJson() {
+        return store.snapshot();
+    }
+
+    @GetMapping(value = ConfigProtocol.DELTAS_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> deltas(@RequestParam(defaultValue = "0") long since) {
+        ConfigStore.DeltaStream stream = store.subscribe(since);
+        Flux<ServerSentEvent<Object>> events = stream.deltas().map(delta -> ServerSentEvent.<Object>builder(delta)
+                .id(Long.toString(delta.getVersion()))
+                .event(ConfigProtocol.DELTA_EVENT)
+                .build());
+        if (stream.resyncRequired()) {
+            events = events.startWith(ServerSentEvent.<Object>builder(Map.of("version", stream.version()))
+                    .event(ConfigProtocol.RESYNC_EVENT)
+                    .build());
+        }
+        // Comment lines keep idle streams open through proxies and load balancers
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.builder().comment("keepalive").build());
+        return Flux.merge(events, heartbeats);
+    }
+
+    @GetMapping("/config/services/{serviceName}")
+    public ResponseEntity<ServiceMetadata> getService(@PathVariable String serviceName) {
+        ServiceMetadata service = store.get(serviceName);
+        return service != null ? ResponseEntity.ok(service) : ResponseEntity.notFound().build();
+    }
+
+    @PutMapping("/config/services/{serviceName}")
+    public Mono<ResponseEntity<ConfigDelta>> putService(@PathVariable String serviceName,
+                                                        @RequestBody ServiceMetadata service) {
+        return Mono.fromCallable(() -> {
+                    ConfigDelta delta = store.upsert(serviceName, service);
+                    return delta != null ? ResponseEntity.ok(delta) : ResponseEntity.noContent().<ConfigDelta>build();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @DeleteMapping("/config/services/{serviceName}")
+    public Mono<ResponseEntity<ConfigDelta>> deleteService(@PathVariable String serviceName) {
+        return Mono.fromCallable(() -> {
+                    ConfigDelta delta = store.delete(serviceName);
+                    return delta != null ? ResponseEntity.ok(delta) : ResponseEntity.notFound().<ConfigDelta>build();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PutMapping("/config/services")
+    public Mono<List<ConfigDelta>> replaceServices(@RequestBody Map<String, ServiceMetadata> services) {
+        return Mono.fromCallable(() -> store.replaceAll(services))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
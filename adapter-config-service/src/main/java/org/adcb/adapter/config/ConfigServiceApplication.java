@@ -0,0 +1,14 @@
+package org.adcb.adapter.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Adapter Config Service: versioned store of service configurations for the gateways.
+ */
+@SpringBootApplication
+public class ConfigServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ConfigServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,238 @@
+package org.adcb.adapter.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.config.ConfigDelta;
+import org.adcb.adapter.commons.config.ConfigSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Versioned store of service configurations.
+ *
+ * <p>Every effective change (an upsert that actually differs, or a delete) bumps the
+ * store revision by one and is:
+ * <ul>
+ *   <li>applied to an immutable {@link ConfigSnapshot}, whose Smile encoding is built once
+ *       per revision and then served to every gateway as-is</li>
+ *   <li>appended to a bounded change log, so a reconnecting gateway only receives what it
+ *       missed; older gaps are answered with a resync</li>
+ *   <li>pushed to every subscribed delta stream</li>
+ *   <li>persisted as a Smile snapshot when {@code adapter.config-server.storage-file} is set</li>
+ * </ul>
+ *
+ * <p>Mutations and subscriptions are serialized on the store, so a subscriber registered at
+ * revision N receives exactly the deltas after N, in order, with no gap between its backlog
+ * and the live stream.
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class ConfigStore {
+
+    private final Path storageFile;
+    private final int changeLogSize;
+    private final Deque<ConfigDelta> changeLog = new ArrayDeque<>();
+    private final Set<Sinks.Many<ConfigDelta>> subscribers = new CopyOnWriteArraySet<>();
+
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.empty();
+    private volatile EncodedSnapshot encoded;
+
+    public ConfigStore(@Value("${adapter.config-server.storage-file:}") String storageFile,
+                       @Value("${adapter.config-server.change-log-size:1000}") int changeLogSize) {
+        this.storageFile = storageFile == null || storageFile.isBlank() ? null : Path.of(storageFile);
+        this.changeLogSize = changeLogSize;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (storageFile == null || !Files.exists(storageFile)) {
+            return;
+        }
+        try {
+            snapshot = AdapterCodecs.smile().readValue(storageFile.toFile(), ConfigSnapshot.class);
+            log.info("Loaded {} service configurations at revision {} from {}",
+                    snapshot.getServices().size(), snapshot.getVersion(), storageFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load config store from " + storageFile, e);
+        }
+    }
+
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Smile encoding of the current snapshot, built once per revision.
+     */
+    public EncodedSnapshot encodedSnapshot() {
+        ConfigSnapshot current = snapshot;
+        EncodedSnapshot cached = encoded;
+        if (cached == null || cached.version() != current.getVersion()) {
+            cached = encode(current);
+            encoded = cached;
+        }
+        return cached;
+    }
+
+    public ServiceMetadata get(String serviceName) {
+        return snapshot.getServices().get(serviceName);
+    }
+
+    /**
+     * Stores a service configuration.
+     *
+     * @return the published delta, or {@code null} if the configuration is unchanged
+     */
+    public synchronized ConfigDelta upsert(String serviceName, ServiceMetadata service) {
+        Objects.requireNonNull(service, "service");
+        if (service.getServiceName() == null) {
+            service.setServiceName(serviceName);
+        }
+        if (service.equals(snapshot.getServices().get(serviceName))) {
+            return null;
+        }
+        return publish(ConfigDelta.builder()
+                .version(snapshot.getVersion() + 1)
+                .type(ConfigDelta.Type.UPSERT)
+                .serviceName(serviceName)
+                .service(service)
+                .build());
+    }
+
+    /**
+     * Removes a service configuration.
+     *
+     * @return the published delta, or {@code null} if the service did not exist
+     */
+    public synchronized ConfigDelta delete(String serviceName) {
+        if (!snapshot.getServices().containsKey(serviceName)) {
+            return null;
+        }
+        return publish(ConfigDelta.builder()
+                .version(snapshot.getVersion() + 1)
+                .type(ConfigDelta.Type.DELETE)
+                .serviceName(serviceName)
+                .build());
+    }
+
+    /**
+     * Replaces the whole configuration; only services that actually differ produce deltas.
+     */
+    public synchronized List<ConfigDelta> replaceAll(Map<String, ServiceMetadata> services) {
+        List<ConfigDelta> deltas = new ArrayList<>();
+        for (String existing : List.copyOf(snapshot.getServices().keySet())) {
+            if (!services.containsKey(existing)) {
+                deltas.add(delete(existing));
+            }
+        }
+        services.forEach((name, service) -> {
+            ConfigDelta delta = upsert(name, service);
+            if (delta != null) {
+                deltas.add(delta);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Subscribes to changes after revision {@code since}.
+     *
+     * <p>If the change log still covers {@code since}, the missed deltas are replayed first;
+     * otherwise {@link DeltaStream#resyncRequired()} is set and only live deltas follow.
+     */
+    public synchronized DeltaStream subscribe(long since) {
+        long oldestLogged = changeLog.isEmpty() ? snapshot.getVersion() + 1 : changeLog.peekFirst().getVersion();
+        boolean resync = since > snapshot.getVersion() || since + 1 < oldestLogged;
+
+        Sinks.Many<ConfigDelta> sink = Sinks.many().unicast().onBackpressureBuffer();
+        if (!resync) {
+            for (ConfigDelta delta : changeLog) {
+                if (delta.getVersion() > since) {
+                    sink.tryEmitNext(delta);
+                }
+            }
+        }
+        subscribers.add(sink);
+        Flux<ConfigDelta> deltas = sink.asFlux().doFinally(signal -> subscribers.remove(sink));
+        return new DeltaStream(resync, snapshot.getVersion(), deltas);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private ConfigDelta publish(ConfigDelta delta) {
+        ConfigSnapshot next = snapshot.apply(delta);
+        persist(next); // before publishing, so a failed write leaves the store unchanged
+        snapshot = next;
+        changeLog.addLast(delta);
+        while (changeLog.size() > changeLogSize) {
+            changeLog.removeFirst();
+        }
+        for (Sinks.Many<ConfigDelta> sink : subscribers) {
+            if (sink.tryEmitNext(delta).isFailure()) {
+                subscribers.remove(sink);
+            }
+        }
+        log.info("Config revision {}: {} {}", delta.getVersion(), delta.getType(), delta.getServiceName());
+        return delta;
+    }
+
+    private void persist(ConfigSnapshot next) {
+        if (storageFile == null) {
+            return;
+        }
+        try {
+            EncodedSnapshot bytes = encode(next);
+            Path parent = storageFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, storageFile.getFileName().toString(), ".tmp");
+            Files.write(tmp, bytes.bytes());
+            Files.move(tmp, storageFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            encoded = bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot persist config store to " + storageFile, e);
+        }
+    }
+
+    private static EncodedSnapshot encode(ConfigSnapshot snapshot) {
+        try {
+            return new EncodedSnapshot(snapshot.getVersion(), AdapterCodecs.smile().writeValueAsBytes(snapshot));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode config snapshot", e);
+        }
+    }
+
+    /**
+     * Smile bytes of the snapshot at {@code version}.
+     */
+    public record EncodedSnapshot(long version, byte[] bytes) {
+    }
+
+    /**
+     * Deltas for one subscriber; when {@code resyncRequired} the subscriber must reload
+     * the snapshot (revision {@code version} at subscription time) before applying deltas.
+     */
+    public record DeltaStream(boolean resyncRequired, long version, Flux<ConfigDelta> deltas) {
+    }
+}
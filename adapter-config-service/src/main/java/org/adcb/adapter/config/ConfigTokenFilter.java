@@ -0,0 +1,43 @@
+package org.adcb.adapter.config;
+
+import org.adcb.adapter.commons.auth.ServiceSecrets;
+import org.adcb.adapter.commons.config.ConfigProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects {@code /config/} requests that do not carry {@code adapter.config-server.token}
+ * in the {@value ConfigProtocol#TOKEN_HEADER} header.
+ *
+ * <p>Snapshots contain service credentials and the mutation endpoints can repoint any
+ * service, so the service refuses to start without a token.
+ */
+@Component
+public class ConfigTokenFilter implements WebFilter {
+
+    private static final String PROTECTED_PREFIX = "/config/";
+
+    private final String token;
+
+    public ConfigTokenFilter(@Value("${adapter.config-server.token:}") String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("adapter.config-server.token must be set");
+        }
+        this.token = token;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().value().startsWith(PROTECTED_PREFIX)
+                && !ServiceSecrets.tokenMatches(token, exchange.getRequest().getHeaders().getFirst(ConfigProtocol.TOKEN_HEADER))) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+}
@@ -1,5 +0,0 @@
-package org.adcb.config;
-
-public class Placeholder {
-    // Placeholder class to make the module compilable.
-}
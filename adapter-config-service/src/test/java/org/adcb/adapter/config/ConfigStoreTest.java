@@ -0,0 +1,74 @@
+package org.adcb.adapter.config;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.config.ConfigDelta;
+import org.adcb.adapter.commons.config.ConfigSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigStoreTest {
+
+    @Test
+    void testUpsert_bumpsRevisionOnlyOnChange() throws Exception {
+        ConfigStore store = new ConfigStore("", 10);
+
+        ConfigDelta first = store.upsert("accounts", service("http://a/v1"));
+        assertEquals(1, first.getVersion());
+        assertNull(store.upsert("accounts", service("http://a/v1")));
+        assertEquals(2, store.upsert("accounts", service("http://a/v2")).getVersion());
+        assertEquals(3, store.delete("accounts").getVersion());
+        assertNull(store.delete("accounts"));
+
+        ConfigSnapshot decoded = AdapterCodecs.smile().readValue(store.encodedSnapshot().bytes(), ConfigSnapshot.class);
+        assertEquals(3, decoded.getVersion());
+        assertTrue(decoded.getServices().isEmpty());
+    }
+
+    @Test
+    void testSubscribe_replaysMissedDeltasThenLive() {
+        ConfigStore store = new ConfigStore("", 10);
+        store.upsert("accounts", service("http://a/v1"));
+        store.upsert("cards", service("http://c/v1"));
+
+        ConfigStore.DeltaStream stream = store.subscribe(1);
+        assertFalse(stream.resyncRequired());
+        StepVerifier.create(stream.deltas())
+                .assertNext(delta -> assertEquals("cards", delta.getServiceName()))
+                .then(() -> store.delete("accounts"))
+                .assertNext(delta -> assertEquals(ConfigDelta.Type.DELETE, delta.getType()))
+                .thenCancel()
+                .verify();
+        assertEquals(0, store.subscriberCount());
+    }
+
+    @Test
+    void testSubscribe_requiresResyncWhenLogNoLongerCoversRevision(@TempDir Path dir) {
+        ConfigStore store = new ConfigStore(dir.resolve("store.smile").toString(), 2);
+        for (int i = 1; i <= 5; i++) {
+            store.upsert("accounts", service("http://a/v" + i));
+        }
+        assertTrue(store.subscribe(1).resyncRequired());
+        assertFalse(store.subscribe(3).resyncRequired());
+
+        ConfigStore reloaded = new ConfigStore(dir.resolve("store.smile").toString(), 2);
+        reloaded.load();
+        assertEquals(5, reloaded.snapshot().getVersion());
+        assertEquals("http://a/v5", reloaded.get("accounts").getEndpointUrl());
+    }
+
+    private static ServiceMetadata service(String endpointUrl) {
+        ServiceMetadata service = new ServiceMetadata();
+        service.setProtocol("REST_JSON");
+        service.setEndpointUrl(endpointUrl);
+        return service;
+    }
+}
@@ -0,0 +1,56 @@
+package org.adcb.adapter.config;
+
+import org.adcb.adapter.commons.config.ConfigProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigTokenFilterTest {
+
+    private final ConfigTokenFilter filter = new ConfigTokenFilter("s3cret");
+
+    @Test
+    void testFilter_rejectsMissingOrWrongToken() {
+        for (String token : new String[]{null, "wrong"}) {
+            MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(ConfigProtocol.SNAPSHOT_PATH);
+            if (token != null) {
+                request.header(ConfigProtocol.TOKEN_HEADER, token);
+            }
+            MockServerWebExchange exchange = MockServerWebExchange.from(request);
+            AtomicBoolean passed = new AtomicBoolean();
+
+            filter.filter(exchange, ex -> Mono.fromRunnable(() -> passed.set(true))).block();
+
+            assertFalse(passed.get());
+            assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        }
+    }
+
+    @Test
+    void testFilter_passesValidTokenAndUnprotectedPaths() {
+        AtomicBoolean passed = new AtomicBoolean();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.put("/config/services/accounts")
+                        .header(ConfigProtocol.TOKEN_HEADER, "s3cret")),
+                ex -> Mono.fromRunnable(() -> passed.set(true))).block();
+        assertTrue(passed.get());
+
+        passed.set(false);
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health")),
+                ex -> Mono.fromRunnable(() -> passed.set(true))).block();
+        assertTrue(passed.get());
+    }
+
+    @Test
+    void testConstructor_requiresToken() {
+        assertThrows(IllegalStateException.class, () -> new ConfigTokenFilter(" "));
+    }
+}
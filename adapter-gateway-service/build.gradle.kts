@@ -37,10 +37,20 @@ dependencies {
     // Jackson databind + YAML for JSON and YAML processing
     api("com.fasterxml.jackson.core:jackson-databind")
     api("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird")
 
     // https://mvnrepository.com/artifact/io.github.resilience4j/resilience4j-circuitbreaker
     api("io.github.resilience4j:resilience4j-circuitbreaker:2.3.0")
     api("io.github.resilience4j:resilience4j-retry:2.1.0")
+    api("io.github.resilience4j:resilience4j-ratelimiter:2.3.0")
+    api("io.github.resilience4j:resilience4j-reactor:2.3.0")
+
+    // Per-service latency histograms
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+
+    // Invocation tracing; exporters are contributed as SpanExporter beans
+    implementation("io.opentelemetry:opentelemetry-sdk")
 
 
     // Spring Boot Configuration Processor for @ConfigurationProperties
@@ -55,7 +65,9 @@ dependencies {
     testImplementation(project(":adapter-transform-core"))
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("com.fasterxml.jackson.dataformat:jackson-dataformat-xml") // SOAP stub in allocation tests
     testImplementation("com.github.tomakehurst:wiremock-jre8-standalone:2.35.0")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
     testImplementation("javax.servlet:javax.servlet-api:4.0.1")
 }
 
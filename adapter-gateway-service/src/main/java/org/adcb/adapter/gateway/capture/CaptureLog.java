@@ -0,0 +1,164 @@
+package org.adcb.adapter.gateway.capture;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Binary format of the ingress capture log.
+ *
+ * <p>A capture is a directory of files named {@code capture-<startMillis>-<sequence>.bin},
+ * so name order is capture order. Each file starts with an {@code int} magic and an
+ * {@code int} format version, followed by records of
+ * <pre>
+ *   int length         - bytes following this field
+ *   long arrivalMicros
+ *   UTF serviceName    - modified UTF-8 as written by DataOutput.writeUTF
+ *   byte[] request     - Smile-encoded request map (rest of the record)
+ * </pre>
+ * A record cut short by a crash is ignored when reading.
+ */
+@Slf4j
+public final class CaptureLog {
+
+    static final int MAGIC = 0x41444350; // "ADCP"
+    static final int FORMAT_VERSION = 1;
+    static final String PREFIX = "capture-";
+    static final String SUFFIX = ".bin";
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+
+    private CaptureLog() {
+    }
+
+    /**
+     * Capture files in {@code directory}, oldest first.
+     */
+    public static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    /**
+     * Streams every record of the capture in {@code directory} to {@code consumer}, in capture order.
+     */
+    public static void forEach(Path directory, Consumer<CaptureRecord> consumer) throws IOException {
+        for (Path file : files(directory)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                    log.warn("Skipping {}: not a capture file", file);
+                    continue;
+                }
+                while (true) {
+                    byte[] record;
+                    try {
+                        record = new byte[in.readInt()];
+                        in.readFully(record);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    consumer.accept(decode(record));
+                }
+            }
+        }
+    }
+
+    private static CaptureRecord decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        long arrivalMicros = in.readLong();
+        String serviceName = in.readUTF();
+        Map<String, Object> request = AdapterCodecs.smile().readValue(in, MAP);
+        return new CaptureRecord(arrivalMicros, serviceName, request);
+    }
+
+    /**
+     * Appends records to the current capture file, starting a new file once it reaches
+     * {@code maxFileBytes} and deleting the oldest files beyond {@code maxFiles}.
+     * Not thread-safe; owned by the capture's writer thread.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path directory;
+        private final long maxFileBytes;
+        private final int maxFiles;
+        private final long startMillis = System.currentTimeMillis();
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(512);
+        private final DataOutputStream recordOut = new DataOutputStream(record);
+        private DataOutputStream out;
+        private long written;
+        private int sequence;
+
+        Writer(Path directory, long maxFileBytes, int maxFiles) throws IOException {
+            this.directory = directory;
+            this.maxFileBytes = maxFileBytes;
+            this.maxFiles = Math.max(1, maxFiles);
+            Files.createDirectories(directory);
+        }
+
+        void append(long arrivalMicros, String serviceName, Map<String, Object> request) throws IOException {
+            record.reset();
+            recordOut.writeLong(arrivalMicros);
+            recordOut.writeUTF(serviceName);
+            AdapterCodecs.smile().writeValue(record, request);
+
+            if (out == null || written >= maxFileBytes) {
+                rotate();
+            }
+            out.writeInt(record.size());
+            record.writeTo(out);
+            written += 4 + record.size();
+        }
+
+        void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        private void rotate() throws IOException {
+            close();
+            Path file = directory.resolve(String.format("%s%d-%05d%s", PREFIX, startMillis, sequence++, SUFFIX));
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            written = 8;
+
+            List<Path> files = files(directory);
+            for (int i = 0; i < files.size() - maxFiles; i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.adcb.adapter.gateway.capture;
+
+import java.util.Map;
+
+/**
+ * One captured ingress invocation.
+ *
+ * @param arrivalMicros arrival time in microseconds since the epoch; monotonic within one capture
+ */
+public record CaptureRecord(long arrivalMicros, String serviceName, Map<String, Object> request) {
+}
@@ -0,0 +1,155 @@
+package org.adcb.adapter.gateway.capture;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.gateway.config.CaptureConfig;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captures sampled ingress invocations (service name, request map, arrival time) into a
+ * rotating binary log for {@link TrafficReplayer}.
+ *
+ * <p>Called on the request path by {@code GatewayController} and {@code AdapterGatewayClient};
+ * there it only samples and enqueues, and when capture is disabled it returns immediately.
+ * Encoding and file I/O happen on a single writer thread. When the queue is full the
+ * invocation is dropped rather than slowing the caller; see {@link #getStats()}.
+ *
+ * <p>Request maps are encoded after the call has been handed on, so callers must not mutate
+ * them afterwards; the gateway only ever reads them.
+ */
+@Component
+@Slf4j
+public class TrafficCapture {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final CaptureConfig config;
+    private final BlockingQueue<CaptureRecord> queue;
+    private final long baseMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private final long baseNanos = System.nanoTime();
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public TrafficCapture(CaptureConfig config) {
+        this.config = config;
+        this.queue = config.isEnabled() ? new ArrayBlockingQueue<>(config.getQueueCapacity()) : null;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (queue == null) {
+            return;
+        }
+        CaptureLog.Writer writer = new CaptureLog.Writer(Path.of(config.getDirectory()),
+                config.getMaxFileBytes(), config.getMaxFiles());
+        running = true;
+        writerThread = new Thread(() -> drain(writer), "traffic-capture");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Capturing {}% of ingress traffic to {}", config.getSampleRate() * 100,
+                Path.of(config.getDirectory()).toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread != null) {
+            // Not interrupted: that would close the interruptible file channel mid-write
+            running = false;
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            writerThread = null;
+        }
+    }
+
+    /**
+     * Records one ingress invocation, subject to sampling.
+     */
+    public void capture(String serviceName, Map<String, Object> request) {
+        if (queue == null) {
+            return;
+        }
+        double sampleRate = config.getSampleRate();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long arrivalMicros = baseMicros + (System.nanoTime() - baseNanos) / 1000;
+        if (queue.offer(new CaptureRecord(arrivalMicros, serviceName, request != null ? request : Map.of()))) {
+            captured.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public boolean isEnabled() {
+        return queue != null;
+    }
+
+    public Stats getStats() {
+        return new Stats(isEnabled(), captured.sum(), dropped.sum(), failed.sum());
+    }
+
+    private void drain(CaptureLog.Writer writer) {
+        List<CaptureRecord> batch = new ArrayList<>(BATCH_SIZE);
+        try (writer) {
+            while (running) {
+                CaptureRecord first;
+                try {
+                    first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    write(writer, batch);
+                }
+            }
+            // Shutting down: flush whatever is still queued
+            while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+                write(writer, batch);
+            }
+        } catch (IOException e) {
+            log.warn("Closing traffic capture failed: {}", e.getMessage());
+        }
+    }
+
+    private void write(CaptureLog.Writer writer, List<CaptureRecord> batch) {
+        for (CaptureRecord record : batch) {
+            try {
+                writer.append(record.arrivalMicros(), record.serviceName(), record.request());
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                log.debug("Could not capture invocation of '{}': {}", record.serviceName(), e.getMessage());
+            }
+        }
+        batch.clear();
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Flushing traffic capture failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Capture counters: {@code captured} were enqueued, {@code dropped} found the queue full,
+     * {@code failed} could not be written.
+     */
+    public record Stats(boolean enabled, long captured, long dropped, long failed) {
+    }
+}
@@ -0,0 +1,156 @@
+package org.adcb.adapter.gateway.capture;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-drives a {@link TrafficCapture} log against a running gateway and reports per-service
+ * latency percentiles, so two gateway builds can be compared on the same workload.
+ *
+ * <p>Invocations are sent to {@code POST /adapter/call/{serviceName}} at their captured
+ * arrival offsets divided by {@code speed} (2.0 replays twice as fast; 0 sends as fast as
+ * {@code maxInFlight} allows). The schedule is open-loop: latency is measured from the
+ * time an invocation was due, not from when it was actually sent, so a gateway that falls
+ * behind is charged for the queueing it causes.
+ *
+ * <p>Usage:
+ * <pre>
+ * java -cp ... org.adcb.adapter.gateway.capture.TrafficReplayer &lt;captureDir&gt; &lt;gatewayUrl&gt; [speed] [maxInFlight]
+ * </pre>
+ */
+@Slf4j
+public class TrafficReplayer {
+
+    private final WebClient webClient;
+    private final double speed;
+    private final int maxInFlight;
+
+    public TrafficReplayer(String gatewayUrl, double speed, int maxInFlight) {
+        this.webClient = WebClient.builder()
+                .baseUrl(gatewayUrl)
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+        this.speed = speed;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: TrafficReplayer <captureDir> <gatewayUrl> [speed=1.0] [maxInFlight=256]");
+            System.exit(2);
+        }
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        int maxInFlight = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        Report report = new TrafficReplayer(args[1], speed, maxInFlight).replay(Path.of(args[0]));
+        System.out.println(report.format());
+    }
+
+    /**
+     * Replays the capture in {@code directory} and waits for every invocation to complete.
+     */
+    public Report replay(Path directory) throws IOException, InterruptedException {
+        Map<String, LatencySamples> samples = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long[] firstArrival = {Long.MIN_VALUE};
+        long start = System.nanoTime();
+
+        CaptureLog.forEach(directory, record -> {
+            if (firstArrival[0] == Long.MIN_VALUE) {
+                firstArrival[0] = record.arrivalMicros();
+            }
+            long dueNanos = start + (speed > 0
+                    ? (long) (TimeUnit.MICROSECONDS.toNanos(record.arrivalMicros() - firstArrival[0]) / speed)
+                    : 0);
+            long wait;
+            while ((wait = dueNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquireUninterruptibly();
+            long due = speed > 0 ? dueNanos : System.nanoTime();
+            LatencySamples service = samples.computeIfAbsent(record.serviceName(), n -> new LatencySamples());
+            webClient.post()
+                    .uri("/adapter/call/{serviceName}", record.serviceName())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(record.request())
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().is2xxSuccessful()))
+                    .onErrorReturn(false)
+                    .subscribe(ok -> service.record(System.nanoTime() - due, ok),
+                            error -> inFlight.release(),
+                            inFlight::release);
+        });
+
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<String, ServiceLatency> services = new TreeMap<>();
+        samples.forEach((name, s) -> services.put(name, s.summarize()));
+        return new Report(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), services);
+    }
+
+    /**
+     * Latencies of one service, in nanoseconds.
+     */
+    private static final class LatencySamples {
+        private long[] values = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos, boolean success) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized ServiceLatency summarize() {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return new ServiceLatency(count, errors,
+                    percentileMillis(sorted, 50), percentileMillis(sorted, 90), percentileMillis(sorted, 99),
+                    percentileMillis(sorted, 99.9), count > 0 ? sorted[count - 1] / 1e6 : 0);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    /**
+     * Latency summary of one service; times in milliseconds.
+     */
+    public record ServiceLatency(long count, long errors, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    public record Report(long elapsedMs, Map<String, ServiceLatency> services) {
+
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Replayed in %d ms%n", elapsedMs));
+            sb.append(String.format("%-32s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "service", "count", "errors", "p50", "p90", "p99", "p99.9", "max"));
+            services.forEach((name, s) -> sb.append(String.format("%-32s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, s.count(), s.errors(), s.p50(), s.p90(), s.p99(), s.p999(), s.max())));
+            return sb.toString();
+        }
+    }
+}
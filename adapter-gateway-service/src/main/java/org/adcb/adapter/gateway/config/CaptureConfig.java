@@ -0,0 +1,30 @@
+package org.adcb.adapter.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ingress traffic capture settings ({@code adapter.capture}); see {@code TrafficCapture}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "adapter.capture")
+@Data
+public class CaptureConfig {
+
+    private boolean enabled = false;
+
+    /** Fraction of invocations captured, 0.0 - 1.0. */
+    private double sampleRate = 1.0;
+
+    private String directory = "capture";
+
+    /** A new log file is started once the current one reaches this size. */
+    private long maxFileBytes = 64L * 1024 * 1024;
+
+    /** Oldest log files are deleted beyond this count. */
+    private int maxFiles = 16;
+
+    /** Invocations waiting to be written; further ones are dropped (and counted) while it is full. */
+    private int queueCapacity = 8192;
+}
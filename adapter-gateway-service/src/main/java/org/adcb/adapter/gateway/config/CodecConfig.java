@@ -0,0 +1,24 @@
+package org.adcb.adapter.gateway.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.adcb.adapter.commons.codec.AdapterCodecModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the shared codec modules with Spring's ObjectMapper, so the WebFlux encoder
+ * writes {@code StandardResponse} with the same serializers as {@code AdapterCodecs}.
+ */
+@Configuration
+public class CodecConfig {
+
+    @Bean
+    public AdapterCodecModule adapterCodecModule() {
+        return new AdapterCodecModule();
+    }
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
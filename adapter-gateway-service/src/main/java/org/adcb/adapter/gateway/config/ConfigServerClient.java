@@ -0,0 +1,206 @@
+package org.adcb.adapter.gateway.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.config.ConfigDelta;
+import org.adcb.adapter.commons.config.ConfigProtocol;
+import org.adcb.adapter.commons.config.ConfigSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+
+/**
+ * Keeps the {@link ServiceRegistry} in sync with the config service.
+ *
+ * <p>Enabled by {@code adapter.config-server.url}. On startup:
+ * <ol>
+ *   <li>the local snapshot file ({@code adapter.config-server.snapshot-file}) is applied, so the
+ *       gateway can start with its last known configuration even if the config service is down</li>
+ *   <li>a fresh Smile snapshot is fetched (bounded by {@code startup-timeout-ms}) and, if newer,
+ *       applied and written back to the local file</li>
+ *   <li>a long-lived delta stream is opened from the current revision; each delta is applied
+ *       through {@link ServiceRegistry#apply}, which only rebuilds the changed service</li>
+ * </ol>
+ *
+ * <p>A revision gap or a {@code resync} event triggers a snapshot reload, which is applied
+ * whatever its revision: a config service that restarted from an older store is the source of
+ * truth again. The stream reconnects with exponential backoff, resuming from the last applied
+ * revision. Requests carry {@code adapter.config-server.token} in {@value ConfigProtocol#TOKEN_HEADER}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "adapter.config-server", name = "url")
+@Slf4j
+public class ConfigServerClient {
+
+    private static final int MAX_SNAPSHOT_BYTES = 32 * 1024 * 1024;
+
+    private final ServiceRegistry serviceRegistry;
+    private final WebClient webClient;
+    private final Path snapshotFile;
+    private final long startupTimeoutMs;
+
+    private volatile ConfigSnapshot current = ConfigSnapshot.empty();
+    private Disposable subscription;
+
+    public ConfigServerClient(ServiceRegistry serviceRegistry,
+                              WebClient.Builder webClientBuilder,
+                              @Value("${adapter.config-server.url}") String url,
+                              @Value("${adapter.config-server.snapshot-file:config/services-snapshot.smile}") String snapshotFile,
+                              @Value("${adapter.config-server.startup-timeout-ms:5000}") long startupTimeoutMs,
+                              @Value("${adapter.config-server.token:}") String token) {
+        this.serviceRegistry = serviceRegistry;
+        WebClient.Builder builder = webClientBuilder.clone()
+                .baseUrl(url)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_SNAPSHOT_BYTES));
+        if (token != null && !token.isBlank()) {
+            builder.defaultHeader(ConfigProtocol.TOKEN_HEADER, token);
+        }
+        this.webClient = builder.build();
+        this.snapshotFile = Path.of(snapshotFile);
+        this.startupTimeoutMs = startupTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        loadLocalSnapshot();
+        try {
+            fetchSnapshot(false).block(Duration.ofMillis(startupTimeoutMs));
+        } catch (RuntimeException e) {
+            log.warn("Config service unavailable at startup, running on revision {}: {}",
+                    current.getVersion(), e.getMessage());
+        }
+        subscription = Flux.defer(() -> deltaStream(current.getVersion()))
+                .repeatWhen(completions -> completions.delayElements(Duration.ofSeconds(1)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Config delta stream lost, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Revision of the configuration currently applied.
+     */
+    public long currentVersion() {
+        return current.getVersion();
+    }
+
+    private Flux<Void> deltaStream(long since) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ConfigProtocol.DELTAS_PATH).queryParam("since", since).build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                // Applying swaps state and may persist the snapshot; keep it off the event loop
+                .publishOn(Schedulers.boundedElastic())
+                .concatMap(this::onEvent);
+    }
+
+    private Mono<Void> onEvent(ServerSentEvent<String> event) {
+        if (ConfigProtocol.RESYNC_EVENT.equals(event.event())) {
+            log.info("Config service requested resync from revision {}", current.getVersion());
+            return fetchSnapshot(true);
+        }
+        if (!ConfigProtocol.DELTA_EVENT.equals(event.event()) || event.data() == null) {
+            return Mono.empty();
+        }
+        ConfigDelta delta;
+        try {
+            delta = AdapterCodecs.json().readValue(event.data(), ConfigDelta.class);
+        } catch (IOException e) {
+            return Mono.error(new IllegalStateException("Malformed config delta: " + e.getMessage(), e));
+        }
+        long version = current.getVersion();
+        if (delta.getVersion() <= version) {
+            return Mono.empty();
+        }
+        if (delta.getVersion() != version + 1) {
+            log.warn("Config revision gap ({} -> {}), reloading snapshot", version, delta.getVersion());
+            return fetchSnapshot(true);
+        }
+        apply(current.apply(delta));
+        return Mono.empty();
+    }
+
+    /**
+     * Fetches the server snapshot; unless {@code force}, it is only applied when newer than the
+     * current revision.
+     */
+    private Mono<Void> fetchSnapshot(boolean force) {
+        return webClient.get()
+                .uri(ConfigProtocol.SNAPSHOT_PATH)
+                .accept(MediaType.parseMediaType(ConfigProtocol.SMILE_MEDIA_TYPE))
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(bytes -> {
+                    try {
+                        ConfigSnapshot snapshot = AdapterCodecs.smile().readValue(bytes, ConfigSnapshot.class);
+                        if (force || snapshot.getVersion() > current.getVersion()) {
+                            apply(snapshot);
+                        }
+                        return Mono.<Void>empty();
+                    } catch (IOException e) {
+                        return Mono.error(new IllegalStateException("Malformed config snapshot: " + e.getMessage(), e));
+                    }
+                });
+    }
+
+    private synchronized void apply(ConfigSnapshot snapshot) {
+        ServiceRegistry.ChangeSet changes = serviceRegistry.apply(snapshot.getServices());
+        // Persist before publishing the revision, so currentVersion() never runs ahead of the file
+        saveLocalSnapshot(snapshot);
+        current = snapshot;
+        log.info("Applied config revision {} ({} services changed)", snapshot.getVersion(), changes.affected().size());
+    }
+
+    private void loadLocalSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            ConfigSnapshot snapshot = AdapterCodecs.smile().readValue(snapshotFile.toFile(), ConfigSnapshot.class);
+            serviceRegistry.apply(snapshot.getServices());
+            current = snapshot;
+            log.info("Started from local config snapshot {} at revision {}", snapshotFile, snapshot.getVersion());
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable local config snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private void saveLocalSnapshot(ConfigSnapshot snapshot) {
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            AdapterCodecs.smile().writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write local config snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
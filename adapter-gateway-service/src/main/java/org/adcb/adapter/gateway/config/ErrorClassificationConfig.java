@@ -0,0 +1,37 @@
+package org.adcb.adapter.gateway.config;
+
+import lombok.Data;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorSeverity;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Error classification rules loaded from YAML ({@code adapter.error-classification.rules}).
+ *
+ * <p>Each rule matches an exception class by fully qualified name, including subclasses
+ * (nested classes use {@code $}, e.g.
+ * {@code org.springframework.web.reactive.function.client.WebClientResponseException$BadGateway}).
+ * Configured rules take precedence over the built-in defaults of {@code ErrorClassifier}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "adapter.error-classification")
+@Data
+public class ErrorClassificationConfig {
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String exception;
+        private String errorCode;
+        private String errorMessage;
+        private ErrorCategory category;
+        private ErrorSeverity severity;
+        private boolean retryable;
+        private Integer retryAfterSeconds;
+    }
+}
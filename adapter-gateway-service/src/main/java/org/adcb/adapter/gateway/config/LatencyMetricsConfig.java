@@ -0,0 +1,35 @@
+package org.adcb.adapter.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-service latency histogram and slow-call recorder settings ({@code adapter.metrics.latency});
+ * see {@code LatencyRecorder}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "adapter.metrics.latency")
+@Data
+public class LatencyMetricsConfig {
+
+    private boolean enabled = true;
+
+    /** Latencies above this are recorded as this value. */
+    private long highestTrackableMs = 120_000;
+
+    /** Histogram precision in significant decimal digits (1-5). */
+    private int significantDigits = 2;
+
+    /** How often the current interval is folded into the cumulative histograms. */
+    private long intervalMs = 10_000;
+
+    /** Slow calls kept for inspection; rounded up to a power of two. */
+    private int slowCallCapacity = 128;
+
+    /**
+     * Calls slower than this, and slower than the service's p99 of the last interval, are kept
+     * as slow calls.
+     */
+    private long slowCallMinMs = 200;
+}
@@ -0,0 +1,16 @@
+package org.adcb.adapter.gateway.config;
+
+import java.util.Set;
+
+/**
+ * Callback for components that keep per-service state derived from {@code ServiceMetadata}.
+ *
+ * <p>Invoked by {@link ServiceRegistry} after a reloaded configuration has been swapped in,
+ * with the names of services that were added, changed or removed. Implementations drop
+ * their cached state for those services so it is rebuilt from the new configuration on
+ * next use; calls already in flight keep using the instances they hold.
+ */
+public interface ServiceConfigListener {
+
+    void servicesChanged(Set<String> serviceNames);
+}
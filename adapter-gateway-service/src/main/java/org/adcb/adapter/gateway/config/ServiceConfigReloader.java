@@ -0,0 +1,165 @@
+package org.adcb.adapter.gateway.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reloads service configurations from an external YAML (or JSON) file.
+ *
+ * <p>Enabled by {@code adapter.config.reload.file}. The file uses the same layout as
+ * {@code application.yml} ({@code adapter.services.<name>...}, or just {@code services.<name>...})
+ * with camelCase keys. When {@code adapter.config.reload.watch} is true (default) the file is
+ * watched and every modification is applied through {@link ServiceRegistry#apply(Map)};
+ * a file that fails to parse is logged and leaves the running configuration untouched.
+ */
+@Component
+@Slf4j
+public class ServiceConfigReloader {
+
+    private static final long SETTLE_DELAY_MS = 200;
+
+    private final ServiceRegistry serviceRegistry;
+    private final YAMLMapper yamlMapper = YAMLMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Value("${adapter.config.reload.file:}")
+    private String reloadFile;
+
+    @Value("${adapter.config.reload.watch:true}")
+    private boolean watch;
+
+    private volatile WatchService watchService;
+
+    public ServiceConfigReloader(ServiceRegistry serviceRegistry) {
+        this.serviceRegistry = serviceRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (reloadFile == null || reloadFile.isBlank()) {
+            return;
+        }
+        Path file = Path.of(reloadFile).toAbsolutePath();
+        if (Files.exists(file)) {
+            reload();
+        }
+        if (watch) {
+            startWatcher(file);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Whether a reload file is configured.
+     */
+    public boolean isConfigured() {
+        return reloadFile != null && !reloadFile.isBlank();
+    }
+
+    /**
+     * Reads the configured file and applies it.
+     *
+     * @throws IllegalStateException if no reload file is configured or it cannot be read
+     */
+    public ServiceRegistry.ChangeSet reload() {
+        if (!isConfigured()) {
+            throw new IllegalStateException("adapter.config.reload.file is not configured");
+        }
+        try (InputStream in = Files.newInputStream(Path.of(reloadFile))) {
+            return serviceRegistry.apply(parse(in));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read service configuration from " + reloadFile + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a service map from YAML or JSON.
+     */
+    public Map<String, ServiceMetadata> parse(InputStream in) throws IOException {
+        JsonNode root = yamlMapper.readTree(in);
+        JsonNode services = root == null ? null : root.path("adapter").path("services");
+        if (services == null || services.isMissingNode()) {
+            services = root == null ? null : root.path("services");
+        }
+        if (services == null || services.isMissingNode() || services.isNull()) {
+            throw new IOException("No 'adapter.services' or 'services' section found");
+        }
+        return yamlMapper.convertValue(services, new TypeReference<LinkedHashMap<String, ServiceMetadata>>() {
+        });
+    }
+
+    private void startWatcher(Path file) {
+        Path dir = file.getParent();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.error("Cannot watch {} for service configuration changes: {}", file, e.getMessage());
+            return;
+        }
+        Thread watcher = new Thread(() -> watchLoop(file), "service-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching {} for service configuration changes", file);
+    }
+
+    private void watchLoop(Path file) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        touched = true;
+                    }
+                }
+                key.reset();
+                if (touched) {
+                    // Editors and deploy tools often write in several steps; let the file settle
+                    Thread.sleep(SETTLE_DELAY_MS);
+                    while (watchService.poll() instanceof WatchKey pending) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        log.error("Service configuration reload failed, keeping current configuration: {}",
+                                e.getMessage());
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            log.debug("Service configuration watcher stopped");
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.adcb.adapter.gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live view of the service configurations, replaceable at runtime without a restart.
+ *
+ * <p>Starts from the {@code adapter.services} bound into {@link ServiceConfig}. A reload
+ * ({@link #apply(Map)}) is handled as follows:
+ * <ul>
+ *   <li>the new map is diffed against the running one using {@code ServiceMetadata.equals},
+ *       so services whose configuration did not change keep all their state</li>
+ *   <li>the new map is published with a single atomic swap; each call reads the map once,
+ *       so it sees either the old or the new configuration, never a mix</li>
+ *   <li>for added, changed and removed services only, the derived state is dropped:
+ *       protocol handler clients and pools, compiled templates and response mappings,
+ *       buffer size statistics and every {@link ServiceConfigListener} (breakers, retries,
+ *       rate limiters, prebuilt rejections)</li>
+ * </ul>
+ *
+ * <p>Nothing is torn down under a running call: calls in flight finish with the
+ * configuration and resources they started with, and replaced connection pools are
+ * closed once their last call completes.
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class ServiceRegistry {
+
+    private final AtomicReference<Map<String, ServiceMetadata>> services;
+    private final ObjectProvider<ServiceConfigListener> listeners;
+    private final ObjectProvider<ProtocolHandler> protocolHandlers;
+    private final ObjectProvider<CompiledTemplateService> templateService;
+    private final ObjectProvider<ResponseMappingRegistry> responseMappings;
+    private final ObjectProvider<AdaptiveBufferManager> bufferManager;
+
+    public ServiceRegistry(ServiceConfig serviceConfig,
+                           ObjectProvider<ServiceConfigListener> listeners,
+                           ObjectProvider<ProtocolHandler> protocolHandlers,
+                           ObjectProvider<CompiledTemplateService> templateService,
+                           ObjectProvider<ResponseMappingRegistry> responseMappings,
+                           ObjectProvider<AdaptiveBufferManager> bufferManager) {
+        this.services = new AtomicReference<>(normalize(serviceConfig.getServices()));
+        this.listeners = listeners;
+        this.protocolHandlers = protocolHandlers;
+        this.templateService = templateService;
+        this.responseMappings = responseMappings;
+        this.bufferManager = bufferManager;
+        log.info("Service registry initialized with {} services", services.get().size());
+    }
+
+    /**
+     * Current configuration of a service, or {@code null} if it is not configured.
+     */
+    public ServiceMetadata get(String serviceName) {
+        return services.get().get(serviceName);
+    }
+
+    /**
+     * Immutable snapshot of all current service configurations.
+     */
+    public Map<String, ServiceMetadata> snapshot() {
+        return services.get();
+    }
+
+    /**
+     * Replaces the whole service configuration and rebuilds the state of affected services.
+     * Concurrent reloads are applied one after the other.
+     *
+     * @param newServices complete new service map; services missing from it are removed
+     * @return what changed relative to the running configuration
+     */
+    public synchronized ChangeSet apply(Map<String, ServiceMetadata> newServices) {
+        Map<String, ServiceMetadata> previous = services.get();
+        Map<String, ServiceMetadata> next = normalize(newServices);
+        ChangeSet changes = diff(previous, next);
+        if (changes.isEmpty()) {
+            log.info("Service configuration reload: no changes");
+            return changes;
+        }
+
+        services.set(retainUnchanged(previous, next, changes));
+        log.info("Service configuration reloaded: added={}, changed={}, removed={}",
+                changes.added(), changes.changed(), changes.removed());
+
+        Set<String> affected = changes.affected();
+        for (String serviceName : affected) {
+            invalidateDerivedState(serviceName, previous.get(serviceName), next.get(serviceName));
+        }
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.servicesChanged(affected);
+            } catch (RuntimeException e) {
+                log.error("Service config listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        });
+        return changes;
+    }
+
+    static ChangeSet diff(Map<String, ServiceMetadata> previous, Map<String, ServiceMetadata> next) {
+        Set<String> added = new LinkedHashSet<>();
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+        next.forEach((name, config) -> {
+            ServiceMetadata old = previous.get(name);
+            if (old == null) {
+                added.add(name);
+            } else if (!Objects.equals(old, config)) {
+                changed.add(name);
+            }
+        });
+        previous.keySet().forEach(name -> {
+            if (!next.containsKey(name)) {
+                removed.add(name);
+            }
+        });
+        return new ChangeSet(Collections.unmodifiableSet(added), Collections.unmodifiableSet(changed),
+                Collections.unmodifiableSet(removed));
+    }
+
+    private void invalidateDerivedState(String serviceName, ServiceMetadata previous, ServiceMetadata current) {
+        protocolHandlers.orderedStream().forEach(handler -> handler.invalidate(serviceName));
+        responseMappings.ifAvailable(registry -> registry.evict(serviceName));
+        bufferManager.ifAvailable(manager -> manager.reset(serviceName));
+        // Template sources may have been edited alongside the config; recompile on next use
+        templateService.ifAvailable(templates -> {
+            for (ServiceMetadata config : new ServiceMetadata[]{previous, current}) {
+                if (config != null) {
+                    evictTemplate(templates, config.getRequestTemplate());
+                    evictTemplate(templates, config.getResponseTemplate());
+                }
+            }
+        });
+    }
+
+    private static void evictTemplate(CompiledTemplateService templates, String templatePath) {
+        if (templatePath != null && !templatePath.isBlank()) {
+            templates.evict(templatePath);
+        }
+    }
+
+    /**
+     * Keeps the running instances of unchanged services so nothing keyed on them is disturbed.
+     */
+    private static Map<String, ServiceMetadata> retainUnchanged(Map<String, ServiceMetadata> previous,
+                                                                Map<String, ServiceMetadata> next,
+                                                                ChangeSet changes) {
+        Map<String, ServiceMetadata> merged = new LinkedHashMap<>(next);
+        merged.replaceAll((name, config) -> changes.added().contains(name) || changes.changed().contains(name)
+                ? config : previous.get(name));
+        return Collections.unmodifiableMap(merged);
+    }
+
+    /**
+     * Copies the map and fills in {@code serviceName} from the map key where the entry does not set it.
+     */
+    private static Map<String, ServiceMetadata> normalize(Map<String, ServiceMetadata> source) {
+        if (source == null) {
+            return Map.of();
+        }
+        Map<String, ServiceMetadata> copy = new LinkedHashMap<>(source.size() * 2);
+        source.forEach((name, config) -> {
+            if (config != null) {
+                if (config.getServiceName() == null) {
+                    config.setServiceName(name);
+                }
+                copy.put(name, config);
+            }
+        });
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Services affected by a reload.
+     */
+    public record ChangeSet(Set<String> added, Set<String> changed, Set<String> removed) {
+
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+        }
+
+        public Set<String> affected() {
+            Set<String> all = new LinkedHashSet<>(added);
+            all.addAll(changed);
+            all.addAll(removed);
+            return all;
+        }
+    }
+}
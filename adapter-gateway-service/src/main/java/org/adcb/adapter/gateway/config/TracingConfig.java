@@ -0,0 +1,26 @@
+package org.adcb.adapter.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OpenTelemetry tracing settings ({@code adapter.tracing}); see {@code TracingInstaller}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "adapter.tracing")
+@Data
+public class TracingConfig {
+
+    /** Creates invocation spans and sends W3C trace context to downstream services. */
+    private boolean enabled = false;
+
+    /** Fraction of new traces that are sampled, 0.0 to 1.0. */
+    private double samplingRatio = 0.1;
+
+    /** Follow the caller's sampling decision when the request carries a traceparent. */
+    private boolean parentBased = true;
+
+    /** {@code service.name} resource attribute of exported spans. */
+    private String serviceName = "adapter-gateway";
+}
@@ -0,0 +1,34 @@
+package org.adcb.adapter.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup warm-up settings ({@code adapter.warmup}); see {@code StartupWarmup}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "adapter.warmup")
+@Data
+public class WarmupConfig {
+
+    private boolean enabled = true;
+
+    /** Overall time budget; phases still pending when it runs out are skipped. */
+    private long timeBudgetMs = 30_000;
+
+    /**
+     * Pooled connections to open per downstream with {@code HEAD} probes to its origin; 0 (the
+     * default) disables. Only enable for downstreams that accept unauthenticated probes.
+     */
+    private int connectionsPerService = 0;
+
+    /** Services warmed concurrently during the token and connection phases. */
+    private int concurrency = 8;
+
+    /** Replay synthetic invocations through stub handlers to get hot paths JIT-compiled. */
+    private boolean replayEnabled = false;
+
+    /** Synthetic invocations per service. */
+    private int replayIterations = 500;
+}
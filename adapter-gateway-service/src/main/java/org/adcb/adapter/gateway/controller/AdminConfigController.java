@@ -0,0 +1,88 @@
+package org.adcb.adapter.gateway.controller;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.auth.ServiceSecrets;
+import org.adcb.adapter.gateway.config.ServiceConfigReloader;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Admin endpoints to inspect and hot-reload service configurations.
+ *
+ * <ul>
+ *   <li>{@code GET /adapter/admin/config/services} - running configuration, secrets masked</li>
+ *   <li>{@code PUT /adapter/admin/config/services} - replace it with the posted service map;
+ *       masked secrets are kept from the running configuration</li>
+ *   <li>{@code POST /adapter/admin/config/reload} - re-read {@code adapter.config.reload.file}</li>
+ * </ul>
+ *
+ * <p>The endpoints can repoint services at any host, so they are off unless
+ * {@code adapter.admin.config.enabled=true}, and then every request must carry the
+ * {@code adapter.admin.token} in the {@value #TOKEN_HEADER} header.
+ */
+@RestController
+@RequestMapping("/adapter/admin/config")
+@ConditionalOnProperty(prefix = "adapter.admin.config", name = "enabled", havingValue = "true")
+public class AdminConfigController {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final ServiceRegistry serviceRegistry;
+    private final ServiceConfigReloader reloader;
+    private final String token;
+
+    public AdminConfigController(ServiceRegistry serviceRegistry,
+                                 ServiceConfigReloader reloader,
+                                 @Value("${adapter.admin.token:}") String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("adapter.admin.token must be set when adapter.admin.config.enabled=true");
+        }
+        this.serviceRegistry = serviceRegistry;
+        this.reloader = reloader;
+        this.token = token;
+    }
+
+    @GetMapping("/services")
+    public Map<String, ServiceMetadata> services(@RequestHeader(value = TOKEN_HEADER, required = false) String presented) {
+        authorize(presented);
+        return ServiceSecrets.redact(serviceRegistry.snapshot());
+    }
+
+    @PutMapping("/services")
+    public Mono<ServiceRegistry.ChangeSet> replaceServices(@RequestHeader(value = TOKEN_HEADER, required = false) String presented,
+                                                          @RequestBody Map<String, ServiceMetadata> services) {
+        authorize(presented);
+        // Rebuilding state can evict and recompile templates; keep it off the event loop
+        return Mono.fromCallable(() -> {
+                    services.forEach((name, service) -> ServiceSecrets.restore(service, serviceRegistry.get(name)));
+                    return serviceRegistry.apply(services);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("/reload")
+    public Mono<ResponseEntity<Object>> reload(@RequestHeader(value = TOKEN_HEADER, required = false) String presented) {
+        authorize(presented);
+        if (!reloader.isConfigured()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(Map.of("error", "adapter.config.reload.file is not configured")));
+        }
+        return Mono.fromCallable(() -> ResponseEntity.ok((Object) reloader.reload()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void authorize(String presented) {
+        if (!ServiceSecrets.tokenMatches(token, presented)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+    }
+}
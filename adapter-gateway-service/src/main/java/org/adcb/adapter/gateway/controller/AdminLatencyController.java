@@ -0,0 +1,51 @@
+package org.adcb.adapter.gateway.controller;
+
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.metrics.LatencySnapshot;
+import org.adcb.adapter.gateway.metrics.SlowCall;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency admin endpoints under {@code /adapter/admin/latency}:
+ * <ul>
+ *   <li>{@code GET /services} - per-service, per-phase latency percentiles</li>
+ *   <li>{@code GET /services/{serviceName}} - the same for one service</li>
+ *   <li>{@code GET /slow-calls?serviceName=&limit=} - recent slow calls, slowest first</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/adapter/admin/latency")
+public class AdminLatencyController {
+
+    private final LatencyRecorder latencyRecorder;
+
+    public AdminLatencyController(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    @GetMapping("/services")
+    public Map<String, LatencySnapshot> services() {
+        return latencyRecorder.snapshot();
+    }
+
+    @GetMapping("/services/{serviceName}")
+    public ResponseEntity<LatencySnapshot> service(@PathVariable String serviceName) {
+        LatencySnapshot snapshot = latencyRecorder.snapshot(serviceName);
+        return snapshot != null ? ResponseEntity.ok(snapshot) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/slow-calls")
+    public List<SlowCall> slowCalls(@RequestParam(required = false) String serviceName,
+                                    @RequestParam(defaultValue = "50") int limit) {
+        List<SlowCall> calls = latencyRecorder.slowCalls(serviceName);
+        return calls.size() > limit ? calls.subList(0, Math.max(limit, 0)) : calls;
+    }
+}
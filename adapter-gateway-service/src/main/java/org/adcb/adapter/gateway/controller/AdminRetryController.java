@@ -0,0 +1,41 @@
+package org.adcb.adapter.gateway.controller;
+
+import org.adcb.adapter.gateway.resilience.RetryBudget;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Retry budget admin endpoints under {@code /adapter/admin/retry}:
+ * <ul>
+ *   <li>{@code GET /budgets} - per-service budget state, including retries refused
+ *       because the budget was exhausted</li>
+ *   <li>{@code GET /budgets/{serviceName}} - the same for one service</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/adapter/admin/retry")
+public class AdminRetryController {
+
+    private final RetryHandler retryHandler;
+
+    public AdminRetryController(RetryHandler retryHandler) {
+        this.retryHandler = retryHandler;
+    }
+
+    @GetMapping("/budgets")
+    public Map<String, RetryBudget.Metrics> budgets() {
+        return retryHandler.getBudgetMetrics();
+    }
+
+    @GetMapping("/budgets/{serviceName}")
+    public ResponseEntity<RetryBudget.Metrics> budget(@PathVariable String serviceName) {
+        RetryBudget.Metrics metrics = retryHandler.getBudgetMetrics(serviceName);
+        return metrics != null ? ResponseEntity.ok(metrics) : ResponseEntity.notFound().build();
+    }
+}
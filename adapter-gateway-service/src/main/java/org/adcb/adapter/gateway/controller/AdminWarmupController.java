@@ -0,0 +1,29 @@
+package org.adcb.adapter.gateway.controller;
+
+import org.adcb.adapter.gateway.warmup.StartupWarmup;
+import org.adcb.adapter.gateway.warmup.WarmupReport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes the startup warm-up report at {@code GET /adapter/admin/warmup}.
+ */
+@RestController
+@RequestMapping("/adapter/admin/warmup")
+public class AdminWarmupController {
+
+    private final ObjectProvider<StartupWarmup> warmup;
+
+    public AdminWarmupController(ObjectProvider<StartupWarmup> warmup) {
+        this.warmup = warmup;
+    }
+
+    @GetMapping
+    public ResponseEntity<WarmupReport> report() {
+        StartupWarmup runner = warmup.getIfAvailable();
+        return runner != null ? ResponseEntity.ok(runner.getReport()) : ResponseEntity.notFound().build();
+    }
+}
@@ -1,5 +1,6 @@
 package org.adcb.adapter.gateway.controller;
 
+import org.adcb.adapter.gateway.capture.TrafficCapture;
 import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
 
 import java.util.Map;
@@ -7,9 +8,14 @@ import java.util.Map;
 /**
  * REST controller entry point placeholder (non-Spring). Provides a simple handle method.
  */
+import io.opentelemetry.context.Scope;
 import lombok.RequiredArgsConstructor;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -19,12 +25,24 @@ import java.util.Map;
 public class GatewayController {
 
     private final EnhancedProtocolAdapterService adapterService;
+    private final TrafficCapture trafficCapture;
 
     @PostMapping("/call/{serviceName}")
-    public ResponseEntity<Object> callService(@PathVariable String serviceName,
-                                              @RequestBody Map<String, Object> requestData) {
-        Object response = adapterService.invoke(serviceName, requestData);
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<Object>> callService(@PathVariable String serviceName,
+                                                    @RequestBody Map<String, Object> requestData,
+                                                    @RequestHeader HttpHeaders headers) {
+        trafficCapture.capture(serviceName, requestData);
+        // Keep the caller's ids so its logs, ours and the downstream service's line up
+        RequestContext context = RequestContext.resolve(headers.getFirst(RequestContext.CORRELATION_ID_HEADER),
+                headers.getFirst(RequestContext.INTERACTION_ID_HEADER));
+        // The invocation span starts while assembling, so the caller's trace context only has to be current here
+        try (Scope scope = AdapterTracing.activate(AdapterTracing.extract(headers))) {
+            // Non-blocking: the event loop is released while the downstream call and any retry backoff run
+            return adapterService.invokeAsync(serviceName, requestData, context)
+                    .map(response -> ResponseEntity.ok()
+                            .header(RequestContext.CORRELATION_ID_HEADER, context.getCorrelationId())
+                            .body(response));
+        }
     }
 }
 
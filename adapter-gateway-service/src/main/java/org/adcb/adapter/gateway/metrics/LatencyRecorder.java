@@ -0,0 +1,202 @@
+package org.adcb.adapter.gateway.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-service latency histograms (total and per phase) plus a ring of recent slow calls,
+ * cheap enough to stay on in production.
+ *
+ * <p>Invocations are recorded into HdrHistogram {@link Recorder}s, in microseconds: recording
+ * is wait-free and, with a fixed value range, allocation-free. A background task swaps each
+ * recorder's interval histogram every {@code intervalMs}, adds it to the cumulative histogram
+ * and derives the service's slow-call threshold from the interval's p99. Calls above both that
+ * threshold and {@code slowCallMinMs} go to the {@link SlowCallRing}.
+ *
+ * <p>Readers ({@link #snapshot}, {@link #slowCalls}) see data up to the last completed interval.
+ * Histograms of reconfigured or removed services are dropped on reload; slow calls stay in the
+ * ring until newer ones displace them.
+ */
+@Component
+@Slf4j
+public class LatencyRecorder implements ServiceConfigListener {
+
+    private static final int TOTAL = 0;
+    private static final int MIN_SAMPLES_FOR_THRESHOLD = 100;
+
+    private final LatencyMetricsConfig config;
+    private final long highestTrackableMicros;
+    private final long slowCallMinNanos;
+    private final Map<String, ServiceLatency> services = new ConcurrentHashMap<>();
+    private final SlowCallRing slowCalls;
+    private ScheduledExecutorService roller;
+
+    public LatencyRecorder(LatencyMetricsConfig config) {
+        this.config = config;
+        this.highestTrackableMicros = TimeUnit.MILLISECONDS.toMicros(config.getHighestTrackableMs());
+        this.slowCallMinNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallMinMs());
+        this.slowCalls = new SlowCallRing(config.getSlowCallCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        roller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "latency-roller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        roller.scheduleAtFixedRate(this::roll, config.getIntervalMs(), config.getIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (roller != null) {
+            roller.shutdownNow();
+        }
+    }
+
+    /**
+     * Records one finished invocation.
+     */
+    public void record(String serviceName, String correlationId, long totalNanos, InvocationPhases phases,
+                       int retries, boolean success) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        ServiceLatency latency = services.get(serviceName);
+        if (latency == null) {
+            latency = services.computeIfAbsent(serviceName, name -> new ServiceLatency());
+        }
+        latency.recorders[TOTAL].recordValue(toMicros(totalNanos));
+        for (int i = 0; i < InvocationPhases.PHASE_COUNT; i++) {
+            long nanos = phases.nanos(i);
+            if (nanos > 0) {
+                latency.recorders[i + 1].recordValue(toMicros(nanos));
+            }
+        }
+        if (totalNanos >= slowCallMinNanos && totalNanos >= latency.slowThresholdNanos) {
+            slowCalls.offer(serviceName, correlationId, totalNanos, phases, retries, success);
+        }
+    }
+
+    public Map<String, LatencySnapshot> snapshot() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        services.forEach((name, latency) -> snapshots.put(name, latency.snapshot(name)));
+        return snapshots;
+    }
+
+    public LatencySnapshot snapshot(String serviceName) {
+        ServiceLatency latency = services.get(serviceName);
+        return latency != null ? latency.snapshot(serviceName) : null;
+    }
+
+    /**
+     * Recent slow calls, slowest first; all services when {@code serviceName} is null.
+     */
+    public List<SlowCall> slowCalls(String serviceName) {
+        return slowCalls.snapshot(serviceName);
+    }
+
+    /**
+     * Drops the histograms of reconfigured services, so removed services stop being reported
+     * and changed ones start from the new configuration's latencies.
+     */
+    @Override
+    public void servicesChanged(Set<String> serviceNames) {
+        for (String serviceName : serviceNames) {
+            services.remove(serviceName);
+        }
+    }
+
+    /**
+     * Completes the current interval of every service.
+     */
+    void roll() {
+        try {
+            services.values().forEach(ServiceLatency::roll);
+        } catch (RuntimeException e) {
+            log.warn("Rolling latency histograms failed: {}", e.getMessage());
+        }
+    }
+
+    private long toMicros(long nanos) {
+        return Math.min(Math.max(nanos, 0) / 1000, highestTrackableMicros);
+    }
+
+    private static String phaseName(int index) {
+        return index == TOTAL ? "TOTAL" : InvocationPhases.Phase.values()[index - 1].name();
+    }
+
+    private static LatencySnapshot.PhaseLatency summarize(Histogram histogram) {
+        return new LatencySnapshot.PhaseLatency(histogram.getTotalCount(),
+                histogram.getMean() / 1000,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Recorders of one service; index 0 is the total, index {@code i + 1} phase {@code i}.
+     */
+    private final class ServiceLatency {
+        final Recorder[] recorders = new Recorder[InvocationPhases.PHASE_COUNT + 1];
+        final Histogram[] cumulative = new Histogram[recorders.length];
+        final Histogram[] lastInterval = new Histogram[recorders.length];
+        volatile long slowThresholdNanos;
+
+        ServiceLatency() {
+            int digits = config.getSignificantDigits();
+            for (int i = 0; i < recorders.length; i++) {
+                recorders[i] = new Recorder(1, highestTrackableMicros, digits);
+                cumulative[i] = new Histogram(1, highestTrackableMicros, digits);
+            }
+        }
+
+        synchronized void roll() {
+            for (int i = 0; i < recorders.length; i++) {
+                lastInterval[i] = recorders[i].getIntervalHistogram(lastInterval[i]);
+                cumulative[i].add(lastInterval[i]);
+            }
+            Histogram total = lastInterval[TOTAL];
+            if (total.getTotalCount() >= MIN_SAMPLES_FOR_THRESHOLD) {
+                slowThresholdNanos = TimeUnit.MICROSECONDS.toNanos(total.getValueAtPercentile(99));
+            }
+        }
+
+        synchronized LatencySnapshot snapshot(String serviceName) {
+            Map<String, LatencySnapshot.PhaseLatency> all = new LinkedHashMap<>();
+            Map<String, LatencySnapshot.PhaseLatency> recent = new LinkedHashMap<>();
+            for (int i = 0; i < recorders.length; i++) {
+                if (cumulative[i].getTotalCount() > 0) {
+                    all.put(phaseName(i), summarize(cumulative[i]));
+                }
+                if (lastInterval[i] != null && lastInterval[i].getTotalCount() > 0) {
+                    recent.put(phaseName(i), summarize(lastInterval[i]));
+                }
+            }
+            return new LatencySnapshot(serviceName, config.getIntervalMs(), all, recent);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.adcb.adapter.gateway.metrics;
+
+import java.util.Map;
+
+/**
+ * Latency distribution of one service, per phase ({@code TOTAL} plus each
+ * {@code InvocationPhases.Phase}); times in milliseconds.
+ *
+ * @param cumulative   everything recorded since start-up, up to the last completed interval
+ * @param lastInterval the last completed interval only
+ */
+public record LatencySnapshot(String serviceName, long intervalMs,
+                              Map<String, PhaseLatency> cumulative, Map<String, PhaseLatency> lastInterval) {
+
+    public record PhaseLatency(long count, double meanMs, double p50Ms, double p90Ms, double p99Ms,
+                               double p999Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,14 @@
+package org.adcb.adapter.gateway.metrics;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One slow invocation kept by the {@link LatencyRecorder}; times in milliseconds.
+ *
+ * @param phasesMs time per {@code InvocationPhases.Phase}, for phases that ran
+ */
+public record SlowCall(Instant timestamp, String serviceName, String correlationId, double totalMs,
+                       Map<String, Double> phasesMs, int retries, long requestBytes, long responseBytes,
+                       boolean success) {
+}
@@ -0,0 +1,101 @@
+package org.adcb.adapter.gateway.metrics;
+
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size ring of the most recent slow calls.
+ *
+ * <p>Writers claim the next slot with a single {@code getAndIncrement} and fill preallocated
+ * fields, so {@link #offer} is wait-free and allocates nothing. Each slot carries a version
+ * that is odd while it is being written: a writer that finds its slot still being written by
+ * a writer one lap behind drops its entry instead of waiting, and readers skip slots whose
+ * version changed while they were copied.
+ */
+final class SlowCallRing {
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+
+    SlowCallRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    void offer(String serviceName, String correlationId, long totalNanos, InvocationPhases phases,
+               int retries, boolean success) {
+        Slot slot = slots[(int) (cursor.getAndIncrement() & mask)];
+        long version = slot.version.get();
+        if ((version & 1) != 0 || !slot.version.compareAndSet(version, version + 1)) {
+            return;
+        }
+        slot.epochMillis = System.currentTimeMillis();
+        slot.serviceName = serviceName;
+        slot.correlationId = correlationId;
+        slot.totalNanos = totalNanos;
+        for (int i = 0; i < InvocationPhases.PHASE_COUNT; i++) {
+            slot.phaseNanos[i] = phases.nanos(i);
+        }
+        slot.retries = retries;
+        slot.requestBytes = phases.getRequestBytes();
+        slot.responseBytes = phases.getResponseBytes();
+        slot.success = success;
+        slot.version.set(version + 2);
+    }
+
+    /**
+     * Consistent copies of the kept calls, slowest first.
+     */
+    List<SlowCall> snapshot(String serviceName) {
+        List<SlowCall> calls = new ArrayList<>(slots.length);
+        InvocationPhases.Phase[] phases = InvocationPhases.Phase.values();
+        for (Slot slot : slots) {
+            long version = slot.version.get();
+            if (version == 0 || (version & 1) != 0) {
+                continue;
+            }
+            String service = slot.serviceName;
+            Map<String, Double> phasesMs = new LinkedHashMap<>();
+            for (int i = 0; i < phases.length; i++) {
+                if (slot.phaseNanos[i] > 0) {
+                    phasesMs.put(phases[i].name(), slot.phaseNanos[i] / 1e6);
+                }
+            }
+            SlowCall call = new SlowCall(Instant.ofEpochMilli(slot.epochMillis), service, slot.correlationId,
+                    slot.totalNanos / 1e6, phasesMs, slot.retries, slot.requestBytes, slot.responseBytes,
+                    slot.success);
+            VarHandle.acquireFence();
+            if (slot.version.get() == version && (serviceName == null || serviceName.equals(service))) {
+                calls.add(call);
+            }
+        }
+        calls.sort(Comparator.comparingDouble(SlowCall::totalMs).reversed());
+        return calls;
+    }
+
+    private static final class Slot {
+        final AtomicLong version = new AtomicLong();
+        final long[] phaseNanos = new long[InvocationPhases.PHASE_COUNT];
+        long epochMillis;
+        String serviceName;
+        String correlationId;
+        long totalNanos;
+        int retries;
+        long requestBytes;
+        long responseBytes;
+        boolean success;
+    }
+}
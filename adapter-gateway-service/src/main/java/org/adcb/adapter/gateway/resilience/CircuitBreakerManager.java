@@ -1,20 +1,35 @@
 package org.adcb.adapter.gateway.resilience;
 
 import io.github.resilience4j.circuitbreaker.*;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.jfr.CircuitStateChangeEvent;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 import java.time.Duration;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
  * Manages circuit breakers per service and provides execution wrapper.
+ *
+ * <p>State transitions are reported as {@link CircuitStateChangeEvent}s. They are detected by
+ * comparing the breaker's state with the last observed one before and after each call, not
+ * through a Resilience4j event consumer: a consumer cannot be detached again and makes the
+ * breaker publish an event object for every recorded call, recording or not. A transition
+ * made by the breaker's own timer (open to half-open) is reported at the next call.
+ *
+ * <p>Each breaker is kept with the configuration it was built from. A call whose
+ * configuration no longer matches gets a breaker rebuilt from it, so a breaker created by
+ * a call that read the old configuration just before a reload does not outlive the reload.
  */
 @Component
-public class CircuitBreakerManager {
+public class CircuitBreakerManager implements ServiceConfigListener {
 
-    private final CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
-    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ServiceBreaker> breakers = new ConcurrentHashMap<>();
 
     /**
      * Executes supplier protected by circuit breaker for the given service.
@@ -33,18 +48,64 @@ public class CircuitBreakerManager {
             return supplier.get();
         }
 
-        CircuitBreaker circuitBreaker = breakers.computeIfAbsent(serviceName, key ->
-                createCircuitBreaker(key, config));
+        ServiceBreaker entry = breaker(serviceName, cbConfig);
+        entry.observe(serviceName);
+        try {
+            return CircuitBreaker.decorateSupplier(entry.breaker(), supplier).get();
+        } finally {
+            entry.observe(serviceName);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the breaker permission is acquired on
+     * subscription and the outcome recorded when the Mono completes.
+     */
+    public <T> Mono<T> executeAsync(String serviceName, ServiceMetadata config, Mono<T> mono) {
+        var cbConfig = config.getResilience() != null ? config.getResilience().getCircuitBreaker() : null;
+        if (cbConfig == null || !cbConfig.isEnabled()) {
+            return mono;
+        }
 
-        return CircuitBreaker.decorateSupplier(circuitBreaker, supplier).get();
+        ServiceBreaker entry = breaker(serviceName, cbConfig);
+        entry.observe(serviceName);
+        return mono.transformDeferred(CircuitBreakerOperator.of(entry.breaker()))
+                .doFinally(signal -> entry.observe(serviceName));
     }
 
     /**
-     * Creates a circuit breaker with service-specific configuration.
+     * Checks whether the service's breaker would currently reject a call, without
+     * acquiring a permission or creating the breaker. Used to fail fast before any
+     * request work is done; a half-open breaker is reported as permitted so trial
+     * calls still go through {@link #execute}.
      */
-    private CircuitBreaker createCircuitBreaker(String serviceName, ServiceMetadata config) {
-        var cbConfig = config.getResilience().getCircuitBreaker();
+    public boolean isCallPermitted(String serviceName) {
+        ServiceBreaker entry = breakers.get(serviceName);
+        if (entry == null) {
+            return true;
+        }
+        CircuitBreaker.State state = entry.observe(serviceName);
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /**
+     * The service's breaker, rebuilt if it was created from a different configuration.
+     */
+    private ServiceBreaker breaker(String serviceName, org.adcb.adapter.commons.resilience.CircuitBreakerConfig cbConfig) {
+        ServiceBreaker entry = breakers.get(serviceName);
+        if (entry != null && entry.config().equals(cbConfig)) {
+            return entry;
+        }
+        return breakers.compute(serviceName, (key, existing) -> existing != null && existing.config().equals(cbConfig)
+                ? existing
+                : new ServiceBreaker(cbConfig, createCircuitBreaker(key, cbConfig)));
+    }
 
+    /**
+     * Creates a circuit breaker with service-specific configuration.
+     */
+    private CircuitBreaker createCircuitBreaker(String serviceName,
+                                               org.adcb.adapter.commons.resilience.CircuitBreakerConfig cbConfig) {
         CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
                 .failureRateThreshold(cbConfig.getFailureRateThreshold())
                 .waitDurationInOpenState(Duration.ofMillis(cbConfig.getWaitDurationInOpenStateMs()))
@@ -53,22 +114,54 @@ public class CircuitBreakerManager {
                 .automaticTransitionFromOpenToHalfOpenEnabled(true)
                 .build();
 
-        return registry.circuitBreaker(serviceName, circuitBreakerConfig);
+        return CircuitBreaker.of(serviceName, circuitBreakerConfig);
+    }
+
+    /**
+     * Drops the breakers of reconfigured services; the next call creates one from the new
+     * configuration, while calls already holding the old breaker complete against it.
+     */
+    @Override
+    public void servicesChanged(Set<String> serviceNames) {
+        for (String serviceName : serviceNames) {
+            breakers.remove(serviceName);
+        }
     }
 
     /**
      * Gets current state of circuit breaker for monitoring.
      */
     public CircuitBreaker.State getState(String serviceName) {
-        CircuitBreaker cb = breakers.get(serviceName);
-        return cb != null ? cb.getState() : null;
+        ServiceBreaker entry = breakers.get(serviceName);
+        return entry != null ? entry.breaker().getState() : null;
     }
 
     /**
      * Gets circuit breaker metrics for monitoring.
      */
     public CircuitBreaker.Metrics getMetrics(String serviceName) {
-        CircuitBreaker cb = breakers.get(serviceName);
-        return cb != null ? cb.getMetrics() : null;
+        ServiceBreaker entry = breakers.get(serviceName);
+        return entry != null ? entry.breaker().getMetrics() : null;
+    }
+
+    private record ServiceBreaker(org.adcb.adapter.commons.resilience.CircuitBreakerConfig config,
+                                  CircuitBreaker breaker,
+                                  AtomicReference<CircuitBreaker.State> observed) {
+
+        ServiceBreaker(org.adcb.adapter.commons.resilience.CircuitBreakerConfig config, CircuitBreaker breaker) {
+            this(config, breaker, new AtomicReference<>(breaker.getState()));
+        }
+
+        /**
+         * Current state; a change since the last observation is reported once.
+         */
+        CircuitBreaker.State observe(String serviceName) {
+            CircuitBreaker.State state = breaker.getState();
+            CircuitBreaker.State previous = observed.get();
+            if (state != previous && observed.compareAndSet(previous, state)) {
+                CircuitStateChangeEvent.emit(serviceName, previous.name(), state.name());
+            }
+            return state;
+        }
     }
 }
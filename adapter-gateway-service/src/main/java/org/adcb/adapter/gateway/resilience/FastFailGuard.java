@@ -0,0 +1,178 @@
+package org.adcb.adapter.gateway.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ErrorSeverity;
+import org.adcb.adapter.commons.PerformanceMetrics;
+import org.adcb.adapter.commons.ResponseStatus;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rejects calls to unavailable services before any request work is done.
+ *
+ * <p>During an outage every call would otherwise enrich the request, enter the breaker,
+ * throw, log a stack trace and map a fresh error. This guard instead:
+ * <ul>
+ *   <li>checks the circuit breaker state (without acquiring a permission) and the
+ *       service rate limiter up front</li>
+ *   <li>answers from a response prebuilt once per service and reason; only the
+ *       correlation id, timestamp and timing are filled in per call</li>
+ *   <li>counts rejections and logs one aggregated line per service and reason at most
+ *       every {@value #LOG_INTERVAL_MS} ms, without stack traces</li>
+ * </ul>
+ *
+ * <p>The shared {@link ErrorDetails} instances must not be modified by callers.
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class FastFailGuard implements ServiceConfigListener {
+
+    static final long LOG_INTERVAL_MS = 10_000;
+
+    /**
+     * Why a call was rejected.
+     */
+    public enum Reason {
+        CIRCUIT_OPEN, RATE_LIMITED
+    }
+
+    private final CircuitBreakerManager circuitBreakerManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final Map<Reason, Map<String, StandardResponse<?>>> responses = new EnumMap<>(Reason.class);
+    private final Map<Reason, Map<String, RejectionLog>> rejectionLogs = new EnumMap<>(Reason.class);
+
+    public FastFailGuard(CircuitBreakerManager circuitBreakerManager, RateLimiterManager rateLimiterManager) {
+        this.circuitBreakerManager = circuitBreakerManager;
+        this.rateLimiterManager = rateLimiterManager;
+        for (Reason reason : Reason.values()) {
+            responses.put(reason, new ConcurrentHashMap<>());
+            rejectionLogs.put(reason, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Checks breaker and rate limiter for one incoming call.
+     *
+     * @return the rejection response, or {@code null} if the call may proceed
+     */
+    public StandardResponse<?> check(String serviceName, ServiceMetadata config,
+                                     String correlationId, long startTime) {
+        if (!circuitBreakerManager.isCallPermitted(serviceName)) {
+            return reject(Reason.CIRCUIT_OPEN, serviceName, config, correlationId, startTime);
+        }
+        if (!rateLimiterManager.tryAcquire(serviceName, config)) {
+            return reject(Reason.RATE_LIMITED, serviceName, config, correlationId, startTime);
+        }
+        return null;
+    }
+
+    /**
+     * Builds the rejection response for a call, e.g. when the breaker opened while the
+     * call was already in flight.
+     */
+    public StandardResponse<?> reject(Reason reason, String serviceName, ServiceMetadata config,
+                                      String correlationId, long startTime) {
+        rejectionLogs.get(reason)
+                .computeIfAbsent(serviceName, key -> new RejectionLog())
+                .record(reason, serviceName);
+
+        StandardResponse<?> template = responses.get(reason)
+                .computeIfAbsent(serviceName, key -> buildResponse(reason, key, config));
+
+        return template.toBuilder()
+                .correlationId(correlationId)
+                .timestamp(LocalDateTime.now())
+                .performance(PerformanceMetrics.builder()
+                        .executionTimeMs(System.currentTimeMillis() - startTime)
+                        .circuitBreakerState(reason == Reason.CIRCUIT_OPEN ? "OPEN" : null)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Drops the prebuilt responses of a service, e.g. after its configuration changed.
+     */
+    public void evict(String serviceName) {
+        responses.values().forEach(map -> map.remove(serviceName));
+    }
+
+    @Override
+    public void servicesChanged(Set<String> serviceNames) {
+        serviceNames.forEach(this::evict);
+    }
+
+    private static StandardResponse<?> buildResponse(Reason reason, String serviceName, ServiceMetadata config) {
+        ErrorDetails error = switch (reason) {
+            case CIRCUIT_OPEN -> ErrorDetails.builder()
+                    .errorCode("CIRCUIT_OPEN")
+                    .errorMessage("Service temporarily unavailable")
+                    .errorDescription("Circuit breaker is open for service '" + serviceName + "'")
+                    .category(ErrorCategory.CIRCUIT_BREAKER)
+                    .severity(ErrorSeverity.HIGH)
+                    .source("GATEWAY_SERVICE")
+                    .retryable(true)
+                    .retryAfterSeconds(openStateSeconds(config))
+                    .downstreamService(serviceName)
+                    .build();
+            case RATE_LIMITED -> ErrorDetails.builder()
+                    .errorCode("RATE_LIMIT_EXCEEDED")
+                    .errorMessage("Too many requests")
+                    .errorDescription("Rate limit exceeded for service '" + serviceName + "'")
+                    .category(ErrorCategory.RATE_LIMIT)
+                    .severity(ErrorSeverity.MEDIUM)
+                    .source("GATEWAY_SERVICE")
+                    .retryable(true)
+                    .retryAfterSeconds(1)
+                    .downstreamService(serviceName)
+                    .build();
+        };
+
+        return StandardResponse.builder()
+                .success(false)
+                .status(reason == Reason.CIRCUIT_OPEN ? ResponseStatus.CIRCUIT_OPEN : ResponseStatus.TECHNICAL_ERROR)
+                .error(error)
+                .serviceName(serviceName)
+                .protocol(config != null ? config.getProtocol() : null)
+                .build();
+    }
+
+    private static int openStateSeconds(ServiceMetadata config) {
+        if (config == null || config.getResilience() == null || config.getResilience().getCircuitBreaker() == null) {
+            return 30;
+        }
+        long waitMs = config.getResilience().getCircuitBreaker().getWaitDurationInOpenStateMs();
+        return (int) Math.max(1, (waitMs + 999) / 1000);
+    }
+
+    /**
+     * Rejection counter that reports at most once per interval.
+     */
+    private static final class RejectionLog {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong nextReportAt = new AtomicLong();
+
+        void record(Reason reason, String serviceName) {
+            count.increment();
+            long now = System.currentTimeMillis();
+            long next = nextReportAt.get();
+            if (now >= next && nextReportAt.compareAndSet(next, now + LOG_INTERVAL_MS)) {
+                log.warn("Fast-failed {} call(s) to service '{}' ({}) since last report",
+                        count.sumThenReset(), serviceName, reason);
+            }
+        }
+    }
+}
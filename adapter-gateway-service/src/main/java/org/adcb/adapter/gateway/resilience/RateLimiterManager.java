@@ -0,0 +1,78 @@
+package org.adcb.adapter.gateway.resilience;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages rate limiters per service.
+ *
+ * <p>Configuration (in ServiceMetadata.resilience.rateLimiter):
+ *  - enabled
+ *  - permitsPerSecond
+ *  - timeoutDuration (ms to wait for a permit; 0 rejects immediately)
+ *
+ * <p>Each limiter is kept with the configuration it was built from and rebuilt when a
+ * call's configuration no longer matches, so a limiter created from a configuration read
+ * just before a reload is replaced on the next call.
+ */
+@Component
+public class RateLimiterManager implements ServiceConfigListener {
+
+    private final ConcurrentHashMap<String, ServiceLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires a permit for one call to the service.
+     *
+     * @return {@code true} if the call may proceed (always when rate limiting is disabled)
+     */
+    public boolean tryAcquire(String serviceName, ServiceMetadata config) {
+        var rlConfig = config.getResilience() != null ? config.getResilience().getRateLimiter() : null;
+        if (rlConfig == null || !rlConfig.isEnabled() || rlConfig.getPermitsPerSecond() <= 0) {
+            return true;
+        }
+        ServiceLimiter entry = limiters.get(serviceName);
+        if (entry == null || !entry.config().equals(rlConfig)) {
+            entry = limiters.compute(serviceName, (key, existing) -> existing != null && existing.config().equals(rlConfig)
+                    ? existing : new ServiceLimiter(rlConfig, createRateLimiter(key, rlConfig)));
+        }
+        return entry.limiter().acquirePermission();
+    }
+
+    private RateLimiter createRateLimiter(String serviceName,
+                                          org.adcb.adapter.commons.resilience.RateLimiterConfig rlConfig) {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(rlConfig.getPermitsPerSecond())
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMillis(Math.max(0, rlConfig.getTimeoutDuration())))
+                .build();
+        return RateLimiter.of(serviceName, config);
+    }
+
+    /**
+     * Drops the limiters of reconfigured services so the new permit rate applies.
+     */
+    @Override
+    public void servicesChanged(Set<String> serviceNames) {
+        for (String serviceName : serviceNames) {
+            limiters.remove(serviceName);
+        }
+    }
+
+    /**
+     * Gets rate limiter metrics for monitoring.
+     */
+    public RateLimiter.Metrics getMetrics(String serviceName) {
+        ServiceLimiter entry = limiters.get(serviceName);
+        return entry != null ? entry.limiter().getMetrics() : null;
+    }
+
+    private record ServiceLimiter(org.adcb.adapter.commons.resilience.RateLimiterConfig config, RateLimiter limiter) {
+    }
+}
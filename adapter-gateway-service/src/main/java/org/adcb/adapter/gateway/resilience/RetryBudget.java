@@ -0,0 +1,128 @@
+package org.adcb.adapter.gateway.resilience;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-service retry budget over a sliding window of {@value #WINDOW_SECONDS} seconds.
+ *
+ * <p>Retries in the window may not exceed {@code ratio} times the successful calls in the
+ * same window plus a floor of {@code minRetriesPerSecond} per second, so the floor lets a
+ * quiet service still retry occasionally. When a backend degrades, successes dry up and
+ * the budget caps the extra load retries add, instead of every request multiplying it by
+ * {@code maxAttempts}.
+ *
+ * <p>Counts are kept in one slot per second; concurrent callers may overshoot the budget
+ * by a few retries, which is fine for load shedding.
+ */
+public class RetryBudget {
+
+    static final int WINDOW_SECONDS = 10;
+
+    private final double ratio;
+    private final long reserve;
+    private final LongSupplier clock;
+    private final Slot[] slots = new Slot[WINDOW_SECONDS];
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(double ratio, int minRetriesPerSecond) {
+        this(ratio, minRetriesPerSecond, System::currentTimeMillis);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, LongSupplier clock) {
+        this.ratio = Math.max(0, ratio);
+        this.reserve = (long) Math.max(0, minRetriesPerSecond) * WINDOW_SECONDS;
+        this.clock = clock;
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Records a successful call, which earns {@code ratio} of a retry.
+     */
+    public void recordSuccess() {
+        slot(currentSecond()).successes.increment();
+    }
+
+    /**
+     * Withdraws one retry from the budget.
+     *
+     * @return {@code false} if the budget is exhausted and the retry must not happen
+     */
+    public boolean tryAcquireRetry() {
+        long second = currentSecond();
+        if (available(second) < 1) {
+            exhausted.increment();
+            return false;
+        }
+        slot(second).retries.increment();
+        return true;
+    }
+
+    /**
+     * Gets retry budget metrics for monitoring.
+     */
+    public Metrics getMetrics() {
+        Window window = window(currentSecond());
+        return new Metrics(window.successes(), window.retries(), Math.max(0, available(window)), exhausted.sum());
+    }
+
+    /**
+     * Budget state over the current window.
+     *
+     * @param successes successful calls in the window
+     * @param retries   retries in the window
+     * @param available retries still allowed in the window
+     * @param exhausted retries refused since startup
+     */
+    public record Metrics(long successes, long retries, double available, long exhausted) {
+    }
+
+    private double available(long second) {
+        return available(window(second));
+    }
+
+    private double available(Window window) {
+        return reserve + ratio * window.successes() - window.retries();
+    }
+
+    private Window window(long second) {
+        long successes = 0;
+        long retries = 0;
+        for (Slot slot : slots) {
+            if (slot.second > second - WINDOW_SECONDS) {
+                successes += slot.successes.sum();
+                retries += slot.retries.sum();
+            }
+        }
+        return new Window(successes, retries);
+    }
+
+    private long currentSecond() {
+        return clock.getAsLong() / 1000;
+    }
+
+    private Slot slot(long second) {
+        Slot slot = slots[(int) (second % WINDOW_SECONDS)];
+        if (slot.second != second) {
+            synchronized (slot) {
+                if (slot.second != second) {
+                    slot.successes.reset();
+                    slot.retries.reset();
+                    slot.second = second;
+                }
+            }
+        }
+        return slot;
+    }
+
+    private record Window(long successes, long retries) {
+    }
+
+    private static final class Slot {
+        private volatile long second = Long.MIN_VALUE;
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+    }
+}
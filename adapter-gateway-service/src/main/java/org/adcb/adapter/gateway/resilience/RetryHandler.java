@@ -1,13 +1,29 @@
 package org.adcb.adapter.gateway.resilience;
 
+import io.github.resilience4j.core.IntervalBiFunction;
 import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.core.functions.Either;
 import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.jfr.RetryAttemptEvent;
+import org.adcb.adapter.commons.resilience.RetryAfter;
 import org.adcb.adapter.commons.resilience.RetryConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -20,45 +36,269 @@ import java.util.function.Supplier;
  *  - waitDuration (ms)
  *  - multiplier (for exponential backoff)
  *  - maxInterval (ms)
- *  - retryableExceptions (class names)
+ *  - retryableExceptions (class names); when not set, {@link ErrorClassifier}
+ *    decides which failures are retryable
+ *  - budgetEnabled, budgetRatio, budgetMinRetriesPerSecond (see {@link RetryBudget})
+ *
+ * <p>Besides thrown exceptions, error responses returned by protocol handlers are retried
+ * when their {@code ErrorDetails} are marked retryable. Before each retry the service's
+ * {@link RetryBudget} is charged; when it is exhausted the last outcome is returned as-is.
+ * A downstream {@code Retry-After} replaces the backoff interval, and a Retry-After longer
+ * than {@code maxInterval} (or {@link #DEFAULT_MAX_RETRY_AFTER_MS} when no maxInterval is
+ * configured) is not waited for at all.
+ *
+ * <p>{@link #executeAsync} applies the same rules to a {@link Mono}: the backoff is a
+ * {@code Mono.delay} on Reactor's timer, so no thread is parked between attempts.
  */
 @Component
-public class RetryHandler {
+@Slf4j
+public class RetryHandler implements ServiceConfigListener {
+
+    /** Longest Retry-After honoured for services without a maxInterval. */
+    static final long DEFAULT_MAX_RETRY_AFTER_MS = 30_000;
 
-    private final io.github.resilience4j.retry.RetryRegistry retryRegistry =
-            io.github.resilience4j.retry.RetryRegistry.ofDefaults();
+    /** Outcome of the invocation running on this thread; Resilience4j predicates run on the caller thread. */
+    private static final ThreadLocal<RetryStats> CURRENT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, ServiceRetry> retries = new ConcurrentHashMap<>();
+    private final ErrorClassifier errorClassifier;
+
+    public RetryHandler(ErrorClassifier errorClassifier) {
+        this.errorClassifier = errorClassifier;
+    }
 
     public <T> T execute(ServiceMetadata config, Supplier<T> supplier) {
-        var rc = config.getResilience().getRetry();
+        return execute(config, new RetryStats(), supplier);
+    }
+
+    /**
+     * Executes the supplier with retries, recording attempts and budget exhaustion in {@code stats}.
+     */
+    public <T> T execute(ServiceMetadata config, RetryStats stats, Supplier<T> supplier) {
+        var rc = config.getResilience() != null ? config.getResilience().getRetry() : null;
         if (rc == null || !rc.isEnabled()) {
+            stats.setAttempts(1);
             return supplier.get();
         }
 
+        ServiceRetry serviceRetry = serviceRetry(config.getServiceName(), rc);
+
+        RetryStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        try {
+            T result = Retry.decorateSupplier(serviceRetry.retry(), () -> {
+                stats.setAttempts(stats.getAttempts() + 1);
+                return supplier.get();
+            }).get();
+            if (!isErrorResponse(result) && serviceRetry.budget() != null) {
+                serviceRetry.budget().recordSuccess();
+            }
+            return result;
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(ServiceMetadata, RetryStats, Supplier)}.
+     * {@code attempt} is subscribed once per attempt; between attempts the backoff (or
+     * downstream Retry-After) is awaited on Reactor's timer instead of a sleeping thread.
+     */
+    public <T> Mono<T> executeAsync(ServiceMetadata config, RetryStats stats, Supplier<Mono<T>> attempt) {
+        var rc = config.getResilience() != null ? config.getResilience().getRetry() : null;
+        Mono<T> counted = Mono.defer(() -> {
+            stats.setAttempts(stats.getAttempts() + 1);
+            return attempt.get();
+        });
+        if (rc == null || !rc.isEnabled()) {
+            return counted;
+        }
+
+        ServiceRetry serviceRetry = serviceRetry(config.getServiceName(), rc);
+
+        return counted
+                .flatMap(result -> isRetryableResponse(result)
+                        ? Mono.<T>error(new RetryableResponse(result)) : Mono.just(result))
+                .retryWhen(reactor.util.retry.Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    Either<Throwable, Object> outcome = failure instanceof RetryableResponse response
+                            ? Either.right(response.result) : Either.left(failure);
+                    if (outcome.isLeft() && !serviceRetry.retryableException().test(failure)) {
+                        return Mono.error(failure);
+                    }
+                    Integer retryAfter = retryAfterSeconds(outcome);
+                    if (!allowRetry(serviceRetry, stats, retryAfter)) {
+                        return Mono.error(failure);
+                    }
+                    long delayMs = retryAfter != null ? retryAfter * 1000L : serviceRetry.backoff().apply(stats.getRetries());
+                    return Mono.delay(Duration.ofMillis(delayMs));
+                })))
+                .onErrorResume(RetryableResponse.class, response -> {
+                    @SuppressWarnings("unchecked")
+                    T result = (T) response.result;
+                    return Mono.just(result);
+                })
+                .doOnNext(result -> {
+                    if (!isErrorResponse(result) && serviceRetry.budget() != null) {
+                        serviceRetry.budget().recordSuccess();
+                    }
+                });
+    }
+
+    /**
+     * Gets retry budget metrics for monitoring.
+     */
+    public RetryBudget.Metrics getBudgetMetrics(String serviceName) {
+        ServiceRetry serviceRetry = retries.get(serviceName);
+        return serviceRetry != null && serviceRetry.budget() != null ? serviceRetry.budget().getMetrics() : null;
+    }
+
+    /**
+     * Budget metrics of every service that has retried under a budget since its last
+     * reconfiguration, by service name.
+     */
+    public Map<String, RetryBudget.Metrics> getBudgetMetrics() {
+        Map<String, RetryBudget.Metrics> metrics = new TreeMap<>();
+        retries.forEach((serviceName, serviceRetry) -> {
+            if (serviceRetry.budget() != null) {
+                metrics.put(serviceName, serviceRetry.budget().getMetrics());
+            }
+        });
+        return metrics;
+    }
+
+    /**
+     * Drops the retry policy and budget of reconfigured services; retries already in
+     * progress finish under the policy they started with.
+     */
+    @Override
+    public void servicesChanged(Set<String> serviceNames) {
+        for (String serviceName : serviceNames) {
+            retries.remove(serviceName);
+        }
+    }
+
+    /**
+     * The service's retry policy, rebuilt if it was created from a different configuration
+     * (e.g. by a call that read the configuration just before a reload).
+     */
+    private ServiceRetry serviceRetry(String serviceName, RetryConfig rc) {
+        ServiceRetry serviceRetry = retries.get(serviceName);
+        if (serviceRetry != null && serviceRetry.config().equals(rc)) {
+            return serviceRetry;
+        }
+        return retries.compute(serviceName, (name, existing) -> existing != null && existing.config().equals(rc)
+                ? existing : createRetry(name, rc));
+    }
+
+    private ServiceRetry createRetry(String serviceName, RetryConfig rc) {
+        RetryBudget budget = rc.isBudgetEnabled()
+                ? new RetryBudget(rc.getBudgetRatio(), rc.getBudgetMinRetriesPerSecond()) : null;
+
+        Predicate<Throwable> retryableException = rc.getRetryableExceptions() != null && !rc.getRetryableExceptions().isEmpty()
+                ? exceptionMatcher(resolveExceptionClasses(rc.getRetryableExceptions()))
+                : errorClassifier::isRetryable;
+
+        IntervalFunction backoff = intervalFunction(rc);
+        IntervalBiFunction<Object> interval = (attempt, outcome) -> {
+            Integer retryAfter = retryAfterSeconds(outcome);
+            return retryAfter != null ? retryAfter * 1000L : backoff.apply(attempt);
+        };
+
+        ServiceRetry[] self = new ServiceRetry[1];
         io.github.resilience4j.retry.RetryConfig rConfig = io.github.resilience4j.retry.RetryConfig.custom()
                 .maxAttempts(rc.getMaxAttempts())
                 // Remove waitDuration; use intervalFunction exclusively
-                .intervalFunction(intervalFunction(rc))
-                .retryExceptions(resolveExceptionClasses(rc.getRetryableExceptions()))
+                .intervalBiFunction(interval)
+                .retryOnException(e -> retryableException.test(e)
+                        && allowRetry(self[0], CURRENT.get(), retryAfterSeconds(Either.left(e))))
+                .retryOnResult(result -> isRetryableResponse(result)
+                        && allowRetry(self[0], CURRENT.get(), retryAfterSeconds(Either.right(result))))
                 .build();
 
-        io.github.resilience4j.retry.Retry retry =
-                retryRegistry.retry(config.getServiceName(), rConfig);
+        Retry retry = Retry.of(serviceName, rConfig);
+        retry.getEventPublisher().onRetry(e -> log.debug("Retrying service '{}' (attempt {}) after {}ms",
+                serviceName, e.getNumberOfRetryAttempts(), e.getWaitInterval().toMillis()));
+        self[0] = new ServiceRetry(serviceName, rc, retry, budget, retryableException, backoff);
+        return self[0];
+    }
 
-        // Optional: subscribe to retry events
-        retry.getEventPublisher().onRetry(e -> {
-            // log retry attempt if desired
-        });
+    /**
+     * Decides whether a retryable failure is actually retried; charges the budget only when a
+     * further attempt will really be made.
+     */
+    private boolean allowRetry(ServiceRetry serviceRetry, RetryStats stats, Integer retryAfterSeconds) {
+        RetryConfig rc = serviceRetry.config();
+        int attempt = stats != null ? stats.getAttempts() : 0;
+        if (stats != null && stats.getAttempts() >= rc.getMaxAttempts()) {
+            RetryAttemptEvent.emit(serviceRetry.serviceName(), attempt, retryAfterSeconds, "MAX_ATTEMPTS");
+            return false;
+        }
+        long maxRetryAfterMs = rc.getMaxInterval() > 0 ? rc.getMaxInterval() : DEFAULT_MAX_RETRY_AFTER_MS;
+        if (retryAfterSeconds != null && retryAfterSeconds * 1000L > maxRetryAfterMs) {
+            log.debug("Not retrying service '{}': Retry-After {}s exceeds maxInterval",
+                    serviceRetry.serviceName(), retryAfterSeconds);
+            RetryAttemptEvent.emit(serviceRetry.serviceName(), attempt, retryAfterSeconds, "RETRY_AFTER_TOO_LONG");
+            return false;
+        }
+        RetryBudget budget = serviceRetry.budget();
+        if (budget != null && !budget.tryAcquireRetry()) {
+            if (stats != null) {
+                stats.setBudgetExhausted(true);
+            }
+            RetryAttemptEvent.emit(serviceRetry.serviceName(), attempt, retryAfterSeconds, "BUDGET_EXHAUSTED");
+            return false;
+        }
+        if (stats != null) {
+            stats.setRetries(stats.getRetries() + 1);
+        }
+        RetryAttemptEvent.emit(serviceRetry.serviceName(), attempt, retryAfterSeconds, "RETRY");
+        return true;
+    }
 
-        return io.github.resilience4j.retry.Retry.decorateSupplier(retry, supplier).get();
+    private static boolean isErrorResponse(Object result) {
+        return result instanceof StandardResponse<?> response && !response.isSuccess();
     }
 
-    private io.github.resilience4j.core.IntervalFunction intervalFunction(
-            org.adcb.adapter.commons.resilience.RetryConfig rc) {
+    private static boolean isRetryableResponse(Object result) {
+        return isErrorResponse(result) && ((StandardResponse<?>) result).getError() != null
+                && ((StandardResponse<?>) result).getError().isRetryable();
+    }
+
+    private static Integer retryAfterSeconds(Either<Throwable, ?> outcome) {
+        if (outcome.isLeft()) {
+            for (Throwable t = outcome.getLeft(); t != null; t = t.getCause() != t ? t.getCause() : null) {
+                if (t instanceof WebClientResponseException e) {
+                    return RetryAfter.parseSeconds(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                }
+            }
+            return null;
+        }
+        Object result = outcome.get();
+        return result instanceof StandardResponse<?> response && response.getError() != null
+                ? response.getError().getRetryAfterSeconds() : null;
+    }
+
+    private static Predicate<Throwable> exceptionMatcher(Class<? extends Throwable>[] classes) {
+        return e -> {
+            for (Class<? extends Throwable> type : classes) {
+                if (type.isInstance(e)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private IntervalFunction intervalFunction(RetryConfig rc) {
         if ("EXPONENTIAL_BACKOFF".equalsIgnoreCase(rc.getStrategy())) {
-            return io.github.resilience4j.core.IntervalFunction
-                    .ofExponentialBackoff(rc.getInitialInterval(), rc.getMultiplier(), rc.getMaxInterval());
+            return IntervalFunction.ofExponentialBackoff(rc.getInitialInterval(), rc.getMultiplier(), rc.getMaxInterval());
         }
-        return io.github.resilience4j.core.IntervalFunction.of(rc.getInitialInterval());
+        return IntervalFunction.of(rc.getInitialInterval());
     }
 
     private Class<? extends Throwable>[] resolveExceptionClasses(List<String> names) {
@@ -70,4 +310,20 @@ public class RetryHandler {
             }
         }).toArray(Class[]::new);
     }
+
+    private record ServiceRetry(String serviceName, RetryConfig config, Retry retry, RetryBudget budget,
+                                Predicate<Throwable> retryableException, IntervalFunction backoff) {
+    }
+
+    /**
+     * Carries a retryable error response through {@code retryWhen}; never escapes executeAsync.
+     */
+    private static final class RetryableResponse extends RuntimeException {
+        private final Object result;
+
+        RetryableResponse(Object result) {
+            super(null, null, false, false);
+            this.result = result;
+        }
+    }
 }
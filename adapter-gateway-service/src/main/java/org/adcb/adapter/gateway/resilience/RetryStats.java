@@ -0,0 +1,13 @@
+package org.adcb.adapter.gateway.resilience;
+
+import lombok.Data;
+
+/**
+ * Retry outcome of one invocation, reported in {@code PerformanceMetrics}.
+ */
+@Data
+public class RetryStats {
+    private int attempts;
+    private int retries;
+    private boolean budgetExhausted;
+}
@@ -1,20 +1,38 @@
 package org.adcb.adapter.gateway.service;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.commons.*;
-import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.commons.jfr.AdapterInvocationEvent;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
 import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
 import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.gateway.resilience.RetryStats;
 import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.spi.context.RequestScope;
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
 import org.adcb.adapter.transform.TemplateService;
 import org.adcb.adapter.transform.exception.TemplateProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Enhanced Protocol Adapter Service - Main orchestration layer.
@@ -30,6 +48,17 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>Performance metrics collection</li>
  * </ul>
  *
+ * <p>Every invocation of a configured service is timed per phase and reported to the
+ * {@link LatencyRecorder}; protocol handlers add their own phases through the
+ * {@link InvocationPhases} bound while they run. While Flight Recorder is running, each
+ * invocation is also emitted as an {@link AdapterInvocationEvent}, and with tracing enabled it
+ * is an {@link AdapterTracing#INVOKE} span parenting the handler's spans.
+ *
+ * <p>Each invocation runs under a {@link RequestContext}: the caller's correlation and interaction
+ * ids when given, otherwise generated ones. The context is bound (with the logging MDC) wherever
+ * the invocation's code runs, offered to templates as {@code correlationId}/{@code interactionId}
+ * and forwarded downstream for services that configure {@code contextPropagation}.
+ *
  * <p>Returns standardized responses regardless of downstream protocol,
  * ensuring consistent API contracts for all consuming microservices.
  *
@@ -41,70 +70,259 @@ public class EnhancedProtocolAdapterService {
 
     @Autowired
     private final Map<String, ProtocolHandler> protocolHandlers;
-    private final ServiceConfig serviceConfigs;
-    //private final Map<String, ServiceMetadata> serviceConfigs;
+    private final ServiceRegistry serviceRegistry;
     private final TemplateService templateService;
     private final CircuitBreakerManager circuitBreakerManager;
     private final RetryHandler retryHandler;
     private final ErrorMapper errorMapper;
+    private final FastFailGuard fastFailGuard;
+    private final LatencyRecorder latencyRecorder;
 
     @Autowired
     public EnhancedProtocolAdapterService(
             Map<String, ProtocolHandler> protocolHandlers,
-            ServiceConfig serviceConfigs,
+            ServiceRegistry serviceRegistry,
             TemplateService templateService,
             CircuitBreakerManager circuitBreakerManager,
             RetryHandler retryHandler,
-            ErrorMapper errorMapper) {
+            ErrorMapper errorMapper,
+            FastFailGuard fastFailGuard,
+            LatencyRecorder latencyRecorder) {
 
         this.protocolHandlers = protocolHandlers;
-        this.serviceConfigs = serviceConfigs;
+        this.serviceRegistry = serviceRegistry;
         this.templateService = templateService;
         this.circuitBreakerManager = circuitBreakerManager;
         this.retryHandler = retryHandler;
         this.errorMapper = errorMapper;
+        this.fastFailGuard = fastFailGuard;
+        this.latencyRecorder = latencyRecorder;
 
         log.info("EnhancedProtocolAdapterService initialized with {} protocol handlers and {} service configs",
-                protocolHandlers.size(), serviceConfigs);
+                protocolHandlers.size(), serviceRegistry.snapshot().size());
     }
 
     /**
      * Main entry point for service invocation.
      *
+     * <p>Runs under the {@link RequestContext#current() bound request context}, or a new one.
+     *
      * @param serviceName unique service identifier
      * @param requestData request payload (typically Map<String,Object>)
      * @return StandardResponse with success payload or error details
      */
     public StandardResponse<?> invoke(String serviceName, Object requestData) {
-        //TODO correlationId + interaction id  which was passing from the client need to keep track of the request
-        String correlationId = generateCorrelationId();
-        long startTime = System.currentTimeMillis();
+        return invoke(serviceName, requestData, null);
+    }
+
+    /**
+     * Invokes a service on behalf of a caller that supplied its own correlation/interaction ids.
+     *
+     * @param requestContext the caller's ids; {@code null} to use the bound context or a new one
+     */
+    public StandardResponse<?> invoke(String serviceName, Object requestData, RequestContext requestContext) {
+        long startNanos = System.nanoTime();
+        RequestContext context = orCurrent(requestContext);
+        String correlationId = context.getCorrelationId();
+        InvocationPhases phases = new InvocationPhases();
+        RetryStats retryStats = new RetryStats();
+        AdapterInvocationEvent event = AdapterInvocationEvent.start();
+        Span span = AdapterTracing.startSpan(AdapterTracing.INVOKE, SpanKind.SERVER, serviceName);
+
+        StandardResponse<?> response;
+        try (Scope scope = AdapterTracing.activate(span); RequestScope requestScope = RequestScope.open(context)) {
+            response = invoke(serviceName, requestData, context, phases, retryStats, startNanos);
+        }
+        recordInvocation(serviceName, correlationId, startNanos, phases, retryStats, event, span, response);
+        span.end();
+        return response;
+    }
 
-        log.info("Invoking service '{}' with correlation ID: {}", serviceName, correlationId);
+    private StandardResponse<?> invoke(String serviceName, Object requestData, RequestContext context,
+                                       InvocationPhases phases, RetryStats retryStats, long startNanos) {
+        long startTime = System.currentTimeMillis();
+        String correlationId = context.getCorrelationId();
 
+        ServiceMetadata config = null;
         try {
             // 1. Load and validate service configuration
-            ServiceMetadata config = getServiceConfig(serviceName);
+            config = getServiceConfig(serviceName);
+
+            // Fail fast on open breaker or exhausted rate limit, before any request work
+            StandardResponse<?> rejected = fastFailGuard.check(serviceName, config, correlationId, startTime);
+            if (rejected != null) {
+                return rejected;
+            }
+
+            log.info("Invoking service '{}' with correlation ID: {}", serviceName, correlationId);
 
             // 2. Get protocol handler
             ProtocolHandler handler = getProtocolHandler(config.getProtocol());
+            phases.add(InvocationPhases.Phase.ADMISSION, System.nanoTime() - startNanos);
 
             // 3. Execute with resilience patterns
-            Object rawResponse = executeWithResilience(serviceName, config, requestData, handler, correlationId);
+            Object rawResponse = executeWithResilience(serviceName, config, requestData, handler, context,
+                    retryStats, phases);
 
             // 4. Process and transform response
-            StandardResponse<?> response = processResponse(rawResponse, config, correlationId, startTime);
+            long mark = System.nanoTime();
+            StandardResponse<?> response = processResponse(rawResponse, config, correlationId, startTime, retryStats);
+            phases.add(InvocationPhases.Phase.RESPONSE, System.nanoTime() - mark);
 
             log.info("Service '{}' completed successfully in {}ms", serviceName,
                     System.currentTimeMillis() - startTime);
 
             return response;
 
+        } catch (CallNotPermittedException e) {
+            // Breaker opened while this call was being prepared
+            return fastFailGuard.reject(FastFailGuard.Reason.CIRCUIT_OPEN, serviceName, config,
+                    correlationId, startTime);
+        } catch (Exception e) {
+            log.error("Service '{}' failed with correlation ID '{}': {}",
+                    serviceName, correlationId, e.getMessage(), e);
+
+            return handleError(e, serviceName, correlationId, startTime, retryStats);
+        }
+    }
+
+    /**
+     * Non-blocking entry point for service invocation.
+     *
+     * <p>Same flow and responses as {@link #invoke}, but the handler runs on the bounded
+     * elastic scheduler and retry backoff is a timer, so no thread waits between attempts
+     * and the caller's event loop is never blocked.
+     *
+     * @param serviceName unique service identifier
+     * @param requestData request payload (typically Map<String,Object>)
+     * @return Mono emitting a StandardResponse with success payload or error details
+     */
+    public Mono<StandardResponse<?>> invokeAsync(String serviceName, Object requestData) {
+        return invokeAsync(serviceName, requestData, null);
+    }
+
+    /**
+     * Non-blocking invocation on behalf of a caller that supplied its own correlation/interaction ids.
+     *
+     * <p>The context is bound wherever this invocation runs code, on the attempt's scheduler thread
+     * and in the response, error and completion handling that follows it, and is available to
+     * downstream operators through the Reactor context ({@link RequestScope#get}).
+     *
+     * @param requestContext the caller's ids; {@code null} to use the bound context or a new one
+     */
+    public Mono<StandardResponse<?>> invokeAsync(String serviceName, Object requestData,
+                                                 RequestContext requestContext) {
+        long startNanos = System.nanoTime();
+        RequestContext context = orCurrent(requestContext);
+        String correlationId = context.getCorrelationId();
+        long startTime = System.currentTimeMillis();
+        RetryStats retryStats = new RetryStats();
+        InvocationPhases phases = new InvocationPhases();
+        AdapterInvocationEvent event = AdapterInvocationEvent.start();
+        Span span = AdapterTracing.startSpan(AdapterTracing.INVOKE, SpanKind.SERVER, serviceName);
+
+        ServiceMetadata config;
+        ProtocolHandler handler;
+        try (RequestScope requestScope = RequestScope.open(context)) {
+            config = getServiceConfig(serviceName);
+
+            StandardResponse<?> rejected = fastFailGuard.check(serviceName, config, correlationId, startTime);
+            if (rejected != null) {
+                recordInvocation(serviceName, correlationId, startNanos, phases, retryStats, event, span, rejected);
+                span.end();
+                return Mono.just(rejected);
+            }
+
+            log.info("Invoking service '{}' asynchronously with correlation ID: {}", serviceName, correlationId);
+            handler = getProtocolHandler(config.getProtocol());
         } catch (Exception e) {
             log.error("Service '{}' failed with correlation ID '{}': {}",
                     serviceName, correlationId, e.getMessage(), e);
+            StandardResponse<?> error = handleError(e, serviceName, correlationId, startTime, retryStats);
+            recordInvocation(serviceName, correlationId, startNanos, phases, retryStats, event, span, error);
+            span.end();
+            return Mono.just(error);
+        }
+
+        Object enrichedRequest = enrichRequestData(requestData, config, context);
+        phases.add(InvocationPhases.Phase.ADMISSION, System.nanoTime() - startNanos);
+        // Each attempt runs on a scheduler thread; carry the invocation's trace and request context there explicitly
+        Context traceContext = AdapterTracing.capture(span);
+        AtomicBoolean recorded = new AtomicBoolean();
+        Mono<Object> attempt = Mono.fromCallable(() -> {
+                    try (Scope scope = AdapterTracing.activate(traceContext);
+                         RequestScope requestScope = RequestScope.open(context)) {
+                        return executeHandler(handler, config, enrichedRequest, phases);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+
+        // Operators below run on whichever scheduler thread completed the attempt; each binds the
+        // request context so response mapping, error handling and their logs carry the request's ids
+        return circuitBreakerManager.executeAsync(serviceName, config,
+                        retryHandler.executeAsync(config, retryStats, () -> attempt))
+                .<StandardResponse<?>>map(rawResponse -> inScope(context, () -> {
+                    long mark = System.nanoTime();
+                    StandardResponse<?> response = processResponse(rawResponse, config, correlationId, startTime,
+                            retryStats);
+                    phases.add(InvocationPhases.Phase.RESPONSE, System.nanoTime() - mark);
+                    return response;
+                }))
+                .switchIfEmpty(Mono.fromSupplier(() -> inScope(context, () ->
+                        processResponse(null, config, correlationId, startTime, retryStats))))
+                .doOnNext(response -> inScope(context, () -> {
+                    log.info("Service '{}' completed in {}ms", serviceName, System.currentTimeMillis() - startTime);
+                    return response;
+                }))
+                .onErrorResume(CallNotPermittedException.class, e -> Mono.just(inScope(context, () ->
+                        fastFailGuard.reject(FastFailGuard.Reason.CIRCUIT_OPEN, serviceName, config,
+                                correlationId, startTime))))
+                .onErrorResume(e -> Mono.just(inScope(context, () -> {
+                    log.error("Service '{}' failed with correlation ID '{}': {}",
+                            serviceName, correlationId, e.getMessage(), e);
+                    return handleError(e instanceof Exception ex ? ex : new RuntimeException(e),
+                            serviceName, correlationId, startTime, retryStats);
+                })))
+                .doOnNext(response -> inScope(context, () -> {
+                    recorded.set(true);
+                    recordInvocation(serviceName, correlationId, startNanos, phases, retryStats, event, span, response);
+                    return response;
+                }))
+                // Ends the span on cancellation too, when no response is ever recorded
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL && !recorded.get() && span.isRecording()) {
+                        span.setAttribute(AdapterTracing.OUTCOME, "CANCELLED");
+                    }
+                    span.end();
+                })
+                .contextWrite(reactorContext -> RequestScope.put(reactorContext, context));
+    }
+
+    /**
+     * Runs {@code work} with {@code context} bound to the current thread and MDC.
+     */
+    private static <T> T inScope(RequestContext context, Supplier<T> work) {
+        try (RequestScope requestScope = RequestScope.open(context)) {
+            return work.get();
+        }
+    }
 
-            return handleError(e, serviceName, correlationId, startTime);
+    /**
+     * Runs one invocation of {@code config} through {@code handler}, skipping the registry
+     * lookup and fast-fail checks. Used by startup warm-up to exercise the invocation pipeline
+     * with stub handlers; not meant for serving traffic.
+     */
+    public StandardResponse<?> invokeWith(ServiceMetadata config, ProtocolHandler handler, Object requestData) {
+        RequestContext context = RequestContext.generate();
+        String correlationId = context.getCorrelationId();
+        long startTime = System.currentTimeMillis();
+        RetryStats retryStats = new RetryStats();
+        try {
+            Object rawResponse = executeWithResilience(config.getServiceName(), config, requestData, handler,
+                    context, retryStats, new InvocationPhases());
+            return processResponse(rawResponse, config, correlationId, startTime, retryStats);
+        } catch (Exception e) {
+            return handleError(e, config.getServiceName(), correlationId, startTime, retryStats);
         }
     }
 
@@ -113,35 +331,86 @@ public class EnhancedProtocolAdapterService {
      */
     private Object executeWithResilience(String serviceName, ServiceMetadata config,
                                          Object requestData, ProtocolHandler handler,
-                                         String correlationId) {
+                                         RequestContext context, RetryStats retryStats,
+                                         InvocationPhases phases) {
 
-        return circuitBreakerManager.execute(serviceName, config, () ->
-                retryHandler.execute(config, () -> {
+        // Enrich request data with system context once; retries reuse the same view
+        Object enrichedRequest = enrichRequestData(requestData, config, context);
 
-                    // Enrich request data with system context
-                    Object enrichedRequest = enrichRequestData(requestData, config, correlationId);
+        return circuitBreakerManager.execute(serviceName, config, () ->
+                retryHandler.execute(config, retryStats, () -> {
 
                     // Execute the protocol handler
-                    return handler.execute(config, enrichedRequest);
+                    return executeHandler(handler, config, enrichedRequest, phases);
                 })
         );
     }
 
+    /**
+     * Runs one handler attempt with the invocation's phases bound, so the handler can report
+     * template, downstream and transform times.
+     */
+    private static Object executeHandler(ProtocolHandler handler, ServiceMetadata config, Object request,
+                                         InvocationPhases phases) {
+        InvocationPhases previous = phases.bind();
+        try {
+            return handler.execute(config, request);
+        } finally {
+            InvocationPhases.restore(previous);
+        }
+    }
+
+    /**
+     * Reports a finished invocation to the latency recorder, annotates its trace span and, when
+     * Flight Recorder is running, emits an {@link AdapterInvocationEvent}. Calls to unknown services
+     * are not recorded, so arbitrary service names cannot create recorders. The caller ends the span.
+     */
+    private void recordInvocation(String serviceName, String correlationId, long startNanos, InvocationPhases phases,
+                                  RetryStats retryStats, AdapterInvocationEvent event, Span span,
+                                  StandardResponse<?> response) {
+        ServiceMetadata config = serviceRegistry.get(serviceName);
+        if (config != null) {
+            latencyRecorder.record(serviceName, correlationId, System.nanoTime() - startNanos, phases,
+                    retryStats.getRetries(), response.isSuccess());
+        }
+        if (event != null) {
+            event.finish(serviceName, config != null ? config.getProtocol() : null, correlationId,
+                    phases.getRequestBytes(), phases.getResponseBytes(), retryStats.getRetries(),
+                    response.isSuccess(), errorCode(response));
+        }
+        if (span.isRecording()) {
+            span.setAttribute(AdapterTracing.CORRELATION_ID, correlationId);
+            span.setAttribute(AdapterTracing.RETRIES, retryStats.getRetries());
+            if (config != null) {
+                span.setAttribute(AdapterTracing.PROTOCOL, config.getProtocol());
+            }
+            span.setAttribute(AdapterTracing.OUTCOME, response.isSuccess() ? "SUCCESS" : errorCode(response));
+            if (!response.isSuccess()) {
+                span.setStatus(StatusCode.ERROR);
+            }
+        }
+    }
+
+    private static String errorCode(StandardResponse<?> response) {
+        return response.getError() != null ? response.getError().getErrorCode() : String.valueOf(response.getStatus());
+    }
+
     /**
      * Enriches request data with system variables and correlation info.
+     * The result is a read-only {@link TemplateContext} shared by all attempts of the invocation.
      */
-    private Object enrichRequestData(Object originalData, ServiceMetadata config, String correlationId) {
+    private Object enrichRequestData(Object originalData, ServiceMetadata config, RequestContext context) {
         if (originalData instanceof Map) {
             @SuppressWarnings("unchecked")
-            Map<String, Object> dataMap = new ConcurrentHashMap<>((Map<String, Object>) originalData);
-
-            // Add system variables
-            dataMap.put("correlationId", correlationId);
-            dataMap.put("timestamp", LocalDateTime.now().toString());
-            dataMap.put("serviceName", config.getServiceName());
-            dataMap.put("systemVersion", "1.0");
-
-            return dataMap;
+            Map<String, Object> dataMap = (Map<String, Object>) originalData;
+
+            // Layer system variables over the caller's map without copying it
+            return TemplateContext.of(dataMap)
+                    .withSystem(RequestContext.CORRELATION_ID, context.getCorrelationId())
+                    .withSystem(RequestContext.INTERACTION_ID, context.getInteractionId())
+                    .withLazySystem("timestamp", () -> LocalDateTime.now().toString())
+                    .withSystem("serviceName", config.getServiceName())
+                    .withSystem("systemVersion", TemplateContext.VERSION);
         }
 
         return originalData;
@@ -218,7 +487,8 @@ public class EnhancedProtocolAdapterService {
      * Note: Response templates are already applied by the ProtocolHandler.
      */
     private StandardResponse<?> processResponse(Object rawResponse, ServiceMetadata config,
-                                                String correlationId, long startTime) {
+                                                String correlationId, long startTime,
+                                                RetryStats retryStats) {
 
         long processingTime = System.currentTimeMillis() - startTime;
 
@@ -226,7 +496,7 @@ public class EnhancedProtocolAdapterService {
             // If response is already a StandardResponse (from error mapping), return as-is
             if (rawResponse instanceof StandardResponse) {
                 StandardResponse<?> standardResp = (StandardResponse<?>) rawResponse;
-                return enrichStandardResponse(standardResp, config, correlationId, processingTime);
+                return enrichStandardResponse(standardResp, config, correlationId, processingTime, retryStats);
             }
 
             // rawResponse is already processed/templated by the ProtocolHandler
@@ -242,7 +512,8 @@ public class EnhancedProtocolAdapterService {
                     .performance(PerformanceMetrics.builder()
                             .executionTimeMs(processingTime)
                             .circuitBreakerState("CLOSED")
-                            .retryAttempts(0)
+                            .retryAttempts(retryStats.getRetries())
+                            .retryBudgetExhausted(budgetExhausted(retryStats))
                             .build())
                     .build();
 
@@ -306,7 +577,8 @@ public class EnhancedProtocolAdapterService {
     private StandardResponse<?> enrichStandardResponse(StandardResponse<?> response,
                                                        ServiceMetadata config,
                                                        String correlationId,
-                                                       long processingTime) {
+                                                       long processingTime,
+                                                       RetryStats retryStats) {
 
         return response.toBuilder()
                 .correlationId(correlationId)
@@ -314,6 +586,8 @@ public class EnhancedProtocolAdapterService {
                 .protocol(config.getProtocol())
                 .performance(PerformanceMetrics.builder()
                         .executionTimeMs(processingTime)
+                        .retryAttempts(retryStats.getRetries())
+                        .retryBudgetExhausted(budgetExhausted(retryStats))
                         .build())
                 .build();
     }
@@ -322,7 +596,8 @@ public class EnhancedProtocolAdapterService {
      * Handles errors and maps them to StandardResponse.
      */
     private StandardResponse<?> handleError(Exception e, String serviceName,
-                                            String correlationId, long startTime) {
+                                            String correlationId, long startTime,
+                                            RetryStats retryStats) {
 
         long processingTime = System.currentTimeMillis() - startTime;
 
@@ -337,15 +612,24 @@ public class EnhancedProtocolAdapterService {
                 .serviceName(serviceName)
                 .performance(PerformanceMetrics.builder()
                         .executionTimeMs(processingTime)
+                        .retryAttempts(retryStats.getRetries())
+                        .retryBudgetExhausted(budgetExhausted(retryStats))
                         .build())
                 .build();
     }
 
+    /**
+     * Reported only when set, so responses of healthy services stay unchanged.
+     */
+    private static Boolean budgetExhausted(RetryStats retryStats) {
+        return retryStats.isBudgetExhausted() ? Boolean.TRUE : null;
+    }
+
     /**
      * Gets service configuration by name.
      */
     private ServiceMetadata getServiceConfig(String serviceName) {
-        ServiceMetadata config = serviceConfigs.getServices().get(serviceName);
+        ServiceMetadata config = serviceRegistry.get(serviceName);
         if (config == null) {
             throw new IllegalArgumentException("Service configuration not found: " + serviceName);
         }
@@ -375,9 +659,13 @@ public class EnhancedProtocolAdapterService {
     }
 
     /**
-     * Generates unique correlation ID for request tracking.
+     * The caller's context, else the one bound to this thread (e.g. by the client starter), else a new one.
      */
-    private String generateCorrelationId() {
-        return "adcb-" + UUID.randomUUID().toString().substring(0, 8);
+    private static RequestContext orCurrent(RequestContext requestContext) {
+        if (requestContext != null) {
+            return requestContext;
+        }
+        RequestContext current = RequestContext.current();
+        return current != null ? current : RequestContext.generate();
     }
 }
@@ -0,0 +1,233 @@
+package org.adcb.adapter.gateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ErrorSeverity;
+import org.adcb.adapter.commons.resilience.RetryAfter;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rule-based classification of failures into error templates.
+ *
+ * <p>Rules map an exception class name to a prebuilt {@link ErrorDetails} template. A rule
+ * also matches subclasses, and the whole cause chain is inspected, so a wrapped
+ * {@code ReadTimeoutException} is still classified as a timeout. Across the chain the
+ * deepest matching cause wins, being the most specific description of what went wrong,
+ * except that a non-retryable match anywhere in the chain beats every retryable one: a
+ * {@code TemplateProcessingException} caused by an {@code IOException} is a template error,
+ * not a network error worth retrying. For each exception the rule of its nearest
+ * superclass applies.
+ *
+ * <p>Rules come from {@link ErrorClassificationConfig} first, then the built-in defaults.
+ * Lookups are cached per exception class in a {@link ClassValue}, so classifying the same
+ * kind of failure again costs a few map reads per cause. Templates are never handed out;
+ * {@link #toErrorDetails} returns a copy with the per-call fields filled in.
+ *
+ * <p>Unmatched failures are UNEXPECTED_ERROR and not retryable: retrying an unknown
+ * failure only multiplies load on a downstream that is already struggling.
+ *
+ * <p>A 429 that carries a {@code Retry-After} is the downstream saying when to come back, so
+ * it is retryable whatever its rule says; the retry policy still caps the wait and charges
+ * the retry budget. Without the header a 429 follows its rule.
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class ErrorClassifier {
+
+    private static final int MAX_CAUSE_DEPTH = 16;
+    private static final String SOURCE = "GATEWAY_SERVICE";
+    private static final String WEB_CLIENT_RESPONSE_EXCEPTION =
+            "org.springframework.web.reactive.function.client.WebClientResponseException";
+
+    private static final ErrorDetails UNEXPECTED = template("UNEXPECTED_ERROR", "An unexpected error occurred",
+            ErrorCategory.TECHNICAL, ErrorSeverity.CRITICAL, false, null);
+
+    private static final ErrorDetails NO_MATCH = new ErrorDetails();
+
+    private final Map<String, ErrorDetails> templates;
+
+    /** Retryable variant of each class's template, for 429s that carry a Retry-After. */
+    private final ClassValue<ErrorDetails> retryAfterMatches = new ClassValue<>() {
+        @Override
+        protected ErrorDetails computeValue(Class<?> type) {
+            ErrorDetails template = matches.get(type);
+            return template.isRetryable() ? template : template.toBuilder().retryable(true).build();
+        }
+    };
+
+    private final ClassValue<ErrorDetails> matches = new ClassValue<>() {
+        @Override
+        protected ErrorDetails computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                ErrorDetails template = templates.get(c.getName());
+                if (template != null) {
+                    return template;
+                }
+            }
+            return NO_MATCH;
+        }
+    };
+
+    public ErrorClassifier(ErrorClassificationConfig config) {
+        Map<String, ErrorDetails> rules = new LinkedHashMap<>();
+        for (ErrorClassificationConfig.Rule rule : config.getRules()) {
+            if (rule.getException() == null || rule.getErrorCode() == null) {
+                throw new IllegalArgumentException("Error classification rule needs 'exception' and 'errorCode': " + rule);
+            }
+            rules.put(rule.getException(), template(rule.getErrorCode(),
+                    rule.getErrorMessage() != null ? rule.getErrorMessage() : rule.getErrorCode(),
+                    rule.getCategory() != null ? rule.getCategory() : ErrorCategory.TECHNICAL,
+                    rule.getSeverity() != null ? rule.getSeverity() : ErrorSeverity.MEDIUM,
+                    rule.isRetryable(), rule.getRetryAfterSeconds()));
+        }
+        defaultRules().forEach(rules::putIfAbsent);
+        this.templates = Collections.unmodifiableMap(rules);
+        log.info("Error classifier initialized with {} rules ({} from configuration)",
+                templates.size(), config.getRules().size());
+    }
+
+    /**
+     * Result of a classification: the matching template and the exception in the cause
+     * chain that matched it.
+     */
+    public record Classification(ErrorDetails template, Throwable matched) {
+
+        public boolean isRetryable() {
+            return template.isRetryable();
+        }
+    }
+
+    /**
+     * Classifies a failure by walking its cause chain; the deepest non-retryable match wins,
+     * otherwise the deepest retryable one.
+     */
+    public Classification classify(Throwable throwable) {
+        ErrorDetails retryable = null;
+        Throwable retryableCause = null;
+        ErrorDetails permanent = null;
+        Throwable permanentCause = null;
+        Throwable current = throwable;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            ErrorDetails match = matches.get(current.getClass());
+            if (match != NO_MATCH && !match.isRetryable() && rateLimitRetryAfter(current) != null) {
+                match = retryAfterMatches.get(current.getClass());
+            }
+            if (match != NO_MATCH) {
+                if (match.isRetryable()) {
+                    retryable = match;
+                    retryableCause = current;
+                } else {
+                    permanent = match;
+                    permanentCause = current;
+                }
+            }
+            Throwable cause = current.getCause();
+            current = cause != current ? cause : null;
+        }
+        if (permanent != null) {
+            return new Classification(permanent, permanentCause);
+        }
+        return retryable != null ? new Classification(retryable, retryableCause) : new Classification(UNEXPECTED, throwable);
+    }
+
+    /**
+     * Whether the gateway should retry after this failure.
+     */
+    public boolean isRetryable(Throwable throwable) {
+        return classify(throwable).isRetryable();
+    }
+
+    /**
+     * Builds the error details for a failure from its template.
+     */
+    public ErrorDetails toErrorDetails(Throwable throwable, String serviceName) {
+        Classification classification = classify(throwable);
+        Throwable matched = classification.matched();
+        ErrorDetails.ErrorDetailsBuilder details = classification.template().toBuilder()
+                .errorDescription(throwable.getMessage())
+                .technicalMessage(matched.getMessage())
+                .exceptionClass(matched.getClass().getSimpleName())
+                .downstreamService(serviceName);
+        Integer retryAfter = rateLimitRetryAfter(matched);
+        if (retryAfter != null) {
+            details.retryAfterSeconds(retryAfter);
+        }
+        return details.build();
+    }
+
+    /**
+     * The {@code Retry-After} of a 429 response, or {@code null} for anything else.
+     */
+    private static Integer rateLimitRetryAfter(Throwable throwable) {
+        return throwable instanceof WebClientResponseException e && e.getStatusCode().value() == 429
+                ? RetryAfter.parseSeconds(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) : null;
+    }
+
+    private static Map<String, ErrorDetails> defaultRules() {
+        Map<String, ErrorDetails> rules = new LinkedHashMap<>();
+        rules.put("java.lang.IllegalArgumentException", template("INVALID_CONFIGURATION",
+                "Service configuration error", ErrorCategory.VALIDATION, ErrorSeverity.HIGH, false, null));
+        rules.put("java.lang.UnsupportedOperationException", template("UNSUPPORTED_OPERATION",
+                "Operation not supported", ErrorCategory.TECHNICAL, ErrorSeverity.MEDIUM, false, null));
+        rules.put("org.adcb.adapter.transform.exception.TemplateProcessingException", template("TEMPLATE_ERROR",
+                "Template processing failed", ErrorCategory.TECHNICAL, ErrorSeverity.HIGH, false, null));
+        rules.put("com.fasterxml.jackson.core.JsonProcessingException", template("RESPONSE_PARSE_ERROR",
+                "Downstream response could not be parsed", ErrorCategory.EXTERNAL_SERVICE, ErrorSeverity.HIGH, false, null));
+
+        rules.put("io.github.resilience4j.circuitbreaker.CallNotPermittedException", template("CIRCUIT_OPEN",
+                "Service temporarily unavailable", ErrorCategory.CIRCUIT_BREAKER, ErrorSeverity.HIGH, false, 30));
+        rules.put("io.github.resilience4j.ratelimiter.RequestNotPermitted", template("RATE_LIMIT_EXCEEDED",
+                "Too many requests", ErrorCategory.RATE_LIMIT, ErrorSeverity.MEDIUM, false, 1));
+
+        ErrorDetails timeout = template("DOWNSTREAM_TIMEOUT", "Downstream service timed out",
+                ErrorCategory.NETWORK, ErrorSeverity.HIGH, true, null);
+        rules.put("java.util.concurrent.TimeoutException", timeout);
+        rules.put("java.net.SocketTimeoutException", timeout);
+        rules.put("io.netty.handler.timeout.TimeoutException", timeout);
+        rules.put("io.netty.channel.ConnectTimeoutException", timeout);
+
+        ErrorDetails connection = template("CONNECTION_FAILED", "Could not connect to downstream service",
+                ErrorCategory.NETWORK, ErrorSeverity.HIGH, true, null);
+        rules.put("java.net.ConnectException", connection);
+        rules.put("java.net.NoRouteToHostException", connection);
+        rules.put("org.springframework.web.reactive.function.client.WebClientRequestException", connection);
+        rules.put("java.net.UnknownHostException", template("UNKNOWN_HOST", "Downstream host could not be resolved",
+                ErrorCategory.NETWORK, ErrorSeverity.CRITICAL, false, null));
+        rules.put("java.io.IOException", template("NETWORK_ERROR", "Network error calling downstream service",
+                ErrorCategory.NETWORK, ErrorSeverity.HIGH, true, null));
+
+        ErrorDetails unavailable = template("DOWNSTREAM_UNAVAILABLE", "Downstream service unavailable",
+                ErrorCategory.EXTERNAL_SERVICE, ErrorSeverity.HIGH, true, null);
+        rules.put(WEB_CLIENT_RESPONSE_EXCEPTION + "$BadGateway", unavailable);
+        rules.put(WEB_CLIENT_RESPONSE_EXCEPTION + "$ServiceUnavailable", unavailable);
+        rules.put(WEB_CLIENT_RESPONSE_EXCEPTION + "$GatewayTimeout", unavailable);
+        rules.put(WEB_CLIENT_RESPONSE_EXCEPTION + "$TooManyRequests", template("DOWNSTREAM_RATE_LIMITED",
+                "Downstream service is rate limiting", ErrorCategory.RATE_LIMIT, ErrorSeverity.MEDIUM, false, null));
+        rules.put(WEB_CLIENT_RESPONSE_EXCEPTION, template("DOWNSTREAM_ERROR", "Downstream service returned an error",
+                ErrorCategory.EXTERNAL_SERVICE, ErrorSeverity.HIGH, false, null));
+        return rules;
+    }
+
+    private static ErrorDetails template(String errorCode, String errorMessage, ErrorCategory category,
+                                         ErrorSeverity severity, boolean retryable, Integer retryAfterSeconds) {
+        return ErrorDetails.builder()
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .category(category)
+                .severity(severity)
+                .source(SOURCE)
+                .retryable(retryable)
+                .retryAfterSeconds(retryAfterSeconds)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package org.adcb.adapter.gateway.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.gateway.config.TracingConfig;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the gateway's OpenTelemetry SDK from {@link TracingConfig} and installs it into
+ * {@link AdapterTracing}, which the gateway and protocol handlers create their spans through.
+ *
+ * <p>Spans are exported by every {@link SpanExporter} bean, batched off the request path.
+ * Without an exporter bean spans are still created and their context still propagated
+ * downstream, so traces started by callers stay connected through the adapter.
+ *
+ * <p>Sampling is ratio based on the trace id; with {@code parentBased} a caller's sampled flag
+ * takes precedence, so a trace is either complete or absent across services.
+ */
+@Component
+@Slf4j
+public class TracingInstaller {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final TracingConfig config;
+    private final List<SpanExporter> exporters;
+    private OpenTelemetrySdk sdk;
+
+    public TracingInstaller(TracingConfig config, ObjectProvider<SpanExporter> exporters) {
+        this.config = config;
+        this.exporters = exporters.orderedStream().toList();
+    }
+
+    @PostConstruct
+    public void install() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        SdkTracerProviderBuilder provider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(SERVICE_NAME,
+                        config.getServiceName()))))
+                .setSampler(sampler(config));
+        for (SpanExporter exporter : exporters) {
+            provider.addSpanProcessor(BatchSpanProcessor.builder(exporter).build());
+        }
+        sdk = OpenTelemetrySdk.builder()
+                .setTracerProvider(provider.build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        AdapterTracing.install(sdk);
+        log.info("Tracing enabled: sampling ratio {}, parent based {}, {} exporter(s)",
+                config.getSamplingRatio(), config.isParentBased(), exporters.size());
+    }
+
+    @PreDestroy
+    public void uninstall() {
+        if (sdk != null) {
+            AdapterTracing.uninstall();
+            sdk.close();
+            sdk = null;
+        }
+    }
+
+    static Sampler sampler(TracingConfig config) {
+        double ratio = Math.max(0.0, Math.min(1.0, config.getSamplingRatio()));
+        Sampler root = Sampler.traceIdRatioBased(ratio);
+        return config.isParentBased() ? Sampler.parentBased(root) : root;
+    }
+}
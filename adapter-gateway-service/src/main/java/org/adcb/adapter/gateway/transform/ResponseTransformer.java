@@ -1,59 +1,113 @@
 package org.adcb.adapter.gateway.transform;
 
 /**
- * Response transformation logic placeholder (no-op).
+ * Response transformation backed by the declarative response mapping engine.
  */
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.transform.engine.XmlResponseTransformer;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.mapping.ResponseMapping;
+import org.adcb.adapter.transform.mapping.ResponseMappingCompiler;
 import org.springframework.stereotype.Component;
+import org.w3c.dom.Node;
 
-import java.io.IOException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Component
 public class ResponseTransformer {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    public static final int MAX_CACHED_MAPPINGS = 256;
+
+    private final ObjectMapper objectMapper = AdapterCodecs.json();
+    // Shares XmlResponseTransformer's hardened parser factory and per-thread builders
+    private final XmlResponseTransformer xmlParser = new XmlResponseTransformer();
+    private final Map<String, Entry> compiledMappings = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_CACHED_MAPPINGS;
+        }
+    };
+
+    /** Compiled mapping and the source it was compiled from; {@code mapping == null} marks an invalid spec. */
+    private record Entry(String source, ResponseMapping mapping) {
+    }
 
     /**
-     * Simple JSONPath-based transformation to extract fields as per responseTemplate.
-     * Assumes template is JSON defining output keys mapped to JSONPaths.
+     * Same as {@link #transform(Object, String, String)} for an unnamed inline mapping.
      */
     public Map<String, Object> transform(Object rawResponse, String responseTemplate) {
+        return transform(rawResponse, "inline", responseTemplate);
+    }
 
-        Map<String, String> templateMap;
-        try {
-            templateMap = objectMapper.readValue(responseTemplate, Map.class);
-        } catch (IOException e) {
-            // If template is not valid JSON, return raw response
+    /**
+     * Extracts fields as per responseTemplate, a JSON mapping of output keys to
+     * JsonPath/XPath expressions (see {@link ResponseMappingCompiler}).
+     * The mapping is compiled once per template name and recompiled only when its text
+     * changes; the least recently used of at most {@value #MAX_CACHED_MAPPINGS} mappings is
+     * evicted. Already parsed responses (Map, JsonNode, DOM) are used as-is, strings are
+     * parsed exactly once.
+     */
+    public Map<String, Object> transform(Object rawResponse, String templateName, String responseTemplate) {
+        ResponseMapping mapping = mapping(templateName, responseTemplate);
+        if (mapping == null) {
+            // If template is not a valid mapping, return raw response
             return Map.of("response", rawResponse);
         }
 
         try {
-            JsonNode responseNode = objectMapper.readTree(rawResponse.toString());
-            Map<String, Object> transformed = new HashMap<>();
-
-            for (Map.Entry<String, String> entry : templateMap.entrySet()) {
-                // Naive JSON Path extraction: supports $.field paths only
-                String outputKey = entry.getKey();
-                String jsonPath = entry.getValue();
-
-                if (jsonPath.startsWith("$.")) {
-                    String field = jsonPath.substring(2);
-                    JsonNode valueNode = responseNode.path(field);
-                    if (valueNode.isValueNode()) {
-                        transformed.put(outputKey, valueNode.asText());
-                    } else {
-                        transformed.put(outputKey, valueNode.toString());
-                    }
-                }
-            }
-            return transformed;
-
-        } catch (IOException e) {
+            return mapping.apply(toDocument(rawResponse, mapping.getSourceType()));
+        } catch (Exception e) {
             return Map.of("response", rawResponse);
         }
     }
+
+    /**
+     * Number of compiled mappings currently cached.
+     */
+    public int cachedMappingCount() {
+        synchronized (compiledMappings) {
+            return compiledMappings.size();
+        }
+    }
+
+    private ResponseMapping mapping(String templateName, String responseTemplate) {
+        Entry entry;
+        synchronized (compiledMappings) {
+            entry = compiledMappings.get(templateName);
+        }
+        if (entry != null && entry.source().equals(responseTemplate)) {
+            return entry.mapping();
+        }
+
+        // Compile outside the lock; a racing compile of the same spec is harmless
+        entry = new Entry(responseTemplate, compile(templateName, responseTemplate));
+        synchronized (compiledMappings) {
+            compiledMappings.put(templateName, entry);
+        }
+        return entry.mapping();
+    }
+
+    private static ResponseMapping compile(String templateName, String responseTemplate) {
+        try {
+            return ResponseMappingCompiler.compile(templateName, responseTemplate);
+        } catch (TemplateProcessingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Object toDocument(Object rawResponse, ResponseMapping.SourceType sourceType) throws Exception {
+        if (rawResponse instanceof JsonNode || rawResponse instanceof Node
+                || (sourceType == ResponseMapping.SourceType.JSON && rawResponse instanceof Map)) {
+            return rawResponse;
+        }
+        String text = rawResponse.toString();
+        if (sourceType == ResponseMapping.SourceType.XML) {
+            return xmlParser.parse(text);
+        }
+        return objectMapper.readTree(text);
+    }
 }
@@ -0,0 +1,284 @@
+package org.adcb.adapter.gateway.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.config.WarmupConfig;
+import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.spi.auth.AuthenticationStrategy;
+import org.adcb.adapter.transform.TemplateService;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Warms the gateway up before it reports ready.
+ *
+ * <p>Runs as an {@link ApplicationRunner}, so Spring Boot only switches readiness to
+ * {@code ACCEPTING_TRAFFIC} after it returns. Phases, in order:
+ * <ol>
+ *   <li>templates - load and compile every request/response template and response mapping
+ *       referenced by a service, including classpath templates</li>
+ *   <li>tokens - pre-fetch OAuth2 tokens through each service's authentication strategy</li>
+ *   <li>connections (optional) - open {@code connectionsPerService} pooled connections per downstream</li>
+ *   <li>replay (optional) - run synthetic invocations through the invocation pipeline with a
+ *       stub handler, so request enrichment, template rendering, response building and
+ *       serialization are JIT-compiled before real traffic arrives. A request template that
+ *       needs data the synthetic request lacks is skipped for the rest of the replay</li>
+ * </ol>
+ *
+ * <p>The whole warm-up is bounded by {@code adapter.warmup.time-budget-ms}; phases still
+ * pending when it runs out are skipped. Failures are logged and counted but never fail
+ * startup. Progress is logged per phase and available from {@link #getReport()}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "adapter.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Map<String, Object> SYNTHETIC_REQUEST = Map.of(
+            "id", "0", "customerId", "0", "accountNumber", "0", "amount", 0, "warmup", true);
+
+    private final WarmupConfig config;
+    private final ServiceRegistry serviceRegistry;
+    private final Map<String, ProtocolHandler> protocolHandlers;
+    private final Map<String, AuthenticationStrategy> authStrategies;
+    private final TemplateServiceResolver templateServices;
+    private final ResponseMappingRegistry responseMappings;
+    private final EnhancedProtocolAdapterService adapterService;
+
+    private volatile WarmupReport report = new WarmupReport();
+
+    public StartupWarmup(WarmupConfig config,
+                         ServiceRegistry serviceRegistry,
+                         Map<String, ProtocolHandler> protocolHandlers,
+                         Map<String, AuthenticationStrategy> authStrategies,
+                         TemplateServiceResolver templateServices,
+                         ResponseMappingRegistry responseMappings,
+                         EnhancedProtocolAdapterService adapterService) {
+        this.config = config;
+        this.serviceRegistry = serviceRegistry;
+        this.protocolHandlers = protocolHandlers;
+        this.authStrategies = authStrategies;
+        this.templateServices = templateServices;
+        this.responseMappings = responseMappings;
+        this.adapterService = adapterService;
+    }
+
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        WarmupReport current = new WarmupReport();
+        current.setBudgetMs(config.getTimeBudgetMs());
+        current.setState(WarmupReport.State.RUNNING);
+        report = current;
+
+        long start = System.currentTimeMillis();
+        long deadline = start + config.getTimeBudgetMs();
+        List<ServiceMetadata> services = new ArrayList<>(serviceRegistry.snapshot().values());
+        log.info("Warm-up started for {} services (budget {}ms)", services.size(), config.getTimeBudgetMs());
+
+        runPhase(current, "templates", services, deadline, this::compileTemplates);
+
+        List<ServiceMetadata> authenticated = services.stream()
+                .filter(service -> service.getAuth() != null && authStrategies.containsKey(service.getAuth().getType()))
+                .toList();
+        runConcurrentPhase(current, "tokens", authenticated, deadline, service -> Mono.fromRunnable(() ->
+                authStrategies.get(service.getAuth().getType()).refreshToken(service)));
+
+        if (config.getConnectionsPerService() > 0) {
+            AtomicInteger opened = new AtomicInteger();
+            List<ServiceMetadata> remote = services.stream()
+                    .filter(service -> protocolHandlers.containsKey(service.getProtocol()))
+                    .toList();
+            WarmupReport.Phase phase = runConcurrentPhase(current, "connections", remote, deadline, service ->
+                    protocolHandlers.get(service.getProtocol())
+                            .warmUp(service, config.getConnectionsPerService())
+                            .doOnNext(opened::addAndGet));
+            phase.setDetail(opened.get() + " connections opened");
+        }
+
+        if (config.isReplayEnabled()) {
+            replay(current, services, deadline);
+        }
+
+        current.setElapsedMs(System.currentTimeMillis() - start);
+        current.setState(WarmupReport.State.COMPLETED);
+        log.info("Warm-up completed in {}ms{}", current.getElapsedMs(),
+                current.isBudgetExceeded() ? " (time budget exceeded, remaining work skipped)" : "");
+    }
+
+    private void compileTemplates(ServiceMetadata service) throws TemplateProcessingException {
+        TemplateService templates = templateServices.resolve(service);
+        if (service.getRequestTemplate() != null) {
+            templates.preload(service.getRequestTemplate());
+        }
+        if (service.getResponseMapping() != null) {
+            responseMappings.forService(service);
+        } else if (service.getResponseTemplate() != null) {
+            templates.preload(service.getResponseTemplate());
+        }
+    }
+
+    private void runPhase(WarmupReport report, String name, List<ServiceMetadata> services, long deadline,
+                          WarmupTask task) {
+        WarmupReport.Phase phase = report.startPhase(name, services.size());
+        long start = System.currentTimeMillis();
+        for (ServiceMetadata service : services) {
+            if (System.currentTimeMillis() >= deadline) {
+                skipRest(report, phase);
+                break;
+            }
+            try {
+                task.run(service);
+                phase.success();
+            } catch (Exception e) {
+                phase.failure();
+                log.warn("Warm-up {} failed for service '{}': {}", name, service.getServiceName(), e.getMessage());
+            }
+        }
+        finish(phase, start);
+    }
+
+    private WarmupReport.Phase runConcurrentPhase(WarmupReport report, String name, List<ServiceMetadata> services,
+                                                  long deadline, Function<ServiceMetadata, Mono<?>> task) {
+        WarmupReport.Phase phase = report.startPhase(name, services.size());
+        long start = System.currentTimeMillis();
+        long remaining = deadline - start;
+        if (remaining <= 0) {
+            skipRest(report, phase);
+        } else if (!services.isEmpty()) {
+            try {
+                Flux.fromIterable(services)
+                        .flatMap(service -> Mono.defer(() -> task.apply(service))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .doOnSuccess(ignored -> phase.success())
+                                .onErrorResume(e -> {
+                                    phase.failure();
+                                    log.warn("Warm-up {} failed for service '{}': {}",
+                                            name, service.getServiceName(), e.getMessage());
+                                    return Mono.empty();
+                                }), Math.max(1, config.getConcurrency()))
+                        .then()
+                        .block(Duration.ofMillis(remaining));
+            } catch (IllegalStateException e) {
+                // block() timed out; calls still running finish in the background
+                skipRest(report, phase);
+            }
+        }
+        finish(phase, start);
+        return phase;
+    }
+
+    private void replay(WarmupReport report, List<ServiceMetadata> services, long deadline) {
+        List<ServiceMetadata> copies = services.stream().map(StartupWarmup::withoutResilience).toList();
+        WarmupReport.Phase phase = report.startPhase("replay", copies.size() * config.getReplayIterations());
+        long start = System.currentTimeMillis();
+        StubHandler stub = new StubHandler();
+        for (int i = 0; i < config.getReplayIterations(); i++) {
+            if (System.currentTimeMillis() >= deadline) {
+                skipRest(report, phase);
+                break;
+            }
+            for (ServiceMetadata service : copies) {
+                StandardResponse<?> response = adapterService.invokeWith(service, stub, SYNTHETIC_REQUEST);
+                try {
+                    // writeValue closes its target, so each response gets a fresh sink
+                    AdapterCodecs.json().writeValue(OutputStream.nullOutputStream(), response);
+                    if (response.isSuccess()) {
+                        phase.success();
+                    } else {
+                        phase.failure();
+                    }
+                } catch (IOException e) {
+                    phase.failure();
+                }
+            }
+        }
+        if (!stub.unrenderable.isEmpty()) {
+            phase.setDetail(stub.unrenderable.size() + " services replayed without request rendering");
+        }
+        finish(phase, start);
+    }
+
+    /**
+     * Copy of the service's configuration without resilience settings, so replayed calls
+     * never touch the real circuit breakers, retry budgets or rate limiters.
+     */
+    private static ServiceMetadata withoutResilience(ServiceMetadata service) {
+        ServiceMetadata copy = AdapterCodecs.json().convertValue(service, ServiceMetadata.class);
+        copy.setResilience(new ResilienceConfig());
+        return copy;
+    }
+
+    private static void skipRest(WarmupReport report, WarmupReport.Phase phase) {
+        report.setBudgetExceeded(true);
+        phase.setSkipped(true);
+    }
+
+    private static void finish(WarmupReport.Phase phase, long start) {
+        phase.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Warm-up {}: {}/{} done, {} failed in {}ms{}{}", phase.getName(), phase.getCompleted(),
+                phase.getTotal(), phase.getFailed(), phase.getDurationMs(),
+                phase.isSkipped() ? ", rest skipped" : "",
+                phase.getDetail() != null ? " (" + phase.getDetail() + ")" : "");
+    }
+
+    @FunctionalInterface
+    private interface WarmupTask {
+        void run(ServiceMetadata service) throws Exception;
+    }
+
+    /**
+     * Renders the request as the real handlers do, then answers with a canned payload
+     * instead of calling the downstream. The synthetic request only carries a few common
+     * fields; a service whose template needs others is replayed without rendering.
+     */
+    private final class StubHandler implements ProtocolHandler {
+
+        private final Set<String> unrenderable = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Object execute(ServiceMetadata service, Object requestBody) {
+            if (service.getRequestTemplate() != null && requestBody instanceof Map<?, ?>
+                    && !unrenderable.contains(service.getServiceName())) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> context = (Map<String, Object>) requestBody;
+                try {
+                    templateServices.resolve(service).processTo(service.getRequestTemplate(), context,
+                            OutputStream.nullOutputStream());
+                } catch (TemplateProcessingException e) {
+                    unrenderable.add(service.getServiceName());
+                    log.info("Warm-up replay of service '{}' continues without request rendering, "
+                            + "its template needs data the synthetic request lacks: {}", service.getServiceName(), e.getMessage());
+                }
+            }
+            return Map.of("status", "OK", "serviceName", String.valueOf(service.getServiceName()));
+        }
+    }
+}
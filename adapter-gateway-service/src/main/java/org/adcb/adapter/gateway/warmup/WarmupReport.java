@@ -0,0 +1,56 @@
+package org.adcb.adapter.gateway.warmup;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Progress and outcome of the startup warm-up, per phase.
+ */
+@Data
+public class WarmupReport {
+
+    /**
+     * Overall warm-up state.
+     */
+    public enum State {
+        NOT_STARTED, RUNNING, COMPLETED
+    }
+
+    private State state = State.NOT_STARTED;
+    private long budgetMs;
+    private long elapsedMs;
+    private boolean budgetExceeded;
+    private List<Phase> phases = new CopyOnWriteArrayList<>();
+
+    Phase startPhase(String name, int total) {
+        Phase phase = new Phase();
+        phase.setName(name);
+        phase.setTotal(total);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * One warm-up phase; counts are updated while the phase runs.
+     */
+    @Data
+    public static class Phase {
+        private String name;
+        private int total;
+        private int completed;
+        private int failed;
+        private boolean skipped;
+        private long durationMs;
+        private String detail;
+
+        synchronized void success() {
+            completed++;
+        }
+
+        synchronized void failure() {
+            failed++;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.adcb.adapter.gateway.capture;
+
+import org.adcb.adapter.gateway.config.CaptureConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrafficCaptureTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCapture_rotatesAndReadsBackInOrder() throws Exception {
+        CaptureConfig config = config();
+        config.setMaxFileBytes(512);
+        config.setMaxFiles(1000);
+        TrafficCapture capture = new TrafficCapture(config);
+        capture.start();
+        for (int i = 0; i < 50; i++) {
+            capture.capture(i % 2 == 0 ? "accounts" : "cards", Map.of("accountId", "A-" + i, "amount", i));
+        }
+        capture.stop();
+
+        List<CaptureRecord> records = new ArrayList<>();
+        CaptureLog.forEach(directory, records::add);
+        assertEquals(50, records.size());
+        assertTrue(CaptureLog.files(directory).size() > 1);
+        for (int i = 0; i < records.size(); i++) {
+            CaptureRecord record = records.get(i);
+            assertEquals(i % 2 == 0 ? "accounts" : "cards", record.serviceName());
+            assertEquals("A-" + i, record.request().get("accountId"));
+            assertEquals(i, record.request().get("amount"));
+            if (i > 0) {
+                assertTrue(record.arrivalMicros() >= records.get(i - 1).arrivalMicros());
+            }
+        }
+        assertEquals(new TrafficCapture.Stats(true, 50, 0, 0), capture.getStats());
+    }
+
+    @Test
+    void testCapture_disabledOrUnsampledCapturesNothing() throws Exception {
+        TrafficCapture disabled = new TrafficCapture(new CaptureConfig());
+        disabled.start();
+        disabled.capture("accounts", Map.of());
+        assertFalse(disabled.getStats().enabled());
+        assertEquals(0, disabled.getStats().captured());
+
+        CaptureConfig config = config();
+        config.setSampleRate(0);
+        TrafficCapture unsampled = new TrafficCapture(config);
+        unsampled.start();
+        unsampled.capture("accounts", Map.of("accountId", "A-1"));
+        unsampled.stop();
+        assertEquals(0, unsampled.getStats().captured());
+    }
+
+    private CaptureConfig config() {
+        CaptureConfig config = new CaptureConfig();
+        config.setEnabled(true);
+        config.setDirectory(directory.toString());
+        return config;
+    }
+}
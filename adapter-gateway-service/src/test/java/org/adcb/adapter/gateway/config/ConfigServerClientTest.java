@@ -0,0 +1,176 @@
+package org.adcb.adapter.gateway.config;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.config.ConfigDelta;
+import org.adcb.adapter.commons.config.ConfigProtocol;
+import org.adcb.adapter.commons.config.ConfigSnapshot;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigServerClientTest {
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final Deque<ConfigSnapshot> snapshots = new ArrayDeque<>();
+    private final Deque<String> streams = new ArrayDeque<>();
+    private ConfigServerClient client;
+
+    @AfterEach
+    void stop() {
+        if (client != null) {
+            client.stop();
+        }
+    }
+
+    @Test
+    void testResync_appliesOlderSnapshotFromRestartedServer(@TempDir Path dir) throws Exception {
+        Path localFile = dir.resolve("services.smile");
+        AdapterCodecs.smile().writeValue(localFile.toFile(), snapshot(10, "accounts", "http://a/v10"));
+        // A restarted server is back at revision 3 and asks the gateway to resync
+        snapshots.add(snapshot(3, "accounts", "http://a/v3"));
+        snapshots.add(snapshot(3, "accounts", "http://a/v3"));
+        streams.add(event(ConfigProtocol.RESYNC_EVENT, "{\"version\":3}"));
+
+        ServiceRegistry registry = registry();
+        client = client(registry, localFile, "s3cret");
+        client.start();
+        awaitTrue(() -> client.currentVersion() == 3);
+
+        assertEquals("http://a/v3", registry.get("accounts").getEndpointUrl());
+        assertEquals(3, AdapterCodecs.smile().readValue(localFile.toFile(), ConfigSnapshot.class).getVersion());
+        assertTrue(requests.stream().allMatch(r -> "s3cret".equals(r.headers().getFirst(ConfigProtocol.TOKEN_HEADER))));
+    }
+
+    @Test
+    void testDeltas_appliedInSequence(@TempDir Path dir) throws Exception {
+        snapshots.add(snapshot(1, "accounts", "http://a/v1"));
+        streams.add(event(ConfigProtocol.DELTA_EVENT, delta(2, ConfigDelta.Type.UPSERT, "cards", "http://c/v1"))
+                + event(ConfigProtocol.DELTA_EVENT, delta(3, ConfigDelta.Type.DELETE, "accounts", null)));
+
+        ServiceRegistry registry = registry();
+        client = client(registry, dir.resolve("services.smile"), "");
+        client.start();
+        awaitTrue(() -> client.currentVersion() == 3);
+
+        assertNull(registry.get("accounts"));
+        assertEquals("http://c/v1", registry.get("cards").getEndpointUrl());
+        assertEquals(1, requests.stream().filter(r -> r.url().getPath().equals(ConfigProtocol.SNAPSHOT_PATH)).count());
+        assertTrue(requests.stream().noneMatch(r -> r.headers().containsKey(ConfigProtocol.TOKEN_HEADER)));
+    }
+
+    @Test
+    void testDeltas_revisionGapReloadsSnapshot(@TempDir Path dir) throws Exception {
+        snapshots.add(snapshot(1, "accounts", "http://a/v1"));
+        snapshots.add(snapshot(5, "accounts", "http://a/v5"));
+        streams.add(event(ConfigProtocol.DELTA_EVENT, delta(4, ConfigDelta.Type.UPSERT, "accounts", "http://a/v4")));
+
+        ServiceRegistry registry = registry();
+        client = client(registry, dir.resolve("services.smile"), "");
+        client.start();
+        awaitTrue(() -> client.currentVersion() == 5);
+
+        assertEquals("http://a/v5", registry.get("accounts").getEndpointUrl());
+    }
+
+    private ConfigServerClient client(ServiceRegistry registry, Path snapshotFile, String token) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            if (request.url().getPath().equals(ConfigProtocol.SNAPSHOT_PATH)) {
+                ConfigSnapshot snapshot = snapshots.size() > 1 ? snapshots.poll() : snapshots.peek();
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, ConfigProtocol.SMILE_MEDIA_TYPE)
+                        .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(smile(snapshot)))))
+                        .build());
+            }
+            String stream = streams.poll();
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .body(stream != null ? stream : "")
+                    .build());
+        });
+        return new ConfigServerClient(registry, builder, "http://config", snapshotFile.toString(), 5000, token);
+    }
+
+    private static ServiceRegistry registry() {
+        ServiceConfig serviceConfig = new ServiceConfig();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("REST_JSON", (ProtocolHandler) (config, requestBody) -> null);
+        return new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+    }
+
+    private static ConfigSnapshot snapshot(long version, String serviceName, String endpointUrl) {
+        ConfigSnapshot snapshot = new ConfigSnapshot();
+        snapshot.setVersion(version);
+        snapshot.setServices(Map.of(serviceName, service(endpointUrl)));
+        snapshot.setServiceVersions(Map.of(serviceName, version));
+        return snapshot;
+    }
+
+    private static String delta(long version, ConfigDelta.Type type, String serviceName, String endpointUrl) throws Exception {
+        return AdapterCodecs.json().writeValueAsString(ConfigDelta.builder()
+                .version(version)
+                .type(type)
+                .serviceName(serviceName)
+                .service(endpointUrl != null ? service(endpointUrl) : null)
+                .build());
+    }
+
+    private static String event(String name, String data) {
+        return "event:" + name + "\ndata:" + data + "\n\n";
+    }
+
+    private static ServiceMetadata service(String endpointUrl) {
+        ServiceMetadata service = new ServiceMetadata();
+        service.setProtocol("REST_JSON");
+        service.setEndpointUrl(endpointUrl);
+        return service;
+    }
+
+    private static byte[] smile(ConfigSnapshot snapshot) {
+        try {
+            return AdapterCodecs.smile().writeValueAsBytes(snapshot);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,110 @@
+package org.adcb.adapter.gateway.config;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.resilience.CircuitBreakerConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceRegistryTest {
+
+    private final CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+    private final List<String> invalidated = new ArrayList<>();
+
+    @Test
+    void testApply_rebuildsOnlyChangedServices() {
+        ServiceRegistry registry = registry(Map.of("accounts", service(50), "cards", service(50)));
+        ServiceMetadata accounts = registry.get("accounts");
+        ServiceMetadata cards = registry.get("cards");
+        assertEquals("accounts", accounts.getServiceName());
+        circuitBreakers.execute("accounts", accounts, () -> "ok");
+        circuitBreakers.execute("cards", cards, () -> "ok");
+        var accountsMetrics = circuitBreakers.getMetrics("accounts");
+
+        Map<String, ServiceMetadata> next = new LinkedHashMap<>();
+        next.put("accounts", service(50));
+        next.put("cards", service(80));
+        next.put("loans", service(50));
+        ServiceRegistry.ChangeSet changes = registry.apply(next);
+
+        assertEquals(Set.of("loans"), changes.added());
+        assertEquals(Set.of("cards"), changes.changed());
+        assertTrue(changes.removed().isEmpty());
+        assertSame(accounts, registry.get("accounts"));
+        assertEquals(80f, registry.get("cards").getResilience().getCircuitBreaker().getFailureRateThreshold());
+        assertSame(accountsMetrics, circuitBreakers.getMetrics("accounts"));
+        assertNull(circuitBreakers.getMetrics("cards"));
+        assertEquals(List.of("loans", "cards"), invalidated);
+    }
+
+    @Test
+    void testApply_removedServiceIsNoLongerResolvable() {
+        ServiceRegistry registry = registry(Map.of("accounts", service(50), "cards", service(50)));
+        circuitBreakers.execute("cards", registry.get("cards"), () -> "ok");
+
+        ServiceRegistry.ChangeSet changes = registry.apply(Map.of("accounts", service(50)));
+
+        assertEquals(Set.of("cards"), changes.removed());
+        assertNull(registry.get("cards"));
+        assertNull(circuitBreakers.getMetrics("cards"));
+        assertTrue(registry.apply(Map.of("accounts", service(50))).isEmpty());
+        assertNotNull(registry.get("accounts"));
+    }
+
+    private ServiceRegistry registry(Map<String, ServiceMetadata> services) {
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(new LinkedHashMap<>(services));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("circuitBreakers", circuitBreakers);
+        beans.addBean("REST_JSON", new ProtocolHandler() {
+            @Override
+            public Object execute(ServiceMetadata config, Object requestBody) {
+                return null;
+            }
+
+            @Override
+            public void invalidate(String serviceName) {
+                invalidated.add(serviceName);
+            }
+        });
+        return new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+    }
+
+    private static ServiceMetadata service(float failureRateThreshold) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol("REST_JSON");
+        config.setEndpointUrl("http://localhost/api");
+        CircuitBreakerConfig cb = new CircuitBreakerConfig();
+        cb.setEnabled(true);
+        cb.setFailureRateThreshold(failureRateThreshold);
+        cb.setWaitDurationInOpenStateMs(60_000);
+        cb.setSlidingWindowSize(10);
+        cb.setMinimumNumberOfCalls(10);
+        ResilienceConfig resilience = new ResilienceConfig();
+        resilience.setCircuitBreaker(cb);
+        config.setResilience(resilience);
+        return config;
+    }
+}
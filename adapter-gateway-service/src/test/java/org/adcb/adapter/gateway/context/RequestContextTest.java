@@ -0,0 +1,92 @@
+package org.adcb.adapter.gateway.context;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.context.ContextPropagationConfig;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.commons.context.RequestIds;
+import org.adcb.adapter.spi.context.ContextHeaders;
+import org.adcb.adapter.spi.context.RequestScope;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestContextTest {
+
+    @Test
+    void testResolve_keepsValidCallerIdsAndGeneratesTheRest() {
+        RequestContext supplied = RequestContext.resolve("order-42", "checkout-7");
+        assertEquals("order-42", supplied.getCorrelationId());
+        assertEquals("checkout-7", supplied.getInteractionId());
+
+        RequestContext injected = RequestContext.resolve("bad\r\nX-Admin: true", null);
+        assertTrue(injected.getCorrelationId().matches("adcb-[0-9a-f]{16}"));
+        assertEquals(injected.getCorrelationId(), injected.getInteractionId());
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(RequestIds.next());
+        }
+        assertEquals(10_000, ids.size());
+    }
+
+    @Test
+    void testRequestScope_bindsMdcAndRestoresOuterScope() {
+        RequestContext outer = RequestContext.resolve("outer", null);
+        RequestContext inner = RequestContext.resolve("inner", "interaction");
+
+        try (RequestScope o = RequestScope.open(outer)) {
+            try (RequestScope i = RequestScope.open(inner)) {
+                assertEquals("inner", MDC.get(RequestContext.CORRELATION_ID));
+                assertEquals("interaction", MDC.get(RequestContext.INTERACTION_ID));
+                assertEquals(inner, RequestContext.current());
+            }
+            assertEquals("outer", MDC.get(RequestContext.CORRELATION_ID));
+            assertEquals(outer, RequestContext.current());
+        }
+        assertNull(MDC.get(RequestContext.CORRELATION_ID));
+        assertNull(RequestContext.current());
+
+        // Reactor context carries it to scheduler threads, where a scope makes it current again
+        String seen = Mono.deferContextual(view -> Mono.fromCallable(() -> {
+                    try (RequestScope scope = RequestScope.open(RequestScope.get(view))) {
+                        return MDC.get(RequestContext.CORRELATION_ID);
+                    }
+                }))
+                .subscribeOn(Schedulers.boundedElastic())
+                .contextWrite(c -> RequestScope.put(c, inner))
+                .block();
+        assertEquals("inner", seen);
+    }
+
+    @Test
+    void testContextHeaders_followServiceConfig() {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("orders");
+        RequestContext context = RequestContext.resolve("corr-1", "int-1");
+
+        try (RequestScope scope = RequestScope.open(context)) {
+            HttpHeaders none = new HttpHeaders();
+            ContextHeaders.apply(config, none);
+            assertTrue(none.isEmpty());
+
+            ContextPropagationConfig propagation = new ContextPropagationConfig();
+            propagation.setCorrelationIdHeader("X-Request-Id");
+            propagation.setInteractionIdHeader("");
+            config.setContextPropagation(propagation);
+            HttpHeaders headers = new HttpHeaders();
+            ContextHeaders.apply(config, headers);
+            assertEquals("corr-1", headers.getFirst("X-Request-Id"));
+            assertNull(headers.getFirst(RequestContext.INTERACTION_ID_HEADER));
+            assertEquals(1, headers.size());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.adcb.adapter.gateway.controller;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.auth.AuthConfig;
+import org.adcb.adapter.commons.auth.ServiceSecrets;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceConfigReloader;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminConfigControllerTest {
+
+    private static final String TOKEN = "s3cret-admin";
+
+    private final ServiceRegistry registry = registry(Map.of("accounts", service("http://accounts/api")));
+    private final AdminConfigController controller =
+            new AdminConfigController(registry, new ServiceConfigReloader(registry), TOKEN);
+
+    @Test
+    void testConstructor_requiresToken() {
+        assertThrows(IllegalStateException.class, () -> new AdminConfigController(registry, null, " "));
+    }
+
+    @Test
+    void testEndpoints_rejectMissingOrWrongToken() {
+        for (String presented : new String[]{null, "", "wrong"}) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.services(presented));
+            assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+            assertThrows(ResponseStatusException.class, () -> controller.replaceServices(presented, Map.of()));
+            assertThrows(ResponseStatusException.class, () -> controller.reload(presented));
+        }
+        assertEquals("http://accounts/api", registry.get("accounts").getEndpointUrl());
+    }
+
+    @Test
+    void testServices_masksSecretsWithoutTouchingRunningConfig() {
+        ServiceMetadata shown = controller.services(TOKEN).get("accounts");
+
+        assertEquals(ServiceSecrets.MASK, shown.getAuth().getClientSecret());
+        assertEquals(ServiceSecrets.MASK, shown.getAuth().getTokenSource());
+        assertEquals(ServiceSecrets.MASK, shown.getAuth().getKeystorePassword());
+        assertNull(shown.getAuth().getTruststorePassword());
+        assertEquals(ServiceSecrets.MASK, shown.getHeaders().get("Authorization"));
+        assertEquals("v1", shown.getHeaders().get("X-Api-Version"));
+        assertEquals("client-1", shown.getAuth().getClientId());
+        assertEquals("secret-1", registry.get("accounts").getAuth().getClientSecret());
+    }
+
+    @Test
+    void testReplaceServices_keepsMaskedSecretsFromRunningConfig() {
+        ServiceMetadata edited = controller.services(TOKEN).get("accounts");
+        edited.setEndpointUrl("http://accounts-v2/api");
+        edited.getAuth().setTokenSource("new-key");
+
+        ServiceRegistry.ChangeSet changes = controller.replaceServices(TOKEN, Map.of("accounts", edited)).block();
+
+        assertTrue(changes.changed().contains("accounts"));
+        ServiceMetadata applied = registry.get("accounts");
+        assertEquals("http://accounts-v2/api", applied.getEndpointUrl());
+        assertEquals("secret-1", applied.getAuth().getClientSecret());
+        assertEquals("ks-pass", applied.getAuth().getKeystorePassword());
+        assertEquals("new-key", applied.getAuth().getTokenSource());
+        assertEquals("Bearer abc", applied.getHeaders().get("Authorization"));
+    }
+
+    private static ServiceMetadata service(String endpointUrl) {
+        AuthConfig auth = new AuthConfig();
+        auth.setType("OAUTH2");
+        auth.setClientId("client-1");
+        auth.setClientSecret("secret-1");
+        auth.setTokenSource("api-key-1");
+        auth.setKeystorePassword("ks-pass");
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol("REST_JSON");
+        config.setEndpointUrl(endpointUrl);
+        config.setAuth(auth);
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Authorization", "Bearer abc");
+        headers.put("X-Api-Version", "v1");
+        config.setHeaders(headers);
+        return config;
+    }
+
+    private static ServiceRegistry registry(Map<String, ServiceMetadata> services) {
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(new LinkedHashMap<>(services));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+    }
+}
@@ -0,0 +1,58 @@
+package org.adcb.adapter.gateway.controller;
+
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.commons.resilience.RetryConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.resilience.RetryBudget;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.gateway.resilience.RetryStats;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdminRetryControllerTest {
+
+    private final RetryHandler retryHandler = new RetryHandler(new ErrorClassifier(new ErrorClassificationConfig()));
+    private final AdminRetryController controller = new AdminRetryController(retryHandler);
+
+    @Test
+    void testBudgets_reportExhaustionPerServiceUntilReconfigured() {
+        retryHandler.execute(service("ledger"), new RetryStats(), () -> StandardResponse.<Object>builder()
+                .success(false)
+                .error(ErrorDetails.builder().errorCode("HTTP_503").retryable(true).build())
+                .build());
+        retryHandler.execute(service("orders"), new RetryStats(), () -> StandardResponse.success("ok"));
+
+        Map<String, RetryBudget.Metrics> budgets = controller.budgets();
+        assertEquals(Set.of("ledger", "orders"), budgets.keySet());
+        assertEquals(1, budgets.get("ledger").exhausted());
+        assertEquals(1, budgets.get("orders").successes());
+        assertEquals(1, controller.budget("ledger").getBody().exhausted());
+        assertEquals(HttpStatus.NOT_FOUND, controller.budget("unknown").getStatusCode());
+
+        retryHandler.servicesChanged(Set.of("ledger"));
+        assertEquals(Set.of("orders"), controller.budgets().keySet());
+    }
+
+    private static ServiceMetadata service(String name) {
+        RetryConfig retry = new RetryConfig();
+        retry.setEnabled(true);
+        retry.setMaxAttempts(3);
+        retry.setInitialInterval(1);
+        retry.setBudgetMinRetriesPerSecond(0);
+        ResilienceConfig resilience = new ResilienceConfig();
+        resilience.setRetry(retry);
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName(name);
+        config.setResilience(resilience);
+        return config;
+    }
+}
@@ -0,0 +1,153 @@
+package org.adcb.adapter.gateway.controller;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.capture.TrafficCapture;
+import org.adcb.adapter.gateway.config.CaptureConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
+import org.adcb.adapter.gateway.resilience.RateLimiterManager;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.adcb.adapter.gateway.service.ErrorMapper;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayControllerTest {
+
+    private final AtomicReference<RequestContext> handlerContext = new AtomicReference<>();
+    private final ListAppender<ILoggingEvent> serviceLog = new ListAppender<>();
+    private final Logger serviceLogger = (Logger) LoggerFactory.getLogger(EnhancedProtocolAdapterService.class);
+    private GatewayController controller;
+
+    @BeforeEach
+    void setUp() {
+        serviceLog.start();
+        serviceLogger.addAppender(serviceLog);
+
+        Map<String, ProtocolHandler> handlers = Map.of(
+                "ECHO", (config, requestBody) -> {
+                    handlerContext.set(RequestContext.current());
+                    return Map.of("ok", true);
+                },
+                "BROKEN", (config, requestBody) -> {
+                    throw new IllegalStateException("downstream exploded");
+                });
+        Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+        services.put("echo", service("ECHO"));
+        services.put("broken", service("BROKEN"));
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(services);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ServiceRegistry registry = new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+        ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+        CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+        EnhancedProtocolAdapterService adapterService = new EnhancedProtocolAdapterService(handlers, registry,
+                new FreemarkerTemplateService(), circuitBreakers, new RetryHandler(classifier),
+                new ErrorMapper(classifier), new FastFailGuard(circuitBreakers, new RateLimiterManager()),
+                new LatencyRecorder(new LatencyMetricsConfig()));
+        controller = new GatewayController(adapterService, new TrafficCapture(new CaptureConfig()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceLogger.detachAppender(serviceLog);
+    }
+
+    @Test
+    void testCallService_usesCallerIdsAndEchoesCorrelationId() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RequestContext.CORRELATION_ID_HEADER, "order-42");
+        headers.set(RequestContext.INTERACTION_ID_HEADER, "checkout-7");
+
+        ResponseEntity<Object> entity = controller.callService("echo", Map.of(), headers).block(Duration.ofSeconds(5));
+
+        assertEquals("order-42", entity.getHeaders().getFirst(RequestContext.CORRELATION_ID_HEADER));
+        assertEquals("order-42", ((StandardResponse<?>) entity.getBody()).getCorrelationId());
+        assertEquals("order-42", handlerContext.get().getCorrelationId());
+        assertEquals("checkout-7", handlerContext.get().getInteractionId());
+    }
+
+    @Test
+    void testCallService_generatesAndEchoesIdWhenCallerSendsNone() {
+        ResponseEntity<Object> entity = controller.callService("echo", Map.of(), new HttpHeaders())
+                .block(Duration.ofSeconds(5));
+
+        String echoed = entity.getHeaders().getFirst(RequestContext.CORRELATION_ID_HEADER);
+        assertNotNull(echoed);
+        assertEquals(echoed, ((StandardResponse<?>) entity.getBody()).getCorrelationId());
+        assertEquals(echoed, handlerContext.get().getCorrelationId());
+    }
+
+    @Test
+    void testCallService_completionAndFailureLogsCarryCallerIds() {
+        for (String serviceName : List.of("echo", "broken")) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(RequestContext.CORRELATION_ID_HEADER, "order-" + serviceName);
+            headers.set(RequestContext.INTERACTION_ID_HEADER, "checkout-7");
+            controller.callService(serviceName, Map.of(), headers).block(Duration.ofSeconds(5));
+        }
+
+        // Both are logged after the attempt, on the scheduler thread that completed it
+        ILoggingEvent completed = logged("Service 'echo' completed");
+        assertEquals("order-echo", completed.getMDCPropertyMap().get(RequestContext.CORRELATION_ID));
+        assertEquals("checkout-7", completed.getMDCPropertyMap().get(RequestContext.INTERACTION_ID));
+        ILoggingEvent failed = logged("Service 'broken' failed");
+        assertEquals("order-broken", failed.getMDCPropertyMap().get(RequestContext.CORRELATION_ID));
+        assertEquals("checkout-7", failed.getMDCPropertyMap().get(RequestContext.INTERACTION_ID));
+        assertNull(MDC.get(RequestContext.CORRELATION_ID));
+    }
+
+    private ILoggingEvent logged(String prefix) {
+        List<ILoggingEvent> matching = serviceLog.list.stream()
+                .filter(event -> event.getFormattedMessage().startsWith(prefix))
+                .toList();
+        assertEquals(1, matching.size(), prefix + ": " + serviceLog.list);
+        return matching.get(0);
+    }
+
+    private static ServiceMetadata service(String protocol) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol(protocol);
+        config.setEndpointUrl("http://localhost/" + protocol.toLowerCase());
+        config.setHttpMethod("POST");
+        config.setResilience(new ResilienceConfig());
+        return config;
+    }
+}
@@ -0,0 +1,265 @@
+package org.adcb.adapter.gateway.jfr;
+
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.commons.jfr.AdapterEvents;
+import org.adcb.adapter.commons.resilience.CircuitBreakerConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
+import org.adcb.adapter.gateway.resilience.RateLimiterManager;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.adcb.adapter.gateway.service.ErrorMapper;
+import org.adcb.adapter.protocol.rest.RestJsonProtocolHandler;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.spi.auth.OAuth2TokenManager;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each Flight Recorder event is emitted from its real emission site with the expected fields.
+ */
+class AdapterEventsTest {
+
+    private static final String REST_RESPONSE = "{\"accountId\":\"A-1001\",\"balance\":1250.75}";
+
+    @Test
+    void testInvoke_emitsInvocationDownstreamAndTemplateEvents() throws Exception {
+        FreemarkerTemplateService freemarker = freemarker();
+        ServiceMetadata accounts = new ServiceMetadata();
+        accounts.setProtocol("REST_JSON");
+        accounts.setEndpointUrl("http://localhost/accounts");
+        accounts.setHttpMethod("POST");
+        accounts.setRequestTemplate("account_request.json");
+        accounts.setResilience(new ResilienceConfig());
+        EnhancedProtocolAdapterService service = adapterService(freemarker, Map.of("accounts", accounts));
+        RequestContext context = RequestContext.resolve("corr-jfr-1", "int-1");
+
+        List<RecordedEvent> events = record(() -> assertTrue(service.invoke("accounts",
+                        Map.of("accountId", "A-1001", "currency", "AED", "amount", 250), context).isSuccess()),
+                "AdapterInvocation", "DownstreamCall", "TemplateRender");
+
+        RecordedEvent invocation = only(events, "AdapterInvocation");
+        assertEquals("accounts", invocation.getString("serviceName"));
+        assertEquals("REST_JSON", invocation.getString("protocol"));
+        assertEquals("corr-jfr-1", invocation.getString("correlationId"));
+        assertTrue(invocation.getLong("requestBytes") > 0);
+        assertEquals(REST_RESPONSE.length(), invocation.getLong("responseBytes"));
+        assertEquals(0, invocation.getInt("retries"));
+        assertTrue(invocation.getBoolean("success"));
+        assertEquals("SUCCESS", invocation.getString("outcome"));
+
+        RecordedEvent call = only(events, "DownstreamCall");
+        assertEquals("accounts", call.getString("serviceName"));
+        assertEquals("REST_JSON", call.getString("protocol"));
+        assertEquals("POST", call.getString("httpMethod"));
+        assertEquals(invocation.getLong("requestBytes"), call.getLong("requestBytes"));
+        assertEquals(REST_RESPONSE.length(), call.getLong("responseBytes"));
+        assertEquals(0, call.getInt("httpStatus"));
+        assertEquals("SUCCESS", call.getString("outcome"));
+
+        RecordedEvent render = only(events, "TemplateRender");
+        assertEquals("account_request.json", render.getString("templateName"));
+        assertEquals("SUBSTITUTION", render.getString("engine"));
+        assertEquals("SUCCESS", render.getString("outcome"));
+    }
+
+    @Test
+    void testDownstreamAndTemplateFailures_recordOutcome() throws Exception {
+        FreemarkerTemplateService freemarker = freemarker();
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("accounts");
+        config.setProtocol("REST_JSON");
+        config.setEndpointUrl("http://localhost/accounts");
+        config.setHttpMethod("GET");
+        RestJsonProtocolHandler handler = restHandler(freemarker, HttpStatus.SERVICE_UNAVAILABLE);
+
+        List<RecordedEvent> events = record(() -> {
+            handler.execute(config, Map.of());
+            assertThrows(TemplateProcessingException.class, () -> freemarker.process("account_request.json", Map.of()));
+        }, "DownstreamCall", "TemplateRender");
+
+        RecordedEvent call = only(events, "DownstreamCall");
+        assertEquals("GET", call.getString("httpMethod"));
+        assertEquals(503, call.getInt("httpStatus"));
+        assertEquals("ServiceUnavailable", call.getString("outcome"));
+        RecordedEvent render = only(events, "TemplateRender");
+        assertEquals(0, render.getLong("outputSize"));
+        assertNotEquals("SUCCESS", render.getString("outcome"));
+    }
+
+    @Test
+    void testTokenFetch_emitsEndpointClientAndExpiry() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/token", exchange -> {
+            byte[] body = "{\"access_token\":\"t-1\",\"expires_in\":3600,\"token_type\":\"Bearer\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String endpoint = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+            OAuth2TokenManager tokens = new OAuth2TokenManager();
+
+            List<RecordedEvent> events = record(() -> {
+                assertEquals("t-1", tokens.getToken(endpoint, "client-1", "secret", null));
+                // Served from the cache: no second fetch event
+                tokens.getToken(endpoint, "client-1", "secret", null);
+            }, "TokenFetch");
+
+            RecordedEvent fetch = only(events, "TokenFetch");
+            assertEquals(endpoint, fetch.getString("tokenEndpoint"));
+            assertEquals("client-1", fetch.getString("clientId"));
+            assertEquals(3600, fetch.getDuration("expiresIn").toSeconds());
+            assertEquals("SUCCESS", fetch.getString("outcome"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testCircuitBreaker_emitsEachStateTransition() throws Exception {
+        CircuitBreakerManager breakers = new CircuitBreakerManager();
+        CircuitBreakerConfig cb = new CircuitBreakerConfig();
+        cb.setEnabled(true);
+        cb.setFailureRateThreshold(50);
+        cb.setSlidingWindowSize(2);
+        cb.setMinimumNumberOfCalls(2);
+        cb.setWaitDurationInOpenStateMs(50);
+        ResilienceConfig resilience = new ResilienceConfig();
+        resilience.setCircuitBreaker(cb);
+        ServiceMetadata config = new ServiceMetadata();
+        config.setResilience(resilience);
+
+        List<RecordedEvent> events = record(() -> {
+            for (int i = 0; i < 2; i++) {
+                assertThrows(IllegalStateException.class, () -> breakers.execute("payments", config, () -> {
+                    throw new IllegalStateException("down");
+                }));
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // The timer moved the breaker to half-open; the next call reports it, then closes it
+            for (int i = 0; i < 3; i++) {
+                breakers.execute("payments", config, () -> "ok");
+            }
+        }, "CircuitStateChange");
+
+        assertEquals(List.of("CLOSED>OPEN", "OPEN>HALF_OPEN", "HALF_OPEN>CLOSED"), events.stream()
+                .peek(e -> assertEquals("payments", e.getString("serviceName")))
+                .map(e -> e.getString("fromState") + ">" + e.getString("toState"))
+                .toList());
+    }
+
+    private static List<RecordedEvent> record(ThrowingRunnable action, String... eventNames) throws Exception {
+        Path dump = Files.createTempFile("adapter-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : eventNames) {
+                recording.enable(AdapterEvents.NAME_PREFIX + name).withoutThreshold();
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == Thread.currentThread().threadId())
+                    .toList();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals(AdapterEvents.NAME_PREFIX + name))
+                .toList();
+        assertEquals(1, matching.size(), name + " events: " + matching);
+        return matching.get(0);
+    }
+
+    private static FreemarkerTemplateService freemarker() {
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        ReflectionTestUtils.setField(freemarker, "templateBasePath", "classpath:/templates/");
+        ReflectionTestUtils.setField(freemarker, "cacheEnabled", true);
+        ReflectionTestUtils.setField(freemarker, "cacheTtlMinutes", 60L);
+        freemarker.initialize();
+        return freemarker;
+    }
+
+    private static RestJsonProtocolHandler restHandler(FreemarkerTemplateService freemarker, HttpStatus status) {
+        WebClient.Builder downstream = WebClient.builder().exchangeFunction(request -> Mono.just(
+                ClientResponse.create(status)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(REST_RESPONSE)
+                        .build()));
+        return new RestJsonProtocolHandler(downstream, Map.of(),
+                new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker)),
+                new ResponseMappingRegistry(freemarker), new AdaptiveBufferManager());
+    }
+
+    private static EnhancedProtocolAdapterService adapterService(FreemarkerTemplateService freemarker,
+                                                                 Map<String, ServiceMetadata> services) {
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(new LinkedHashMap<>(services));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ServiceRegistry registry = new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+        ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+        CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+        return new EnhancedProtocolAdapterService(Map.of("REST_JSON", restHandler(freemarker, HttpStatus.OK)),
+                registry, freemarker, circuitBreakers, new RetryHandler(classifier), new ErrorMapper(classifier),
+                new FastFailGuard(circuitBreakers, new RateLimiterManager()),
+                new LatencyRecorder(new LatencyMetricsConfig()));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,85 @@
+package org.adcb.adapter.gateway.metrics;
+
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LatencyRecorderTest {
+
+    @Test
+    void testRecord_reportsPhasesAndKeepsSlowestCalls() {
+        LatencyMetricsConfig config = new LatencyMetricsConfig();
+        config.setSlowCallMinMs(100);
+        LatencyRecorder recorder = new LatencyRecorder(config);
+
+        for (int i = 1; i <= 10; i++) {
+            InvocationPhases phases = new InvocationPhases();
+            phases.add(InvocationPhases.Phase.TEMPLATE, TimeUnit.MILLISECONDS.toNanos(1));
+            phases.add(InvocationPhases.Phase.DOWNSTREAM, TimeUnit.MILLISECONDS.toNanos(i * 20L));
+            recorder.record("accounts", "c-" + i, TimeUnit.MILLISECONDS.toNanos(i * 20L + 2), phases, 0, true);
+        }
+        recorder.roll();
+
+        LatencySnapshot snapshot = recorder.snapshot("accounts");
+        assertEquals(10, snapshot.cumulative().get("TOTAL").count());
+        assertEquals(10, snapshot.lastInterval().get("DOWNSTREAM").count());
+        assertEquals(202, snapshot.cumulative().get("TOTAL").maxMs(), 2);
+        assertTrue(!snapshot.cumulative().containsKey("TRANSFORM"));
+
+        List<SlowCall> slow = recorder.slowCalls("accounts");
+        assertEquals(6, slow.size());
+        assertEquals("c-10", slow.get(0).correlationId());
+        assertEquals(200, slow.get(0).phasesMs().get("DOWNSTREAM"), 0.001);
+        assertEquals(0, recorder.slowCalls("cards").size());
+    }
+
+    @Test
+    void testServicesChanged_dropsHistogramsOfReconfiguredServices() {
+        LatencyRecorder recorder = new LatencyRecorder(new LatencyMetricsConfig());
+        InvocationPhases phases = new InvocationPhases();
+        recorder.record("accounts", "c-1", 5_000_000, phases, 0, true);
+        recorder.record("cards", "c-2", 5_000_000, phases, 0, true);
+        recorder.roll();
+
+        recorder.servicesChanged(Set.of("accounts", "loans"));
+
+        assertNull(recorder.snapshot("accounts"));
+        assertEquals(Set.of("cards"), recorder.snapshot().keySet());
+        recorder.record("accounts", "c-3", 5_000_000, phases, 0, true);
+        recorder.roll();
+        assertEquals(1, recorder.snapshot("accounts").cumulative().get("TOTAL").count());
+    }
+
+    @Test
+    void testRecord_allocatesNothingOnceServiceIsKnown() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        LatencyMetricsConfig config = new LatencyMetricsConfig();
+        config.setSlowCallMinMs(0);
+        LatencyRecorder recorder = new LatencyRecorder(config);
+        InvocationPhases phases = new InvocationPhases();
+        phases.add(InvocationPhases.Phase.DOWNSTREAM, 5_000_000);
+
+        for (int i = 0; i < 20_000; i++) {
+            recorder.record("accounts", "c-1", 5_000_000 + i, phases, 1, true);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            recorder.record("accounts", "c-1", 5_000_000 + i, phases, 1, true);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        // A few bytes may come from JIT activity; any per-call allocation would be 10_000 x larger
+        assertTrue(allocated < 1024, () -> "record allocated " + allocated + " bytes in 10000 calls");
+    }
+}
@@ -0,0 +1,74 @@
+package org.adcb.adapter.gateway.resilience;
+
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ResponseStatus;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.resilience.CircuitBreakerConfig;
+import org.adcb.adapter.commons.resilience.RateLimiterConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FastFailGuardTest {
+
+    private final CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+    private final FastFailGuard guard = new FastFailGuard(circuitBreakers, new RateLimiterManager());
+
+    @Test
+    void testCheck_openBreakerReturnsPrebuiltError() {
+        ServiceMetadata config = service("accounts");
+        CircuitBreakerConfig cb = new CircuitBreakerConfig();
+        cb.setEnabled(true);
+        cb.setFailureRateThreshold(50);
+        cb.setWaitDurationInOpenStateMs(60_000);
+        cb.setSlidingWindowSize(2);
+        cb.setMinimumNumberOfCalls(2);
+        config.getResilience().setCircuitBreaker(cb);
+
+        assertNull(guard.check("accounts", config, "c-0", System.currentTimeMillis()));
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreakers.execute("accounts", config, () -> {
+                throw new IllegalStateException("down");
+            }));
+        }
+
+        StandardResponse<?> first = guard.check("accounts", config, "c-1", System.currentTimeMillis());
+        StandardResponse<?> second = guard.check("accounts", config, "c-2", System.currentTimeMillis());
+
+        assertNotNull(first);
+        assertEquals(ResponseStatus.CIRCUIT_OPEN, first.getStatus());
+        assertEquals(60, first.getError().getRetryAfterSeconds());
+        assertEquals("c-2", second.getCorrelationId());
+        assertSame(first.getError(), second.getError());
+    }
+
+    @Test
+    void testCheck_rateLimitExceededIsRejected() {
+        ServiceMetadata config = service("payments");
+        RateLimiterConfig rl = new RateLimiterConfig();
+        rl.setEnabled(true);
+        rl.setPermitsPerSecond(1);
+        config.getResilience().setRateLimiter(rl);
+
+        assertNull(guard.check("payments", config, "c-1", System.currentTimeMillis()));
+        StandardResponse<?> rejected = guard.check("payments", config, "c-2", System.currentTimeMillis());
+
+        assertNotNull(rejected);
+        assertEquals(ErrorCategory.RATE_LIMIT, rejected.getError().getCategory());
+        assertEquals("RATE_LIMIT_EXCEEDED", rejected.getError().getErrorCode());
+    }
+
+    private static ServiceMetadata service(String name) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName(name);
+        config.setProtocol("REST_JSON");
+        config.setResilience(new ResilienceConfig());
+        return config;
+    }
+}
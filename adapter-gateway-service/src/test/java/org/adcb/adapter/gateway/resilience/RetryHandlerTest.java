@@ -0,0 +1,279 @@
+package org.adcb.adapter.gateway.resilience;
+
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.commons.resilience.RetryConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.adcb.adapter.protocol.rest.RestJsonProtocolHandler;
+import org.adcb.adapter.protocol.soap.SoapProtocolHandler;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryHandlerTest {
+
+    private final RetryHandler retryHandler = new RetryHandler(new ErrorClassifier(new ErrorClassificationConfig()));
+
+    @Test
+    void testExecute_retriesRetryableErrorResponseWithinBudget() {
+        ServiceMetadata config = service("orders", 10);
+        AtomicInteger calls = new AtomicInteger();
+        RetryStats stats = new RetryStats();
+
+        StandardResponse<?> result = retryHandler.execute(config, stats, () ->
+                calls.incrementAndGet() < 3 ? retryableError(0) : StandardResponse.success("ok"));
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, calls.get());
+        assertEquals(2, stats.getRetries());
+        assertFalse(stats.isBudgetExhausted());
+        assertEquals(1, retryHandler.getBudgetMetrics("orders").successes());
+    }
+
+    @Test
+    void testExecute_exhaustedBudgetReturnsLastError() {
+        ServiceMetadata config = service("ledger", 0);
+        AtomicInteger calls = new AtomicInteger();
+        RetryStats stats = new RetryStats();
+
+        StandardResponse<?> result = retryHandler.execute(config, stats, () -> {
+            calls.incrementAndGet();
+            return retryableError(null);
+        });
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, calls.get());
+        assertTrue(stats.isBudgetExhausted());
+        assertEquals(1, retryHandler.getBudgetMetrics("ledger").exhausted());
+    }
+
+    @Test
+    void testExecuteAsync_retriesFailuresWithoutBlockingAndReturnsLastError() {
+        ServiceMetadata config = service("quotes", 10);
+        config.getResilience().getRetry().setRetryableExceptions(List.of("java.io.UncheckedIOException"));
+        AtomicInteger calls = new AtomicInteger();
+        RetryStats stats = new RetryStats();
+
+        Mono<StandardResponse<?>> mono = retryHandler.executeAsync(config, stats, () -> Mono.fromCallable(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new IOException("reset"));
+            }
+            return retryableError(0);
+        }));
+        StandardResponse<?> result = mono.block();
+
+        assertFalse(result.isSuccess());
+        assertEquals(3, calls.get());
+        assertEquals(3, stats.getAttempts());
+        assertEquals(2, stats.getRetries());
+    }
+
+    @Test
+    void testExecute_longRetryAfterIsNotWaitedForWithoutMaxInterval() {
+        ServiceMetadata config = service("fx", 10);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger asyncCalls = new AtomicInteger();
+        RetryStats asyncStats = new RetryStats();
+
+        StandardResponse<?> result = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                retryHandler.execute(config, new RetryStats(), () -> {
+                    calls.incrementAndGet();
+                    return retryableError(3600);
+                }));
+        StandardResponse<?> asyncResult = retryHandler.executeAsync(config, asyncStats, () -> Mono.fromCallable(() -> {
+            asyncCalls.incrementAndGet();
+            return retryableError(3600);
+        })).block(Duration.ofSeconds(5));
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, calls.get());
+        assertFalse(asyncResult.isSuccess());
+        assertEquals(1, asyncCalls.get());
+        assertEquals(0, asyncStats.getRetries());
+    }
+
+    @Test
+    void testExecute_soapConnectFailureRetriesOnBackoffInterval() {
+        ServiceMetadata config = service("soap-accounts", 10);
+        config.getResilience().getRetry().setInitialInterval(100);
+        config.setEndpointUrl("http://localhost/accounts");
+        config.setRequestTemplate("account_soap_request.xml");
+        AtomicInteger calls = new AtomicInteger();
+        FreemarkerTemplateService freemarker = templates();
+        SoapProtocolHandler handler = new SoapProtocolHandler(WebClient.builder().exchangeFunction(request -> {
+            calls.incrementAndGet();
+            return Mono.error(new WebClientRequestException(new ConnectException("Connection refused"),
+                    request.method(), request.url(), request.headers()));
+        }), Map.of(), new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker)),
+                new ResponseMappingRegistry(freemarker), new AdaptiveBufferManager());
+        RetryStats stats = new RetryStats();
+        Map<String, Object> request = Map.of("accountId", "A-1001", "currency", "AED", "amount", 250);
+
+        long start = System.nanoTime();
+        StandardResponse<?> result = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                (StandardResponse<?>) retryHandler.execute(config, stats, () -> handler.execute(config, request)));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("SOAP_NETWORK_ERROR", result.getError().getErrorCode());
+        assertNull(result.getError().getRetryAfterSeconds());
+        assertEquals(3, calls.get());
+        assertEquals(2, stats.getRetries());
+        assertTrue(elapsedMs >= 200, "two 100ms backoffs, took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testExecute_retriesTooManyRequestsAfterItsRetryAfter() {
+        ServiceMetadata config = service("rates", 10);
+        config.setEndpointUrl("http://localhost/rates");
+        config.setHttpMethod("GET");
+        FreemarkerTemplateService freemarker = templates();
+        AtomicInteger calls = new AtomicInteger();
+        RestJsonProtocolHandler handler = new RestJsonProtocolHandler(WebClient.builder().exchangeFunction(request ->
+                Mono.just(calls.incrementAndGet() == 1
+                        ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build()
+                        : ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"rate\":3.67}").build())),
+                Map.of(), new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker)),
+                new ResponseMappingRegistry(freemarker), new AdaptiveBufferManager());
+        RetryStats stats = new RetryStats();
+
+        long start = System.nanoTime();
+        Object result = retryHandler.execute(config, stats, () -> handler.execute(config, Map.of()));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(Map.of("rate", 3.67), result);
+        assertEquals(2, calls.get());
+        assertEquals(1, stats.getRetries());
+        assertTrue(elapsedMs >= 1000, "waited the 1s Retry-After, not the 1ms backoff: " + elapsedMs + "ms");
+
+        // Thrown 429s follow the classifier: retried with a Retry-After, not without one
+        AtomicInteger thrown = new AtomicInteger();
+        assertEquals("ok", retryHandler.execute(config, new RetryStats(), () -> {
+            if (thrown.incrementAndGet() == 1) {
+                throw tooManyRequests("0");
+            }
+            return "ok";
+        }));
+        assertEquals(2, thrown.get());
+        AtomicInteger bare = new AtomicInteger();
+        assertThrows(WebClientResponseException.class, () -> retryHandler.execute(config, new RetryStats(), () -> {
+            bare.incrementAndGet();
+            throw tooManyRequests(null);
+        }));
+        assertEquals(1, bare.get());
+    }
+
+    @Test
+    void testExecute_emitsRetryAttemptEventsWhileRecording() throws Exception {
+        ServiceMetadata config = service("payments", 0);
+        Path dump = Files.createTempFile("retry-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.adcb.adapter.RetryAttempt");
+            recording.start();
+            retryHandler.execute(config, new RetryStats(), () -> retryableError(null));
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertEquals(1, events.size());
+            assertEquals("payments", events.get(0).getString("serviceName"));
+            assertEquals("BUDGET_EXHAUSTED", events.get(0).getString("outcome"));
+            assertEquals(1, events.get(0).getInt("attempt"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    void testBudget_successesEarnRetriesWithinWindow() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        RetryBudget budget = new RetryBudget(0.1, 0, now::get);
+
+        for (int i = 0; i < 20; i++) {
+            budget.recordSuccess();
+        }
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        now.addAndGet(RetryBudget.WINDOW_SECONDS * 1000L);
+        assertFalse(budget.tryAcquireRetry());
+        assertEquals(0, budget.getMetrics().successes());
+    }
+
+    private static FreemarkerTemplateService templates() {
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        ReflectionTestUtils.setField(freemarker, "templateBasePath", "classpath:/templates/");
+        ReflectionTestUtils.setField(freemarker, "cacheEnabled", true);
+        ReflectionTestUtils.setField(freemarker, "cacheTtlMinutes", 60L);
+        freemarker.initialize();
+        return freemarker;
+    }
+
+    private static WebClientResponseException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(429, "Too Many Requests", headers, new byte[0], null);
+    }
+
+    private static StandardResponse<Object> retryableError(Integer retryAfterSeconds) {
+        return StandardResponse.<Object>builder()
+                .success(false)
+                .error(ErrorDetails.builder().errorCode("HTTP_503").retryable(true)
+                        .retryAfterSeconds(retryAfterSeconds).build())
+                .build();
+    }
+
+    private static ServiceMetadata service(String name, int minRetriesPerSecond) {
+        RetryConfig retry = new RetryConfig();
+        retry.setEnabled(true);
+        retry.setMaxAttempts(3);
+        retry.setInitialInterval(1);
+        retry.setBudgetMinRetriesPerSecond(minRetriesPerSecond);
+        ResilienceConfig resilience = new ResilienceConfig();
+        resilience.setRetry(retry);
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName(name);
+        config.setResilience(resilience);
+        return config;
+    }
+}
@@ -0,0 +1,153 @@
+package org.adcb.adapter.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.resilience.CircuitBreakerConfig;
+import org.adcb.adapter.commons.resilience.ConnectionPoolConfig;
+import org.adcb.adapter.commons.resilience.RateLimiterConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.commons.resilience.RetryConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.adcb.adapter.spi.http.ServiceWebClients;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A call that read a service's configuration just before a reload may build per-service
+ * state after the reload invalidated it; the next call with the new configuration must not
+ * keep using that state.
+ */
+class StaleConfigurationTest {
+
+    @Test
+    void testCircuitBreaker_staleBreakerIsRebuiltFromCurrentConfig() {
+        CircuitBreakerManager breakers = new CircuitBreakerManager();
+        ServiceMetadata before = service();
+        before.getResilience().setCircuitBreaker(breaker(1));
+        ServiceMetadata after = service();
+        after.getResilience().setCircuitBreaker(breaker(100));
+
+        breakers.servicesChanged(Set.of("orders"));
+        assertThrows(IllegalStateException.class, () -> breakers.execute("orders", before, () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, breakers.getState("orders"));
+
+        assertEquals("ok", breakers.execute("orders", after, () -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breakers.getState("orders"));
+        // Same settings in a new object keep the breaker and its state
+        assertEquals("ok", breakers.execute("orders", copyOf(after), () -> "ok"));
+        assertEquals(2, breakers.getMetrics("orders").getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void testRetry_stalePolicyIsRebuiltFromCurrentConfig() {
+        RetryHandler retryHandler = new RetryHandler(new ErrorClassifier(new ErrorClassificationConfig()));
+        ServiceMetadata before = service();
+        before.getResilience().setRetry(retry(1));
+        ServiceMetadata after = service();
+        after.getResilience().setRetry(retry(3));
+        AtomicInteger calls = new AtomicInteger();
+
+        retryHandler.servicesChanged(Set.of("orders"));
+        assertEquals("ok", retryHandler.execute(before, () -> "ok"));
+        assertThrows(UncheckedIOException.class, () -> retryHandler.execute(after, () -> {
+            calls.incrementAndGet();
+            throw new UncheckedIOException(new IOException("reset"));
+        }));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testRateLimiter_staleLimiterIsRebuiltFromCurrentConfig() {
+        RateLimiterManager limiters = new RateLimiterManager();
+        ServiceMetadata before = service();
+        before.getResilience().setRateLimiter(limiter(1));
+        ServiceMetadata after = service();
+        after.getResilience().setRateLimiter(limiter(100));
+
+        limiters.servicesChanged(Set.of("orders"));
+        assertTrue(limiters.tryAcquire("orders", before));
+        assertFalse(limiters.tryAcquire("orders", before));
+
+        assertTrue(limiters.tryAcquire("orders", after));
+        assertEquals(99, limiters.getMetrics("orders").getAvailablePermissions());
+    }
+
+    @Test
+    void testWebClients_staleClientIsReplacedAndRetired() {
+        ServiceWebClients clients = new ServiceWebClients(WebClient.builder(), "test");
+        ServiceMetadata before = service();
+        before.getResilience().setConnectionPool(pool(5));
+        ServiceMetadata after = service();
+        after.getResilience().setConnectionPool(pool(50));
+
+        clients.invalidate("orders");
+        WebClient stale;
+        try (ServiceWebClients.Lease lease = clients.acquire(before)) {
+            stale = lease.client();
+        }
+        try (ServiceWebClients.Lease lease = clients.acquire(after)) {
+            assertNotSame(stale, lease.client());
+            assertEquals(1, clients.inFlight("orders"));
+            try (ServiceWebClients.Lease same = clients.acquire(copyOf(after))) {
+                assertSame(lease.client(), same.client());
+            }
+        }
+    }
+
+    private static ServiceMetadata service() {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("orders");
+        config.setEndpointUrl("http://localhost/orders");
+        config.setResilience(new ResilienceConfig());
+        return config;
+    }
+
+    private static ServiceMetadata copyOf(ServiceMetadata config) {
+        return AdapterCodecs.json().convertValue(config, ServiceMetadata.class);
+    }
+
+    private static CircuitBreakerConfig breaker(int minimumNumberOfCalls) {
+        CircuitBreakerConfig cb = new CircuitBreakerConfig();
+        cb.setEnabled(true);
+        cb.setFailureRateThreshold(50);
+        cb.setWaitDurationInOpenStateMs(60_000);
+        cb.setSlidingWindowSize(Math.max(10, minimumNumberOfCalls));
+        cb.setMinimumNumberOfCalls(minimumNumberOfCalls);
+        return cb;
+    }
+
+    private static RetryConfig retry(int maxAttempts) {
+        RetryConfig retry = new RetryConfig();
+        retry.setEnabled(true);
+        retry.setMaxAttempts(maxAttempts);
+        retry.setInitialInterval(1);
+        retry.setRetryableExceptions(List.of("java.io.UncheckedIOException"));
+        return retry;
+    }
+
+    private static RateLimiterConfig limiter(int permitsPerSecond) {
+        RateLimiterConfig limiter = new RateLimiterConfig();
+        limiter.setEnabled(true);
+        limiter.setPermitsPerSecond(permitsPerSecond);
+        return limiter;
+    }
+
+    private static ConnectionPoolConfig pool(int maxConnections) {
+        ConnectionPoolConfig pool = new ConnectionPoolConfig();
+        pool.setMaxConnections(maxConnections);
+        return pool;
+    }
+}
@@ -0,0 +1,252 @@
+package org.adcb.adapter.gateway.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.resilience.CircuitBreakerConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.commons.resilience.RetryConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
+import org.adcb.adapter.gateway.resilience.RateLimiterManager;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.protocol.rest.RestJsonProtocolHandler;
+import org.adcb.adapter.protocol.soap.SoapProtocolHandler;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the invoke pipeline against new allocations: each path runs
+ * {@link EnhancedProtocolAdapterService#invoke} through the real REST and SOAP handlers, with
+ * the HTTP connector replaced by an exchange function that answers synchronously with a canned
+ * response, and fails when the bytes allocated per invocation on the calling thread exceed the
+ * budget in {@code allocation-budgets.properties}. The canned response is built per call, so
+ * the budgets include what a connector allocates to hand a response body over.
+ *
+ * <p>Paths are measured after a JIT warm-up and the best of several rounds is compared, so
+ * one-off class loading and cache population are not charged. Logging of the service and the
+ * handlers is raised to WARN while measuring; log output depends on the appender, not on the
+ * pipeline.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP_INVOCATIONS = 5_000;
+    private static final int ROUNDS = 5;
+    private static final int INVOCATIONS_PER_ROUND = 1_000;
+
+    private static final String REST_RESPONSE =
+            "{\"accountId\":\"A-1001\",\"balance\":1250.75,\"status\":\"ACTIVE\",\"branch\":\"DXB-01\"}";
+    private static final String SOAP_RESPONSE = """
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/">
+              <soapenv:Body>
+                <GetAccountResponse>
+                  <accountId>A-1001</accountId>
+                  <balance>1250.75</balance>
+                  <status>ACTIVE</status>
+                </GetAccountResponse>
+              </soapenv:Body>
+            </soapenv:Envelope>""";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final List<Logger> QUIETED = List.of(
+            (Logger) LoggerFactory.getLogger(EnhancedProtocolAdapterService.class),
+            (Logger) LoggerFactory.getLogger(RestJsonProtocolHandler.class),
+            (Logger) LoggerFactory.getLogger(SoapProtocolHandler.class));
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(AllocationBudgetTest.class);
+
+    private static final Map<Logger, Level> previousLevels = new HashMap<>();
+    private static Properties budgets;
+    private static EnhancedProtocolAdapterService service;
+
+    private final Map<String, Object> request = Map.of("accountId", "A-1001", "currency", "AED", "amount", 250);
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation accounting not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        for (Logger logger : QUIETED) {
+            previousLevels.put(logger, logger.getLevel());
+            logger.setLevel(Level.WARN);
+        }
+
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        ReflectionTestUtils.setField(freemarker, "templateBasePath", "classpath:/templates/");
+        ReflectionTestUtils.setField(freemarker, "cacheEnabled", true);
+        ReflectionTestUtils.setField(freemarker, "cacheTtlMinutes", 60L);
+        freemarker.initialize();
+        TemplateServiceResolver templates = new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker));
+        AdaptiveBufferManager buffers = new AdaptiveBufferManager();
+
+        Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+        services.put("cached", service("CACHED", null, null));
+        services.put("rest", service("REST_JSON", "account_request.json", "account_response.json"));
+        services.put("soap", service("SOAP", "account_soap_request.xml", "account_response.json"));
+        services.put("failing", service("FAILING", null, null));
+
+        ResponseMappingRegistry mappings = new ResponseMappingRegistry(freemarker);
+        Map<String, ProtocolHandler> handlers = new LinkedHashMap<>();
+        handlers.put("CACHED", new CachedResponseHandler());
+        handlers.put("REST_JSON", new RestJsonProtocolHandler(
+                downstream(HttpStatus.OK, MediaType.APPLICATION_JSON_VALUE, REST_RESPONSE),
+                Map.of(), templates, mappings, buffers));
+        handlers.put("SOAP", new SoapProtocolHandler(
+                downstream(HttpStatus.OK, MediaType.TEXT_XML_VALUE, SOAP_RESPONSE),
+                Map.of(), templates, mappings, buffers));
+        // Downstream failure as the real REST handler reports it: a mapped error response
+        handlers.put("FAILING", new RestJsonProtocolHandler(
+                downstream(HttpStatus.SERVICE_UNAVAILABLE, MediaType.APPLICATION_JSON_VALUE, "{\"error\":\"down\"}"),
+                Map.of(), templates, mappings, buffers));
+
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(services);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ServiceRegistry registry = new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+
+        ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+        CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+        service = new EnhancedProtocolAdapterService(handlers, registry, freemarker, circuitBreakers,
+                new RetryHandler(classifier), new ErrorMapper(classifier),
+                new FastFailGuard(circuitBreakers, new RateLimiterManager()),
+                new LatencyRecorder(new LatencyMetricsConfig()));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        previousLevels.forEach(Logger::setLevel);
+    }
+
+    @Test
+    void testInvoke_cacheHitStaysWithinBudget() {
+        assertWithinBudget("cache-hit", "cached", true);
+    }
+
+    @Test
+    void testInvoke_restTemplatedStaysWithinBudget() {
+        assertWithinBudget("rest-templated", "rest", true);
+    }
+
+    @Test
+    void testInvoke_soapTemplatedStaysWithinBudget() {
+        assertWithinBudget("soap-templated", "soap", true);
+    }
+
+    @Test
+    void testInvoke_errorStaysWithinBudget() {
+        assertWithinBudget("error", "failing", false);
+    }
+
+    private void assertWithinBudget(String path, String serviceName, boolean success) {
+        assertEquals(success, service.invoke(serviceName, request).isSuccess());
+        for (int i = 0; i < WARMUP_INVOCATIONS; i++) {
+            service.invoke(serviceName, request);
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < INVOCATIONS_PER_ROUND; i++) {
+                service.invoke(serviceName, request);
+            }
+            best = Math.min(best, (THREADS.getThreadAllocatedBytes(threadId) - before) / INVOCATIONS_PER_ROUND);
+        }
+
+        long measured = best;
+        long budget = Long.parseLong(budgets.getProperty(path));
+        LOG.info("Allocation budget {}: {} bytes/invoke (budget {})", path, measured, budget);
+        assertTrue(measured <= budget, () -> path + " allocates " + measured + " bytes per invocation, budget is " + budget
+                + "; find the new allocation or update allocation-budgets.properties with the change that needs it");
+    }
+
+    /**
+     * Connector stand-in: answers every request at once, on the calling thread.
+     */
+    private static WebClient.Builder downstream(HttpStatus status, String contentType, String body) {
+        return WebClient.builder().exchangeFunction(request -> Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .body(body)
+                .build()));
+    }
+
+    private static ServiceMetadata service(String protocol, String requestTemplate, String responseTemplate) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol(protocol);
+        config.setEndpointUrl("http://localhost/accounts");
+        config.setHttpMethod("POST");
+        config.setTemplateEngine(TemplateServiceResolver.COMPILED);
+        config.setRequestTemplate(requestTemplate);
+        config.setResponseTemplate(responseTemplate);
+        CircuitBreakerConfig cb = new CircuitBreakerConfig();
+        cb.setEnabled(true);
+        cb.setFailureRateThreshold(100);
+        cb.setSlidingWindowSize(100);
+        cb.setMinimumNumberOfCalls(100);
+        cb.setWaitDurationInOpenStateMs(1_000);
+        RetryConfig retry = new RetryConfig();
+        retry.setEnabled(true);
+        retry.setMaxAttempts(3);
+        retry.setInitialInterval(10);
+        ResilienceConfig resilience = new ResilienceConfig();
+        resilience.setCircuitBreaker(cb);
+        resilience.setRetry(retry);
+        config.setResilience(resilience);
+        return config;
+    }
+
+    /**
+     * Response already cached: the handler hands back a prebuilt payload.
+     */
+    private static final class CachedResponseHandler implements ProtocolHandler {
+        private final Map<String, Object> payload = Map.of("accountId", "A-1001", "balance", 1250.75, "status", "ACTIVE");
+
+        @Override
+        public Object execute(ServiceMetadata config, Object requestBody) {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.adcb.adapter.gateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
+import org.adcb.adapter.gateway.resilience.RateLimiterManager;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.protocol.proxy.ProxyPassProtocolHandler;
+import org.adcb.adapter.protocol.rest.RestJsonProtocolHandler;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnhancedProtocolAdapterServiceTest {
+
+    private static final List<HttpMessageWriter<?>> WRITERS = ExchangeStrategies.withDefaults().messageWriters();
+
+    private final Map<String, String> sentBodies = new ConcurrentHashMap<>();
+
+    /**
+     * Untemplated bodies are what they were before the layered template context: the caller's
+     * fields plus correlationId, timestamp, serviceName and systemVersion, and nothing else.
+     */
+    @Test
+    void testInvoke_untemplatedBodyKeepsBaselineRequestFields() throws Exception {
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        Map<String, ProtocolHandler> handlers = Map.of(
+                "REST_JSON", new RestJsonProtocolHandler(downstream("rest"), Map.of(),
+                        new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker)),
+                        new ResponseMappingRegistry(freemarker), new AdaptiveBufferManager()),
+                "PROXY_PASS", new ProxyPassProtocolHandler(downstream("proxy").build()));
+        Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+        services.put("rest", service("REST_JSON"));
+        services.put("proxy", service("PROXY_PASS"));
+        EnhancedProtocolAdapterService adapterService = adapterService(handlers, services, freemarker);
+        Map<String, Object> request = Map.of("accountId", "A-1001", "serviceName", "from-caller");
+
+        for (String serviceName : services.keySet()) {
+            StandardResponse<?> response = adapterService.invoke(serviceName, request, RequestContext.resolve("corr-7", "int-7"));
+            assertTrue(response.isSuccess(), serviceName + ": " + response.getError());
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> body = new ObjectMapper().readValue(sentBodies.get(serviceName), Map.class);
+            assertEquals(Set.of("accountId", "correlationId", "timestamp", "serviceName", "systemVersion"),
+                    body.keySet(), serviceName);
+            assertEquals("A-1001", body.get("accountId"));
+            assertEquals("corr-7", body.get("correlationId"));
+            assertEquals(serviceName, body.get("serviceName"));
+            assertEquals("1.0", body.get("systemVersion"));
+        }
+    }
+
+    private WebClient.Builder downstream(String serviceName) {
+        return WebClient.builder().exchangeFunction(request -> {
+            MockClientHttpRequest written = new MockClientHttpRequest(request.method(), request.url());
+            return request.body().insert(written, new BodyInserter.Context() {
+                        @Override
+                        public List<HttpMessageWriter<?>> messageWriters() {
+                            return WRITERS;
+                        }
+
+                        @Override
+                        public Optional<ServerHttpRequest> serverRequest() {
+                            return Optional.empty();
+                        }
+
+                        @Override
+                        public Map<String, Object> hints() {
+                            return Map.of();
+                        }
+                    })
+                    .then(Mono.defer(written::getBodyAsString))
+                    .map(body -> {
+                        sentBodies.put(serviceName, body);
+                        return ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"ok\":true}")
+                                .build();
+                    });
+        });
+    }
+
+    private static ServiceMetadata service(String protocol) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol(protocol);
+        config.setEndpointUrl("http://localhost/accounts");
+        config.setHttpMethod("POST");
+        config.setResilience(new ResilienceConfig());
+        return config;
+    }
+
+    private static EnhancedProtocolAdapterService adapterService(Map<String, ProtocolHandler> handlers,
+                                                                 Map<String, ServiceMetadata> services,
+                                                                 FreemarkerTemplateService freemarker) {
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(services);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ServiceRegistry registry = new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+        ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+        CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+        return new EnhancedProtocolAdapterService(handlers, registry, freemarker, circuitBreakers,
+                new RetryHandler(classifier), new ErrorMapper(classifier),
+                new FastFailGuard(circuitBreakers, new RateLimiterManager()),
+                new LatencyRecorder(new LatencyMetricsConfig()));
+    }
+}
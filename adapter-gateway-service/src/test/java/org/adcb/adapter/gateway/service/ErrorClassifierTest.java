@@ -0,0 +1,82 @@
+package org.adcb.adapter.gateway.service;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorClassifierTest {
+
+    private final ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+
+    @Test
+    void testClassify_wrappedTimeoutUsesCause() {
+        Exception wrapped = new RuntimeException("call failed", new WebClientRequestException(
+                ReadTimeoutException.INSTANCE, HttpMethod.GET, URI.create("http://downstream"), new HttpHeaders()));
+
+        ErrorDetails details = classifier.toErrorDetails(wrapped, "accounts");
+
+        assertEquals("DOWNSTREAM_TIMEOUT", details.getErrorCode());
+        assertEquals("ReadTimeoutException", details.getExceptionClass());
+        assertEquals("accounts", details.getDownstreamService());
+        assertTrue(details.isRetryable());
+    }
+
+    @Test
+    void testClassify_nonRetryableWrapperBeatsRetryableCause() {
+        Exception wrapped = new TemplateProcessingException("render failed", new IOException("stream closed"));
+
+        ErrorDetails details = classifier.toErrorDetails(wrapped, "accounts");
+
+        assertEquals("TEMPLATE_ERROR", details.getErrorCode());
+        assertEquals("TemplateProcessingException", details.getExceptionClass());
+        assertFalse(details.isRetryable());
+        // A non-retryable cause under a retryable wrapper still wins as well
+        assertEquals("UNKNOWN_HOST", classifier.classify(new IOException("lookup", new UnknownHostException("h")))
+                .template().getErrorCode());
+    }
+
+    @Test
+    void testClassify_unknownFailureIsNotRetryable() {
+        ErrorDetails details = classifier.toErrorDetails(new IllegalStateException("boom"), "accounts");
+
+        assertEquals("UNEXPECTED_ERROR", details.getErrorCode());
+        assertFalse(details.isRetryable());
+        assertFalse(classifier.isRetryable(new NumberFormatException("subclass of IllegalArgumentException")));
+    }
+
+    @Test
+    void testClassify_configuredRuleOverridesDefaultsAndTemplatesStayUntouched() {
+        ErrorClassificationConfig config = new ErrorClassificationConfig();
+        ErrorClassificationConfig.Rule rule = new ErrorClassificationConfig.Rule();
+        rule.setException("java.lang.IllegalStateException");
+        rule.setErrorCode("STATE_ERROR");
+        rule.setCategory(ErrorCategory.BUSINESS);
+        config.setRules(List.of(rule));
+        ErrorClassifier configured = new ErrorClassifier(config);
+
+        ErrorDetails first = configured.toErrorDetails(new IllegalStateException("first"), "a");
+        ErrorDetails second = configured.toErrorDetails(new IllegalStateException("second"), null);
+
+        assertEquals("STATE_ERROR", first.getErrorCode());
+        assertEquals(ErrorCategory.BUSINESS, first.getCategory());
+        assertEquals("second", second.getErrorDescription());
+        assertNull(second.getDownstreamService());
+        assertNull(configured.classify(new IllegalStateException()).template().getErrorDescription());
+    }
+}
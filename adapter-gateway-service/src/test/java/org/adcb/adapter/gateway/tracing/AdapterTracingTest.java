@@ -0,0 +1,122 @@
+package org.adcb.adapter.gateway.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.adcb.adapter.gateway.config.TracingConfig;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdapterTracingTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private OpenTelemetrySdk sdk;
+
+    @BeforeEach
+    void install() {
+        sdk = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        AdapterTracing.install(sdk);
+    }
+
+    @AfterEach
+    void uninstall() {
+        AdapterTracing.uninstall();
+        sdk.close();
+    }
+
+    @Test
+    void testSpans_followInvocationAcrossBoundedElasticAndVirtualThreads() throws Exception {
+        Span invoke = AdapterTracing.startSpan(AdapterTracing.INVOKE, SpanKind.SERVER, "accounts");
+        Context captured = AdapterTracing.capture(invoke);
+
+        Mono.fromCallable(() -> {
+                    try (Scope scope = AdapterTracing.activate(captured)) {
+                        AdapterTracing.startSpan(AdapterTracing.TEMPLATE, "accounts").end();
+                    }
+                    return Span.current().getSpanContext().isValid();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(leaked -> assertFalse(leaked, "context must not stay current on the scheduler thread"))
+                .block();
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+             Scope scope = AdapterTracing.activate(invoke)) {
+            virtualThreads.submit(AdapterTracing.wrap(
+                    () -> AdapterTracing.startSpan(AdapterTracing.DOWNSTREAM, SpanKind.CLIENT, "accounts").end())).get();
+        }
+        invoke.end();
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertEquals(3, spans.size());
+        String traceId = invoke.getSpanContext().getTraceId();
+        for (SpanData span : spans) {
+            assertEquals(traceId, span.getTraceId());
+            if (!span.getName().equals(AdapterTracing.INVOKE)) {
+                assertEquals(invoke.getSpanContext().getSpanId(), span.getParentSpanId());
+            }
+        }
+        assertFalse(Span.current().getSpanContext().isValid());
+    }
+
+    @Test
+    void testInjectAndExtract_carryW3cTraceparent() {
+        Span downstream = AdapterTracing.startSpan(AdapterTracing.DOWNSTREAM, SpanKind.CLIENT, "ledger");
+        HttpHeaders outbound = new HttpHeaders();
+        AdapterTracing.inject(downstream, outbound);
+        downstream.end();
+
+        SpanContext sent = downstream.getSpanContext();
+        assertEquals("00-" + sent.getTraceId() + "-" + sent.getSpanId() + "-01", outbound.getFirst("traceparent"));
+
+        Context extracted = AdapterTracing.extract(outbound);
+        assertEquals(sent.getTraceId(), Span.fromContext(extracted).getSpanContext().getTraceId());
+        assertNull(AdapterTracing.extract(new HttpHeaders()));
+    }
+
+    @Test
+    void testSampler_parentBasedFollowsCallerDecision() {
+        TracingConfig config = new TracingConfig();
+        config.setSamplingRatio(0.0);
+        Sampler sampler = TracingInstaller.sampler(config);
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+        HttpHeaders inbound = new HttpHeaders();
+        inbound.set("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01");
+        Context sampledParent = AdapterTracing.extract(inbound);
+
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, sampler.shouldSample(sampledParent, traceId,
+                AdapterTracing.INVOKE, SpanKind.SERVER, Attributes.empty(), List.of()).getDecision());
+        assertEquals(SamplingDecision.DROP, sampler.shouldSample(Context.root(), traceId,
+                AdapterTracing.INVOKE, SpanKind.SERVER, Attributes.empty(), List.of()).getDecision());
+    }
+}
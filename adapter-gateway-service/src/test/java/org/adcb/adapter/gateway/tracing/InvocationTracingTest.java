@@ -0,0 +1,221 @@
+package org.adcb.adapter.gateway.tracing;
+
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
+import org.adcb.adapter.gateway.resilience.RateLimiterManager;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.adcb.adapter.gateway.service.ErrorMapper;
+import org.adcb.adapter.protocol.proxy.ProxyPassProtocolHandler;
+import org.adcb.adapter.protocol.rest.RestJsonProtocolHandler;
+import org.adcb.adapter.protocol.soap.SoapProtocolHandler;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Traces {@link EnhancedProtocolAdapterService#invokeAsync} through the real REST, SOAP and proxy
+ * handlers: the handler spans started on the bounded elastic attempt are children of the invoke
+ * span, and the {@code traceparent} each handler sends names its downstream span.
+ */
+class InvocationTracingTest {
+
+    private static final String REST_RESPONSE = "{\"accountId\":\"A-1001\",\"balance\":1250.75}";
+    private static final String SOAP_RESPONSE = """
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/">
+              <soapenv:Body>
+                <GetAccountResponse>
+                  <accountId>A-1001</accountId>
+                </GetAccountResponse>
+              </soapenv:Body>
+            </soapenv:Envelope>""";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final Map<String, String> sentTraceparents = new ConcurrentHashMap<>();
+    private final Map<String, Object> request = Map.of("accountId", "A-1001", "currency", "AED", "amount", 250);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private OpenTelemetrySdk sdk;
+    private EnhancedProtocolAdapterService service;
+
+    @BeforeEach
+    void setUp() {
+        sdk = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        AdapterTracing.install(sdk);
+
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        ReflectionTestUtils.setField(freemarker, "templateBasePath", "classpath:/templates/");
+        ReflectionTestUtils.setField(freemarker, "cacheEnabled", true);
+        ReflectionTestUtils.setField(freemarker, "cacheTtlMinutes", 60L);
+        freemarker.initialize();
+        TemplateServiceResolver templates = new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker));
+        ResponseMappingRegistry mappings = new ResponseMappingRegistry(freemarker);
+        AdaptiveBufferManager buffers = new AdaptiveBufferManager();
+
+        Map<String, ProtocolHandler> handlers = new LinkedHashMap<>();
+        handlers.put("REST_JSON", new RestJsonProtocolHandler(
+                downstream("rest", MediaType.APPLICATION_JSON_VALUE, REST_RESPONSE), Map.of(), templates, mappings, buffers));
+        handlers.put("SOAP", new SoapProtocolHandler(
+                downstream("soap", MediaType.TEXT_XML_VALUE, SOAP_RESPONSE), Map.of(), templates, mappings, buffers));
+        handlers.put("PROXY_PASS", new ProxyPassProtocolHandler(
+                downstream("proxy", MediaType.APPLICATION_JSON_VALUE, REST_RESPONSE).build()));
+        handlers.put("BLOCKING", (config, requestBody) -> {
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return REST_RESPONSE;
+        });
+
+        Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+        services.put("rest", service("REST_JSON", "account_request.json"));
+        services.put("soap", service("SOAP", "account_soap_request.xml"));
+        services.put("proxy", service("PROXY_PASS", null));
+        services.put("blocking", service("BLOCKING", null));
+
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(services);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ServiceRegistry registry = new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+        ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+        CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+        service = new EnhancedProtocolAdapterService(handlers, registry, freemarker, circuitBreakers,
+                new RetryHandler(classifier), new ErrorMapper(classifier),
+                new FastFailGuard(circuitBreakers, new RateLimiterManager()),
+                new LatencyRecorder(new LatencyMetricsConfig()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        AdapterTracing.uninstall();
+        sdk.close();
+    }
+
+    @Test
+    void testInvokeAsync_handlersSendTraceparentOfChildSpan() throws Exception {
+        for (String serviceName : List.of("rest", "soap", "proxy")) {
+            exporter.reset();
+            StandardResponse<?> response = service.invokeAsync(serviceName, request, null).block(Duration.ofSeconds(5));
+            assertTrue(response.isSuccess(), serviceName + ": " + response.getError());
+
+            List<SpanData> spans = awaitInvokeSpan();
+            SpanData invoke = span(spans, AdapterTracing.INVOKE, serviceName);
+            SpanData downstream = span(spans, AdapterTracing.DOWNSTREAM, serviceName);
+            assertEquals(invoke.getTraceId(), downstream.getTraceId(), serviceName);
+            assertEquals(invoke.getSpanId(), downstream.getParentSpanId(), serviceName);
+            for (SpanData span : spans) {
+                assertEquals(invoke.getTraceId(), span.getTraceId(), serviceName + " " + span.getName());
+            }
+            assertEquals("00-" + downstream.getTraceId() + "-" + downstream.getSpanId() + "-01",
+                    sentTraceparents.get(serviceName), serviceName);
+        }
+    }
+
+    @Test
+    void testInvokeAsync_cancelledSubscriptionEndsInvokeSpan() throws Exception {
+        Disposable subscription = service.invokeAsync("blocking", request, null).subscribe();
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        subscription.dispose();
+
+        SpanData invoke = span(awaitInvokeSpan(), AdapterTracing.INVOKE, "blocking");
+        assertEquals("CANCELLED", invoke.getAttributes().get(AdapterTracing.OUTCOME));
+    }
+
+    /**
+     * The invoke span ends in {@code doFinally}, which may run just after the subscriber has its response.
+     */
+    private List<SpanData> awaitInvokeSpan() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (exporter.getFinishedSpanItems().stream().noneMatch(span -> span.getName().equals(AdapterTracing.INVOKE))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return exporter.getFinishedSpanItems();
+    }
+
+    private static SpanData span(List<SpanData> spans, String name, String serviceName) {
+        List<SpanData> matching = spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .filter(span -> serviceName.equals(span.getAttributes().get(AdapterTracing.SERVICE)))
+                .toList();
+        assertEquals(1, matching.size(), name + " spans for " + serviceName + ": " + spans);
+        return matching.get(0);
+    }
+
+    private WebClient.Builder downstream(String serviceName, String contentType, String body) {
+        return WebClient.builder().exchangeFunction(request -> {
+            sentTraceparents.put(serviceName, String.valueOf(request.headers().getFirst("traceparent")));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, contentType)
+                    .body(body)
+                    .build());
+        });
+    }
+
+    private static ServiceMetadata service(String protocol, String requestTemplate) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol(protocol);
+        config.setEndpointUrl("http://localhost/accounts");
+        config.setHttpMethod("POST");
+        config.setRequestTemplate(requestTemplate);
+        config.setResilience(new ResilienceConfig());
+        return config;
+    }
+}
@@ -0,0 +1,34 @@
+package org.adcb.adapter.gateway.transform;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseTransformerTest {
+
+    private final ResponseTransformer transformer = new ResponseTransformer();
+
+    @Test
+    void testTransform_keysMappingsByNameAndRecompilesChangedSpecs() {
+        String json = "{\"user\": {\"id\": \"U1\", \"name\": \"Ann\"}}";
+
+        assertEquals(Map.of("id", "U1"),
+                transformer.transform(json, "user.json", "{\"id\": \"$.user.id\"}"));
+        assertEquals(Map.of("name", "Ann"),
+                transformer.transform(json, "user.json", "{\"name\": \"$.user.name\"}"));
+        assertEquals(1, transformer.cachedMappingCount());
+    }
+
+    @Test
+    void testTransform_boundsCacheAndParsesXml() {
+        for (int i = 0; i < ResponseTransformer.MAX_CACHED_MAPPINGS + 10; i++) {
+            transformer.transform("{\"a\": 1}", "m" + i, "{\"a\": \"$.a\"}");
+        }
+        assertEquals(ResponseTransformer.MAX_CACHED_MAPPINGS, transformer.cachedMappingCount());
+
+        assertEquals(Map.of("code", "0"), transformer.transform("<r><code>0</code></r>", "x.xml",
+                "{\"code\": \"//code\"}"));
+    }
+}
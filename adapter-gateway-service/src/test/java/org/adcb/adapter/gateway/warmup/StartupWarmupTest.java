@@ -0,0 +1,229 @@
+package org.adcb.adapter.gateway.warmup;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.auth.AuthConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.gateway.config.ErrorClassificationConfig;
+import org.adcb.adapter.gateway.config.LatencyMetricsConfig;
+import org.adcb.adapter.gateway.config.ServiceConfig;
+import org.adcb.adapter.gateway.config.ServiceConfigListener;
+import org.adcb.adapter.gateway.config.ServiceRegistry;
+import org.adcb.adapter.gateway.config.WarmupConfig;
+import org.adcb.adapter.gateway.metrics.LatencyRecorder;
+import org.adcb.adapter.gateway.resilience.CircuitBreakerManager;
+import org.adcb.adapter.gateway.resilience.FastFailGuard;
+import org.adcb.adapter.gateway.resilience.RateLimiterManager;
+import org.adcb.adapter.gateway.resilience.RetryHandler;
+import org.adcb.adapter.gateway.service.EnhancedProtocolAdapterService;
+import org.adcb.adapter.gateway.service.ErrorClassifier;
+import org.adcb.adapter.gateway.service.ErrorMapper;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.spi.auth.AuthenticationStrategy;
+import org.adcb.adapter.spi.http.ServiceWebClients;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupWarmupTest {
+
+    private final AtomicInteger probedConnections = new AtomicInteger();
+    private final List<String> refreshedTokens = new CopyOnWriteArrayList<>();
+    private FreemarkerTemplateService freemarker;
+
+    @BeforeEach
+    void setUp() {
+        freemarker = new FreemarkerTemplateService();
+        ReflectionTestUtils.setField(freemarker, "templateBasePath", "classpath:/templates/");
+        ReflectionTestUtils.setField(freemarker, "cacheEnabled", true);
+        ReflectionTestUtils.setField(freemarker, "cacheTtlMinutes", 60L);
+        freemarker.initialize();
+    }
+
+    @Test
+    void testRun_defaultsCompileTemplatesAndFetchTokensWithoutProbing() {
+        ServiceMetadata secured = service("customer_request.json");
+        AuthConfig auth = new AuthConfig();
+        auth.setType("OAUTH2");
+        secured.setAuth(auth);
+        Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+        services.put("customers", secured);
+        services.put("broken", service("missing_template.json"));
+        StartupWarmup warmup = warmup(new WarmupConfig(), services);
+        assertEquals(WarmupReport.State.NOT_STARTED, warmup.getReport().getState());
+
+        warmup.run(new DefaultApplicationArguments());
+
+        WarmupReport report = warmup.getReport();
+        assertEquals(WarmupReport.State.COMPLETED, report.getState());
+        assertFalse(report.isBudgetExceeded());
+        assertEquals(List.of("templates", "tokens"), report.getPhases().stream().map(WarmupReport.Phase::getName).toList());
+        WarmupReport.Phase templates = report.getPhases().get(0);
+        assertEquals(2, templates.getTotal());
+        assertEquals(1, templates.getCompleted());
+        assertEquals(1, templates.getFailed());
+        assertEquals(List.of("customers"), refreshedTokens);
+        assertEquals(0, probedConnections.get());
+    }
+
+    @Test
+    void testRun_opensConnectionsOnlyWhenEnabled() {
+        WarmupConfig config = new WarmupConfig();
+        config.setConnectionsPerService(3);
+        StartupWarmup warmup = warmup(config, Map.of("customers", service("customer_request.json")));
+
+        warmup.run(new DefaultApplicationArguments());
+
+        WarmupReport.Phase connections = warmup.getReport().getPhases().get(2);
+        assertEquals("connections", connections.getName());
+        assertEquals(1, connections.getCompleted());
+        assertEquals("3 connections opened", connections.getDetail());
+        assertEquals(3, probedConnections.get());
+    }
+
+    @Test
+    void testRun_replayContinuesWhenTemplateNeedsOtherData() {
+        WarmupConfig config = new WarmupConfig();
+        config.setReplayEnabled(true);
+        config.setReplayIterations(3);
+        Map<String, ServiceMetadata> services = new LinkedHashMap<>();
+        services.put("customers", service("customer_request.json"));
+        // Needs accountId and currency, which the synthetic request does not carry
+        services.put("accounts", service("account_request.json"));
+        StartupWarmup warmup = warmup(config, services);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        WarmupReport.Phase replay = warmup.getReport().getPhases().get(2);
+        assertEquals("replay", replay.getName());
+        assertEquals(6, replay.getTotal());
+        assertEquals(6, replay.getCompleted());
+        assertEquals(0, replay.getFailed());
+        assertEquals("1 services replayed without request rendering", replay.getDetail());
+    }
+
+    @Test
+    void testRun_exhaustedBudgetSkipsRemainingPhases() {
+        WarmupConfig config = new WarmupConfig();
+        config.setTimeBudgetMs(0);
+        StartupWarmup warmup = warmup(config, Map.of("customers", service("customer_request.json")));
+
+        warmup.run(new DefaultApplicationArguments());
+
+        WarmupReport report = warmup.getReport();
+        assertEquals(WarmupReport.State.COMPLETED, report.getState());
+        assertTrue(report.isBudgetExceeded());
+        assertTrue(report.getPhases().stream().allMatch(WarmupReport.Phase::isSkipped));
+        assertEquals(0, report.getPhases().get(0).getCompleted());
+    }
+
+    @Test
+    void testWarmUp_countsOnlyProbesTheDownstreamAccepts() {
+        List<ClientRequest> probes = new CopyOnWriteArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            probes.add(request);
+            HttpStatus status = calls.getAndIncrement() == 0 ? HttpStatus.UNAUTHORIZED : HttpStatus.OK;
+            return Mono.just(ClientResponse.create(status).build());
+        });
+        ServiceWebClients clients = new ServiceWebClients(builder, "test");
+        ServiceMetadata config = service(null);
+        config.setServiceName("accounts");
+        config.setEndpointUrl("https://accounts.internal:8443/v1/accounts/{id}");
+
+        assertEquals(2, clients.warmUp(config, 3).block());
+        assertEquals(3, probes.size());
+        assertTrue(probes.stream().allMatch(p -> p.method() == HttpMethod.HEAD
+                && p.url().toString().equals("https://accounts.internal:8443/")));
+        assertEquals(0, clients.inFlight("accounts"));
+        assertEquals(0, clients.warmUp(config, 0).block());
+        config.setEndpointUrl("not-a-url");
+        assertEquals(0, clients.warmUp(config, 2).block());
+    }
+
+    @Test
+    void testPreloadTemplates_loadsClasspathTemplatesFromEveryRoot() throws Exception {
+        freemarker.preloadTemplates();
+
+        Map<?, ?> cache = (Map<?, ?>) ReflectionTestUtils.getField(freemarker, "templateCache");
+        assertNotNull(cache);
+        // Test and main resources are separate classpath roots; both are scanned
+        assertTrue(cache.keySet().containsAll(List.of("account_request.json", "account_soap_request.xml",
+                "payment_request_template.json")), cache.keySet().toString());
+    }
+
+    private StartupWarmup warmup(WarmupConfig config, Map<String, ServiceMetadata> services) {
+        TemplateServiceResolver templates = new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker));
+        ServiceConfig serviceConfig = new ServiceConfig();
+        serviceConfig.setServices(new LinkedHashMap<>(services));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ServiceRegistry registry = new ServiceRegistry(serviceConfig,
+                beans.getBeanProvider(ServiceConfigListener.class),
+                beans.getBeanProvider(ProtocolHandler.class),
+                beans.getBeanProvider(CompiledTemplateService.class),
+                beans.getBeanProvider(ResponseMappingRegistry.class),
+                beans.getBeanProvider(AdaptiveBufferManager.class));
+
+        ProtocolHandler handler = new ProtocolHandler() {
+            @Override
+            public Object execute(ServiceMetadata config, Object requestBody) {
+                throw new AssertionError("warm-up must not call the downstream");
+            }
+
+            @Override
+            public Mono<Integer> warmUp(ServiceMetadata config, int connections) {
+                probedConnections.addAndGet(connections);
+                return Mono.just(connections);
+            }
+        };
+        Map<String, ProtocolHandler> handlers = Map.of("REST_JSON", handler);
+        Map<String, AuthenticationStrategy> authStrategies = Map.of("OAUTH2", new AuthenticationStrategy() {
+            @Override
+            public void apply(ServiceMetadata config, org.springframework.http.HttpHeaders headers) {
+            }
+
+            @Override
+            public void refreshToken(ServiceMetadata config) {
+                refreshedTokens.add(config.getServiceName());
+            }
+        });
+
+        ErrorClassifier classifier = new ErrorClassifier(new ErrorClassificationConfig());
+        CircuitBreakerManager circuitBreakers = new CircuitBreakerManager();
+        EnhancedProtocolAdapterService adapterService = new EnhancedProtocolAdapterService(handlers, registry,
+                freemarker, circuitBreakers, new RetryHandler(classifier), new ErrorMapper(classifier),
+                new FastFailGuard(circuitBreakers, new RateLimiterManager()),
+                new LatencyRecorder(new LatencyMetricsConfig()));
+        return new StartupWarmup(config, registry, handlers, authStrategies, templates,
+                new ResponseMappingRegistry(freemarker), adapterService);
+    }
+
+    private static ServiceMetadata service(String requestTemplate) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setProtocol("REST_JSON");
+        config.setEndpointUrl("http://localhost/api");
+        config.setRequestTemplate(requestTemplate);
+        config.setResilience(new ResilienceConfig());
+        return config;
+    }
+}
@@ -1,11 +1,20 @@
 package org.adcb.adapter.protocol.proxy;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
 import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.spi.ProtocolHandler;
+import org.adcb.adapter.spi.context.ContextHeaders;
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+import org.adcb.adapter.spi.metrics.InvocationPhases.Phase;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
 import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.commons.jfr.DownstreamCallEvent;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.Map;
 
@@ -34,19 +43,53 @@ public class ProxyPassProtocolHandler implements ProtocolHandler {
                 req.header(entry.getKey(), entry.getValue());
             }
         }
+        if (config.getContextPropagation() != null) {
+            req.headers(headers -> ContextHeaders.apply(config, headers));
+        }
+
+        // Propagate the trace context to the downstream service
+        Span downstream = AdapterTracing.startSpan(AdapterTracing.DOWNSTREAM, SpanKind.CLIENT, config.getServiceName());
+        downstream.setAttribute(AdapterTracing.HTTP_METHOD, config.getHttpMethod());
+        if (downstream.getSpanContext().isValid()) {
+            req.headers(headers -> AdapterTracing.inject(downstream, headers));
+        }
 
         // Set request body if present
         WebClient.RequestHeadersSpec<?> request;
         if (requestBody != null) {
-            request = req.bodyValue(requestBody);
+            request = req.bodyValue(TemplateContext.dataOf(requestBody));
         } else {
             request = req;
         }
 
         // Pass response as-is (String)
-        String resp = request.retrieve()
-                .bodyToMono(String.class)
-                .block();
+        long start = System.nanoTime();
+        String resp = null;
+        DownstreamCallEvent call = DownstreamCallEvent.start();
+        Throwable failure = null;
+        try {
+            resp = request.retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            InvocationPhases.recordSince(Phase.DOWNSTREAM, start);
+            int status = failure instanceof WebClientResponseException e ? e.getStatusCode().value() : 0;
+            if (call != null) {
+                call.finish(config.getServiceName(), "PROXY_PASS", config.getHttpMethod(),
+                        requestBody instanceof String body ? body.length() : 0,
+                        resp != null ? resp.length() : 0, status, failure);
+            }
+            if (status != 0) {
+                downstream.setAttribute(AdapterTracing.HTTP_STATUS, status);
+            }
+            AdapterTracing.end(downstream, failure);
+        }
+        if (resp != null) {
+            InvocationPhases.recordResponseBytes(resp.length());
+        }
 
         log.debug("Proxy pass-through response: {}", resp);
         return resp;
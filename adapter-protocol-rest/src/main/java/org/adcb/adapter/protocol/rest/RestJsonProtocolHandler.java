@@ -1,21 +1,39 @@
 package org.adcb.adapter.protocol.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
 import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.commons.*;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.codec.RawJsonPayload;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.commons.jfr.DownstreamCallEvent;
+import org.adcb.adapter.commons.resilience.RetryAfter;
 import org.adcb.adapter.spi.ProtocolHandler;
 import org.adcb.adapter.spi.auth.AuthenticationStrategy;
-import org.adcb.adapter.transform.TemplateService;
+import org.adcb.adapter.spi.context.ContextHeaders;
+import org.adcb.adapter.spi.http.ServiceWebClients;
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+import org.adcb.adapter.spi.metrics.InvocationPhases.Phase;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
 import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.adcb.adapter.transform.tree.JsonNodeMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.*;
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -32,39 +50,88 @@ import java.util.Map;
 @Slf4j
 public class RestJsonProtocolHandler implements ProtocolHandler {
 
-    private final WebClient.Builder webClientBuilder;
+    private final ServiceWebClients webClients;
     private final Map<String, AuthenticationStrategy> authStrategies;
-    private final TemplateService templateService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TemplateServiceResolver templateServices;
+    private final ResponseMappingRegistry responseMappings;
+    private final AdaptiveBufferManager bufferManager;
+    private final ObjectMapper objectMapper = AdapterCodecs.json();
 
     @Autowired
     public RestJsonProtocolHandler(WebClient.Builder webClientBuilder,
                                    Map<String, AuthenticationStrategy> authStrategies,
-                                   TemplateService templateService) {
-        this.webClientBuilder = webClientBuilder;
+                                   TemplateServiceResolver templateServices,
+                                   ResponseMappingRegistry responseMappings,
+                                   AdaptiveBufferManager bufferManager) {
+        this.webClients = new ServiceWebClients(webClientBuilder, "rest");
         this.authStrategies = authStrategies;
-        this.templateService = templateService;
+        this.templateServices = templateServices;
+        this.responseMappings = responseMappings;
+        this.bufferManager = bufferManager;
     }
 
     @Override
     public Object execute(ServiceMetadata config, Object requestBody) {
-        try {
+        try (ServiceWebClients.Lease lease = webClients.acquire(config)) {
             log.debug("Executing REST call to {} via {}", config.getEndpointUrl(), config.getHttpMethod());
 
-            // 1. Build WebClient with configured timeouts
-            WebClient client = createWebClient(config);
+            // 1. Per-service WebClient with configured timeouts and pool, held until the call completes
+            WebClient client = lease.client();
 
             // 2. Render request body template if available
-            String body = renderRequestBody(config, requestBody);
+            long mark = System.nanoTime();
+            DataBuffer body;
+            Span template = AdapterTracing.startSpan(AdapterTracing.TEMPLATE, config.getServiceName());
+            try {
+                body = renderRequestBody(config, requestBody);
+            } finally {
+                template.end();
+            }
+            long requestBytes = body != null ? body.readableByteCount() : 0;
+            InvocationPhases.recordRequestBytes(requestBytes);
+            mark = InvocationPhases.recordSince(Phase.TEMPLATE, mark);
 
             // 3. Build headers including authentication
             HttpHeaders headers = buildHeaders(config);
 
             // 4. Execute the HTTP call, expanding path params and sending body
-            String responseString = executeHttpCall(client, config, requestBody, body, headers);
+            String responseString = null;
+            DownstreamCallEvent call = DownstreamCallEvent.start();
+            Span downstream = AdapterTracing.startSpan(AdapterTracing.DOWNSTREAM, SpanKind.CLIENT,
+                    config.getServiceName());
+            downstream.setAttribute(AdapterTracing.HTTP_METHOD, config.getHttpMethod());
+            AdapterTracing.inject(downstream, headers);
+            Throwable failure = null;
+            try {
+                responseString = executeHttpCall(client, config, requestBody, body, headers);
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                mark = InvocationPhases.recordSince(Phase.DOWNSTREAM, mark);
+                int status = failure instanceof WebClientResponseException e ? e.getStatusCode().value() : 0;
+                if (call != null) {
+                    call.finish(config.getServiceName(), "REST_JSON", config.getHttpMethod(), requestBytes,
+                            responseString != null ? responseString.length() : 0, status, failure);
+                }
+                if (status != 0) {
+                    downstream.setAttribute(AdapterTracing.HTTP_STATUS, status);
+                }
+                AdapterTracing.end(downstream, failure);
+            }
+            if (responseString != null) {
+                bufferManager.recordResponseSize(config.getServiceName(), responseString.length());
+                InvocationPhases.recordResponseBytes(responseString.length());
+            }
 
             // 5. Apply response template if configured, then parse JSON
-            return renderResponse(config, responseString);
+            Span transform = AdapterTracing.startSpan(AdapterTracing.TRANSFORM, config.getServiceName());
+            try {
+                return renderResponse(config, requestBody, responseString);
+            } finally {
+                InvocationPhases.recordSince(Phase.TRANSFORM, mark);
+                transform.end();
+            }
 
         } catch (WebClientResponseException e) {
             return mapHttpError(e, config);
@@ -75,39 +142,46 @@ public class RestJsonProtocolHandler implements ProtocolHandler {
         }
     }
 
-    // Builds WebClient with optional connection/read timeouts
-    private WebClient createWebClient(ServiceMetadata cfg) {
-        WebClient.Builder builder = webClientBuilder.clone();
-        if (cfg.getResilience() != null && cfg.getResilience().getTimeouts() != null) {
-            var t = cfg.getResilience().getTimeouts();
-            builder.clientConnector(new ReactorClientHttpConnector(
-                    HttpClient.create()
-                            .responseTimeout(Duration.ofMillis(t.getReadTimeout()))
-                            .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS,
-                                    (int) t.getConnectionTimeout())
-            ));
-        }
-        return builder.build();
+    @Override
+    public void invalidate(String serviceName) {
+        webClients.invalidate(serviceName);
     }
 
-    // Renders request body via TemplateService if requestTemplate provided
-    private String renderRequestBody(ServiceMetadata cfg, Object requestBody) throws TemplateProcessingException {
+    @Override
+    public Mono<Integer> warmUp(ServiceMetadata config, int connections) {
+        return webClients.warmUp(config, connections);
+    }
+
+    // Renders request body as UTF-8 straight into a buffer pre-sized from this service's past requests;
+    // methods that send no body (GET, DELETE, ...) get no buffer
+    private DataBuffer renderRequestBody(ServiceMetadata cfg, Object requestBody) throws TemplateProcessingException {
+        if (requestBody == null || !hasBody(cfg.getHttpMethod())) {
+            return null;
+        }
+        DataBuffer buffer = bufferManager.allocateRequestBuffer(cfg.getServiceName());
         if (cfg.getRequestTemplate() != null && requestBody instanceof Map) {
             @SuppressWarnings("unchecked")
             Map<String,Object> ctx = (Map<String,Object>)requestBody;
-            return templateService.process(cfg.getRequestTemplate(), ctx);
-        }
-        if (requestBody instanceof String) {
-            return (String) requestBody;
-        }
-        if (requestBody != null) {
+            templateServices.resolve(cfg).processTo(cfg.getRequestTemplate(), ctx, buffer.asOutputStream());
+        } else if (requestBody instanceof String) {
+            buffer.write((String) requestBody, StandardCharsets.UTF_8);
+        } else {
             try {
-                return objectMapper.writeValueAsString(requestBody);
+                // Send the caller's data only, not the template system variables layered over it
+                objectMapper.writeValue(buffer.asOutputStream(), TemplateContext.dataOf(requestBody));
             } catch (Exception e) {
                 throw new RuntimeException("Failed to serialize request body", e);
             }
         }
-        return null;
+        bufferManager.recordRequestSize(cfg.getServiceName(), buffer.readableByteCount());
+        return buffer;
+    }
+
+    private static boolean hasBody(String httpMethod) {
+        return switch (httpMethod.toUpperCase()) {
+            case "POST", "PUT", "PATCH" -> true;
+            default -> false;
+        };
     }
 
     // Builds HTTP headers and applies authentication strategy
@@ -116,9 +190,18 @@ public class RestJsonProtocolHandler implements ProtocolHandler {
         if (cfg.getHeaders() != null) {
             cfg.getHeaders().forEach(headers::add);
         }
+        ContextHeaders.apply(cfg, headers);
         if (cfg.getAuth() != null && cfg.getAuth().getType() != null) {
             AuthenticationStrategy strat = authStrategies.get(cfg.getAuth().getType());
-            if (strat != null) strat.apply(cfg, headers);
+            if (strat != null) {
+                Span auth = AdapterTracing.startSpan(AdapterTracing.AUTH, cfg.getServiceName());
+                auth.setAttribute(AdapterTracing.AUTH_TYPE, cfg.getAuth().getType());
+                try {
+                    strat.apply(cfg, headers);
+                } finally {
+                    auth.end();
+                }
+            }
         }
         if (!headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
             headers.add(HttpHeaders.CONTENT_TYPE, "application/json");
@@ -134,15 +217,11 @@ public class RestJsonProtocolHandler implements ProtocolHandler {
     private String executeHttpCall(WebClient client,
                                    ServiceMetadata cfg,
                                    Object requestBody,
-                                   String body,
+                                   DataBuffer body,
                                    HttpHeaders headers) {
-        String urlTemplate = cfg.getEndpointUrl();
         @SuppressWarnings("unchecked")
         Map<String,Object> params = requestBody instanceof Map ? (Map<String,Object>)requestBody : Map.of();
-        // Expand {var} placeholders by simple replace
-        for (Map.Entry<String,Object> e : params.entrySet()) {
-            urlTemplate = urlTemplate.replace("{" + e.getKey() + "}", e.getValue().toString());
-        }
+        String urlTemplate = expandPath(cfg.getEndpointUrl(), params);
 
         WebClient.RequestBodyUriSpec spec = switch(cfg.getHttpMethod().toUpperCase()) {
             case "POST"   -> client.post();
@@ -157,11 +236,10 @@ public class RestJsonProtocolHandler implements ProtocolHandler {
                 .headers(h -> h.addAll(headers));
 
         // Attach body only for methods with request bodies
-        if (switch(cfg.getHttpMethod().toUpperCase()) {
-            case "POST","PUT","PATCH" -> true;
-            default                   -> false;
-        }) {
-            req = ((WebClient.RequestBodySpec)req).bodyValue(body);
+        if (body != null) {
+            req = ((WebClient.RequestBodySpec)req)
+                    .contentLength(body.readableByteCount())
+                    .body(BodyInserters.fromDataBuffers(Mono.just(body)));
         }
 
         /*Mono<ClientResponse> respMono = req.exchange();
@@ -172,12 +250,42 @@ public class RestJsonProtocolHandler implements ProtocolHandler {
                 .block();
     }
 
+    /**
+     * Replaces each {@code {var}} in the URL with its value from {@code params}; placeholders
+     * without a value are left as-is. Looks up only the placeholders present, so no lazy
+     * system value is computed unless the URL uses it.
+     */
+    static String expandPath(String urlTemplate, Map<String, Object> params) {
+        int open = urlTemplate.indexOf('{');
+        if (open < 0) {
+            return urlTemplate;
+        }
+        StringBuilder url = new StringBuilder(urlTemplate.length() + 32);
+        int from = 0;
+        while (open >= 0) {
+            int close = urlTemplate.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            Object value = params.get(urlTemplate.substring(open + 1, close));
+            url.append(urlTemplate, from, open);
+            if (value != null) {
+                url.append(value);
+            } else {
+                url.append(urlTemplate, open, close + 1);
+            }
+            from = close + 1;
+            open = urlTemplate.indexOf('{', from);
+        }
+        return url.append(urlTemplate, from, urlTemplate.length()).toString();
+    }
+
     // Applies response template then parses JSON to Object
     /*private Object renderResponse(ServiceMetadata cfg, String respStr) throws Exception {
         if (cfg.getResponseTemplate() != null && respStr != null) {
             @SuppressWarnings("unchecked")
             Map<String,Object> ctx = objectMapper.readValue(respStr, Map.class);
-            respStr = templateService.process(cfg.getResponseTemplate(), ctx);
+            respStr = templateServices.resolve(cfg).process(cfg.getResponseTemplate(), ctx);
         }
         return respStr != null && !respStr.isBlank()
                 ? objectMapper.readValue(respStr, Object.class)
@@ -185,41 +293,54 @@ public class RestJsonProtocolHandler implements ProtocolHandler {
     }*/
 
     // Applies response template then parses JSON to Object
-    private Object renderResponse(ServiceMetadata cfg, String respStr) throws Exception {
+    private Object renderResponse(ServiceMetadata cfg, Object requestBody, String respStr) throws Exception {
         if (respStr == null || respStr.isBlank()) {
             return null;
         }
 
-        // 1. Parse downstream JSON into a flat Map context
-        @SuppressWarnings("unchecked")
-        Map<String,Object> ctx = objectMapper.readValue(respStr, Map.class);
-
-        // 2. Enrich context with system variables for template usage
-        ctx.put("currentTimeISO", java.time.LocalDateTime.now().toString());
-        ctx.put("systemName", "ADCB_ADAPTER");
-        ctx.put("version", "1.0");
-
-        // 3. Apply Freemarker template if configured
-        if (cfg.getResponseTemplate() != null) {
-            String templated = templateService.process(cfg.getResponseTemplate(), ctx);
-            // 4. Parse the templated JSON into a Java object
-            return objectMapper.readValue(templated, Object.class);
+        // Declarative mapping: evaluate paths on the parsed tree, no render/reparse
+        if (cfg.getResponseMapping() != null) {
+            return responseMappings.forService(cfg).apply(objectMapper.readTree(respStr));
         }
 
-        // 5. No template: return the full parsed Map
-        return ctx;
+        // No template: return the full parsed Map, or the body itself for raw pass-through services
+        if (cfg.getResponseTemplate() == null) {
+            if ("RAW".equalsIgnoreCase(cfg.getPayloadMode())) {
+                return RawJsonPayload.validated(respStr);
+            }
+            if ("RAW_TRUSTED".equalsIgnoreCase(cfg.getPayloadMode())) {
+                return RawJsonPayload.trusted(respStr);
+            }
+            return objectMapper.readValue(respStr, Map.class);
+        }
+
+        // 1. Parse downstream JSON once into a tree; templates read it without a Map copy
+        JsonNode tree = objectMapper.readTree(respStr);
+        if (!(tree instanceof ObjectNode objectNode)) {
+            throw new IllegalArgumentException("Response template requires a JSON object response");
+        }
+
+        // 2. Apply Freemarker template with system variables layered over the response
+        TemplateContext templateContext = requestBody instanceof TemplateContext request
+                ? request.over(new JsonNodeMap(objectNode)) : TemplateContext.of(new JsonNodeMap(objectNode));
+        String templated = templateServices.resolve(cfg).process(cfg.getResponseTemplate(), templateContext);
+
+        // 3. Parse the templated JSON into a Java object
+        return objectMapper.readValue(templated, Object.class);
     }
 
 
     // Maps WebClientResponseException to StandardResponse
     private StandardResponse<Object> mapHttpError(WebClientResponseException e, ServiceMetadata cfg) {
+        Integer retryAfter = RetryAfter.parseSeconds(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
         ErrorDetails err = ErrorDetails.builder()
                 .errorCode("HTTP_" + e.getStatusCode().value())
                 .errorMessage(e.getStatusText())
                 .errorDescription(e.getResponseBodyAsString())
                 .category(ErrorCategory.TECHNICAL)
                 .severity(ErrorSeverity.HIGH)
-                .retryable(e.getStatusCode().is5xxServerError())
+                .retryable(RetryAfter.isRetryable(e.getStatusCode().value(), retryAfter))
+                .retryAfterSeconds(retryAfter)
                 .downstreamService(cfg.getServiceName())
                 .httpStatusCode(e.getRawStatusCode())
                 .build();
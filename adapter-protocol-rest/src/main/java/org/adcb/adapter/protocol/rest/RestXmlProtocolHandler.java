@@ -3,6 +3,7 @@ package org.adcb.adapter.protocol.rest;
 
 import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.context.TemplateContext;
 import org.adcb.adapter.spi.ProtocolHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
@@ -37,7 +38,7 @@ public class RestXmlProtocolHandler implements ProtocolHandler {
 
         // Send request (XML string as body)
         String response = requestSpec
-                .bodyValue(requestBody)
+                .bodyValue(TemplateContext.dataOf(requestBody))
                 .retrieve()
                 .bodyToMono(String.class)
                 .block();
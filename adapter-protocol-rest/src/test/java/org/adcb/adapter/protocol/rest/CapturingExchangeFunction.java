@@ -0,0 +1,76 @@
+package org.adcb.adapter.protocol.rest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stands in for the HTTP connector: records each request with its serialized body and answers
+ * with a canned response.
+ */
+class CapturingExchangeFunction implements ExchangeFunction {
+
+    private static final List<HttpMessageWriter<?>> WRITERS = ExchangeStrategies.withDefaults().messageWriters();
+
+    private final HttpStatus status;
+    private final String responseBody;
+    volatile ClientRequest request;
+    volatile String body;
+
+    CapturingExchangeFunction(String responseBody) {
+        this(HttpStatus.OK, responseBody);
+    }
+
+    CapturingExchangeFunction(HttpStatus status, String responseBody) {
+        this.status = status;
+        this.responseBody = responseBody;
+    }
+
+    @Override
+    public Mono<ClientResponse> exchange(ClientRequest request) {
+        this.request = request;
+        MockClientHttpRequest written = new MockClientHttpRequest(request.method(), request.url());
+        return request.body().insert(written, new BodyInserter.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return WRITERS;
+                    }
+
+                    @Override
+                    public Optional<ServerHttpRequest> serverRequest() {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public Map<String, Object> hints() {
+                        return Map.of();
+                    }
+                })
+                .then(Mono.defer(written::getBodyAsString))
+                .onErrorReturn(IllegalStateException.class, "")
+                .map(captured -> {
+                    body = captured;
+                    return ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(responseBody)
+                            .build();
+                });
+    }
+
+    HttpHeaders headers() {
+        return request.headers();
+    }
+}
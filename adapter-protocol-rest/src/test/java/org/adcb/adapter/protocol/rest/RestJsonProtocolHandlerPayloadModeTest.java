@@ -0,0 +1,46 @@
+package org.adcb.adapter.protocol.rest;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.codec.RawJsonPayload;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.adcb.adapter.protocol.rest.RestJsonProtocolHandlerRequestTest.config;
+import static org.adcb.adapter.protocol.rest.RestJsonProtocolHandlerRequestTest.handler;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestJsonProtocolHandlerPayloadModeTest {
+
+    private static final String BODY = "{\"id\": 7, \"amount\": 1.50}";
+
+    private static Object execute(String payloadMode, String responseBody) {
+        ServiceMetadata config = config("GET", "http://users/api/7");
+        config.setPayloadMode(payloadMode);
+        return handler(new CapturingExchangeFunction(responseBody)).execute(config, Map.of());
+    }
+
+    @Test
+    void testExecute_parsedModeReturnsMap() {
+        assertEquals(Map.of("id", 7, "amount", 1.5), execute(null, BODY));
+    }
+
+    @Test
+    void testExecute_rawModesReturnDownstreamTextAsIs() {
+        assertEquals(BODY, assertInstanceOf(RawJsonPayload.class, execute("RAW", BODY)).getJson());
+        assertEquals(BODY, assertInstanceOf(RawJsonPayload.class, execute("raw_trusted", BODY)).getJson());
+    }
+
+    @Test
+    void testExecute_rawModeRejectsInvalidJsonButTrustedModePassesItThrough() {
+        String invalid = BODY + " {}";
+
+        StandardResponse<?> error = assertInstanceOf(StandardResponse.class, execute("RAW", invalid));
+        assertFalse(error.isSuccess());
+        assertEquals("PROCESSING_ERROR", error.getError().getErrorCode());
+        assertTrue(error.getError().getErrorDescription().contains("trailing content"));
+
+        assertEquals(invalid, assertInstanceOf(RawJsonPayload.class, execute("RAW_TRUSTED", invalid)).getJson());
+    }
+}
@@ -0,0 +1,86 @@
+package org.adcb.adapter.protocol.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestJsonProtocolHandlerRequestTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static RestJsonProtocolHandler handler(CapturingExchangeFunction exchange) {
+        return handler(exchange, new AdaptiveBufferManager());
+    }
+
+    static RestJsonProtocolHandler handler(CapturingExchangeFunction exchange, AdaptiveBufferManager buffers) {
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        return new RestJsonProtocolHandler(WebClient.builder().exchangeFunction(exchange), Map.of(),
+                new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker)),
+                new ResponseMappingRegistry(freemarker), buffers);
+    }
+
+    static ServiceMetadata config(String method, String url) {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("users");
+        config.setProtocol("REST_JSON");
+        config.setHttpMethod(method);
+        config.setEndpointUrl(url);
+        return config;
+    }
+
+    @Test
+    void testExecute_sendsCallerDataWithRequestFieldsButNoTemplateVariables() throws Exception {
+        CapturingExchangeFunction exchange = new CapturingExchangeFunction("{\"ok\": true}");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", 7);
+        data.put("name", "Ann");
+        data.put("serviceName", "from-caller");
+        TemplateContext request = TemplateContext.of(data)
+                .withSystem("correlationId", "corr-1")
+                .withLazySystem("timestamp", () -> "2025-03-14T09:26:53")
+                .withSystem("serviceName", "users")
+                .withLazySystem("currentTimeISO", () -> fail("template variable computed"));
+
+        Object response = handler(exchange).execute(config("POST", "http://users/api/{id}/{correlationId}"), request);
+
+        assertEquals(Map.of("ok", true), response);
+        assertEquals("/api/7/corr-1", exchange.request.url().getPath());
+        assertEquals(Map.of("id", 7, "name", "Ann", "serviceName", "users", "correlationId", "corr-1",
+                "timestamp", "2025-03-14T09:26:53"), objectMapper.readValue(exchange.body, Map.class));
+    }
+
+    @Test
+    void testExecute_getRendersNoBody() {
+        CapturingExchangeFunction exchange = new CapturingExchangeFunction("{\"ok\": true}");
+        AdaptiveBufferManager buffers = new AdaptiveBufferManager() {
+            @Override
+            public DataBuffer allocateRequestBuffer(String serviceName) {
+                throw new AssertionError("request buffer allocated for GET");
+            }
+        };
+
+        handler(exchange, buffers).execute(config("GET", "http://users/api/{id}"), Map.of("id", 7, "name", "Ann"));
+
+        assertEquals("/api/7", exchange.request.url().getPath());
+        assertEquals("", exchange.body);
+    }
+
+    @Test
+    void testExpandPath_leavesUnknownPlaceholders() {
+        assertEquals("http://h/a/1/{b}", RestJsonProtocolHandler.expandPath("http://h/a/{a}/{b}", Map.of("a", 1)));
+        assertEquals("http://h/x", RestJsonProtocolHandler.expandPath("http://h/x", Map.of("a", 1)));
+    }
+}
@@ -1,23 +1,43 @@
 package org.adcb.adapter.protocol.soap;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
 import lombok.extern.slf4j.Slf4j;
 import org.adcb.adapter.commons.*;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.commons.jfr.DownstreamCallEvent;
+import org.adcb.adapter.commons.resilience.RetryAfter;
 import org.adcb.adapter.spi.ProtocolHandler;
 import org.adcb.adapter.spi.auth.AuthenticationStrategy;
-import org.adcb.adapter.transform.TemplateService;
+import org.adcb.adapter.spi.context.ContextHeaders;
+import org.adcb.adapter.spi.http.ServiceWebClients;
+import org.adcb.adapter.spi.metrics.InvocationPhases;
+import org.adcb.adapter.spi.metrics.InvocationPhases.Phase;
+import org.adcb.adapter.spi.tracing.AdapterTracing;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.engine.XmlResponseTransformer;
 import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.mapping.ResponseMapping;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.adcb.adapter.transform.tree.JsonNodeMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -28,7 +48,7 @@ import java.util.Map;
  * <ul>
  *   <li>XML request template processing using Freemarker</li>
  *   <li>SOAP envelope construction and namespace handling</li>
- *   <li>XML response parsing to nested Map structure</li>
+ *   <li>XML response parsing to a Jackson tree read directly by templates</li>
  *   <li>JSON response template transformation</li>
  *   <li>Authentication strategy integration</li>
  *   <li>Comprehensive error handling and mapping</li>
@@ -41,8 +61,8 @@ import java.util.Map;
  * <p>Flow:
  * 1. Process request template (XML) with request data
  * 2. Send SOAP request via WebClient
- * 3. Parse XML response into nested Map
- * 4. Apply JSON response template to extract/transform needed fields
+ * 3. Parse XML response once into a Jackson tree
+ * 4. Apply JSON response template directly over the tree to extract/transform needed fields
  * 5. Return structured Java object for StandardResponse wrapping
  *
  * @since 1.0
@@ -51,22 +71,29 @@ import java.util.Map;
 @Slf4j
 public class SoapProtocolHandler implements ProtocolHandler {
 
-    private final WebClient.Builder webClientBuilder;
+    private final ServiceWebClients webClients;
     private final Map<String, AuthenticationStrategy> authStrategies;
-    private final TemplateService templateService;
-    private final XmlMapper xmlMapper = new XmlMapper();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TemplateServiceResolver templateServices;
+    private final ResponseMappingRegistry responseMappings;
+    private final AdaptiveBufferManager bufferManager;
+    private final XmlMapper xmlMapper = AdapterCodecs.xml();
+    private final ObjectMapper objectMapper = AdapterCodecs.json();
+    private final XmlResponseTransformer xmlParser = new XmlResponseTransformer();
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
 
     @Autowired
     public SoapProtocolHandler(WebClient.Builder webClientBuilder,
                                Map<String, AuthenticationStrategy> authStrategies,
-                               TemplateService templateService) {
-        this.webClientBuilder = webClientBuilder;
+                               TemplateServiceResolver templateServices,
+                               ResponseMappingRegistry responseMappings,
+                               AdaptiveBufferManager bufferManager) {
+        this.webClients = new ServiceWebClients(webClientBuilder, "soap");
         this.authStrategies = authStrategies;
-        this.templateService = templateService;
-
-        // Configure XML mapper for better namespace and structure handling
-        this.xmlMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.templateServices = templateServices;
+        this.responseMappings = responseMappings;
+        this.bufferManager = bufferManager;
     }
 
     /**
@@ -78,25 +105,70 @@ public class SoapProtocolHandler implements ProtocolHandler {
      */
     @Override
     public Object execute(ServiceMetadata config, Object requestBody) {
-        try {
+        try (ServiceWebClients.Lease lease = webClients.acquire(config)) {
             log.debug("Executing SOAP call to: {}", config.getEndpointUrl());
 
-            // 1. Build WebClient with timeouts
-            WebClient webClient = createWebClient(config);
+            // 1. Per-service WebClient with timeouts and pool, held until the call completes
+            WebClient webClient = lease.client();
 
             // 2. Process XML request template
-            String soapXmlRequest = renderSoapRequest(config, requestBody);
-            log.debug("Generated SOAP request: {}", soapXmlRequest);
+            long mark = System.nanoTime();
+            DataBuffer soapXmlRequest;
+            Span template = AdapterTracing.startSpan(AdapterTracing.TEMPLATE, config.getServiceName());
+            try {
+                soapXmlRequest = renderSoapRequest(config, requestBody);
+            } finally {
+                template.end();
+            }
+            long requestBytes = soapXmlRequest.readableByteCount();
+            InvocationPhases.recordRequestBytes(requestBytes);
+            mark = InvocationPhases.recordSince(Phase.TEMPLATE, mark);
+            if (log.isDebugEnabled()) {
+                log.debug("Generated SOAP request: {}", soapXmlRequest.toString(StandardCharsets.UTF_8));
+            }
 
             // 3. Build headers with authentication
             HttpHeaders headers = buildHeaders(config);
 
             // 4. Execute SOAP call
-            String soapXmlResponse = executeSoapCall(webClient, config, soapXmlRequest, headers);
+            String soapXmlResponse = null;
+            DownstreamCallEvent call = DownstreamCallEvent.start();
+            Span downstream = AdapterTracing.startSpan(AdapterTracing.DOWNSTREAM, SpanKind.CLIENT,
+                    config.getServiceName());
+            downstream.setAttribute(AdapterTracing.HTTP_METHOD, "POST");
+            AdapterTracing.inject(downstream, headers);
+            Throwable failure = null;
+            try {
+                soapXmlResponse = executeSoapCall(webClient, config, soapXmlRequest, headers);
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                mark = InvocationPhases.recordSince(Phase.DOWNSTREAM, mark);
+                int status = failure instanceof WebClientResponseException e ? e.getStatusCode().value() : 0;
+                if (call != null) {
+                    call.finish(config.getServiceName(), "SOAP", "POST", requestBytes,
+                            soapXmlResponse != null ? soapXmlResponse.length() : 0, status, failure);
+                }
+                if (status != 0) {
+                    downstream.setAttribute(AdapterTracing.HTTP_STATUS, status);
+                }
+                AdapterTracing.end(downstream, failure);
+            }
             log.info("Received SOAP response: {}", soapXmlResponse);
+            if (soapXmlResponse != null) {
+                bufferManager.recordResponseSize(config.getServiceName(), soapXmlResponse.length());
+                InvocationPhases.recordResponseBytes(soapXmlResponse.length());
+            }
 
             // 5. Process and transform response
-            return processSoapResponse(config, soapXmlResponse);
+            Span transform = AdapterTracing.startSpan(AdapterTracing.TRANSFORM, config.getServiceName());
+            try {
+                return processSoapResponse(config, requestBody, soapXmlResponse);
+            } finally {
+                InvocationPhases.recordSince(Phase.TRANSFORM, mark);
+                transform.end();
+            }
 
         } catch (WebClientResponseException e) {
             log.error("SOAP HTTP error for service '{}': {} - {}",
@@ -111,26 +183,14 @@ public class SoapProtocolHandler implements ProtocolHandler {
         }
     }
 
-    /**
-     * Creates WebClient with configured timeouts for SOAP operations.
-     */
-    private WebClient createWebClient(ServiceMetadata config) {
-        WebClient.Builder builder = webClientBuilder.clone();
-
-        // Configure timeouts if specified
-        if (config.getResilience() != null && config.getResilience().getTimeouts() != null) {
-            var timeouts = config.getResilience().getTimeouts();
-            builder.clientConnector(
-                    new ReactorClientHttpConnector(
-                            HttpClient.create()
-                                    .responseTimeout(Duration.ofMillis(timeouts.getReadTimeout()))
-                                    .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS,
-                                            (int) timeouts.getConnectionTimeout())
-                    )
-            );
-        }
+    @Override
+    public void invalidate(String serviceName) {
+        webClients.invalidate(serviceName);
+    }
 
-        return builder.build();
+    @Override
+    public Mono<Integer> warmUp(ServiceMetadata config, int connections) {
+        return webClients.warmUp(config, connections);
     }
 
     /**
@@ -138,9 +198,9 @@ public class SoapProtocolHandler implements ProtocolHandler {
      *
      * @param config      Service configuration containing request template path
      * @param requestBody Request data map for template variable substitution
-     * @return Complete SOAP XML envelope as string
+     * @return Complete SOAP XML envelope, UTF-8 encoded in a buffer pre-sized from past requests
      */
-    private String renderSoapRequest(ServiceMetadata config, Object requestBody)
+    private DataBuffer renderSoapRequest(ServiceMetadata config, Object requestBody)
             throws TemplateProcessingException {
 
         if (config.getRequestTemplate() == null) {
@@ -150,7 +210,10 @@ public class SoapProtocolHandler implements ProtocolHandler {
         if (requestBody instanceof Map) {
             @SuppressWarnings("unchecked")
             Map<String, Object> requestMap = (Map<String, Object>) requestBody;
-            return templateService.process(config.getRequestTemplate(), requestMap);
+            DataBuffer buffer = bufferManager.allocateRequestBuffer(config.getServiceName());
+            templateServices.resolve(config).processTo(config.getRequestTemplate(), requestMap, buffer.asOutputStream());
+            bufferManager.recordRequestSize(config.getServiceName(), buffer.readableByteCount());
+            return buffer;
         }
 
         throw new IllegalArgumentException("SOAP request body must be a Map for template processing");
@@ -167,11 +230,20 @@ public class SoapProtocolHandler implements ProtocolHandler {
             config.getHeaders().forEach(headers::add);
         }
 
+        // Forward correlation/interaction ids if the service asks for them
+        ContextHeaders.apply(config, headers);
+
         // Apply authentication
         if (config.getAuth() != null && config.getAuth().getType() != null && !"NONE".equals(config.getAuth().getType())) {
             AuthenticationStrategy authStrategy = authStrategies.get(config.getAuth().getType());
             if (authStrategy != null) {
-                authStrategy.apply(config, headers);
+                Span auth = AdapterTracing.startSpan(AdapterTracing.AUTH, config.getServiceName());
+                auth.setAttribute(AdapterTracing.AUTH_TYPE, config.getAuth().getType());
+                try {
+                    authStrategy.apply(config, headers);
+                } finally {
+                    auth.end();
+                }
             } else {
                 log.warn("No authentication strategy found for type: {}", config.getAuth().getType());
             }
@@ -195,12 +267,13 @@ public class SoapProtocolHandler implements ProtocolHandler {
      * @return Raw SOAP XML response as string
      */
     private String executeSoapCall(WebClient client, ServiceMetadata config,
-                                   String xmlRequest, HttpHeaders headers) {
+                                   DataBuffer xmlRequest, HttpHeaders headers) {
 
         return client.post()
                 .uri(config.getEndpointUrl())
                 .headers(h -> h.addAll(headers))
-                .bodyValue(xmlRequest)
+                .contentLength(xmlRequest.readableByteCount())
+                .body(BodyInserters.fromDataBuffers(Mono.just(xmlRequest)))
                 .retrieve()
                 .bodyToMono(String.class)
                 .block();
@@ -210,7 +283,7 @@ public class SoapProtocolHandler implements ProtocolHandler {
      * Processes SOAP XML response into structured Java object.
      *
      * <p>Processing steps:
-     * 1. Parse XML response into nested Map structure
+     * 1. Parse XML response once into a Jackson tree
      * 2. Validate returnCode and extract error details from header
      * 3. Return error response if returnCode != 0
      * 4. Flatten/normalize the XML structure for template access
@@ -219,72 +292,123 @@ public class SoapProtocolHandler implements ProtocolHandler {
      * 7. Parse final JSON into Java object
      *
      * @param config           Service configuration with response template
+     * @param requestBody      Request data; its system variables are reused for the response template
      * @param soapXmlResponse  Raw SOAP XML response string
      * @return Processed object ready for StandardResponse payload
      */
-    private Object processSoapResponse(ServiceMetadata config, String soapXmlResponse) throws Exception {
+    private Object processSoapResponse(ServiceMetadata config, Object requestBody, String soapXmlResponse)
+            throws Exception {
         if (soapXmlResponse == null || soapXmlResponse.trim().isEmpty()) {
             return null;
         }
 
-        // 1. Parse SOAP XML into nested Map structure
-        @SuppressWarnings("unchecked")
-        Map<String, Object> xmlMap = xmlMapper.readValue(soapXmlResponse, Map.class);
-        log.debug("Full XML structure: {}", xmlMap);
+        // No mapping or response template: the payload is the complete parsed XML. Bind it straight
+        // to a Map in one pass; only the small header element is viewed as a tree for validation.
+        if (config.getResponseMapping() == null
+                && (config.getResponseTemplate() == null || config.getResponseTemplate().trim().isEmpty())) {
+            Map<String, Object> xmlMap = xmlMapper.readValue(soapXmlResponse, MAP_TYPE);
+            StandardResponse<Object> errorResponse = validateHeader(findHeader(xmlMap), config);
+            log.debug("No response template configured, returning complete parsed XML");
+            return errorResponse != null ? errorResponse : xmlMap;
+        }
+
+        // 1. Parse SOAP XML once into a tree; validation, mapping and templates all read it
+        JsonNode xmlTree = xmlMapper.readTree(soapXmlResponse);
+        log.debug("Full XML structure: {}", xmlTree);
 
         // 2. Validate SOAP response for business errors
-        StandardResponse<Object> errorResponse = validateSoapResponse(xmlMap, config);
+        StandardResponse<Object> errorResponse = validateSoapResponse(xmlTree, config);
         if (errorResponse != null) {
             return errorResponse;
         }
 
-        // 3. No response template: return complete parsed XML structure
-        if (config.getResponseTemplate() == null || config.getResponseTemplate().trim().isEmpty()) {
-            log.debug("No response template configured, returning complete parsed XML");
-            return xmlMap;
+        // 3. Declarative mapping: JsonPath over the SOAP body map, or XPath over the XML
+        if (config.getResponseMapping() != null) {
+            ResponseMapping mapping = responseMappings.forService(config);
+            return mapping.getSourceType() == ResponseMapping.SourceType.XML
+                    ? mapping.apply(parseDocument(soapXmlResponse))
+                    : mapping.apply(extractSoapBody(xmlTree));
         }
 
         // 4. Extract SOAP Body content for template processing
-        Map<String, Object> templateContext = extractSoapBody(xmlMap);
-        log.debug("Extracted template context: {}", templateContext);
+        JsonNode soapBody = extractSoapBody(xmlTree);
+        log.debug("Extracted template context: {}", soapBody);
+        Map<String, Object> bodyView = soapBody instanceof ObjectNode objectNode
+                ? new JsonNodeMap(objectNode) : Map.of("body", soapBody);
 
-        // 5. Add system variables for template processing
-        templateContext.put("currentTimeISO", LocalDateTime.now().toString());
-        templateContext.put("systemName", "ADCB_ADAPTER");
-        templateContext.put("version", "1.0");
+        // 5. Layer system variables over the body tree for template processing (no Map copy)
+        TemplateContext templateContext = requestBody instanceof TemplateContext request
+                ? request.over(bodyView) : TemplateContext.of(bodyView);
 
         log.debug("SOAP template context keys: {}", templateContext.keySet());
 
         // 6. Apply JSON response template
-        String jsonResponse = templateService.process(config.getResponseTemplate(), templateContext);
+        String jsonResponse = templateServices.resolve(config).process(config.getResponseTemplate(), templateContext);
         log.debug("Templated JSON response: {}", jsonResponse);
 
         // 7. Parse templated JSON into Java object
         return objectMapper.readValue(jsonResponse, Object.class);
     }
 
+    /**
+     * Parses the raw SOAP response into a namespace-unaware DOM for XPath mappings,
+     * so expressions like {@code //returnCode} match regardless of prefixes.
+     */
+    private org.w3c.dom.Document parseDocument(String soapXmlResponse) throws Exception {
+        return xmlParser.parse(soapXmlResponse);
+    }
+
     /**
      * Validates SOAP response by checking returnCode in header.
      * Returns error response if returnCode != 0, otherwise null for success.
      *
-     * @param xmlMap Parsed SOAP XML response
-     * @param config Service configuration
+     * @param xmlTree Parsed SOAP XML response
+     * @param config  Service configuration
      * @return StandardResponse with error details if failed, null if success
      */
-    @SuppressWarnings("unchecked")
-    private StandardResponse<Object> validateSoapResponse(Map<String, Object> xmlMap, ServiceMetadata config) {
-        try {
-            // Navigate to SOAP Body
-            Map<String, Object> envelope = (Map<String, Object>)
-                    xmlMap.getOrDefault("Envelope", xmlMap.get("SOAP-ENV:Envelope"));
-            if (envelope == null) return null;
+    private StandardResponse<Object> validateSoapResponse(JsonNode xmlTree, ServiceMetadata config) {
+        // Navigate to SOAP Body
+        JsonNode body = child(envelope(xmlTree), "Body", "SOAP-ENV:Body");
+        if (body == null) return null;
 
-            Map<String, Object> body = (Map<String, Object>)
-                    envelope.getOrDefault("Body", envelope.get("SOAP-ENV:Body"));
-            if (body == null) return null;
+        // Find header element (could be in any response message)
+        return validateHeader(findHeaderInBody(body), config);
+    }
 
-            // Find header element (could be in any response message)
-            Map<String, Object> header = findHeaderInBody(body);
+    /**
+     * Finds the response header in a SOAP response bound to a Map and views it as a tree,
+     * so {@link #validateHeader} serves both parse paths.
+     */
+    private JsonNode findHeader(Map<String, Object> xmlMap) {
+        Map<?, ?> body = child(envelope(xmlMap), "Body", "SOAP-ENV:Body");
+        if (body == null) {
+            return null;
+        }
+        for (Object value : body.values()) {
+            if (value instanceof Map<?, ?> message) {
+                for (Map.Entry<?, ?> field : message.entrySet()) {
+                    if (field.getKey().toString().contains("header") && field.getValue() instanceof Map) {
+                        return objectMapper.valueToTree(field.getValue());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<?, ?> child(Map<?, ?> map, String name, String alternateName) {
+        Object child = map.get(name);
+        if (child == null) {
+            child = map.get(alternateName);
+        }
+        return child instanceof Map<?, ?> childMap ? childMap : null;
+    }
+
+    /**
+     * Returns an error response if the SOAP header's returnCode is not 0, otherwise null.
+     */
+    private StandardResponse<Object> validateHeader(JsonNode header, ServiceMetadata config) {
+        try {
             if (header == null) {
                 log.debug("No header found in SOAP response, skipping validation");
                 return null;
@@ -350,18 +474,13 @@ public class SoapProtocolHandler implements ProtocolHandler {
     /**
      * Recursively finds header element in SOAP body.
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> findHeaderInBody(Map<String, Object> body) {
-        for (Object value : body.values()) {
-            if (value instanceof Map) {
-                Map<String, Object> map = (Map<String, Object>) value;
-                // Check if this map contains header element
-                for (String key : map.keySet()) {
-                    if (key.contains("header")) {
-                        Object headerObj = map.get(key);
-                        if (headerObj instanceof Map) {
-                            return (Map<String, Object>) headerObj;
-                        }
+    private JsonNode findHeaderInBody(JsonNode body) {
+        for (JsonNode value : body) {
+            if (value.isObject()) {
+                // Check if this element contains header element
+                for (Map.Entry<String, JsonNode> field : value.properties()) {
+                    if (field.getKey().contains("header") && field.getValue().isObject()) {
+                        return field.getValue();
                     }
                 }
             }
@@ -372,21 +491,51 @@ public class SoapProtocolHandler implements ProtocolHandler {
     /**
      * Extracts value from map, handling namespace prefixes.
      */
-    private String extractValue(Map<String, Object> map, String fieldName) {
+    private String extractValue(JsonNode node, String fieldName) {
         // Try direct key
-        Object value = map.get(fieldName);
-        if (value != null) {
-            return value.toString();
+        JsonNode value = node.get(fieldName);
+        if (value != null && !value.isNull()) {
+            return text(value);
         }
         // Try with namespace prefix (ns1:fieldName, ns0:fieldName, etc.)
-        for (String key : map.keySet()) {
-            if (key.endsWith(":" + fieldName)) {
-                return map.get(key).toString();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            if (field.getKey().endsWith(":" + fieldName)) {
+                return text(field.getValue());
             }
         }
         return null;
     }
 
+    private static String text(JsonNode value) {
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    /**
+     * Returns the first present child among the given names, or null.
+     */
+    /**
+     * The envelope of a parsed SOAP response. The XML parser drops the root element's name, so
+     * the parsed root normally is the envelope itself; a tree that still wraps it in an
+     * {@code Envelope} field is accepted as well.
+     */
+    private static JsonNode envelope(JsonNode xmlTree) {
+        JsonNode wrapped = child(xmlTree, "Envelope", "SOAP-ENV:Envelope");
+        return wrapped != null ? wrapped : xmlTree;
+    }
+
+    private static Map<?, ?> envelope(Map<?, ?> xmlMap) {
+        Map<?, ?> wrapped = child(xmlMap, "Envelope", "SOAP-ENV:Envelope");
+        return wrapped != null ? wrapped : xmlMap;
+    }
+
+    private static JsonNode child(JsonNode node, String name, String alternateName) {
+        JsonNode child = node.get(name);
+        if (child == null) {
+            child = node.get(alternateName);
+        }
+        return child != null && child.isObject() ? child : null;
+    }
+
     /**
      * Extracts error code from errorDetail string.
      * Format: ModCompanionEnrollment-{errorCode}-{message}
@@ -433,29 +582,22 @@ public class SoapProtocolHandler implements ProtocolHandler {
      * }
      * </pre>
      *
-     * @param xmlMap Parsed XML Map structure
-     * @return Flattened Map with SOAP Body content at root level
+     * @param xmlTree Parsed XML tree
+     * @return Subtree with SOAP Body content at root level
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> extractSoapBody(Map<String, Object> xmlMap) {
-        log.debug("Starting XML structure extraction from: {}", xmlMap.keySet());
+    private JsonNode extractSoapBody(JsonNode xmlTree) {
         // Navigate to Envelope -> Body
-        Map<String, Object> envelope = (Map<String, Object>)
-                xmlMap.getOrDefault("Envelope", xmlMap.get("SOAP-ENV:Envelope"));
-        if (envelope == null) return xmlMap;
-
-        Map<String, Object> body = (Map<String, Object>)
-                envelope.getOrDefault("Body", envelope.get("SOAP-ENV:Body"));
-        if (body == null) return xmlMap;
+        JsonNode body = child(envelope(xmlTree), "Body", "SOAP-ENV:Body");
+        if (body == null) return xmlTree;
 
-        // If Body has exactly one child (the response element), return that child's map
+        // If Body has exactly one child (the response element), return that child
         if (body.size() == 1) {
-            Object responseElement = body.values().iterator().next();
-            if (responseElement instanceof Map) {
-                return (Map<String, Object>) responseElement;
+            JsonNode responseElement = body.elements().next();
+            if (responseElement.isObject()) {
+                return responseElement;
             }
         }
-        // Otherwise return the Body map itself
+        // Otherwise return the Body itself
         return body;
     }
 
@@ -464,6 +606,7 @@ public class SoapProtocolHandler implements ProtocolHandler {
      * Maps HTTP errors to StandardResponse format.
      */
     private StandardResponse<Object> mapHttpError(WebClientResponseException e, ServiceMetadata config) {
+        Integer retryAfter = RetryAfter.parseSeconds(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
         ErrorDetails error = ErrorDetails.builder()
                 .errorCode("SOAP_HTTP_ERROR")
                 .errorMessage("SOAP HTTP error")
@@ -474,7 +617,8 @@ public class SoapProtocolHandler implements ProtocolHandler {
                 .source("SOAP_PROTOCOL")
                 .httpStatusCode(e.getStatusCode().value())
                 .originalErrorCode(String.valueOf(e.getStatusCode().value()))
-                .retryable(e.getStatusCode().is5xxServerError())
+                .retryable(RetryAfter.isRetryable(e.getStatusCode().value(), retryAfter))
+                .retryAfterSeconds(retryAfter)
                 .downstreamService(config.getServiceName())
                 .build();
 
@@ -502,7 +646,6 @@ public class SoapProtocolHandler implements ProtocolHandler {
                 .technicalMessage(e.getMessage())
                 .exceptionClass(e.getClass().getSimpleName())
                 .retryable(true)
-                .retryAfterSeconds(30)
                 .downstreamService(config.getServiceName())
                 .build();
 
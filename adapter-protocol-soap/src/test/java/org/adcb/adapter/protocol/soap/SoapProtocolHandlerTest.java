@@ -0,0 +1,146 @@
+package org.adcb.adapter.protocol.soap;
+
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ResponseStatus;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.transform.TemplateServiceResolver;
+import org.adcb.adapter.transform.buffer.AdaptiveBufferManager;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.adcb.adapter.transform.mapping.ResponseMappingRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Real SOAP envelopes, including a Fault, run through the handler: template rendering, the
+ * single parse of the response, header validation and the mapped result.
+ */
+class SoapProtocolHandlerTest {
+
+    private static final Map<String, Object> REQUEST = Map.of("accountId", "A-1001", "currency", "AED");
+
+    private static final String ACCOUNT_RESPONSE = """
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" xmlns:acc="http://adcb.ae/accounts">
+              <soapenv:Body>
+                <acc:GetAccountResponse>
+                  <acc:header>
+                    <acc:returnCode>%s</acc:returnCode>
+                    <acc:errorDescription>%s</acc:errorDescription>
+                    <acc:errorDetail>%s</acc:errorDetail>
+                  </acc:header>
+                  <acc:account>
+                    <acc:accountId>A-1001</acc:accountId>
+                    <acc:balance>1250.75</acc:balance>
+                    <acc:currency>AED</acc:currency>
+                  </acc:account>
+                </acc:GetAccountResponse>
+              </soapenv:Body>
+            </soapenv:Envelope>
+            """;
+
+    private static final String FAULT_RESPONSE = """
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/">
+              <soapenv:Body>
+                <soapenv:Fault>
+                  <faultcode>soapenv:Server</faultcode>
+                  <faultstring>Account service unavailable</faultstring>
+                </soapenv:Fault>
+              </soapenv:Body>
+            </soapenv:Envelope>
+            """;
+
+    @Test
+    void testExecute_rendersResponseTemplateOverSoapBody() {
+        ServiceMetadata config = config();
+        config.setResponseTemplate("account_soap_response.json");
+        CapturingExchangeFunction exchange = new CapturingExchangeFunction(HttpStatus.OK, success());
+
+        Object result = handler(exchange).execute(config, REQUEST);
+
+        assertEquals(Map.of("accountId", "A-1001", "balance", 1250.75, "currency", "AED"), result);
+        assertTrue(exchange.body.contains("<acc:accountId>A-1001</acc:accountId>"), exchange.body);
+        assertEquals("text/xml; charset=utf-8", exchange.request.headers().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void testExecute_appliesXPathMappingToSoapResponse() {
+        ServiceMetadata config = config();
+        config.setResponseMapping("account_soap_mapping.json");
+
+        Object result = handler(new CapturingExchangeFunction(HttpStatus.OK, success())).execute(config, REQUEST);
+
+        assertEquals(Map.of("accountId", "A-1001", "balance", new BigDecimal("1250.75"), "returnCode", 0), result);
+    }
+
+    @Test
+    void testExecute_nonZeroReturnCodeBecomesBusinessError() {
+        ServiceMetadata config = config();
+        config.setResponseTemplate("account_soap_response.json");
+        String body = ACCOUNT_RESPONSE.formatted("1", "OTP failed",
+                "ModCompanionEnrollment-666666-SMSOTP System Timeout");
+
+        StandardResponse<?> result = (StandardResponse<?>) handler(new CapturingExchangeFunction(HttpStatus.OK, body))
+                .execute(config, REQUEST);
+
+        assertFalse(result.isSuccess());
+        assertEquals(ResponseStatus.BUSINESS_ERROR, result.getStatus());
+        assertEquals("SOAP_BUSINESS_ERROR", result.getError().getErrorCode());
+        assertEquals("OTP failed", result.getError().getErrorMessage());
+        assertEquals("666666", result.getError().getOriginalErrorCode());
+        assertFalse(result.getError().isRetryable());
+    }
+
+    @Test
+    void testExecute_mapsSoapFaultToHttpError() {
+        ServiceMetadata config = config();
+        config.setResponseTemplate("account_soap_response.json");
+
+        StandardResponse<?> result = (StandardResponse<?>) handler(
+                new CapturingExchangeFunction(HttpStatus.INTERNAL_SERVER_ERROR, FAULT_RESPONSE)).execute(config, REQUEST);
+
+        assertFalse(result.isSuccess());
+        assertEquals(ResponseStatus.ERROR, result.getStatus());
+        assertEquals("SOAP", result.getProtocol());
+        assertEquals("SOAP_HTTP_ERROR", result.getError().getErrorCode());
+        assertEquals(ErrorCategory.TECHNICAL, result.getError().getCategory());
+        assertEquals(500, result.getError().getHttpStatusCode());
+        assertTrue(result.getError().getErrorDescription().contains("Account service unavailable"),
+                result.getError().getErrorDescription());
+        assertTrue(result.getError().isRetryable());
+        assertNull(result.getError().getRetryAfterSeconds());
+        assertEquals("accounts", result.getError().getDownstreamService());
+    }
+
+    private static String success() {
+        return ACCOUNT_RESPONSE.formatted("0", "", "");
+    }
+
+    private static ServiceMetadata config() {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("accounts");
+        config.setProtocol("SOAP");
+        config.setEndpointUrl("http://localhost/accounts");
+        config.setRequestTemplate("account_soap_request.xml");
+        return config;
+    }
+
+    private static SoapProtocolHandler handler(CapturingExchangeFunction exchange) {
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        ReflectionTestUtils.setField(freemarker, "templateBasePath", "classpath:/templates/");
+        ReflectionTestUtils.setField(freemarker, "cacheEnabled", true);
+        ReflectionTestUtils.setField(freemarker, "cacheTtlMinutes", 60L);
+        freemarker.initialize();
+        return new SoapProtocolHandler(WebClient.builder().exchangeFunction(exchange), Map.of(),
+                new TemplateServiceResolver(freemarker, new CompiledTemplateService(freemarker)),
+                new ResponseMappingRegistry(freemarker), new AdaptiveBufferManager());
+    }
+}
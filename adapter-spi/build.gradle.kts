@@ -17,9 +17,13 @@ repositories {
 dependencies {
     implementation(project(":adapter-commons"))
     implementation("org.springframework.boot:spring-boot-starter-webflux:3.5.5") // For WebClient
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.15.2") // Recording payloads
+    api("io.opentelemetry:opentelemetry-api:1.49.0") // Invocation tracing
 
     compileOnly("org.projectlombok:lombok:1.18.30")
     annotationProcessor("org.projectlombok:lombok:1.18.30")
+
+    testImplementation("org.springframework.boot:spring-boot-starter-test:3.5.5")
 }
 
 tasks.jar {
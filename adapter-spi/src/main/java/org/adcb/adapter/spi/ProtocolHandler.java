@@ -2,7 +2,26 @@ package org.adcb.adapter.spi;
 
 
 import org.adcb.adapter.commons.ServiceMetadata;
+import reactor.core.publisher.Mono;
 
 public interface ProtocolHandler {
     Object execute(ServiceMetadata config, Object requestBody);
+
+    /**
+     * Drops any per-service state (clients, connection pools) built from the service's previous
+     * configuration. Called after the service's configuration was reloaded or removed; calls
+     * already in flight finish on the old state.
+     */
+    default void invalidate(String serviceName) {
+    }
+
+    /**
+     * Opens up to {@code connections} pooled connections to the service's downstream ahead of
+     * the first call, e.g. during startup warm-up.
+     *
+     * @return number of connections established
+     */
+    default Mono<Integer> warmUp(ServiceMetadata config, int connections) {
+        return Mono.just(0);
+    }
 }
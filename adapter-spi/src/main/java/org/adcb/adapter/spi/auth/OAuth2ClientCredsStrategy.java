@@ -38,9 +38,20 @@ public class OAuth2ClientCredsStrategy implements AuthenticationStrategy {
         log.debug("Applied OAuth2 Bearer token for service: {}", config.getServiceName());
     }
 
+    /**
+     * Fetches a token unless a valid one is cached; used to pre-fetch tokens at startup.
+     * Expiry-driven refresh on the request path is handled by OAuth2TokenManager.
+     */
     @Override
     public void refreshToken(ServiceMetadata config) {
-        // Token refresh is handled automatically by OAuth2TokenManager
-        log.debug("Token refresh handled by OAuth2TokenManager");
+        if (config.getAuth() == null || config.getAuth().getTokenEndpoint() == null) {
+            return;
+        }
+        tokenManager.getToken(
+                config.getAuth().getTokenEndpoint(),
+                config.getAuth().getClientId(),
+                config.getAuth().getClientSecret(),
+                config.getAuth().getScope()
+        );
     }
 }
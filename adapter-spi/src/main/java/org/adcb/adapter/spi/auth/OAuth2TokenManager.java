@@ -3,6 +3,7 @@ package org.adcb.adapter.spi.auth;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.jfr.TokenFetchEvent;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
@@ -57,16 +58,28 @@ public class OAuth2TokenManager {
             body.add("scope", scope);
         }
 
-        TokenResponse response = webClient.post()
-                .uri(tokenEndpoint)
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(BodyInserters.fromFormData(body))
-                .retrieve()
-                .bodyToMono(TokenResponse.class)
-                .block();
-
-        if (response == null || response.accessToken == null) {
-            throw new RuntimeException("Failed to fetch OAuth2 token from " + tokenEndpoint);
+        TokenFetchEvent event = TokenFetchEvent.start();
+        TokenResponse response;
+        try {
+            response = webClient.post()
+                    .uri(tokenEndpoint)
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(BodyInserters.fromFormData(body))
+                    .retrieve()
+                    .bodyToMono(TokenResponse.class)
+                    .block();
+
+            if (response == null || response.accessToken == null) {
+                throw new RuntimeException("Failed to fetch OAuth2 token from " + tokenEndpoint);
+            }
+        } catch (RuntimeException e) {
+            if (event != null) {
+                event.finish(tokenEndpoint, clientId, 0, e);
+            }
+            throw e;
+        }
+        if (event != null) {
+            event.finish(tokenEndpoint, clientId, response.expiresIn, null);
         }
 
         long expiresAt = Instant.now().getEpochSecond() + response.expiresIn - EXPIRY_BUFFER_SECONDS;
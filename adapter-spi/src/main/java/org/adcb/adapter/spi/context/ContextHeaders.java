@@ -0,0 +1,36 @@
+package org.adcb.adapter.spi.context;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.context.ContextPropagationConfig;
+import org.adcb.adapter.commons.context.RequestContext;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Adds the current {@link RequestContext} to a downstream request as configured by the service's
+ * {@link ContextPropagationConfig}. Services without {@code contextPropagation}, or calls made
+ * outside an invocation, get no headers.
+ */
+public final class ContextHeaders {
+
+    private ContextHeaders() {
+    }
+
+    public static void apply(ServiceMetadata config, HttpHeaders headers) {
+        ContextPropagationConfig propagation = config.getContextPropagation();
+        if (propagation == null || !propagation.isEnabled()) {
+            return;
+        }
+        RequestContext context = RequestContext.current();
+        if (context == null) {
+            return;
+        }
+        set(headers, propagation.getCorrelationIdHeader(), context.getCorrelationId());
+        set(headers, propagation.getInteractionIdHeader(), context.getInteractionId());
+    }
+
+    private static void set(HttpHeaders headers, String name, String value) {
+        if (name != null && !name.isBlank()) {
+            headers.set(name, value);
+        }
+    }
+}
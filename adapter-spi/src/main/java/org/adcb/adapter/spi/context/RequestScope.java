@@ -0,0 +1,83 @@
+package org.adcb.adapter.spi.context;
+
+import org.adcb.adapter.commons.context.RequestContext;
+import org.slf4j.MDC;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Makes a {@link RequestContext} current on a thread: bound as {@link RequestContext#current()}
+ * and copied into the logging MDC as {@value RequestContext#CORRELATION_ID} and
+ * {@value RequestContext#INTERACTION_ID}.
+ *
+ * <p>Open a scope with try-with-resources on the thread that runs the work; closing it restores
+ * whatever was bound before, so nested and pooled-thread use never leaks ids between requests.
+ * Across Reactor operators the context travels in the subscriber context under
+ * {@link #REACTOR_KEY}; code hopping to a scheduler reads it from there and opens a scope.
+ */
+public final class RequestScope implements AutoCloseable {
+
+    public static final Class<RequestContext> REACTOR_KEY = RequestContext.class;
+
+    private static final RequestScope NOOP = new RequestScope(null, null, null, null);
+
+    private final RequestContext previous;
+    private final String previousCorrelationId;
+    private final String previousInteractionId;
+    private final RequestContext context;
+
+    private RequestScope(RequestContext context, RequestContext previous,
+                         String previousCorrelationId, String previousInteractionId) {
+        this.context = context;
+        this.previous = previous;
+        this.previousCorrelationId = previousCorrelationId;
+        this.previousInteractionId = previousInteractionId;
+    }
+
+    /**
+     * Binds {@code context} to the current thread and MDC; a {@code null} context opens a no-op scope.
+     */
+    public static RequestScope open(RequestContext context) {
+        if (context == null) {
+            return NOOP;
+        }
+        String correlationId = MDC.get(RequestContext.CORRELATION_ID);
+        String interactionId = MDC.get(RequestContext.INTERACTION_ID);
+        RequestContext previous = context.bind();
+        MDC.put(RequestContext.CORRELATION_ID, context.getCorrelationId());
+        MDC.put(RequestContext.INTERACTION_ID, context.getInteractionId());
+        return new RequestScope(context, previous, correlationId, interactionId);
+    }
+
+    /**
+     * The request context carried in a Reactor subscriber context, or {@code null}.
+     */
+    public static RequestContext get(ContextView view) {
+        return view.getOrDefault(REACTOR_KEY, null);
+    }
+
+    /**
+     * Adds {@code context} to a Reactor subscriber context, for use in {@code contextWrite}.
+     */
+    public static Context put(Context reactorContext, RequestContext context) {
+        return context != null ? reactorContext.put(REACTOR_KEY, context) : reactorContext;
+    }
+
+    @Override
+    public void close() {
+        if (context == null) {
+            return;
+        }
+        RequestContext.restore(previous);
+        restoreMdc(RequestContext.CORRELATION_ID, previousCorrelationId);
+        restoreMdc(RequestContext.INTERACTION_ID, previousInteractionId);
+    }
+
+    private static void restoreMdc(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.adcb.adapter.spi.http;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.resilience.ConnectionPoolConfig;
+import org.adcb.adapter.commons.resilience.ResilienceConfig;
+import org.adcb.adapter.commons.resilience.TimeoutConfig;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-service WebClients, each with its own connection pool and timeouts.
+ *
+ * <p>Clients are built on first use and kept, so connections stay warm across calls.
+ * Callers hold a {@link Lease} for the duration of a call. When a service's configuration
+ * changes, {@link #invalidate(String)} retires its client: new calls get a freshly built
+ * client at once, and the old pool is disposed only after its in-flight calls have
+ * released their leases. Each client also remembers the pool and timeout settings it was
+ * built from; a call whose settings differ (one that read the configuration just before a
+ * reload, or the first call after it) replaces the client the same way, so a client built
+ * from stale settings never outlives the reload.
+ *
+ * @since 1.0
+ */
+@Slf4j
+public class ServiceWebClients {
+
+    private final WebClient.Builder webClientBuilder;
+    private final String poolPrefix;
+    private final ConcurrentHashMap<String, ServiceClient> clients = new ConcurrentHashMap<>();
+
+    public ServiceWebClients(WebClient.Builder webClientBuilder, String poolPrefix) {
+        this.webClientBuilder = webClientBuilder;
+        this.poolPrefix = poolPrefix;
+    }
+
+    /**
+     * Leases the service's client for one call; close the lease when the call completes.
+     */
+    public Lease acquire(ServiceMetadata config) {
+        while (true) {
+            ServiceClient client = current(config);
+            if (client.tryAcquire()) {
+                return new Lease(client);
+            }
+            // Retired between lookup and acquire; make sure the next lookup builds a new one
+            clients.remove(config.getServiceName(), client);
+        }
+    }
+
+    /**
+     * The service's active client, replaced if it was built from different settings.
+     */
+    private ServiceClient current(ServiceMetadata config) {
+        ServiceClient client = clients.get(config.getServiceName());
+        if (client != null && client.builtFrom(config.getResilience())) {
+            return client;
+        }
+        ServiceClient[] replaced = new ServiceClient[1];
+        client = clients.compute(config.getServiceName(), (name, existing) -> {
+            if (existing != null && existing.builtFrom(config.getResilience())) {
+                return existing;
+            }
+            replaced[0] = existing;
+            return create(name, config);
+        });
+        if (replaced[0] != null) {
+            replaced[0].retire();
+        }
+        return client;
+    }
+
+    /**
+     * Opens up to {@code connections} connections in the service's pool by sending that many
+     * concurrent {@code HEAD} requests to the endpoint's origin. Only successful responses
+     * count; an error status means the downstream rejected the probe (often for lack of
+     * credentials), so it is logged rather than reported as a warmed connection.
+     *
+     * @return number of probes the downstream accepted
+     */
+    public Mono<Integer> warmUp(ServiceMetadata config, int connections) {
+        String origin = origin(config.getEndpointUrl());
+        if (origin == null || connections <= 0) {
+            return Mono.just(0);
+        }
+        return Mono.usingWhen(Mono.fromSupplier(() -> acquire(config)),
+                lease -> Flux.range(0, connections)
+                        .flatMap(i -> lease.client().head().uri(origin).retrieve().toBodilessEntity()
+                                .thenReturn(1)
+                                .onErrorResume(WebClientResponseException.class, e -> {
+                                    log.warn("Warm-up probe to {} for service '{}' rejected with {}",
+                                            origin, config.getServiceName(), e.getStatusCode());
+                                    return Mono.just(0);
+                                })
+                                .onErrorResume(e -> Mono.just(0)), connections)
+                        .reduce(0, Integer::sum),
+                lease -> Mono.fromRunnable(lease::close));
+    }
+
+    /**
+     * Retires the service's client; its pool is disposed once in-flight calls drain.
+     */
+    public void invalidate(String serviceName) {
+        ServiceClient client = clients.remove(serviceName);
+        if (client != null) {
+            client.retire();
+        }
+    }
+
+    /**
+     * Number of calls currently holding the service's active client.
+     */
+    public int inFlight(String serviceName) {
+        ServiceClient client = clients.get(serviceName);
+        return client != null ? Math.max(0, client.leases.get()) : 0;
+    }
+
+    /**
+     * {@code scheme://host[:port]/} of an endpoint URL, which may contain path template variables.
+     */
+    static String origin(String endpointUrl) {
+        if (endpointUrl == null) {
+            return null;
+        }
+        int schemeEnd = endpointUrl.indexOf("://");
+        if (schemeEnd < 0) {
+            return null;
+        }
+        int pathStart = endpointUrl.indexOf('/', schemeEnd + 3);
+        return (pathStart < 0 ? endpointUrl : endpointUrl.substring(0, pathStart)) + "/";
+    }
+
+    private ServiceClient create(String serviceName, ServiceMetadata config) {
+        var resilience = config.getResilience();
+        ConnectionPoolConfig pool = resilience != null && resilience.getConnectionPool() != null
+                ? resilience.getConnectionPool() : new ConnectionPoolConfig();
+
+        ConnectionProvider provider = ConnectionProvider.builder(poolPrefix + "-" + serviceName)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider);
+        if (resilience != null && resilience.getTimeouts() != null) {
+            var timeouts = resilience.getTimeouts();
+            httpClient = httpClient
+                    .responseTimeout(Duration.ofMillis(timeouts.getReadTimeout()))
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeouts.getConnectionTimeout());
+        }
+
+        WebClient webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        log.debug("Created WebClient for service '{}' (maxConnections={})", serviceName, pool.getMaxConnections());
+        return new ServiceClient(serviceName, webClient, provider,
+                resilience != null ? resilience.getConnectionPool() : null,
+                resilience != null ? resilience.getTimeouts() : null);
+    }
+
+    /**
+     * One call's hold on a service client.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final ServiceClient client;
+        private boolean closed;
+
+        private Lease(ServiceClient client) {
+            this.client = client;
+        }
+
+        public WebClient client() {
+            return client.webClient;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                client.release();
+            }
+        }
+    }
+
+    /**
+     * Client plus lease count; a negative count marks it retired.
+     */
+    private static final class ServiceClient {
+        private static final int RETIRED = Integer.MIN_VALUE / 2;
+
+        private final String serviceName;
+        private final WebClient webClient;
+        private final ConnectionProvider provider;
+        private final ConnectionPoolConfig pool;
+        private final TimeoutConfig timeouts;
+        private final AtomicInteger leases = new AtomicInteger();
+
+        ServiceClient(String serviceName, WebClient webClient, ConnectionProvider provider,
+                      ConnectionPoolConfig pool, TimeoutConfig timeouts) {
+            this.serviceName = serviceName;
+            this.webClient = webClient;
+            this.provider = provider;
+            this.pool = pool;
+            this.timeouts = timeouts;
+        }
+
+        boolean builtFrom(ResilienceConfig resilience) {
+            return Objects.equals(pool, resilience != null ? resilience.getConnectionPool() : null)
+                    && Objects.equals(timeouts, resilience != null ? resilience.getTimeouts() : null);
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = leases.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (leases.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (leases.decrementAndGet() == RETIRED) {
+                dispose();
+            }
+        }
+
+        void retire() {
+            if (leases.addAndGet(RETIRED) == RETIRED) {
+                dispose();
+            }
+        }
+
+        private void dispose() {
+            log.info("Disposing connection pool of service '{}' after drain", serviceName);
+            provider.disposeLater().subscribe();
+        }
+    }
+}
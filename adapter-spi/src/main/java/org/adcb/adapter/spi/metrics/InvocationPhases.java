@@ -0,0 +1,120 @@
+package org.adcb.adapter.spi.metrics;
+
+/**
+ * Time spent in each phase of one service invocation, plus payload sizes.
+ *
+ * <p>The gateway creates one instance per invocation and binds it to the thread running the
+ * protocol handler; handlers report their own phases through the static methods, which are
+ * no-ops when nothing is bound (e.g. in tests or warm-up). Time is accumulated, so the phases
+ * of all retry attempts add up. Attempts of one invocation never overlap, so plain fields
+ * are sufficient.
+ */
+public final class InvocationPhases {
+
+    /**
+     * Phases of an invocation, in pipeline order.
+     */
+    public enum Phase {
+        /** Configuration lookup, fast-fail checks and request enrichment in the gateway. */
+        ADMISSION,
+        /** Request template rendering. */
+        TEMPLATE,
+        /** Downstream call, from sending the request to receiving the full response. */
+        DOWNSTREAM,
+        /** Response parsing, mapping and templating. */
+        TRANSFORM,
+        /** Building the StandardResponse in the gateway. */
+        RESPONSE
+    }
+
+    public static final int PHASE_COUNT = Phase.values().length;
+
+    private static final ThreadLocal<InvocationPhases> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[PHASE_COUNT];
+    private long requestBytes;
+    private long responseBytes;
+
+    /**
+     * Adds {@code elapsedNanos} to {@code phase} of the invocation bound to this thread.
+     */
+    public static void record(Phase phase, long elapsedNanos) {
+        InvocationPhases phases = CURRENT.get();
+        if (phases != null) {
+            phases.add(phase, elapsedNanos);
+        }
+    }
+
+    /**
+     * Records the time from {@code startNanos} until now under {@code phase}.
+     *
+     * @return now, to start timing the next phase
+     */
+    public static long recordSince(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        record(phase, now - startNanos);
+        return now;
+    }
+
+    /**
+     * Records the size of the request sent downstream by the invocation bound to this thread.
+     */
+    public static void recordRequestBytes(long bytes) {
+        InvocationPhases phases = CURRENT.get();
+        if (phases != null) {
+            phases.requestBytes += bytes;
+        }
+    }
+
+    /**
+     * Records the size of the downstream response of the invocation bound to this thread.
+     */
+    public static void recordResponseBytes(long bytes) {
+        InvocationPhases phases = CURRENT.get();
+        if (phases != null) {
+            phases.responseBytes += bytes;
+        }
+    }
+
+    /**
+     * Binds this invocation to the current thread.
+     *
+     * @return the previously bound invocation, to be passed to {@link #restore}
+     */
+    public InvocationPhases bind() {
+        InvocationPhases previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the binding returned by {@link #bind()}.
+     */
+    public static void restore(InvocationPhases previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long nanos(int phaseOrdinal) {
+        return nanos[phaseOrdinal];
+    }
+
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+}
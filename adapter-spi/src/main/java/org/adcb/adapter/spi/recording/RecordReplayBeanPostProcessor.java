@@ -0,0 +1,79 @@
+package org.adcb.adapter.spi.recording;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+/**
+ * Wraps every {@link ProtocolHandler} bean in a {@link RecordReplayProtocolHandler} when
+ * {@code adapter.recording.mode} is RECORD or REPLAY; with the default OFF, handlers are left
+ * untouched and nothing is opened.
+ *
+ * <p>All handlers share one recording directory. The recording is opened when the first
+ * handler is wrapped and closed (which also rebuilds the index after recording) on shutdown.
+ */
+@Component
+@Slf4j
+public class RecordReplayBeanPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final RecordingConfig config;
+    private final RequestKeys keys;
+    private RecordingWriter writer;
+    private RecordingIndex index;
+
+    public RecordReplayBeanPostProcessor(Environment environment) {
+        this.config = Binder.get(environment)
+                .bind("adapter.recording", RecordingConfig.class)
+                .orElseGet(RecordingConfig::new);
+        this.keys = new RequestKeys(new HashSet<>(config.getIgnoredFields()));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (config.getMode() == RecordingConfig.Mode.OFF || !(bean instanceof ProtocolHandler handler)
+                || bean instanceof RecordReplayProtocolHandler) {
+            return bean;
+        }
+        open();
+        log.info("{} mode enabled for protocol handler '{}'", config.getMode(), beanName);
+        return new RecordReplayProtocolHandler(beanName, handler, config, keys, writer, index);
+    }
+
+    private synchronized void open() {
+        if (writer != null || index != null) {
+            return;
+        }
+        Path directory = Path.of(config.getDirectory());
+        try {
+            if (config.getMode() == RecordingConfig.Mode.RECORD) {
+                writer = new RecordingWriter(directory);
+            } else {
+                index = RecordingIndex.open(directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open recording in " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        if (index != null) {
+            index.close();
+            index = null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.adcb.adapter.spi.recording;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ErrorCategory;
+import org.adcb.adapter.commons.ErrorDetails;
+import org.adcb.adapter.commons.ErrorSeverity;
+import org.adcb.adapter.commons.ResponseStatus;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.spi.ProtocolHandler;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decorates a {@link ProtocolHandler} to record its results or to replay them.
+ *
+ * <p>In {@link RecordingConfig.Mode#RECORD} mode every call goes to the real handler; the
+ * result and the time the handler took are appended to the recording, keyed by service name
+ * and canonical request (see {@link RequestKeys}). In {@link RecordingConfig.Mode#REPLAY}
+ * mode the recorded result is returned after waiting the recorded latency times
+ * {@code latencyScale}, without touching the network, so the rest of the gateway (resilience,
+ * response mapping, metrics) runs exactly as against the real downstream.
+ *
+ * <p>Results are recorded as the handler returned them, not as raw HTTP bytes: the handler's
+ * own templating and parsing still run while recording but are skipped on replay.
+ */
+@Slf4j
+public class RecordReplayProtocolHandler implements ProtocolHandler {
+
+    private final String protocol;
+    private final ProtocolHandler delegate;
+    private final RecordingConfig config;
+    private final RequestKeys keys;
+    private final RecordingWriter writer;
+    private final RecordingIndex index;
+
+    RecordReplayProtocolHandler(String protocol, ProtocolHandler delegate, RecordingConfig config,
+                                RequestKeys keys, RecordingWriter writer, RecordingIndex index) {
+        this.protocol = protocol;
+        this.delegate = delegate;
+        this.config = config;
+        this.keys = keys;
+        this.writer = writer;
+        this.index = index;
+    }
+
+    @Override
+    public Object execute(ServiceMetadata config, Object requestBody) {
+        return this.config.getMode() == RecordingConfig.Mode.REPLAY
+                ? replay(config, requestBody)
+                : record(config, requestBody);
+    }
+
+    private Object record(ServiceMetadata config, Object requestBody) {
+        byte[] key = keys.key(config.getServiceName(), requestBody);
+        long start = System.nanoTime();
+        Object result = delegate.execute(config, requestBody);
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        try {
+            byte type = RecordedResults.type(result);
+            writer.append(key, (int) Math.min(micros, Integer.MAX_VALUE), type, RecordedResults.encode(type, result));
+        } catch (IOException e) {
+            log.warn("Could not record call to service '{}': {}", config.getServiceName(), e.getMessage());
+        }
+        return result;
+    }
+
+    private Object replay(ServiceMetadata config, Object requestBody) {
+        byte[] key = keys.key(config.getServiceName(), requestBody);
+        RecordingIndex.Recording recording;
+        Object result;
+        try {
+            recording = index.find(key);
+            if (recording == null) {
+                return miss(config, requestBody);
+            }
+            result = RecordedResults.decode(recording.type(), recording.payload());
+        } catch (IOException e) {
+            log.warn("Could not replay call to service '{}': {}", config.getServiceName(), e.getMessage());
+            return miss(config, requestBody);
+        }
+        long delayNanos = (long) (TimeUnit.MICROSECONDS.toNanos(recording.latencyMicros()) * this.config.getLatencyScale());
+        if (delayNanos > 0) {
+            LockSupport.parkNanos(delayNanos);
+        }
+        return result;
+    }
+
+    private Object miss(ServiceMetadata config, Object requestBody) {
+        if (this.config.getOnMiss() == RecordingConfig.MissPolicy.PASSTHROUGH) {
+            return delegate.execute(config, requestBody);
+        }
+        ErrorDetails err = ErrorDetails.builder()
+                .errorCode("REPLAY_MISS")
+                .errorMessage("No recorded response")
+                .errorDescription("Request to service '" + config.getServiceName() + "' is not in the recording")
+                .category(ErrorCategory.TECHNICAL)
+                .severity(ErrorSeverity.HIGH)
+                .downstreamService(config.getServiceName())
+                .build();
+        return StandardResponse.<Object>builder()
+                .success(false)
+                .status(ResponseStatus.TECHNICAL_ERROR)
+                .error(err)
+                .serviceName(config.getServiceName())
+                .protocol(protocol)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public void invalidate(String serviceName) {
+        delegate.invalidate(serviceName);
+    }
+
+    @Override
+    public Mono<Integer> warmUp(ServiceMetadata config, int connections) {
+        // Replay never opens downstream connections
+        return this.config.getMode() == RecordingConfig.Mode.REPLAY
+                ? Mono.just(0)
+                : delegate.warmUp(config, connections);
+    }
+}
@@ -0,0 +1,65 @@
+package org.adcb.adapter.spi.recording;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.codec.RawJsonPayload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes handler results for the recording and restores them on replay.
+ *
+ * <p>The result type is kept as a one-byte tag so replay returns the same kind of object the
+ * real handler did; structured values are stored as Smile.
+ */
+final class RecordedResults {
+
+    static final byte NULL = 'Z';
+    static final byte TEXT = 'T';
+    static final byte RAW_JSON = 'R';
+    static final byte TREE = 'N';
+    static final byte RESPONSE = 'S';
+    static final byte VALUE = 'J';
+
+    private RecordedResults() {
+    }
+
+    static byte type(Object result) {
+        if (result == null) return NULL;
+        if (result instanceof String) return TEXT;
+        if (result instanceof RawJsonPayload) return RAW_JSON;
+        if (result instanceof JsonNode) return TREE;
+        if (result instanceof StandardResponse<?>) return RESPONSE;
+        return VALUE;
+    }
+
+    static byte[] encode(byte type, Object result) throws IOException {
+        return switch (type) {
+            case NULL -> new byte[0];
+            case TEXT -> ((String) result).getBytes(StandardCharsets.UTF_8);
+            case RAW_JSON -> ((RawJsonPayload) result).getJson().getBytes(StandardCharsets.UTF_8);
+            default -> AdapterCodecs.smile().writeValueAsBytes(result);
+        };
+    }
+
+    static Object decode(byte type, byte[] payload) throws IOException {
+        return switch (type) {
+            case NULL -> null;
+            case TEXT -> new String(payload, StandardCharsets.UTF_8);
+            case RAW_JSON -> RawJsonPayload.trusted(new String(payload, StandardCharsets.UTF_8));
+            case TREE -> AdapterCodecs.smile().readTree(payload);
+            case RESPONSE -> {
+                ObjectNode tree = (ObjectNode) AdapterCodecs.smile().readTree(payload);
+                // Builder-only parts are added by the gateway after the handler returns
+                tree.remove("performance");
+                tree.remove("metadata");
+                tree.remove("pagination");
+                yield AdapterCodecs.smile().treeToValue(tree, StandardResponse.class);
+            }
+            default -> AdapterCodecs.smile().readValue(payload, Object.class);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package org.adcb.adapter.spi.recording;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record/replay settings ({@code adapter.recording}).
+ */
+@Data
+public class RecordingConfig {
+
+    /**
+     * What the protocol handler decorator does.
+     */
+    public enum Mode {
+        /** Handlers are not decorated. */
+        OFF,
+        /** Calls go downstream; responses and latencies are appended to the recording. */
+        RECORD,
+        /** Calls are answered from the recording without any network access. */
+        REPLAY
+    }
+
+    /**
+     * What replay does for a request that was never recorded.
+     */
+    public enum MissPolicy {
+        /** Answer with a REPLAY_MISS error response. */
+        ERROR,
+        /** Call the real handler. */
+        PASSTHROUGH
+    }
+
+    private Mode mode = Mode.OFF;
+    private String directory = "recordings";
+
+    /** Replay waits for the recorded latency multiplied by this factor; 0 answers immediately. */
+    private double latencyScale = 1.0;
+
+    private MissPolicy onMiss = MissPolicy.ERROR;
+
+    /** Top-level request fields left out of the request key, e.g. client-generated ids. */
+    private List<String> ignoredFields = new ArrayList<>();
+}
@@ -0,0 +1,266 @@
+package org.adcb.adapter.spi.recording;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read side of a recording: a memory-mapped index sorted by request key hash, pointing into
+ * the append-only data file.
+ *
+ * <p>Index file layout ({@value #INDEX_FILE}): a header ({@code int} magic, {@code int} format
+ * version, {@code long} length of the data file it was built from, {@code long} entry count)
+ * followed by {@code (long keyHash, long recordOffset)} entries sorted by hash, then offset.
+ * Lookups binary-search the mapped entries and read only the matching record with a
+ * positional read, so opening is O(1) in the number of recordings and concurrent lookups
+ * never contend. When a key was recorded more than once, the latest recording wins.
+ *
+ * <p>The index is rebuilt on open if it is missing or was built from a shorter data file.
+ */
+@Slf4j
+final class RecordingIndex implements Closeable {
+
+    static final String DATA_FILE = "recordings.dat";
+    static final String INDEX_FILE = "recordings.idx";
+    static final int DATA_MAGIC = 0x41445243;  // "ADRC"
+    static final int INDEX_MAGIC = 0x41445249; // "ADRI"
+    static final int FORMAT_VERSION = 1;
+    static final int DATA_HEADER_BYTES = 8;
+    static final int INDEX_HEADER_BYTES = 24;
+    private static final int ENTRY_BYTES = 16;
+
+    private final FileChannel data;
+    private final MappedByteBuffer index;
+    private final long entries;
+
+    private RecordingIndex(FileChannel data, MappedByteBuffer index, long entries) {
+        this.data = data;
+        this.index = index;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens the recording in {@code directory}, (re)building its index when needed.
+     */
+    static RecordingIndex open(Path directory) throws IOException {
+        Path dataFile = directory.resolve(DATA_FILE);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (!Files.exists(dataFile)) {
+            throw new IOException("No recording found in " + directory.toAbsolutePath());
+        }
+        if (!isCurrent(indexFile, Files.size(dataFile))) {
+            build(directory);
+        }
+        FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ);
+        try (FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            long entries = index.getLong(16);
+            log.info("Opened recording {} with {} entries", directory.toAbsolutePath(), entries);
+            return new RecordingIndex(data, index, entries);
+        }
+    }
+
+    long size() {
+        return entries;
+    }
+
+    /**
+     * Latest recording for {@code key}, or {@code null} if it was never recorded.
+     */
+    Recording find(byte[] key) throws IOException {
+        long hash = RequestKeys.hash(key);
+        long last = upperBound(hash) - 1;
+        for (long i = last; i >= 0 && hashAt(i) == hash; i--) {
+            Recording recording = read(offsetAt(i), key);
+            if (recording != null) {
+                return recording;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    private long upperBound(long hash) {
+        long lo = 0;
+        long hi = entries;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (hashAt(mid) <= hash) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private long hashAt(long entry) {
+        return index.getLong(Math.toIntExact(INDEX_HEADER_BYTES + entry * ENTRY_BYTES));
+    }
+
+    private long offsetAt(long entry) {
+        return index.getLong(Math.toIntExact(INDEX_HEADER_BYTES + entry * ENTRY_BYTES + 8));
+    }
+
+    private Recording read(long offset, byte[] key) throws IOException {
+        ByteBuffer length = readAt(offset, 4);
+        ByteBuffer record = readAt(offset + 4, length.getInt());
+        record.getLong(); // hash
+        int latencyMicros = record.getInt();
+        byte type = record.get();
+        int keyLength = record.getInt();
+        if (keyLength != key.length) {
+            return null;
+        }
+        byte[] storedKey = new byte[keyLength];
+        record.get(storedKey);
+        if (!Arrays.equals(storedKey, key)) {
+            return null;
+        }
+        byte[] payload = new byte[record.remaining()];
+        record.get(payload);
+        return new Recording(latencyMicros, type, payload);
+    }
+
+    private ByteBuffer readAt(long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated recording at offset " + position);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static boolean isCurrent(Path indexFile, long dataLength) throws IOException {
+        if (!Files.exists(indexFile) || Files.size(indexFile) < INDEX_HEADER_BYTES) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            return in.readInt() == INDEX_MAGIC && in.readInt() == FORMAT_VERSION && in.readLong() == dataLength;
+        }
+    }
+
+    /**
+     * Scans the data file and writes a fresh sorted index next to it.
+     */
+    static void build(Path directory) throws IOException {
+        Path dataFile = directory.resolve(DATA_FILE);
+        long dataLength = Files.size(dataFile);
+        long[] hashes = new long[1024];
+        long[] offsets = new long[1024];
+        int count = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(dataFile), 1 << 16))) {
+            if (in.readInt() != DATA_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a recording file: " + dataFile);
+            }
+            long offset = DATA_HEADER_BYTES;
+            while (offset + 4 <= dataLength) {
+                int length = in.readInt();
+                if (offset + 4 + length > dataLength) {
+                    log.warn("Ignoring truncated record at offset {} of {}", offset, dataFile);
+                    break;
+                }
+                long hash = in.readLong();
+                in.skipNBytes(length - 8);
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                hashes[count] = hash;
+                offsets[count] = offset;
+                count++;
+                offset += 4 + length;
+            }
+        }
+
+        sort(hashes, offsets, 0, count - 1);
+
+        Path indexFile = directory.resolve(INDEX_FILE);
+        Path tmp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(dataLength);
+            out.writeLong(count);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(hashes[i]);
+                out.writeLong(offsets[i]);
+            }
+        }
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Indexed {} recordings in {}", count, directory.toAbsolutePath());
+    }
+
+    /**
+     * Sorts the parallel arrays by (hash, offset) in place, without boxing.
+     */
+    private static void sort(long[] hashes, long[] offsets, int lo, int hi) {
+        while (lo < hi) {
+            if (hi - lo < 16) {
+                for (int i = lo + 1; i <= hi; i++) {
+                    for (int j = i; j > lo && compare(hashes, offsets, j - 1, j) > 0; j--) {
+                        swap(hashes, offsets, j - 1, j);
+                    }
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            swap(hashes, offsets, mid, hi);
+            int store = lo;
+            for (int i = lo; i < hi; i++) {
+                if (compare(hashes, offsets, i, hi) < 0) {
+                    swap(hashes, offsets, i, store++);
+                }
+            }
+            swap(hashes, offsets, store, hi);
+            // Recurse into the smaller side to bound stack depth
+            if (store - lo < hi - store) {
+                sort(hashes, offsets, lo, store - 1);
+                lo = store + 1;
+            } else {
+                sort(hashes, offsets, store + 1, hi);
+                hi = store - 1;
+            }
+        }
+    }
+
+    private static int compare(long[] hashes, long[] offsets, int a, int b) {
+        int byHash = Long.compare(hashes[a], hashes[b]);
+        return byHash != 0 ? byHash : Long.compare(offsets[a], offsets[b]);
+    }
+
+    private static void swap(long[] hashes, long[] offsets, int a, int b) {
+        long hash = hashes[a];
+        hashes[a] = hashes[b];
+        hashes[b] = hash;
+        long offset = offsets[a];
+        offsets[a] = offsets[b];
+        offsets[b] = offset;
+    }
+
+    /**
+     * One recorded call.
+     */
+    record Recording(int latencyMicros, byte type, byte[] payload) {
+    }
+}
@@ -0,0 +1,75 @@
+package org.adcb.adapter.spi.recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends recorded calls to the data file of a recording directory.
+ *
+ * <p>Data file layout ({@value RecordingIndex#DATA_FILE}): a header ({@code int} magic,
+ * {@code int} format version) followed by records of
+ * <pre>
+ *   int length        - bytes following this field
+ *   long keyHash      - 64-bit hash of the request key
+ *   int latencyMicros - observed downstream latency
+ *   byte type         - result type tag
+ *   int keyLength
+ *   byte[] key        - service name and canonical request
+ *   byte[] payload    - encoded handler result (rest of the record)
+ * </pre>
+ * Records are only ever appended, so an interrupted recording loses at most the record
+ * being written. The sorted index is rebuilt when the writer is closed.
+ */
+final class RecordingWriter implements Closeable {
+
+    static final int RECORD_FIXED_BYTES = 8 + 4 + 1 + 4;
+
+    private final Path directory;
+    private final FileChannel channel;
+
+    RecordingWriter(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(RecordingIndex.DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(RecordingIndex.DATA_HEADER_BYTES)
+                    .putInt(RecordingIndex.DATA_MAGIC)
+                    .putInt(RecordingIndex.FORMAT_VERSION)
+                    .flip();
+            writeFully(header);
+        }
+    }
+
+    synchronized void append(byte[] key, int latencyMicros, byte type, byte[] payload) throws IOException {
+        int length = RECORD_FIXED_BYTES + key.length + payload.length;
+        ByteBuffer record = ByteBuffer.allocate(4 + length)
+                .putInt(length)
+                .putLong(RequestKeys.hash(key))
+                .putInt(latencyMicros)
+                .put(type)
+                .putInt(key.length)
+                .put(key)
+                .put(payload)
+                .flip();
+        writeFully(record);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+        RecordingIndex.build(directory);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.adcb.adapter.spi.recording;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.context.TemplateContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Builds the lookup key of a recorded call: service name plus the canonical request.
+ *
+ * <p>The canonical form is JSON with map keys sorted at every level, taken from the caller's
+ * data only (per-invocation system values such as the correlation id or timestamps are not
+ * part of it), with the configured top-level fields removed. Equal requests therefore map
+ * to the same key regardless of map ordering or invocation.
+ */
+final class RequestKeys {
+
+    private static final ObjectMapper CANONICAL = AdapterCodecs.json().copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final Set<String> ignoredFields;
+
+    RequestKeys(Set<String> ignoredFields) {
+        this.ignoredFields = ignoredFields;
+    }
+
+    byte[] key(String serviceName, Object request) {
+        String canonical;
+        try {
+            canonical = request instanceof String text ? text : CANONICAL.writeValueAsString(strip(request));
+        } catch (JsonProcessingException e) {
+            canonical = String.valueOf(request);
+        }
+        return (serviceName + '\u0000' + canonical).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Object strip(Object request) {
+        Object data = request instanceof TemplateContext context ? context.getData() : request;
+        if (!(data instanceof Map<?, ?> map) || ignoredFields.isEmpty()) {
+            return data;
+        }
+        Map<Object, Object> copy = new TreeMap<>();
+        map.forEach((k, v) -> {
+            if (!ignoredFields.contains(String.valueOf(k))) {
+                copy.put(String.valueOf(k), v);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a key.
+     */
+    static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,197 @@
+package org.adcb.adapter.spi.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.Callable;
+
+/**
+ * OpenTelemetry spans for the invocation pipeline.
+ *
+ * <p>The gateway {@link #install installs} an OpenTelemetry instance at startup when
+ * {@code adapter.tracing.enabled} is set. Until then every method is a no-op that returns the
+ * shared invalid span or a no-op scope, so handlers call them unconditionally at no cost.
+ *
+ * <p>One invocation produces these spans:
+ * <ul>
+ *   <li>{@value #INVOKE} - the gateway invocation, including all retry attempts</li>
+ *   <li>{@value #TEMPLATE} - request template rendering</li>
+ *   <li>{@value #AUTH} - applying the service's authentication strategy</li>
+ *   <li>{@value #DOWNSTREAM} - the downstream HTTP call; its context is sent as W3C
+ *       {@code traceparent} in the outbound headers</li>
+ *   <li>{@value #TRANSFORM} - response parsing, mapping and templating</li>
+ * </ul>
+ *
+ * <p>Spans are parented on {@link Context#current()}. Code that hands an invocation to another
+ * thread (a Reactor scheduler, a virtual thread, an executor) captures the context first and
+ * runs the work under {@link #activate(Context)} or {@link #wrap}; scopes are closed on the
+ * thread that opened them, so no context outlives the work it was made current for.
+ *
+ * @since 1.0
+ */
+public final class AdapterTracing {
+
+    public static final String INSTRUMENTATION_NAME = "org.adcb.adapter";
+
+    public static final String INVOKE = "adapter.invoke";
+    public static final String TEMPLATE = "adapter.template";
+    public static final String AUTH = "adapter.auth";
+    public static final String DOWNSTREAM = "adapter.downstream";
+    public static final String TRANSFORM = "adapter.transform";
+
+    public static final AttributeKey<String> SERVICE = AttributeKey.stringKey("adapter.service");
+    public static final AttributeKey<String> PROTOCOL = AttributeKey.stringKey("adapter.protocol");
+    public static final AttributeKey<String> CORRELATION_ID = AttributeKey.stringKey("adapter.correlation_id");
+    public static final AttributeKey<Long> RETRIES = AttributeKey.longKey("adapter.retries");
+    public static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("adapter.outcome");
+    public static final AttributeKey<String> AUTH_TYPE = AttributeKey.stringKey("adapter.auth.type");
+    public static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.request.method");
+    public static final AttributeKey<Long> HTTP_STATUS = AttributeKey.longKey("http.response.status_code");
+
+    private static final TextMapSetter<HttpHeaders> SETTER = (headers, key, value) -> {
+        if (headers != null) {
+            headers.set(key, value);
+        }
+    };
+
+    private static final TextMapGetter<HttpHeaders> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(HttpHeaders headers) {
+            return headers.keySet();
+        }
+
+        @Override
+        public String get(HttpHeaders headers, String key) {
+            return headers != null ? headers.getFirst(key) : null;
+        }
+    };
+
+    private static volatile Tracer tracer;
+    private static volatile TextMapPropagator propagator = W3CTraceContextPropagator.getInstance();
+
+    private AdapterTracing() {
+    }
+
+    /**
+     * Starts creating spans with {@code openTelemetry}'s tracer and propagating its context format.
+     */
+    public static void install(OpenTelemetry openTelemetry) {
+        propagator = openTelemetry.getPropagators().getTextMapPropagator();
+        tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    /**
+     * Stops creating spans; spans already started still end normally.
+     */
+    public static void uninstall() {
+        tracer = null;
+        propagator = W3CTraceContextPropagator.getInstance();
+    }
+
+    public static boolean isEnabled() {
+        return tracer != null;
+    }
+
+    /**
+     * Starts an internal span for {@code serviceName} as a child of the current context.
+     */
+    public static Span startSpan(String name, String serviceName) {
+        return startSpan(name, SpanKind.INTERNAL, serviceName);
+    }
+
+    /**
+     * Starts a span for {@code serviceName} as a child of the current context, or returns the
+     * invalid span when tracing is off.
+     */
+    public static Span startSpan(String name, SpanKind kind, String serviceName) {
+        Tracer t = tracer;
+        if (t == null) {
+            return Span.getInvalid();
+        }
+        return t.spanBuilder(name)
+                .setSpanKind(kind)
+                .setAttribute(SERVICE, serviceName)
+                .startSpan();
+    }
+
+    /**
+     * Makes {@code span} current on this thread; close the scope on the same thread.
+     */
+    public static Scope activate(Span span) {
+        return span.getSpanContext().isValid() ? span.makeCurrent() : Scope.noop();
+    }
+
+    /**
+     * Makes a captured context current on this thread, e.g. on the scheduler thread that runs
+     * a handler attempt; {@code null} (nothing captured) yields a no-op scope.
+     */
+    public static Scope activate(Context context) {
+        return context != null ? context.makeCurrent() : Scope.noop();
+    }
+
+    /**
+     * The current context with {@code span} added, for handing to another thread; {@code null}
+     * when the span is not traced.
+     */
+    public static Context capture(Span span) {
+        return span.getSpanContext().isValid() ? Context.current().with(span) : null;
+    }
+
+    /**
+     * Ends {@code span}, marking it failed when {@code failure} is set.
+     */
+    public static void end(Span span, Throwable failure) {
+        if (failure != null && span.isRecording()) {
+            span.recordException(failure);
+            span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+
+    /**
+     * Writes {@code span}'s context into outbound {@code headers} ({@code traceparent} and, when
+     * present, {@code tracestate}).
+     */
+    public static void inject(Span span, HttpHeaders headers) {
+        if (span.getSpanContext().isValid()) {
+            propagator.inject(Context.current().with(span), headers, SETTER);
+        }
+    }
+
+    /**
+     * Reads the caller's trace context from inbound {@code headers}; {@code null} when tracing
+     * is off or the caller sent none.
+     */
+    public static Context extract(HttpHeaders headers) {
+        if (tracer == null || headers == null) {
+            return null;
+        }
+        Context context = propagator.extract(Context.root(), headers, GETTER);
+        return Span.fromContext(context).getSpanContext().isValid() ? context : null;
+    }
+
+    /**
+     * Runs {@code task} under the current context on whichever thread executes it.
+     */
+    public static Runnable wrap(Runnable task) {
+        return tracer != null ? Context.current().wrap(task) : task;
+    }
+
+    /**
+     * Calls {@code task} under the current context on whichever thread executes it.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        return tracer != null ? Context.current().wrap(task) : task;
+    }
+}
@@ -0,0 +1,192 @@
+package org.adcb.adapter.spi.recording;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.commons.StandardResponse;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.commons.codec.RawJsonPayload;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.spi.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recording and replaying handler results: data file and index format, key canonicalization
+ * and the decorator in both modes. Lives in the recording package for its package-private types.
+ */
+class RecordReplayTest {
+
+    private final RequestKeys keys = new RequestKeys(Set.of("requestId"));
+
+    @Test
+    void testRecordThenReplay_returnsWhatTheHandlerReturned(@TempDir Path dir) throws Exception {
+        JsonNode tree = AdapterCodecs.json().readTree("{\"id\":7,\"tags\":[\"a\",\"b\"]}");
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("text", "plain body");
+        results.put("raw", RawJsonPayload.trusted("{\"balance\":12.5}"));
+        results.put("tree", tree);
+        results.put("value", Map.of("status", "OK", "items", List.of(1, 2)));
+        results.put("response", StandardResponse.success(Map.of("ok", true)));
+        results.put("none", null);
+        AtomicInteger calls = new AtomicInteger();
+        ProtocolHandler real = (config, request) -> {
+            calls.incrementAndGet();
+            return results.get(((Map<?, ?>) request).get("kind"));
+        };
+
+        RecordingWriter writer = new RecordingWriter(dir);
+        RecordReplayProtocolHandler recorder = new RecordReplayProtocolHandler("REST_JSON", real,
+                config(RecordingConfig.Mode.RECORD), keys, writer, null);
+        for (String kind : results.keySet()) {
+            assertSame(results.get(kind), recorder.execute(service("accounts"), Map.of("kind", kind)));
+        }
+        writer.close();
+
+        try (RecordingIndex index = RecordingIndex.open(dir)) {
+            assertEquals(results.size(), index.size());
+            RecordReplayProtocolHandler replayer = new RecordReplayProtocolHandler("REST_JSON", real,
+                    config(RecordingConfig.Mode.REPLAY), keys, null, index);
+            calls.set(0);
+
+            assertEquals("plain body", replayer.execute(service("accounts"), Map.of("kind", "text")));
+            Object raw = replayer.execute(service("accounts"), Map.of("kind", "raw"));
+            assertEquals("{\"balance\":12.5}", assertInstanceOf(RawJsonPayload.class, raw).getJson());
+            assertEquals(tree, replayer.execute(service("accounts"), Map.of("kind", "tree")));
+            assertEquals(results.get("value"), replayer.execute(service("accounts"), Map.of("kind", "value")));
+            StandardResponse<?> response = assertInstanceOf(StandardResponse.class,
+                    replayer.execute(service("accounts"), Map.of("kind", "response")));
+            assertTrue(response.isSuccess());
+            assertEquals(Map.of("ok", true), response.getPayload());
+            assertNull(replayer.execute(service("accounts"), Map.of("kind", "none")));
+            assertEquals(0, calls.get());
+        }
+    }
+
+    @Test
+    void testFind_sortedIndexFindsEveryKeyAndLatestRecordingWins(@TempDir Path dir) throws Exception {
+        int count = 2_000;
+        try (RecordingWriter writer = new RecordingWriter(dir)) {
+            for (int i = 0; i < count; i++) {
+                writer.append(key("request-" + i), i, RecordedResults.TEXT, bytes("first-" + i));
+            }
+            // Re-recorded keys, written after everything else
+            for (int i = 0; i < count; i += 100) {
+                writer.append(key("request-" + i), i, RecordedResults.TEXT, bytes("latest-" + i));
+            }
+        }
+
+        try (RecordingIndex index = RecordingIndex.open(dir)) {
+            assertEquals(count + count / 100, index.size());
+            for (int i = 0; i < count; i++) {
+                RecordingIndex.Recording recording = index.find(key("request-" + i));
+                assertNotNull(recording, "request-" + i);
+                assertEquals(i, recording.latencyMicros());
+                assertEquals((i % 100 == 0 ? "latest-" : "first-") + i, new String(recording.payload(), StandardCharsets.UTF_8));
+            }
+            assertNull(index.find(key("never-recorded")));
+            assertNull(index.find(keys.key("cards", "request-1")));
+        }
+    }
+
+    @Test
+    void testOpen_ignoresTruncatedTrailingRecordAndRebuildsStaleIndex(@TempDir Path dir) throws Exception {
+        try (RecordingWriter writer = new RecordingWriter(dir)) {
+            writer.append(key("a"), 1, RecordedResults.TEXT, bytes("A"));
+            writer.append(key("b"), 2, RecordedResults.TEXT, bytes("B"));
+        }
+        // A recording interrupted mid-record: length prefix and part of the record only
+        Files.write(dir.resolve(RecordingIndex.DATA_FILE), new byte[]{0, 0, 0, 64, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (RecordingIndex index = RecordingIndex.open(dir)) {
+            assertEquals(2, index.size());
+            assertEquals("B", new String(index.find(key("b")).payload(), StandardCharsets.UTF_8));
+        }
+
+        // Appending to the recording again makes the index stale; it is rebuilt on open
+        try (RecordingWriter writer = new RecordingWriter(dir)) {
+            writer.append(key("c"), 3, RecordedResults.TEXT, bytes("C"));
+        }
+        try (RecordingIndex index = RecordingIndex.open(dir)) {
+            assertEquals("A", new String(index.find(key("a")).payload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testKey_isCanonicalAcrossOrderingContextAndIgnoredFields() {
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("amount", 10);
+        ordered.put("account", new LinkedHashMap<>(Map.of("id", "A-1", "branch", "DXB")));
+        ordered.put("requestId", "r-1");
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("requestId", "r-2");
+        Map<String, Object> account = new LinkedHashMap<>();
+        account.put("branch", "DXB");
+        account.put("id", "A-1");
+        reversed.put("account", account);
+        reversed.put("amount", 10);
+
+        byte[] key = keys.key("accounts", ordered);
+        assertArrayEquals(key, keys.key("accounts", reversed));
+        // Per-invocation system values are not part of the key
+        assertArrayEquals(key, keys.key("accounts", TemplateContext.of(reversed).withSystem("correlationId", "c-1")));
+        assertEquals("accounts\u0000{\"account\":{\"branch\":\"DXB\",\"id\":\"A-1\"},\"amount\":10}",
+                new String(key, StandardCharsets.UTF_8));
+        assertFalse(Arrays.equals(key, keys.key("cards", ordered)));
+        assertFalse(Arrays.equals(key, keys.key("accounts", Map.of("amount", 11))));
+        assertEquals(RequestKeys.hash(key), RequestKeys.hash(keys.key("accounts", reversed)));
+    }
+
+    @Test
+    void testReplay_missAnswersWithErrorOrPassesThrough(@TempDir Path dir) throws Exception {
+        new RecordingWriter(dir).close();
+        try (RecordingIndex index = RecordingIndex.open(dir)) {
+            ProtocolHandler real = (config, request) -> "live";
+
+            StandardResponse<?> miss = assertInstanceOf(StandardResponse.class, new RecordReplayProtocolHandler(
+                    "REST_JSON", real, config(RecordingConfig.Mode.REPLAY), keys, null, index)
+                    .execute(service("accounts"), Map.of("id", 1)));
+            assertFalse(miss.isSuccess());
+            assertEquals("REPLAY_MISS", miss.getError().getErrorCode());
+
+            RecordingConfig passthrough = config(RecordingConfig.Mode.REPLAY);
+            passthrough.setOnMiss(RecordingConfig.MissPolicy.PASSTHROUGH);
+            assertEquals("live", new RecordReplayProtocolHandler("REST_JSON", real, passthrough, keys, null, index)
+                    .execute(service("accounts"), Map.of("id", 1)));
+        }
+    }
+
+    private byte[] key(String request) {
+        return keys.key("accounts", request);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static RecordingConfig config(RecordingConfig.Mode mode) {
+        RecordingConfig config = new RecordingConfig();
+        config.setMode(mode);
+        config.setLatencyScale(0);
+        return config;
+    }
+
+    private static ServiceMetadata service(String name) {
+        ServiceMetadata service = new ServiceMetadata();
+        service.setServiceName(name);
+        service.setProtocol("REST_JSON");
+        return service;
+    }
+}
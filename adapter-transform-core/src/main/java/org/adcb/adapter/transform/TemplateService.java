@@ -2,6 +2,9 @@ package org.adcb.adapter.transform;
 
 import org.adcb.adapter.transform.exception.TemplateProcessingException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -41,6 +44,25 @@ public interface TemplateService {
     String processInline(String templateContent, Map<String, Object> context, String templateName)
             throws TemplateProcessingException;
 
+    /**
+     * Processes a template and writes the result as UTF-8 straight into {@code out},
+     * e.g. an outbound network buffer, without building an intermediate String where
+     * the implementation can avoid it.
+     *
+     * @param templatePath relative path to template file
+     * @param context data model for variable substitution
+     * @param out destination for the UTF-8 encoded result
+     * @throws TemplateProcessingException if template processing or writing fails
+     */
+    default void processTo(String templatePath, Map<String, Object> context, OutputStream out)
+            throws TemplateProcessingException {
+        try {
+            out.write(process(templatePath, context).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new TemplateProcessingException("Failed to write rendered template '" + templatePath + "'", e);
+        }
+    }
+
     /**
      * Validates template syntax without processing.
      *
@@ -49,6 +71,15 @@ public interface TemplateService {
      */
     boolean validateTemplate(String templateContent);
 
+    /**
+     * Loads and compiles one template ahead of its first use, e.g. during startup warm-up.
+     *
+     * @param templatePath relative path to template file
+     * @throws TemplateProcessingException if the template cannot be loaded or compiled
+     */
+    default void preload(String templatePath) throws TemplateProcessingException {
+    }
+
     /**
      * Preloads and validates all templates from configured directory.
      * Called during application startup.
@@ -61,4 +92,14 @@ public interface TemplateService {
      * Clears template cache. Useful for development/testing.
      */
     void clearCache();
+
+    /**
+     * Drops one template from the cache so its next use reloads and recompiles it,
+     * e.g. after a service's configuration was reloaded.
+     *
+     * @param templatePath relative path to template file
+     */
+    default void evict(String templatePath) {
+        clearCache();
+    }
 }
@@ -0,0 +1,54 @@
+package org.adcb.adapter.transform;
+
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects the {@link TemplateService} a service renders its templates with.
+ *
+ * <p>Driven by {@code ServiceMetadata.templateEngine}:
+ * <ul>
+ *   <li>{@code SUBSTITUTION} (default when not set) - templates made only of {@code ${path}}
+ *       and {@code ${path!default}} slots take the compiled fast path with output identical
+ *       to Freemarker's, everything else renders with Freemarker</li>
+ *   <li>{@code FREEMARKER} - interpreted Freemarker templates only</li>
+ *   <li>{@code COMPILED} - {@link CompiledTemplateService}, falling back to Freemarker
+ *       for templates outside the compiled subset</li>
+ * </ul>
+ *
+ * <p>{@code COMPILED} is opt-in because its output is not byte-identical to Freemarker's
+ * (see {@link org.adcb.adapter.transform.compiled.CompiledTemplate}).
+ */
+@Component
+public class TemplateServiceResolver {
+
+    public static final String FREEMARKER = "FREEMARKER";
+    public static final String COMPILED = "COMPILED";
+    public static final String SUBSTITUTION = "SUBSTITUTION";
+
+    private final FreemarkerTemplateService freemarkerTemplateService;
+    private final CompiledTemplateService compiledTemplateService;
+
+    public TemplateServiceResolver(FreemarkerTemplateService freemarkerTemplateService,
+                                   CompiledTemplateService compiledTemplateService) {
+        this.freemarkerTemplateService = freemarkerTemplateService;
+        this.compiledTemplateService = compiledTemplateService;
+    }
+
+    public TemplateService resolve(ServiceMetadata config) {
+        String engine = config.getTemplateEngine();
+        if (engine == null || SUBSTITUTION.equalsIgnoreCase(engine)) {
+            return compiledTemplateService.substitutionOnly();
+        }
+        if (FREEMARKER.equalsIgnoreCase(engine)) {
+            return freemarkerTemplateService;
+        }
+        if (COMPILED.equalsIgnoreCase(engine)) {
+            return compiledTemplateService;
+        }
+        throw new IllegalArgumentException("Unknown template engine '" + engine
+                + "' for service: " + config.getServiceName());
+    }
+}
@@ -0,0 +1,89 @@
+package org.adcb.adapter.transform.buffer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sizes I/O buffers from the request and response sizes each service has actually produced.
+ *
+ * <p>Handlers record the byte size of every outbound request body and downstream response;
+ * the manager keeps an exponentially weighted moving average per service and hands out
+ * buffers pre-sized to it (plus headroom), so a 40 KB SOAP envelope is written into one
+ * buffer instead of growing from a small default through repeated copies.
+ *
+ * <p>Outbound buffers are heap {@link DataBuffer}s that the transport consumes directly;
+ * they need no explicit release, so a request abandoned before it is written cannot leak.
+ *
+ * @since 1.0
+ */
+@Component
+public class AdaptiveBufferManager {
+
+    static final int MIN_BUFFER_SIZE = 512;
+    static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final Map<String, SizeStats> requestSizes = new ConcurrentHashMap<>();
+    private final Map<String, SizeStats> responseSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Allocates a buffer for a service's outbound request body, sized from past requests.
+     */
+    public DataBuffer allocateRequestBuffer(String serviceName) {
+        return bufferFactory.allocateBuffer(expectedRequestSize(serviceName));
+    }
+
+    public int expectedRequestSize(String serviceName) {
+        return expected(requestSizes.get(serviceName));
+    }
+
+    public int expectedResponseSize(String serviceName) {
+        return expected(responseSizes.get(serviceName));
+    }
+
+    public void recordRequestSize(String serviceName, int bytes) {
+        requestSizes.computeIfAbsent(serviceName, k -> new SizeStats()).record(bytes);
+    }
+
+    public void recordResponseSize(String serviceName, int bytes) {
+        responseSizes.computeIfAbsent(serviceName, k -> new SizeStats()).record(bytes);
+    }
+
+    /**
+     * Drops the statistics for a service, e.g. after its templates changed.
+     */
+    public void reset(String serviceName) {
+        requestSizes.remove(serviceName);
+        responseSizes.remove(serviceName);
+    }
+
+    private static int expected(SizeStats stats) {
+        if (stats == null) {
+            return MIN_BUFFER_SIZE;
+        }
+        // 25% headroom over the moving average, and never below the largest recent sample's half
+        long size = Math.max(stats.average + (stats.average >> 2), stats.recentMax >> 1);
+        return (int) Math.min(MAX_BUFFER_SIZE, Math.max(MIN_BUFFER_SIZE, size));
+    }
+
+    /**
+     * Moving average of observed sizes. Updates race benignly; the value is only a hint.
+     */
+    private static final class SizeStats {
+        private volatile long average;
+        private volatile long recentMax;
+
+        void record(int bytes) {
+            long current = average;
+            average = current == 0 ? bytes : current + ((bytes - current) >> 3);
+            long max = recentMax;
+            // Decay the max slowly so one outlier doesn't pin large buffers forever
+            recentMax = bytes >= max ? bytes : max - ((max - bytes) >> 5);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.adcb.adapter.transform.buffer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Thread-confined UTF-8 {@link Writer} onto a caller-supplied {@link OutputStream}.
+ *
+ * <p>Keeps one buffered encoder per thread and points it at a new stream on each
+ * {@link #acquire(OutputStream)}, instead of allocating a {@code BufferedWriter} and
+ * {@code OutputStreamWriter} (and their char and byte buffers) per render. Call
+ * {@link #flush()} once the output is complete and {@link #release()} in a finally block;
+ * release detaches the stream and discards anything written but not flushed, so a failed
+ * render does not leak into the next one. Re-entrant use on the same thread gets a
+ * temporary writer instead.
+ */
+public final class ReusableStreamWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<ReusableStreamWriter> WRITERS = ThreadLocal.withInitial(ReusableStreamWriter::new);
+
+    private final Target target = new Target();
+    private final Writer encoder = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+    private boolean inUse;
+
+    private ReusableStreamWriter() {
+    }
+
+    public static ReusableStreamWriter acquire(OutputStream out) {
+        ReusableStreamWriter writer = WRITERS.get();
+        if (writer.inUse) {
+            writer = new ReusableStreamWriter();
+        }
+        writer.inUse = true;
+        writer.target.out = out;
+        return writer;
+    }
+
+    /**
+     * Detaches the stream and returns the writer to its thread.
+     */
+    public void release() {
+        target.out = OutputStream.nullOutputStream();
+        try {
+            encoder.flush();
+        } catch (IOException e) {
+            // Unreachable with the null stream
+        }
+        target.out = null;
+        inUse = false;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        encoder.write(c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        encoder.write(chars, offset, length);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+        encoder.write(str, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encoder.flush();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Stream the encoder writes to; retargeted per use.
+     */
+    private static final class Target extends OutputStream {
+        private OutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+    }
+}
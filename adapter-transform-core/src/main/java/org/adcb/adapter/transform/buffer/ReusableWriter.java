@@ -0,0 +1,92 @@
+package org.adcb.adapter.transform.buffer;
+
+import java.io.Writer;
+
+/**
+ * Unsynchronized, thread-confined {@link Writer} over a reusable {@link StringBuilder}.
+ *
+ * <p>Replaces a fresh {@code StringWriter} (and its synchronized {@code StringBuffer}) per
+ * render. {@link #acquire(int)} hands out the calling thread's writer, pre-sized to the
+ * expected output; it must be given back with {@link #release()} once the result has been
+ * copied out. Re-entrant use on the same thread gets a temporary writer instead.
+ */
+public final class ReusableWriter extends Writer {
+
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+    private static final ThreadLocal<ReusableWriter> WRITERS = ThreadLocal.withInitial(() -> new ReusableWriter(1024));
+
+    private StringBuilder buffer;
+    private boolean inUse;
+
+    private ReusableWriter(int initialCapacity) {
+        this.buffer = new StringBuilder(initialCapacity);
+    }
+
+    /**
+     * @param expectedChars size hint; the buffer is grown up-front to avoid repeated copies
+     */
+    public static ReusableWriter acquire(int expectedChars) {
+        ReusableWriter writer = WRITERS.get();
+        if (writer.inUse) {
+            return new ReusableWriter(Math.max(expectedChars, 256));
+        }
+        writer.inUse = true;
+        writer.buffer.setLength(0);
+        writer.buffer.ensureCapacity(expectedChars);
+        return writer;
+    }
+
+    /**
+     * Returns the writer to its thread; oversized buffers are dropped rather than retained.
+     */
+    public void release() {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new StringBuilder(1024);
+        } else {
+            buffer.setLength(0);
+        }
+        inUse = false;
+    }
+
+    public int length() {
+        return buffer.length();
+    }
+
+    public CharSequence getContent() {
+        return buffer;
+    }
+
+    @Override
+    public void write(int c) {
+        buffer.append((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        buffer.append(chars, offset, length);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+        buffer.append(str, offset, offset + length);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) {
+        buffer.append(csq);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+}
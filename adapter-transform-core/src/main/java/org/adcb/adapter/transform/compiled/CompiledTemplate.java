@@ -0,0 +1,148 @@
+package org.adcb.adapter.transform.compiled;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A request template compiled by {@link TemplateCompiler}.
+ *
+ * <p>Instances are immutable and thread-safe. Rendering resolves each slot against the
+ * supplied context wrapped in a {@link TemplateContext}, so the system variables
+ * ({@code currentTimestamp}, {@code correlationId}, ...) are exactly the ones the Freemarker
+ * service exposes, and writes the result into the caller's {@link Utf8Output}.
+ *
+ * <p>Templates compiled with {@link TemplateCompiler#compileFreemarkerCompatible} render exactly
+ * as Freemarker would: values are inserted as-is and numbers use Freemarker's default
+ * {@code number_format} for the configured locale. A value whose Freemarker rendering is not
+ * plain text or a number (booleans, hashes, sequences, bean properties) raises
+ * {@link UnsupportedValueException} so the caller can render the template with Freemarker.
+ *
+ * <p>Otherwise output differs from Freemarker for the same template and data in these cases:
+ * <ul>
+ *   <li>numbers render as plain digits ({@code 1234567.5}), where Freemarker's default
+ *       {@code number_format} applies locale grouping ({@code 1,234,567.5})</li>
+ *   <li>values are escaped for the {@link EscapeMode} of the template, so a {@code .json}
+ *       template cannot splice a pre-serialized JSON fragment; Freemarker inserts values as-is</li>
+ * </ul>
+ * Conditions follow Freemarker: {@code <#if flag>} requires a boolean and fails on a missing
+ * or non-boolean value.
+ */
+public final class CompiledTemplate {
+
+    private final String name;
+    private final Segment[] segments;
+    private final EscapeMode escapeMode;
+    private final Locale numberLocale;
+    private final ThreadLocal<NumberFormat> numberFormat;
+    private final boolean substitutionOnly;
+    private final int literalBytes;
+
+    CompiledTemplate(String name, Segment[] segments, EscapeMode escapeMode, Locale numberLocale,
+                     boolean substitutionOnly, int literalBytes) {
+        this.name = name;
+        this.segments = segments;
+        this.escapeMode = escapeMode;
+        this.numberLocale = numberLocale;
+        // Same instance Freemarker's default "number" format builds; not thread-safe, hence per thread
+        this.numberFormat = numberLocale == null ? null
+                : ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(numberLocale));
+        this.substitutionOnly = substitutionOnly;
+        this.literalBytes = literalBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public EscapeMode getEscapeMode() {
+        return escapeMode;
+    }
+
+    /**
+     * @return true if values render exactly as Freemarker renders them
+     */
+    public boolean isFreemarkerCompatible() {
+        return numberLocale != null;
+    }
+
+    /**
+     * @return true if the template contains only literal text and {@code ${...}} slots
+     */
+    public boolean isSubstitutionOnly() {
+        return substitutionOnly;
+    }
+
+    /**
+     * @return number of pre-encoded literal bytes, a lower bound for the rendered size
+     */
+    public int getLiteralBytes() {
+        return literalBytes;
+    }
+
+    public void render(Map<String, Object> context, Utf8Output out) throws TemplateProcessingException {
+        // The invocation pipeline already passes a TemplateContext; of() returns it as-is
+        Map<String, Object> model = TemplateContext.of(context);
+        for (Segment segment : segments) {
+            segment.render(model, out, this);
+        }
+    }
+
+    Object resolve(Map<String, Object> context, String[] path) throws UnsupportedValueException {
+        Object current = context.get(path[0]);
+        for (int i = 1; i < path.length && current != null; i++) {
+            if (current instanceof Map<?, ?> map) {
+                current = map.get(path[i]);
+            } else if (current instanceof JsonNode node) {
+                current = node.get(path[i]);
+            } else if (isFreemarkerCompatible()) {
+                // Freemarker would read a bean property here
+                throw unsupported(String.join(".", path), current);
+            } else {
+                current = null;
+            }
+        }
+        return current instanceof JsonNode node ? scalarValue(node) : current;
+    }
+
+    /**
+     * Writes a slot value, formatted and escaped for this template.
+     */
+    void write(String expression, Object value, Utf8Output out) throws UnsupportedValueException {
+        out.writeEscaped(format(expression, value), escapeMode);
+    }
+
+    private CharSequence format(String expression, Object value) throws UnsupportedValueException {
+        if (value instanceof CharSequence cs) {
+            return cs;
+        }
+        if (!isFreemarkerCompatible()) {
+            return value instanceof BigDecimal bd ? bd.toPlainString() : String.valueOf(value);
+        }
+        if (value instanceof Number number) {
+            return numberFormat.get().format(number);
+        }
+        throw unsupported(expression, value);
+    }
+
+    private UnsupportedValueException unsupported(String expression, Object value) {
+        return new UnsupportedValueException(String.format(
+                "Template '%s' interpolates %s as a %s", name, expression, value.getClass().getSimpleName()));
+    }
+
+    /**
+     * Unwraps Jackson scalar nodes; containers stay as nodes and render as JSON text.
+     */
+    private static Object scalarValue(JsonNode node) {
+        if (node.isNull() || node.isMissingNode()) return null;
+        if (node.isTextual()) return node.textValue();
+        if (node.isNumber()) return node.numberValue();
+        if (node.isBoolean()) return node.booleanValue();
+        return node;
+    }
+}
@@ -0,0 +1,29 @@
+package org.adcb.adapter.transform.compiled;
+
+/**
+ * Output escaping applied to substituted values by compiled templates.
+ *
+ * <p>The mode is derived from the template name so that {@code .json} templates
+ * produce valid JSON string content and {@code .xml} templates produce
+ * well-formed character data regardless of the request values.
+ */
+public enum EscapeMode {
+    NONE, JSON, XML;
+
+    /**
+     * Resolves the escaping mode from a template file name or inline template name.
+     */
+    public static EscapeMode forTemplateName(String templateName) {
+        if (templateName == null) {
+            return NONE;
+        }
+        String name = templateName.toLowerCase();
+        if (name.endsWith(".json")) {
+            return JSON;
+        }
+        if (name.endsWith(".xml") || name.endsWith(".wsdl") || name.endsWith(".xsd")) {
+            return XML;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,125 @@
+package org.adcb.adapter.transform.compiled;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A node of a compiled template. Templates are compiled once into a flat array of
+ * these nodes; rendering walks the array and writes straight into a {@link Utf8Output}.
+ */
+interface Segment {
+
+    void render(Map<String, Object> context, Utf8Output out, CompiledTemplate template)
+            throws TemplateProcessingException;
+
+    /**
+     * Static template text, pre-encoded as UTF-8 at compile time.
+     */
+    final class Literal implements Segment {
+        final byte[] bytes;
+
+        Literal(String text) {
+            this.bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void render(Map<String, Object> context, Utf8Output out, CompiledTemplate template) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * A {@code ${a.b.c}} or {@code ${a.b.c!"default"}} interpolation.
+     */
+    final class Slot implements Segment {
+        final String expression;
+        final String[] path;
+        /** A String, or a BigDecimal for a numeric default so it is formatted like any number. */
+        final Object defaultValue;
+
+        Slot(String expression, String[] path, Object defaultValue) {
+            this.expression = expression;
+            this.path = path;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public void render(Map<String, Object> context, Utf8Output out, CompiledTemplate template)
+                throws TemplateProcessingException {
+            Object value = template.resolve(context, path);
+            if (value == null) {
+                if (defaultValue == null) {
+                    throw new TemplateProcessingException(
+                            "The following has evaluated to null or missing: ${" + expression + "}");
+                }
+                value = defaultValue;
+            }
+            template.write(expression, value, out);
+        }
+    }
+
+    /**
+     * An {@code <#if cond>...<#else>...</#if>} block over a single variable test.
+     */
+    final class Conditional implements Segment {
+        enum Test { EXISTS, HAS_CONTENT, TRUTHY }
+
+        final String[] path;
+        final Test test;
+        final boolean negated;
+        final Segment[] whenTrue;
+        final Segment[] whenFalse;
+
+        Conditional(String[] path, Test test, boolean negated, Segment[] whenTrue, Segment[] whenFalse) {
+            this.path = path;
+            this.test = test;
+            this.negated = negated;
+            this.whenTrue = whenTrue;
+            this.whenFalse = whenFalse;
+        }
+
+        @Override
+        public void render(Map<String, Object> context, Utf8Output out, CompiledTemplate template)
+                throws TemplateProcessingException {
+            Segment[] branch = evaluate(template.resolve(context, path)) != negated ? whenTrue : whenFalse;
+            for (Segment segment : branch) {
+                segment.render(context, out, template);
+            }
+        }
+
+        private boolean evaluate(Object value) throws TemplateProcessingException {
+            return switch (test) {
+                case EXISTS -> value != null;
+                case HAS_CONTENT -> hasContent(value);
+                case TRUTHY -> truthy(value);
+            };
+        }
+
+        /** Same rule as Freemarker: only a boolean is a condition, anything else is an error. */
+        private boolean truthy(Object value) throws TemplateProcessingException {
+            if (value instanceof Boolean b) {
+                return b;
+            }
+            String expression = String.join(".", path);
+            if (value == null) {
+                throw new TemplateProcessingException(
+                        "The following has evaluated to null or missing: " + expression);
+            }
+            throw new TemplateProcessingException(
+                    "Expected a boolean, but " + expression + " has evaluated to " + value.getClass().getSimpleName());
+        }
+
+        private static boolean hasContent(Object value) {
+            if (value == null) return false;
+            if (value instanceof CharSequence cs) return cs.length() > 0;
+            if (value instanceof Collection<?> c) return !c.isEmpty();
+            if (value instanceof Map<?, ?> m) return !m.isEmpty();
+            if (value instanceof JsonNode n) return n.size() > 0;
+            return true;
+        }
+    }
+}
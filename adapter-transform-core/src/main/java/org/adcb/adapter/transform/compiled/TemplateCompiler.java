@@ -0,0 +1,242 @@
+package org.adcb.adapter.transform.compiled;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the Freemarker subset used by request templates into a {@link CompiledTemplate}.
+ *
+ * <p>Supported syntax:
+ * <ul>
+ *   <li>{@code ${path}} and {@code ${path.nested.field}} interpolations</li>
+ *   <li>defaults: {@code ${path!}}, {@code ${path!"text"}}, {@code ${path!'text'}}, {@code ${path!42}}</li>
+ *   <li>{@code <#if path??>}, {@code <#if path?has_content>}, {@code <#if flag>} (optionally negated
+ *       with {@code !}), with an optional {@code <#else>}</li>
+ *   <li>comments {@code <#-- ... -->}</li>
+ * </ul>
+ *
+ * <p>Anything else (lists, assignments, built-ins, expressions, macros) raises
+ * {@link UnsupportedTemplateSyntaxException} so the caller can fall back to Freemarker.
+ */
+public final class TemplateCompiler {
+
+    private static final Pattern PATH = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private TemplateCompiler() {
+    }
+
+    public static CompiledTemplate compile(String name, String source) throws UnsupportedTemplateSyntaxException {
+        return compile(name, source, EscapeMode.forTemplateName(name));
+    }
+
+    public static CompiledTemplate compile(String name, String source, EscapeMode escapeMode)
+            throws UnsupportedTemplateSyntaxException {
+        return new Parser(name, source).parse(escapeMode, null);
+    }
+
+    /**
+     * Compiles a template whose output must be identical to Freemarker's: values are not
+     * escaped and numbers use Freemarker's default {@code number_format} for {@code locale}.
+     */
+    public static CompiledTemplate compileFreemarkerCompatible(String name, String source, Locale locale)
+            throws UnsupportedTemplateSyntaxException {
+        return new Parser(name, source).parse(EscapeMode.NONE, locale);
+    }
+
+    private static final class Frame {
+        final String[] path;
+        final Segment.Conditional.Test test;
+        final boolean negated;
+        final List<Segment> whenTrue = new ArrayList<>();
+        final List<Segment> whenFalse = new ArrayList<>();
+        boolean inElse;
+
+        Frame(String[] path, Segment.Conditional.Test test, boolean negated) {
+            this.path = path;
+            this.test = test;
+            this.negated = negated;
+        }
+
+        List<Segment> current() {
+            return inElse ? whenFalse : whenTrue;
+        }
+    }
+
+    private static final class Parser {
+        private final String name;
+        private final String src;
+        private final List<Segment> root = new ArrayList<>();
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private final StringBuilder literal = new StringBuilder();
+        private int literalBytes;
+        private boolean hasConditionals;
+
+        Parser(String name, String src) {
+            this.name = name;
+            this.src = src;
+        }
+
+        CompiledTemplate parse(EscapeMode escapeMode, Locale numberLocale) throws UnsupportedTemplateSyntaxException {
+            int i = 0;
+            int n = src.length();
+            while (i < n) {
+                if (src.startsWith("<#--", i)) {
+                    int end = src.indexOf("-->", i + 4);
+                    if (end < 0) throw unsupported("unterminated comment", i);
+                    i = end + 3;
+                } else if (src.startsWith("${", i)) {
+                    int end = expressionEnd(i + 2);
+                    emit(slot(src.substring(i + 2, end).trim(), i));
+                    i = end + 1;
+                } else if (src.startsWith("<#if", i) && i + 4 < n && Character.isWhitespace(src.charAt(i + 4))) {
+                    int end = src.indexOf('>', i);
+                    if (end < 0) throw unsupported("unterminated <#if>", i);
+                    flushLiteral();
+                    frames.push(condition(src.substring(i + 4, end).trim(), i));
+                    hasConditionals = true;
+                    i = end + 1;
+                } else if (src.startsWith("<#else>", i)) {
+                    Frame frame = frames.peek();
+                    if (frame == null || frame.inElse) throw unsupported("unexpected <#else>", i);
+                    flushLiteral();
+                    frame.inElse = true;
+                    i += "<#else>".length();
+                } else if (src.startsWith("</#if>", i)) {
+                    Frame frame = frames.poll();
+                    if (frame == null) throw unsupported("unexpected </#if>", i);
+                    flushLiteral(frame.current());
+                    emit(new Segment.Conditional(frame.path, frame.test, frame.negated,
+                            frame.whenTrue.toArray(Segment[]::new), frame.whenFalse.toArray(Segment[]::new)));
+                    i += "</#if>".length();
+                } else if (src.startsWith("<#", i) || src.startsWith("</#", i)
+                        || src.startsWith("<@", i) || src.startsWith("</@", i) || src.startsWith("#{", i)) {
+                    throw unsupported("directive or interpolation outside the compiled subset", i);
+                } else {
+                    literal.append(src.charAt(i++));
+                }
+            }
+            if (!frames.isEmpty()) {
+                throw unsupported("missing </#if>", n);
+            }
+            flushLiteral();
+            return new CompiledTemplate(name, root.toArray(Segment[]::new), escapeMode, numberLocale,
+                    !hasConditionals, literalBytes);
+        }
+
+        private List<Segment> target() {
+            Frame frame = frames.peek();
+            return frame != null ? frame.current() : root;
+        }
+
+        private void emit(Segment segment) {
+            flushLiteral();
+            target().add(segment);
+        }
+
+        private void flushLiteral() {
+            flushLiteral(target());
+        }
+
+        private void flushLiteral(List<Segment> into) {
+            if (literal.length() > 0) {
+                Segment.Literal segment = new Segment.Literal(literal.toString());
+                literalBytes += segment.bytes.length;
+                into.add(segment);
+                literal.setLength(0);
+            }
+        }
+
+        /** Finds the closing brace of an interpolation, skipping over quoted default values. */
+        private int expressionEnd(int from) throws UnsupportedTemplateSyntaxException {
+            char quote = 0;
+            for (int i = from; i < src.length(); i++) {
+                char c = src.charAt(i);
+                if (quote != 0) {
+                    if (c == '\\') i++;
+                    else if (c == quote) quote = 0;
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '}') {
+                    return i;
+                }
+            }
+            throw unsupported("unterminated interpolation", from);
+        }
+
+        private Segment slot(String expression, int pos) throws UnsupportedTemplateSyntaxException {
+            int bang = expression.indexOf('!');
+            String pathExpr = bang < 0 ? expression : expression.substring(0, bang).trim();
+            Object defaultValue = bang < 0 ? null : literalValue(expression.substring(bang + 1).trim(), pos);
+            return new Segment.Slot(expression, path(pathExpr, pos), defaultValue);
+        }
+
+        private Frame condition(String condition, int pos) throws UnsupportedTemplateSyntaxException {
+            boolean negated = condition.startsWith("!");
+            String expr = negated ? condition.substring(1).trim() : condition;
+            if (expr.endsWith("??")) {
+                return new Frame(path(expr.substring(0, expr.length() - 2), pos),
+                        Segment.Conditional.Test.EXISTS, negated);
+            }
+            if (expr.endsWith("?has_content")) {
+                return new Frame(path(expr.substring(0, expr.length() - "?has_content".length()), pos),
+                        Segment.Conditional.Test.HAS_CONTENT, negated);
+            }
+            return new Frame(path(expr, pos), Segment.Conditional.Test.TRUTHY, negated);
+        }
+
+        private String[] path(String expr, int pos) throws UnsupportedTemplateSyntaxException {
+            if (!PATH.matcher(expr).matches()) {
+                throw unsupported("expression '" + expr + "'", pos);
+            }
+            return expr.split("\\.");
+        }
+
+        private Object literalValue(String expr, int pos) throws UnsupportedTemplateSyntaxException {
+            if (expr.isEmpty()) {
+                return "";
+            }
+            if (NUMBER.matcher(expr).matches()) {
+                return new BigDecimal(expr);
+            }
+            char quote = expr.charAt(0);
+            if ((quote == '"' || quote == '\'') && expr.length() >= 2 && expr.charAt(expr.length() - 1) == quote) {
+                return unescape(expr.substring(1, expr.length() - 1), pos);
+            }
+            throw unsupported("default value '" + expr + "'", pos);
+        }
+
+        private String unescape(String s, int pos) throws UnsupportedTemplateSyntaxException {
+            if (s.indexOf('\\') < 0) {
+                return s;
+            }
+            StringBuilder sb = new StringBuilder(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c != '\\' || i + 1 == s.length()) {
+                    sb.append(c);
+                    continue;
+                }
+                char e = s.charAt(++i);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case '"', '\'', '\\', '$', '{' -> sb.append(e);
+                    default -> throw unsupported("escape sequence \\" + e, pos);
+                }
+            }
+            return sb.toString();
+        }
+
+        private UnsupportedTemplateSyntaxException unsupported(String what, int pos) {
+            return new UnsupportedTemplateSyntaxException(
+                    String.format("Template '%s' uses %s at offset %d", name, what, pos));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.adcb.adapter.transform.compiled;
+
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+
+/**
+ * Thrown by {@link TemplateCompiler} when a template uses syntax outside the compiled subset.
+ * Callers treat it as a signal to render the template with Freemarker instead.
+ */
+public class UnsupportedTemplateSyntaxException extends TemplateProcessingException {
+
+    public UnsupportedTemplateSyntaxException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package org.adcb.adapter.transform.compiled;
+
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+
+/**
+ * Thrown while rendering a Freemarker-compatible {@link CompiledTemplate} when a value would
+ * not render the way Freemarker renders it. Callers treat it as a signal to render the
+ * template with Freemarker instead.
+ */
+public class UnsupportedValueException extends TemplateProcessingException {
+
+    public UnsupportedValueException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,163 @@
+package org.adcb.adapter.transform.compiled;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 byte buffer that compiled templates render into.
+ *
+ * <p>Literal template fragments are pre-encoded, so rendering only encodes the
+ * substituted values, applying the requested {@link EscapeMode} while writing.
+ * Instances are not thread-safe; {@link org.adcb.adapter.transform.impl.CompiledTemplateService}
+ * keeps one per thread and resets it between renders.
+ */
+public final class Utf8Output {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buf;
+    private int count;
+
+    public Utf8Output(int initialCapacity) {
+        this.buf = new byte[Math.max(initialCapacity, 64)];
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return buf.length;
+    }
+
+    public void write(byte[] bytes) {
+        ensureCapacity(count + bytes.length);
+        System.arraycopy(bytes, 0, buf, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /**
+     * Encodes {@code value} as UTF-8, escaping it for the given output format.
+     */
+    public void writeEscaped(CharSequence value, EscapeMode mode) {
+        int len = value.length();
+        // Worst case is a \\uXXXX escape per char; grow lazily instead of reserving 6x.
+        ensureCapacity(count + len);
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeAscii(c, mode);
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                writeCodePoint('?');
+            } else {
+                writeCodePoint(c);
+            }
+        }
+    }
+
+    private void writeAscii(char c, EscapeMode mode) {
+        switch (mode) {
+            case JSON -> {
+                switch (c) {
+                    case '"' -> writeRaw('\\', '"');
+                    case '\\' -> writeRaw('\\', '\\');
+                    case '\n' -> writeRaw('\\', 'n');
+                    case '\r' -> writeRaw('\\', 'r');
+                    case '\t' -> writeRaw('\\', 't');
+                    case '\b' -> writeRaw('\\', 'b');
+                    case '\f' -> writeRaw('\\', 'f');
+                    default -> {
+                        if (c < 0x20) {
+                            writeUnicodeEscape(c);
+                        } else {
+                            writeByte(c);
+                        }
+                    }
+                }
+            }
+            case XML -> {
+                switch (c) {
+                    case '<' -> writeAsciiString("&lt;");
+                    case '>' -> writeAsciiString("&gt;");
+                    case '&' -> writeAsciiString("&amp;");
+                    case '"' -> writeAsciiString("&quot;");
+                    case '\'' -> writeAsciiString("&apos;");
+                    default -> writeByte(c);
+                }
+            }
+            default -> writeByte(c);
+        }
+    }
+
+    private void writeCodePoint(int cp) {
+        ensureCapacity(count + 4);
+        if (cp < 0x800) {
+            buf[count++] = (byte) (0xC0 | (cp >> 6));
+            buf[count++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (cp < 0x10000) {
+            buf[count++] = (byte) (0xE0 | (cp >> 12));
+            buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[count++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+            buf[count++] = (byte) (0xF0 | (cp >> 18));
+            buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[count++] = (byte) (0x80 | (cp & 0x3F));
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        ensureCapacity(count + 6);
+        buf[count++] = '\\';
+        buf[count++] = 'u';
+        buf[count++] = HEX[(c >> 12) & 0xF];
+        buf[count++] = HEX[(c >> 8) & 0xF];
+        buf[count++] = HEX[(c >> 4) & 0xF];
+        buf[count++] = HEX[c & 0xF];
+    }
+
+    private void writeAsciiString(String s) {
+        ensureCapacity(count + s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buf[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void writeRaw(char a, char b) {
+        ensureCapacity(count + 2);
+        buf[count++] = (byte) a;
+        buf[count++] = (byte) b;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) c;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, required));
+        }
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, count);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, count, StandardCharsets.UTF_8);
+    }
+}
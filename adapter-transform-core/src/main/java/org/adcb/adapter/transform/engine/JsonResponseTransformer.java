@@ -1,10 +1,20 @@
 package org.adcb.adapter.transform.engine;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Transforms JSON responses using JsonPath.
@@ -12,17 +22,84 @@ import java.util.Map;
  * 	•	For JSON, use `JsonResponseTransformer.toMap()` → yield a `Map<String,Object>`.
  * 	•	For XML or SOAP, use `XmlJsonUtil.convertXmlToMap()` or `XmlResponseTransformer.toJsonMap()`.
  * 	•	Pass the map into your template engine if you need to apply a response template, or directly wrap it in `StandardResponse`.
+ *
+ * <p>To extract several fields, {@link #parse(String)} the response once and read from the
+ * returned {@link DocumentContext} (or use {@link #extractFields}); paths are compiled once
+ * and cached.
  */
 @Slf4j
 public class JsonResponseTransformer {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = AdapterCodecs.json();
+    private final Configuration jsonPathConfig = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper))
+            .mappingProvider(new JacksonMappingProvider(objectMapper))
+            .build();
+    private final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
 
     public Object extractField(String jsonString, String jsonPath) {
-        return JsonPath.parse(jsonString).read(jsonPath); // e.g. "$.profile.contact.email"
+        return read(parse(jsonString), jsonPath); // e.g. "$.profile.contact.email"
+    }
+
+    /**
+     * Parses the response once into a reusable, JsonNode-backed context.
+     */
+    public DocumentContext parse(String jsonString) {
+        return JsonPath.using(jsonPathConfig).parse(jsonString);
+    }
+
+    /**
+     * Reads a single path from an already parsed document.
+     *
+     * @throws PathNotFoundException if the path does not exist
+     */
+    public Object read(DocumentContext document, String jsonPath) {
+        JsonNode node = document.read(compile(jsonPath));
+        return toJava(node);
+    }
+
+    /**
+     * Extracts many fields from one parsed document. Missing paths map to {@code null}.
+     *
+     * @param fieldPaths output key to JsonPath
+     * @return extracted values, in the order of {@code fieldPaths}
+     */
+    public Map<String, Object> extractFields(DocumentContext document, Map<String, String> fieldPaths) {
+        Map<String, Object> result = new LinkedHashMap<>(Math.max(4, fieldPaths.size() * 4 / 3 + 1));
+        for (Map.Entry<String, String> entry : fieldPaths.entrySet()) {
+            try {
+                result.put(entry.getKey(), read(document, entry.getValue()));
+            } catch (PathNotFoundException e) {
+                result.put(entry.getKey(), null);
+            }
+        }
+        return result;
     }
 
+    /**
+     * Binds the response straight to a Map in one pass; prefer this over {@link #parse} when
+     * no paths are read.
+     */
     public Map<String, Object> toMap(String jsonString) throws Exception {
-        return objectMapper.readValue(jsonString, Map.class);
+        return objectMapper.readValue(jsonString, MAP_TYPE);
+    }
+
+    public Map<String, Object> toMap(DocumentContext document) {
+        return objectMapper.convertValue(document.<JsonNode>json(), MAP_TYPE);
+    }
+
+    private JsonPath compile(String jsonPath) {
+        return compiledPaths.computeIfAbsent(jsonPath, p -> JsonPath.compile(p));
+    }
+
+    private Object toJava(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) return null;
+        if (node.isTextual()) return node.textValue();
+        if (node.isNumber()) return node.numberValue();
+        if (node.isBoolean()) return node.booleanValue();
+        return objectMapper.convertValue(node, Object.class);
     }
 }
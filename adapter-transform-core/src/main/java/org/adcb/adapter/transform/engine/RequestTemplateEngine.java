@@ -3,28 +3,42 @@ package org.adcb.adapter.transform.engine;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import freemarker.cache.StringTemplateLoader;
 
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Renders request templates using Freemarker (supports both JSON and XML).
- * `RequestTemplateEngine` uses a `StringTemplateLoader` to compile each template string on the fly.
  * 	•	This supports both JSON and XML templates, with nested map/list substitutions, conditionals, etc.
- * 	•	A future enhancement can add `TemplateCache` to avoid recompiling templates every invocation.
- * TODO : In future enhancement can add TemplateCache to avoid recompiling templates every invocation
+ * 	•	Each template string is compiled once and cached by content hash, so repeated inline
+ * 	 	templates skip parsing and concurrent renders of different templates never share state.
  *
+ * <p>The cache is bounded; the least recently used template is evicted once
+ * {@code maxCachedTemplates} is exceeded.
  */
 public class RequestTemplateEngine {
 
+    public static final int DEFAULT_MAX_CACHED_TEMPLATES = 256;
+
     private final Configuration freemarkerConfig;
+    private final Map<Integer, CachedTemplate> templateCache;
 
     public RequestTemplateEngine() {
+        this(DEFAULT_MAX_CACHED_TEMPLATES);
+    }
+
+    public RequestTemplateEngine(int maxCachedTemplates) {
         this.freemarkerConfig = new Configuration(Configuration.VERSION_2_3_32);
-        freemarkerConfig.setTemplateLoader(new StringTemplateLoader());
         freemarkerConfig.setDefaultEncoding("UTF-8");
+        this.templateCache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedTemplate> eldest) {
+                return size() > maxCachedTemplates;
+            }
+        };
     }
 
     /**
@@ -32,11 +46,40 @@ public class RequestTemplateEngine {
      * Supports nested values for maps/lists.
      */
     public String render(String templateString, Map<String, Object> dataModel) throws IOException, TemplateException {
-        StringTemplateLoader loader = (StringTemplateLoader) freemarkerConfig.getTemplateLoader();
-        loader.putTemplate("dynamicTemplate", templateString);
-        Template template = freemarkerConfig.getTemplate("dynamicTemplate");
+        Template template = getTemplate(templateString);
         StringWriter writer = new StringWriter();
         template.process(dataModel, writer);
         return writer.toString();
     }
+
+    /**
+     * Number of compiled templates currently cached.
+     */
+    public int cachedTemplateCount() {
+        synchronized (templateCache) {
+            return templateCache.size();
+        }
+    }
+
+    private Template getTemplate(String templateString) throws IOException {
+        int hash = templateString.hashCode();
+        CachedTemplate cached;
+        synchronized (templateCache) {
+            cached = templateCache.get(hash);
+        }
+        if (cached != null && cached.source().equals(templateString)) {
+            return cached.template();
+        }
+
+        // Compile outside the lock; a racing compile of the same content is harmless
+        Template template = new Template("inline-" + Integer.toHexString(hash),
+                new StringReader(templateString), freemarkerConfig);
+        synchronized (templateCache) {
+            templateCache.put(hash, new CachedTemplate(templateString, template));
+        }
+        return template;
+    }
+
+    private record CachedTemplate(String source, Template template) {
+    }
 }
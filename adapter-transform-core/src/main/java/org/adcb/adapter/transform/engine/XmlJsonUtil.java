@@ -1,22 +1,104 @@
 package org.adcb.adapter.transform.engine;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Utility to convert XML to Map<String, Object> (JSON-like) structure.
+ *
+ * <p>Both entry points produce the same shape: the root element's content keyed by local
+ * name, attributes as entries, repeated elements as lists and text-only elements as strings.
  */
 public class XmlJsonUtil {
 
-    private static final XmlMapper xmlMapper = new XmlMapper();
-    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final XmlMapper xmlMapper = AdapterCodecs.xml();
 
+    @SuppressWarnings("unchecked")
     public static Map<String, Object> convertXmlToMap(String xml) throws Exception {
-        // Parse XML into a tree and convert to Map
-        Object obj = xmlMapper.readValue(xml, Object.class);
-        // Convert to Map without changing object structure
-        return jsonMapper.convertValue(obj, Map.class);
+        // Bind straight to a Map in one pass
+        return xmlMapper.readValue(xml, Map.class);
+    }
+
+    /**
+     * Converts an already parsed DOM document or element without serializing it again.
+     */
+    public static Map<String, Object> convertNodeToMap(Node node) {
+        Element root = node instanceof Document document ? document.getDocumentElement() : (Element) node;
+        Object content = convertElement(root);
+        if (content instanceof Map<?, ?>) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) content;
+            return map;
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("", content);
+        return map;
+    }
+
+    private static Object convertElement(Element element) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            String name = attribute.getNodeName();
+            if (!name.equals("xmlns") && !name.startsWith("xmlns:")) {
+                map.put(localName(attribute), attribute.getNodeValue());
+            }
+        }
+
+        StringBuilder text = null;
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE -> add(map, localName(child), convertElement((Element) child));
+                case Node.TEXT_NODE, Node.CDATA_SECTION_NODE -> {
+                    if (text == null) text = new StringBuilder();
+                    text.append(child.getNodeValue());
+                }
+                default -> { }
+            }
+        }
+
+        if (map.isEmpty()) {
+            return text != null ? text.toString() : "";
+        }
+        if (text != null && !text.toString().isBlank()) {
+            map.put("", text.toString());
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void add(Map<String, Object> map, String key, Object value) {
+        Object existing = map.get(key);
+        if (existing == null && !map.containsKey(key)) {
+            map.put(key, value);
+        } else if (existing instanceof List) {
+            ((List<Object>) existing).add(value);
+        } else {
+            List<Object> list = new ArrayList<>();
+            list.add(existing);
+            list.add(value);
+            map.put(key, list);
+        }
+    }
+
+    private static String localName(Node node) {
+        String local = node.getLocalName();
+        if (local != null) return local;
+        String name = node.getNodeName();
+        int colon = name.indexOf(':');
+        return colon >= 0 ? name.substring(colon + 1) : name;
     }
 }
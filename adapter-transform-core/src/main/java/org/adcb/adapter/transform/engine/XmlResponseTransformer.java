@@ -2,12 +2,18 @@ package org.adcb.adapter.transform.engine;
 
 import lombok.extern.slf4j.Slf4j;
 import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathConstants;
+import java.io.StringReader;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -16,16 +22,49 @@ import java.util.Map;
  * 	•	For JSON, use `JsonResponseTransformer.toMap()` → yield a `Map<String,Object>`.
  * 	•	For XML or SOAP, use `XmlJsonUtil.convertXmlToMap()` or `XmlResponseTransformer.toJsonMap()`.
  * 	•	Pass the map into your template engine if you need to apply a response template, or directly wrap it in `StandardResponse`.
+ *
+ * <p>To read several values, {@link #parse(String)} the response once and pass the
+ * {@link Document} to the {@code Document} overloads. Parsers, XPath instances and
+ * compiled expressions are thread-confined and reused, since none of them is thread-safe.
  */
 @Slf4j
 public class XmlResponseTransformer {
 
+    private static final DocumentBuilderFactory BUILDER_FACTORY = newBuilderFactory();
+    private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+
+    private final ThreadLocal<DocumentBuilder> builders = ThreadLocal.withInitial(() -> {
+        try {
+            return BUILDER_FACTORY.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser configuration failed", e);
+        }
+    });
+    private final ThreadLocal<XPathCache> xpaths = ThreadLocal.withInitial(XPathCache::new);
+
     public String extractField(String xmlString, String xpathExpr) throws Exception {
-        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-                .parse(new java.io.ByteArrayInputStream(xmlString.getBytes()));
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        XPathExpression expr = xpath.compile(xpathExpr);
-        Object value = expr.evaluate(doc, XPathConstants.STRING);
+        return extractField(parse(xmlString), xpathExpr);
+    }
+
+    /**
+     * Parses the response once; the returned document can be queried repeatedly.
+     */
+    public Document parse(String xmlString) throws Exception {
+        DocumentBuilder builder = builders.get();
+        builder.reset();
+        return builder.parse(new InputSource(new StringReader(xmlString)));
+    }
+
+    /**
+     * Evaluates an XPath against an already parsed document.
+     *
+     * @return string value, or {@code null} if no expression is given
+     */
+    public String extractField(Document document, String xpathExpr) throws XPathExpressionException {
+        if (xpathExpr == null || xpathExpr.isBlank()) {
+            return null;
+        }
+        Object value = xpaths.get().compile(xpathExpr).evaluate(document, XPathConstants.STRING);
         return value != null ? value.toString() : null;
     }
 
@@ -35,4 +74,38 @@ public class XmlResponseTransformer {
         // Can use libraries like org.json or Jackson XML module for production
         return XmlJsonUtil.convertXmlToMap(xmlString); // Implement this utility as needed
     }
+
+    /**
+     * Converts an already parsed document to the same Map shape as {@link #toJsonMap(String)}.
+     */
+    public Map<String, Object> toJsonMap(Document document) {
+        return XmlJsonUtil.convertNodeToMap(document);
+    }
+
+    private static DocumentBuilderFactory newBuilderFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        try {
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        } catch (ParserConfigurationException e) {
+            log.warn("XML parser does not support disabling DOCTYPE declarations: {}", e.getMessage());
+        }
+        return factory;
+    }
+
+    /**
+     * Per-thread XPath with its compiled expressions, keyed by expression text.
+     */
+    private static final class XPathCache {
+        private final XPath xpath = XPATH_FACTORY.newXPath();
+        private final Map<String, XPathExpression> compiled = new HashMap<>();
+
+        XPathExpression compile(String expression) throws XPathExpressionException {
+            XPathExpression result = compiled.get(expression);
+            if (result == null) {
+                result = xpath.compile(expression);
+                compiled.put(expression, result);
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,322 @@
+package org.adcb.adapter.transform.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.jfr.TemplateRenderEvent;
+import org.adcb.adapter.transform.TemplateService;
+import org.adcb.adapter.transform.compiled.CompiledTemplate;
+import org.adcb.adapter.transform.compiled.TemplateCompiler;
+import org.adcb.adapter.transform.compiled.UnsupportedTemplateSyntaxException;
+import org.adcb.adapter.transform.compiled.UnsupportedValueException;
+import org.adcb.adapter.transform.compiled.Utf8Output;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TemplateService that compiles simple request templates instead of interpreting them.
+ *
+ * <p>Most request templates are static JSON/XML with {@code ${var}} slots and a few
+ * {@code <#if>} blocks. This implementation parses such templates once into pre-encoded
+ * segments (see {@link TemplateCompiler}) and renders them straight into a per-thread
+ * UTF-8 buffer, escaping values for the template's output format. Templates that use
+ * anything outside that subset are delegated to {@link FreemarkerTemplateService}, which
+ * also remains the source of template files so both engines resolve the same paths.
+ *
+ * <p>Selected per service with {@code templateEngine: COMPILED}. {@link #substitutionOnly()}
+ * compiles only templates made of plain {@code ${...}} slots, renders them exactly as
+ * Freemarker would and leaves everything else to Freemarker; it is the default for services
+ * without an explicit engine.
+ *
+ * <p>File templates are cached until evicted. Inline templates are keyed by caller-chosen
+ * names, so their cache keeps the {@value #MAX_CACHED_INLINE_TEMPLATES} most recently used.
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class CompiledTemplateService implements TemplateService {
+
+    public static final int MAX_CACHED_INLINE_TEMPLATES = 256;
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private final FreemarkerTemplateService freemarker;
+    private final ConcurrentHashMap<String, Entry> templates = new ConcurrentHashMap<>();
+    private final Map<String, Entry> inlineTemplates = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_CACHED_INLINE_TEMPLATES;
+        }
+    };
+    private final ThreadLocal<Utf8Output> buffers = ThreadLocal.withInitial(() -> new Utf8Output(INITIAL_BUFFER_SIZE));
+    private final TemplateService substitutionOnly = new SubstitutionOnlyView();
+
+    /**
+     * Cached compilation result; {@code template == null} marks a Freemarker fallback and
+     * {@code substitution} is the Freemarker-compatible build of a substitution-only template.
+     */
+    private record Entry(String source, CompiledTemplate template, CompiledTemplate substitution) {
+    }
+
+    public CompiledTemplateService(FreemarkerTemplateService freemarker) {
+        this.freemarker = freemarker;
+    }
+
+    @Override
+    public String process(String templatePath, Map<String, Object> context) throws TemplateProcessingException {
+        Entry entry = fileEntry(templatePath);
+        if (entry.template() == null) {
+            return freemarker.process(templatePath, context);
+        }
+        return render(entry.template(), context, "COMPILED").toString();
+    }
+
+    @Override
+    public String processInline(String templateContent, Map<String, Object> context, String templateName)
+            throws TemplateProcessingException {
+        Entry entry = inlineEntry(templateContent, templateName);
+        if (entry.template() == null) {
+            return freemarker.processInline(templateContent, context, templateName);
+        }
+        return render(entry.template(), context, "COMPILED").toString();
+    }
+
+    /**
+     * Renders a file template as UTF-8 bytes directly into {@code out}, skipping the
+     * intermediate String for callers that write to a network buffer.
+     */
+    @Override
+    public void processTo(String templatePath, Map<String, Object> context, OutputStream out)
+            throws TemplateProcessingException {
+        Entry entry = fileEntry(templatePath);
+        try {
+            if (entry.template() == null) {
+                freemarker.processTo(templatePath, context, out);
+            } else {
+                render(entry.template(), context, "COMPILED").writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new TemplateProcessingException("Failed to write rendered template '" + templatePath + "'", e);
+        }
+    }
+
+    /**
+     * @return true if the template at {@code templatePath} compiled, false if it renders via Freemarker
+     */
+    public boolean isCompiled(String templatePath) throws TemplateProcessingException {
+        return fileEntry(templatePath).template() != null;
+    }
+
+    /**
+     * View that takes the compiled fast path only for substitution-only templates and
+     * produces the same output as Freemarker; templates with directives, and values that
+     * Freemarker would render differently, go through Freemarker.
+     */
+    public TemplateService substitutionOnly() {
+        return substitutionOnly;
+    }
+
+    @Override
+    public boolean validateTemplate(String templateContent) {
+        return freemarker.validateTemplate(templateContent);
+    }
+
+    @Override
+    public void preload(String templatePath) throws TemplateProcessingException {
+        if (fileEntry(templatePath).template() == null) {
+            freemarker.preload(templatePath);
+        }
+    }
+
+    @Override
+    public void preloadTemplates() throws TemplateProcessingException {
+        freemarker.preloadTemplates();
+    }
+
+    @Override
+    public void clearCache() {
+        templates.clear();
+        synchronized (inlineTemplates) {
+            inlineTemplates.clear();
+        }
+        freemarker.clearCache();
+    }
+
+    @Override
+    public void evict(String templatePath) {
+        templates.remove(templatePath);
+        freemarker.evict(templatePath);
+    }
+
+    /**
+     * Number of compiled inline templates currently cached.
+     */
+    public int cachedInlineTemplateCount() {
+        synchronized (inlineTemplates) {
+            return inlineTemplates.size();
+        }
+    }
+
+    private Utf8Output render(CompiledTemplate template, Map<String, Object> context, String engine)
+            throws TemplateProcessingException {
+        Utf8Output out = buffers.get();
+        if (out.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            // Don't pin an oversized buffer to the thread after an unusually large render
+            out = new Utf8Output(INITIAL_BUFFER_SIZE);
+            buffers.set(out);
+        }
+        out.reset();
+        TemplateRenderEvent event = TemplateRenderEvent.start();
+        try {
+            template.render(context, out);
+        } catch (UnsupportedValueException e) {
+            // Not a failure: the caller renders the template with Freemarker
+            throw e;
+        } catch (TemplateProcessingException | RuntimeException e) {
+            if (event != null) {
+                event.finish(template.getName(), engine, 0, e);
+            }
+            throw e;
+        }
+        if (event != null) {
+            event.finish(template.getName(), engine, out.size(), null);
+        }
+        log.debug("Rendered compiled template '{}' ({} bytes)", template.getName(), out.size());
+        return out;
+    }
+
+    private Entry fileEntry(String templatePath) throws TemplateProcessingException {
+        Entry entry = templates.get(templatePath);
+        if (entry != null) {
+            return entry;
+        }
+        String source;
+        try {
+            source = freemarker.loadTemplateSource(templatePath);
+        } catch (IOException e) {
+            throw new TemplateProcessingException(
+                    String.format("Template loading failed for '%s': %s", templatePath, e.getMessage()), e);
+        }
+        entry = compile(templatePath, source);
+        Entry existing = templates.putIfAbsent(templatePath, entry);
+        return existing != null ? existing : entry;
+    }
+
+    private Entry inlineEntry(String templateContent, String templateName) {
+        Entry entry;
+        synchronized (inlineTemplates) {
+            entry = inlineTemplates.get(templateName);
+        }
+        if (entry == null || !entry.source().equals(templateContent)) {
+            // Compile outside the lock; a racing compile of the same content is harmless
+            entry = compile(templateName, templateContent);
+            synchronized (inlineTemplates) {
+                inlineTemplates.put(templateName, entry);
+            }
+        }
+        return entry;
+    }
+
+    private final class SubstitutionOnlyView implements TemplateService {
+
+        @Override
+        public String process(String templatePath, Map<String, Object> context) throws TemplateProcessingException {
+            Utf8Output rendered = renderSubstitution(fileEntry(templatePath), context);
+            return rendered != null ? rendered.toString() : freemarker.process(templatePath, context);
+        }
+
+        @Override
+        public String processInline(String templateContent, Map<String, Object> context, String templateName)
+                throws TemplateProcessingException {
+            Utf8Output rendered = renderSubstitution(inlineEntry(templateContent, templateName), context);
+            return rendered != null
+                    ? rendered.toString()
+                    : freemarker.processInline(templateContent, context, templateName);
+        }
+
+        @Override
+        public void processTo(String templatePath, Map<String, Object> context, OutputStream out)
+                throws TemplateProcessingException {
+            Utf8Output rendered = renderSubstitution(fileEntry(templatePath), context);
+            if (rendered == null) {
+                freemarker.processTo(templatePath, context, out);
+                return;
+            }
+            try {
+                rendered.writeTo(out);
+            } catch (IOException e) {
+                throw new TemplateProcessingException("Failed to write rendered template '" + templatePath + "'", e);
+            }
+        }
+
+        @Override
+        public boolean validateTemplate(String templateContent) {
+            return CompiledTemplateService.this.validateTemplate(templateContent);
+        }
+
+        @Override
+        public void preload(String templatePath) throws TemplateProcessingException {
+            if (fileEntry(templatePath).substitution() == null) {
+                freemarker.preload(templatePath);
+            }
+        }
+
+        @Override
+        public void preloadTemplates() throws TemplateProcessingException {
+            CompiledTemplateService.this.preloadTemplates();
+        }
+
+        @Override
+        public void clearCache() {
+            CompiledTemplateService.this.clearCache();
+        }
+
+        @Override
+        public void evict(String templatePath) {
+            CompiledTemplateService.this.evict(templatePath);
+        }
+
+        /**
+         * @return the rendered output, or null if the template must render with Freemarker
+         */
+        private Utf8Output renderSubstitution(Entry entry, Map<String, Object> context)
+                throws TemplateProcessingException {
+            if (entry.substitution() == null) {
+                return null;
+            }
+            try {
+                return render(entry.substitution(), context, "SUBSTITUTION");
+            } catch (UnsupportedValueException e) {
+                log.debug("Rendering with Freemarker: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private Entry compile(String name, String source) {
+        try {
+            CompiledTemplate template = TemplateCompiler.compile(name, source);
+            log.info("Compiled template '{}' ({} literal bytes, substitution only: {})",
+                    name, template.getLiteralBytes(), template.isSubstitutionOnly());
+            CompiledTemplate substitution = template.isSubstitutionOnly() && !autoEscaped(name)
+                    ? TemplateCompiler.compileFreemarkerCompatible(name, source, freemarker.getLocale())
+                    : null;
+            return new Entry(source, template, substitution);
+        } catch (UnsupportedTemplateSyntaxException e) {
+            log.info("Template '{}' falls back to Freemarker: {}", name, e.getMessage());
+            return new Entry(source, null, null);
+        }
+    }
+
+    /** Freemarker auto-escapes these standard extensions, which the substitution path does not. */
+    private static boolean autoEscaped(String name) {
+        String lower = name.toLowerCase();
+        return lower.endsWith(".ftlh") || lower.endsWith(".ftlx");
+    }
+}
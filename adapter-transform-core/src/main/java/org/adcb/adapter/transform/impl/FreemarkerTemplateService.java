@@ -4,17 +4,27 @@ import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.cache.FileTemplateLoader;
+import freemarker.cache.TemplateLoader;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.context.TemplateContext;
+import org.adcb.adapter.commons.jfr.TemplateRenderEvent;
 import org.adcb.adapter.transform.TemplateService;
+import org.adcb.adapter.transform.buffer.ReusableStreamWriter;
+import org.adcb.adapter.transform.buffer.ReusableWriter;
 import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.tree.JsonNodeObjectWrapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -37,12 +47,14 @@ import java.util.concurrent.TimeUnit;
  * @since 1.0
  */
 @Service
+@Primary
 @Slf4j
 public class FreemarkerTemplateService implements TemplateService {
 
     private final Configuration freemarkerConfig;
     private final ConcurrentHashMap<String, Template> templateCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Long> cacheTimestamps = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> renderedSizes = new ConcurrentHashMap<>();
 
     @Value("${adapter.templates.path:classpath:/adapter-templates/}")
     private String templateBasePath;
@@ -58,6 +70,8 @@ public class FreemarkerTemplateService implements TemplateService {
         this.freemarkerConfig.setDefaultEncoding("UTF-8");
         this.freemarkerConfig.setLogTemplateExceptions(false);
         this.freemarkerConfig.setWrapUncheckedExceptions(true);
+        // Expose Jackson trees (parsed responses) to templates without converting them to Maps
+        this.freemarkerConfig.setObjectWrapper(new JsonNodeObjectWrapper(Configuration.VERSION_2_3_32));
     }
 
     @PostConstruct
@@ -92,25 +106,64 @@ public class FreemarkerTemplateService implements TemplateService {
 
     @Override
     public String process(String templatePath, Map<String, Object> context) throws TemplateProcessingException {
+        TemplateRenderEvent event = TemplateRenderEvent.start();
         try {
             Template template = getTemplate(templatePath);
-            StringWriter writer = new StringWriter();
+            ReusableWriter writer = ReusableWriter.acquire(expectedSize(templatePath));
+            try {
+                // Add system variables to context
+                Map<String, Object> enrichedContext = enrichContext(context);
 
-            // Add system variables to context
-            Map<String, Object> enrichedContext = enrichContext(context);
+                template.process(enrichedContext, writer);
 
-            template.process(enrichedContext, writer);
+                recordSize(templatePath, writer.length());
+                String result = writer.toString();
+                log.debug("Processed template '{}' with context keys: {}", templatePath, context.keySet());
+                finish(event, templatePath, result.length(), null);
 
-            String result = writer.toString();
-            log.debug("Processed template '{}' with context keys: {}", templatePath, context.keySet());
+                return result;
+            } finally {
+                writer.release();
+            }
 
-            return result;
+        } catch (TemplateException e) {
+            finish(event, templatePath, 0, e);
+            String msg = String.format("Template processing failed for '%s': %s", templatePath, e.getMessage());
+            log.error(msg, e);
+            throw new TemplateProcessingException(msg, e);
+        } catch (IOException e) {
+            finish(event, templatePath, 0, e);
+            String msg = String.format("Template loading failed for '%s': %s", templatePath, e.getMessage());
+            log.error(msg, e);
+            throw new TemplateProcessingException(msg, e);
+        }
+    }
 
+    /**
+     * Streams the rendered template as UTF-8 into {@code out} without building a String.
+     */
+    @Override
+    public void processTo(String templatePath, Map<String, Object> context, OutputStream out)
+            throws TemplateProcessingException {
+        TemplateRenderEvent event = TemplateRenderEvent.start();
+        try {
+            Template template = getTemplate(templatePath);
+            ReusableStreamWriter writer = ReusableStreamWriter.acquire(out);
+            try {
+                template.process(enrichContext(context), writer);
+                writer.flush();
+            } finally {
+                writer.release();
+            }
+            log.debug("Streamed template '{}' with context keys: {}", templatePath, context.keySet());
+            finish(event, templatePath, -1, null);
         } catch (TemplateException e) {
+            finish(event, templatePath, 0, e);
             String msg = String.format("Template processing failed for '%s': %s", templatePath, e.getMessage());
             log.error(msg, e);
             throw new TemplateProcessingException(msg, e);
         } catch (IOException e) {
+            finish(event, templatePath, 0, e);
             String msg = String.format("Template loading failed for '%s': %s", templatePath, e.getMessage());
             log.error(msg, e);
             throw new TemplateProcessingException(msg, e);
@@ -120,23 +173,30 @@ public class FreemarkerTemplateService implements TemplateService {
     @Override
     public String processInline(String templateContent, Map<String, Object> context, String templateName)
             throws TemplateProcessingException {
+        TemplateRenderEvent event = TemplateRenderEvent.start();
         try {
             Template template = getInlineTemplate(templateContent, templateName);
-            StringWriter writer = new StringWriter();
-
-            Map<String, Object> enrichedContext = enrichContext(context);
-            template.process(enrichedContext, writer);
-
-            String result = writer.toString();
+            ReusableWriter writer = ReusableWriter.acquire(templateContent.length());
+            String result;
+            try {
+                Map<String, Object> enrichedContext = enrichContext(context);
+                template.process(enrichedContext, writer);
+                result = writer.toString();
+            } finally {
+                writer.release();
+            }
             log.debug("Processed inline template '{}' with context keys: {}", templateName, context.keySet());
+            finish(event, templateName, result.length(), null);
 
             return result;
 
         } catch (TemplateException e) {
+            finish(event, templateName, 0, e);
             String msg = String.format("Inline template processing failed for '%s': %s", templateName, e.getMessage());
             log.error(msg, e);
             throw new TemplateProcessingException(msg, e);
         } catch (IOException e) {
+            finish(event, templateName, 0, e);
             String msg = String.format("Inline template compilation failed for '%s': %s", templateName, e.getMessage());
             log.error(msg, e);
             throw new TemplateProcessingException(msg, e);
@@ -156,12 +216,21 @@ public class FreemarkerTemplateService implements TemplateService {
     }
 
 
+    @Override
+    public void preload(String templatePath) throws TemplateProcessingException {
+        try {
+            getTemplate(templatePath);
+        } catch (IOException | UncheckedIOException e) {
+            throw new TemplateProcessingException(
+                    String.format("Template loading failed for '%s': %s", templatePath, e.getMessage()), e);
+        }
+    }
+
     @Override
     public void preloadTemplates() throws TemplateProcessingException {
         try {
             if (templateBasePath.startsWith("classpath:")) {
-                // For classpath resources, we can't easily list all files
-                log.info("Classpath-based templates will be loaded on-demand");
+                preloadClasspathTemplates(templateBasePath.substring("classpath:".length()));
                 return;
             }
 
@@ -191,13 +260,85 @@ public class FreemarkerTemplateService implements TemplateService {
         }
     }
 
+    /**
+     * Lists .json/.xml templates under a classpath directory (in directories and jars) and loads them.
+     */
+    private void preloadClasspathTemplates(String basePath) throws IOException {
+        String base = basePath.startsWith("/") ? basePath.substring(1) : basePath;
+        if (!base.isEmpty() && !base.endsWith("/")) {
+            base += "/";
+        }
+        Resource[] resources = new PathMatchingResourcePatternResolver(getClass().getClassLoader())
+                .getResources("classpath*:" + base + "**/*");
+        int loaded = 0;
+        for (Resource resource : resources) {
+            String url = resource.getURL().toString();
+            int start = url.lastIndexOf(base.isEmpty() ? "/" : base);
+            if (start < 0 || !(url.endsWith(".json") || url.endsWith(".xml"))) {
+                continue;
+            }
+            String relativePath = url.substring(start + base.length());
+            try {
+                getTemplate(relativePath);
+                loaded++;
+                log.debug("Preloaded template: {}", relativePath);
+            } catch (Exception e) {
+                log.error("Failed to preload template: {}", relativePath, e);
+            }
+        }
+        log.info("Preloaded {} classpath templates from {}", loaded, basePath);
+    }
+
     @Override
     public void clearCache() {
         templateCache.clear();
         cacheTimestamps.clear();
+        renderedSizes.clear();
         log.info("Template cache cleared");
     }
 
+    @Override
+    public void evict(String templatePath) {
+        templateCache.remove(templatePath);
+        cacheTimestamps.remove(templatePath);
+        renderedSizes.remove(templatePath);
+        try {
+            freemarkerConfig.removeTemplateFromCache(templatePath);
+        } catch (IOException e) {
+            log.debug("Could not evict '{}' from Freemarker's cache: {}", templatePath, e.getMessage());
+        }
+    }
+
+    /**
+     * @return locale Freemarker formats numbers with, for engines that must render identically
+     */
+    public Locale getLocale() {
+        return freemarkerConfig.getLocale();
+    }
+
+    /**
+     * Reads the raw source of a template through the configured template loader,
+     * so other engines resolve templates from the same classpath or file location.
+     *
+     * @param templatePath relative path to template file
+     * @return template source text
+     * @throws IOException if the template cannot be found or read
+     */
+    public String loadTemplateSource(String templatePath) throws IOException {
+        TemplateLoader loader = freemarkerConfig.getTemplateLoader();
+        Object source = loader != null ? loader.findTemplateSource(templatePath) : null;
+        if (source == null) {
+            throw new FileNotFoundException("Template not found: " + templatePath);
+        }
+        try (Reader reader = loader.getReader(source, freemarkerConfig.getDefaultEncoding())) {
+            StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            return writer.toString();
+        } finally {
+            loader.closeTemplateSource(source);
+        }
+    }
+
     private Template getTemplate(String templatePath) throws IOException {
         if (!cacheEnabled) {
             return freemarkerConfig.getTemplate(templatePath);
@@ -236,6 +377,12 @@ public class FreemarkerTemplateService implements TemplateService {
         });
     }
 
+    private static void finish(TemplateRenderEvent event, String templateName, long outputSize, Throwable failure) {
+        if (event != null) {
+            event.finish(templateName, "FREEMARKER", outputSize, failure);
+        }
+    }
+
     private boolean isExpired(String cacheKey) {
         Long timestamp = cacheTimestamps.get(cacheKey);
         if (timestamp == null) return true;
@@ -244,20 +391,40 @@ public class FreemarkerTemplateService implements TemplateService {
         return (System.currentTimeMillis() - timestamp) > ttlMillis;
     }
 
-    private Map<String, Object> enrichContext(Map<String, Object> originalContext) {
-        Map<String, Object> enriched = new ConcurrentHashMap<>(originalContext);
+    /**
+     * Rendered size bucket of a template, so the next render starts with a big enough buffer.
+     */
+    private int expectedSize(String templatePath) {
+        Integer bucket = renderedSizes.get(templatePath);
+        return bucket != null ? bucket : 1024;
+    }
 
-        // Add system variables
-        enriched.put("currentTimestamp", System.currentTimeMillis());
-        enriched.put("currentTimeISO", java.time.LocalDateTime.now().toString());
-        enriched.put("systemName", "ADCB_ADAPTER");
-        enriched.put("version", "1.0");
+    /**
+     * Stores the size bucket of a render; the map is only written when the bucket changes,
+     * which for a steady template is once.
+     */
+    private void recordSize(String templatePath, int length) {
+        int bucket = sizeBucket(length);
+        Integer current = renderedSizes.get(templatePath);
+        if (current == null || current != bucket) {
+            renderedSizes.put(templatePath, bucket);
+        }
+    }
 
-        // Generate correlation ID if not present
-        if (!enriched.containsKey("correlationId")) {
-            enriched.put("correlationId", java.util.UUID.randomUUID().toString());
+    /**
+     * Rounds a size up to the next eighth of its power of two, i.e. at most 12.5% headroom.
+     */
+    static int sizeBucket(int length) {
+        if (length < 1024) {
+            return 1024;
         }
+        int step = Integer.highestOneBit(length) >> 3;
+        return (length / step + 1) * step;
+    }
 
-        return enriched;
+    private Map<String, Object> enrichContext(Map<String, Object> originalContext) {
+        // Layered view over the caller's map: system variables and a correlation id
+        // fallback without copying the data
+        return TemplateContext.of(originalContext);
     }
 }
@@ -0,0 +1,55 @@
+package org.adcb.adapter.transform.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional type conversion applied to a mapped response field.
+ */
+public enum FieldType {
+    /** Keep the extracted value's natural type (scalars, Map, List). */
+    RAW,
+    STRING,
+    INTEGER,
+    LONG,
+    DECIMAL,
+    BOOLEAN;
+
+    /**
+     * Converts a scalar JSON node; containers are only meaningful for RAW and STRING.
+     */
+    Object convert(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        return switch (this) {
+            case STRING -> node.isValueNode() ? node.asText() : node.toString();
+            case INTEGER -> node.isNumber() ? Integer.valueOf(node.intValue()) : convert(node.asText());
+            case LONG -> node.isNumber() ? Long.valueOf(node.longValue()) : convert(node.asText());
+            case DECIMAL -> node.isNumber() ? node.decimalValue() : convert(node.asText());
+            case BOOLEAN -> node.isBoolean() ? Boolean.valueOf(node.booleanValue()) : convert(node.asText());
+            case RAW -> throw new IllegalStateException("RAW values are converted by the mapping");
+        };
+    }
+
+    /**
+     * Converts a text value such as an XPath string result.
+     */
+    Object convert(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim();
+        if (value.isEmpty() && this != STRING && this != RAW) {
+            return null;
+        }
+        return switch (this) {
+            case RAW, STRING -> text;
+            case INTEGER -> Integer.valueOf(value);
+            case LONG -> Long.valueOf(value);
+            case DECIMAL -> new BigDecimal(value);
+            case BOOLEAN -> Boolean.valueOf(value);
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package org.adcb.adapter.transform.mapping;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.w3c.dom.Node;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A compiled, declarative response mapping: output key &rarr; JsonPath or XPath plus an
+ * optional {@link FieldType} conversion.
+ *
+ * <p>Mappings are compiled once per service by {@link ResponseMappingCompiler} and evaluated
+ * against an already parsed response tree, building the output {@code Map} directly
+ * without rendering or re-parsing text. Accepted documents:
+ * <ul>
+ *   <li>Jackson {@link JsonNode} trees and {@code Map}/{@code List} graphs for JsonPath mappings</li>
+ *   <li>DOM {@link Node}s for XPath mappings</li>
+ * </ul>
+ *
+ * <p>Instances are immutable and thread-safe; XPath expressions are compiled per thread
+ * because {@link XPathExpression} is not.
+ */
+public final class ResponseMapping {
+
+    public enum SourceType { JSON, XML }
+
+    private static final ObjectMapper MAPPER = AdapterCodecs.json();
+
+    private static final Configuration NODE_CONFIG = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider(MAPPER))
+            .mappingProvider(new JacksonMappingProvider(MAPPER))
+            .options(Option.SUPPRESS_EXCEPTIONS)
+            .build();
+
+    private static final Configuration MAP_CONFIG = Configuration.builder()
+            .jsonProvider(new JacksonJsonProvider(MAPPER))
+            .mappingProvider(new JacksonMappingProvider(MAPPER))
+            .options(Option.SUPPRESS_EXCEPTIONS)
+            .build();
+
+    private final String name;
+    private final SourceType sourceType;
+    private final Field[] fields;
+    private final String[] xpathSources;
+    private final ThreadLocal<XPathExpression[]> xpaths;
+
+    ResponseMapping(String name, SourceType sourceType, Field[] fields, String[] xpathSources) {
+        this.name = name;
+        this.sourceType = sourceType;
+        this.fields = fields;
+        this.xpathSources = xpathSources;
+        this.xpaths = ThreadLocal.withInitial(() -> new XPathExpression[xpathSources.length]);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SourceType getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * Evaluates the mapping against a parsed response.
+     *
+     * @param document JsonNode, Map/List graph or DOM node, matching {@link #getSourceType()}
+     * @return mapped output, in declaration order
+     */
+    public Map<String, Object> apply(Object document) throws TemplateProcessingException {
+        if (sourceType == SourceType.XML && !(document instanceof Node)) {
+            throw new TemplateProcessingException("Response mapping '" + name + "' uses XPath and needs a DOM document");
+        }
+        if (sourceType == SourceType.JSON && document instanceof Node) {
+            throw new TemplateProcessingException("Response mapping '" + name + "' uses JsonPath and needs a JSON document");
+        }
+        return evaluate(fields, document);
+    }
+
+    private Map<String, Object> evaluate(Field[] group, Object document) throws TemplateProcessingException {
+        Map<String, Object> out = new LinkedHashMap<>(Math.max(4, group.length * 4 / 3 + 1));
+        for (Field field : group) {
+            Object value = field.children != null
+                    ? evaluate(field.children, document)
+                    : extract(field, document);
+            out.put(field.key, value != null ? value : field.defaultValue);
+        }
+        return out;
+    }
+
+    private Object extract(Field field, Object document) throws TemplateProcessingException {
+        if (field.jsonPath != null) {
+            if (document instanceof JsonNode node) {
+                JsonNode result = field.jsonPath.read(node, NODE_CONFIG);
+                return field.type == FieldType.RAW ? toJava(result) : field.type.convert(result);
+            }
+            Object result = field.jsonPath.read(document, MAP_CONFIG);
+            return field.type == FieldType.RAW ? result : convertJava(field.type, result);
+        }
+        try {
+            String text = (String) xpath(field.xpathIndex).evaluate(document, XPathConstants.STRING);
+            return field.type.convert(text);
+        } catch (XPathExpressionException | RuntimeException e) {
+            throw new TemplateProcessingException(String.format("Response mapping '%s' failed for field '%s': %s",
+                    name, field.key, e.getMessage()), e);
+        }
+    }
+
+    private XPathExpression xpath(int index) throws XPathExpressionException {
+        XPathExpression[] compiled = xpaths.get();
+        XPathExpression expression = compiled[index];
+        if (expression == null) {
+            expression = XPathFactory.newInstance().newXPath().compile(xpathSources[index]);
+            compiled[index] = expression;
+        }
+        return expression;
+    }
+
+    private static Object toJava(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) return null;
+        if (node.isTextual()) return node.textValue();
+        if (node.isNumber()) return node.numberValue();
+        if (node.isBoolean()) return node.booleanValue();
+        return MAPPER.convertValue(node, Object.class);
+    }
+
+    private static Object convertJava(FieldType type, Object value) throws TemplateProcessingException {
+        if (value == null) return null;
+        if (type == FieldType.STRING && (value instanceof Map || value instanceof Collection)) {
+            try {
+                return MAPPER.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new TemplateProcessingException("Failed to convert mapped value to STRING", e);
+            }
+        }
+        if (value instanceof Number number && type == FieldType.INTEGER) return number.intValue();
+        if (value instanceof Number number && type == FieldType.LONG) return number.longValue();
+        return type.convert(String.valueOf(value));
+    }
+
+    /**
+     * A mapped output key: either a leaf with a path or a nested group of fields.
+     */
+    static final class Field {
+        final String key;
+        final JsonPath jsonPath;
+        final int xpathIndex;
+        final FieldType type;
+        final Object defaultValue;
+        final Field[] children;
+
+        private Field(String key, JsonPath jsonPath, int xpathIndex, FieldType type,
+                      Object defaultValue, Field[] children) {
+            this.key = key;
+            this.jsonPath = jsonPath;
+            this.xpathIndex = xpathIndex;
+            this.type = type;
+            this.defaultValue = defaultValue;
+            this.children = children;
+        }
+
+        static Field json(String key, JsonPath path, FieldType type, Object defaultValue) {
+            return new Field(key, path, -1, type, defaultValue, null);
+        }
+
+        static Field xml(String key, int xpathIndex, FieldType type, Object defaultValue) {
+            return new Field(key, null, xpathIndex, type, defaultValue, null);
+        }
+
+        static Field group(String key, Field[] children) {
+            return new Field(key, null, -1, FieldType.RAW, null, children);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.adcb.adapter.transform.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.InvalidPathException;
+import org.adcb.adapter.commons.codec.AdapterCodecs;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a declarative response mapping specification into a {@link ResponseMapping}.
+ *
+ * <p>The specification is a JSON object whose values are either a path, a field
+ * definition or a nested group:
+ * <pre>
+ * {
+ *   "transactionId": "$.paymentId",
+ *   "amount":   { "path": "$.amount.value", "type": "DECIMAL" },
+ *   "status":   { "path": "$.status", "default": "UNKNOWN" },
+ *   "customer": { "id": "$.customer.id", "name": "$.customer.fullName" }
+ * }
+ * </pre>
+ * Paths starting with {@code $} are JsonPath; anything else is treated as XPath
+ * (e.g. {@code //user/name}). A mapping must use one kind of path throughout.
+ */
+public final class ResponseMappingCompiler {
+
+    private static final ObjectMapper MAPPER = AdapterCodecs.json();
+
+    private ResponseMappingCompiler() {
+    }
+
+    public static ResponseMapping compile(String name, String specification) throws TemplateProcessingException {
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(specification);
+        } catch (IOException e) {
+            throw new TemplateProcessingException("Response mapping '" + name + "' is not valid JSON: " + e.getMessage(), e);
+        }
+        if (root == null || !root.isObject()) {
+            throw new TemplateProcessingException("Response mapping '" + name + "' must be a JSON object");
+        }
+        Builder builder = new Builder(name);
+        ResponseMapping.Field[] fields = builder.group(root, "");
+        return new ResponseMapping(name,
+                builder.sourceType != null ? builder.sourceType : ResponseMapping.SourceType.JSON,
+                fields, builder.xpaths.toArray(String[]::new));
+    }
+
+    private static final class Builder {
+        private final String name;
+        private final List<String> xpaths = new ArrayList<>();
+        private ResponseMapping.SourceType sourceType;
+
+        Builder(String name) {
+            this.name = name;
+        }
+
+        ResponseMapping.Field[] group(JsonNode node, String prefix) throws TemplateProcessingException {
+            List<ResponseMapping.Field> fields = new ArrayList<>(node.size());
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                fields.add(field(entry.getKey(), entry.getValue(), prefix + entry.getKey()));
+            }
+            return fields.toArray(ResponseMapping.Field[]::new);
+        }
+
+        private ResponseMapping.Field field(String key, JsonNode value, String qualifiedKey)
+                throws TemplateProcessingException {
+            if (value.isTextual()) {
+                return leaf(key, value.textValue(), FieldType.RAW, null, qualifiedKey);
+            }
+            if (value.isObject() && value.path("path").isTextual()) {
+                FieldType type = type(value.path("type"), qualifiedKey);
+                JsonNode def = value.get("default");
+                Object defaultValue = def == null || def.isNull() ? null
+                        : type == FieldType.RAW ? MAPPER.convertValue(def, Object.class) : type.convert(def);
+                return leaf(key, value.get("path").textValue(), type, defaultValue, qualifiedKey);
+            }
+            if (value.isObject()) {
+                return ResponseMapping.Field.group(key, group(value, qualifiedKey + "."));
+            }
+            throw new TemplateProcessingException(String.format(
+                    "Response mapping '%s': field '%s' must be a path, a field definition or a nested object",
+                    name, qualifiedKey));
+        }
+
+        private ResponseMapping.Field leaf(String key, String path, FieldType type, Object defaultValue,
+                                           String qualifiedKey) throws TemplateProcessingException {
+            ResponseMapping.SourceType kind = path.startsWith("$")
+                    ? ResponseMapping.SourceType.JSON : ResponseMapping.SourceType.XML;
+            if (sourceType != null && sourceType != kind) {
+                throw new TemplateProcessingException(String.format(
+                        "Response mapping '%s' mixes JsonPath and XPath (field '%s')", name, qualifiedKey));
+            }
+            sourceType = kind;
+            try {
+                if (kind == ResponseMapping.SourceType.JSON) {
+                    return ResponseMapping.Field.json(key, JsonPath.compile(path), type, defaultValue);
+                }
+                // Validate eagerly; evaluation compiles per thread
+                XPathFactory.newInstance().newXPath().compile(path);
+                xpaths.add(path);
+                return ResponseMapping.Field.xml(key, xpaths.size() - 1, type, defaultValue);
+            } catch (InvalidPathException | XPathExpressionException e) {
+                throw new TemplateProcessingException(String.format(
+                        "Response mapping '%s': invalid path '%s' for field '%s'", name, path, qualifiedKey), e);
+            }
+        }
+
+        private FieldType type(JsonNode node, String qualifiedKey) throws TemplateProcessingException {
+            if (node.isMissingNode() || node.isNull()) {
+                return FieldType.RAW;
+            }
+            try {
+                return FieldType.valueOf(node.asText().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new TemplateProcessingException(String.format(
+                        "Response mapping '%s': unknown type '%s' for field '%s'", name, node.asText(), qualifiedKey));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.adcb.adapter.transform.mapping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-service cache of compiled {@link ResponseMapping}s.
+ *
+ * <p>The mapping spec named by {@code ServiceMetadata.responseMapping} is loaded through the
+ * template loader and compiled on first use; it is recompiled only when the configured
+ * path changes.
+ */
+@Slf4j
+@Component
+public class ResponseMappingRegistry {
+
+    private final FreemarkerTemplateService templateSource;
+    private final Map<String, Entry> mappings = new ConcurrentHashMap<>();
+
+    public ResponseMappingRegistry(FreemarkerTemplateService templateSource) {
+        this.templateSource = templateSource;
+    }
+
+    public ResponseMapping forService(ServiceMetadata config) throws TemplateProcessingException {
+        String path = config.getResponseMapping();
+        Entry entry = mappings.get(config.getServiceName());
+        if (entry != null && entry.path().equals(path)) {
+            return entry.mapping();
+        }
+        ResponseMapping mapping = compile(path);
+        mappings.put(config.getServiceName(), new Entry(path, mapping));
+        log.debug("Compiled response mapping {} for service {}", path, config.getServiceName());
+        return mapping;
+    }
+
+    public void evict(String serviceName) {
+        mappings.remove(serviceName);
+    }
+
+    public void clear() {
+        mappings.clear();
+    }
+
+    private ResponseMapping compile(String path) throws TemplateProcessingException {
+        try {
+            return ResponseMappingCompiler.compile(path, templateSource.loadTemplateSource(path));
+        } catch (IOException e) {
+            throw new TemplateProcessingException("Failed to load response mapping: " + path, e);
+        }
+    }
+
+    private record Entry(String path, ResponseMapping mapping) {
+    }
+}
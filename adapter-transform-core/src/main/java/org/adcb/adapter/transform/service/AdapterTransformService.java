@@ -1,10 +1,10 @@
 package org.adcb.adapter.transform.service;
 
-import freemarker.template.TemplateException;
 import org.adcb.adapter.transform.engine.RequestTemplateEngine;
 import org.adcb.adapter.transform.engine.JsonResponseTransformer;
 import org.adcb.adapter.transform.engine.XmlResponseTransformer;
 import org.adcb.adapter.transform.model.StandardResponse;
+import org.w3c.dom.Document;
 
 import java.time.Instant;
 import java.util.Map;
@@ -35,8 +35,27 @@ public class AdapterTransformService {
             String errorDescription,
             String correlationId,
             String serviceName) throws Exception {
+        return parseRestResponse(jsonResponse, null, httpStatus, errorDescription, correlationId, serviceName);
+    }
+
+    /**
+     * Standardizes REST JSON response, extracting only the given fields.
+     * The response is parsed once and every path is read from the same document; without
+     * field paths it is bound straight to a Map.
+     *
+     * @param fieldPaths output key to JsonPath; {@code null} or empty keeps the full payload
+     */
+    public StandardResponse<Map<String, Object>> parseRestResponse(
+            String jsonResponse,
+            Map<String, String> fieldPaths,
+            int httpStatus,
+            String errorDescription,
+            String correlationId,
+            String serviceName) throws Exception {
         boolean success = httpStatus >= 200 && httpStatus < 300;
-        Map<String, Object> payload = jsonTransformer.toMap(jsonResponse);
+        Map<String, Object> payload = fieldPaths == null || fieldPaths.isEmpty()
+                ? jsonTransformer.toMap(jsonResponse)
+                : jsonTransformer.extractFields(jsonTransformer.parse(jsonResponse), fieldPaths);
         return createResponse(success, String.valueOf(httpStatus), errorDescription, payload, correlationId, serviceName);
     }
 
@@ -49,10 +68,12 @@ public class AdapterTransformService {
             String errorDescriptionXPath,
             String correlationId,
             String serviceName) throws Exception {
-        String errorCode = xmlTransformer.extractField(xmlResponse, errorCodeXPath);
-        String errorDesc = xmlTransformer.extractField(xmlResponse, errorDescriptionXPath);
+        // Parse once; error fields and payload all come from the same document
+        Document document = xmlTransformer.parse(xmlResponse);
+        String errorCode = xmlTransformer.extractField(document, errorCodeXPath);
+        String errorDesc = xmlTransformer.extractField(document, errorDescriptionXPath);
         boolean success = (errorCode == null || "0".equals(errorCode)); // Define logic
-        Map<String, Object> payload = xmlTransformer.toJsonMap(xmlResponse);
+        Map<String, Object> payload = xmlTransformer.toJsonMap(document);
         return createResponse(success, errorCode, errorDesc, payload, correlationId, serviceName);
     }
 
@@ -0,0 +1,72 @@
+package org.adcb.adapter.transform.tree;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only {@code Map} view over a Jackson {@link ObjectNode}.
+ *
+ * <p>Values are the child {@link JsonNode}s themselves; nothing is copied or converted.
+ * Used as the data layer of a template context so a parsed response tree can be handed to
+ * templates directly. Freemarker reads the nodes through {@link JsonNodeObjectWrapper}.
+ */
+public final class JsonNodeMap extends AbstractMap<String, Object> {
+
+    private final ObjectNode node;
+
+    public JsonNodeMap(ObjectNode node) {
+        this.node = node;
+    }
+
+    public ObjectNode getNode() {
+        return node;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof String name ? node.get(name) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && node.has(name);
+    }
+
+    @Override
+    public int size() {
+        return node.size();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                Iterator<Map.Entry<String, JsonNode>> fields = node.properties().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return fields.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        Map.Entry<String, JsonNode> field = fields.next();
+                        return new SimpleImmutableEntry<>(field.getKey(), field.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return node.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package org.adcb.adapter.transform.tree;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import freemarker.template.AdapterTemplateModel;
+import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.SimpleNumber;
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateBooleanModel;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateHashModelEx2;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
+import freemarker.template.TemplateSequenceModel;
+import freemarker.template.Version;
+import freemarker.template.WrappingTemplateModel;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Freemarker {@code ObjectWrapper} that exposes Jackson {@link JsonNode} trees without
+ * converting them to {@code Map}/{@code List} graphs.
+ *
+ * <p>Object nodes become hashes, array nodes sequences, and value nodes the matching
+ * scalar, number or boolean model. JSON {@code null} and missing fields are reported as
+ * missing, so {@code ??} and {@code !} defaults behave as with maps. All other objects are
+ * wrapped by {@link DefaultObjectWrapper}.
+ */
+public class JsonNodeObjectWrapper extends DefaultObjectWrapper {
+
+    public JsonNodeObjectWrapper(Version incompatibleImprovements) {
+        super(incompatibleImprovements);
+    }
+
+    @Override
+    public TemplateModel wrap(Object obj) throws TemplateModelException {
+        if (obj instanceof JsonNode node) {
+            return wrapNode(node);
+        }
+        if (obj instanceof JsonNodeMap map) {
+            return new ObjectNodeModel(map.getNode(), this);
+        }
+        return super.wrap(obj);
+    }
+
+    private TemplateModel wrapNode(JsonNode node) throws TemplateModelException {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node instanceof ObjectNode objectNode) {
+            return new ObjectNodeModel(objectNode, this);
+        }
+        if (node instanceof ArrayNode arrayNode) {
+            return new ArrayNodeModel(arrayNode, this);
+        }
+        if (node.isTextual()) {
+            return new SimpleScalar(node.textValue());
+        }
+        if (node.isNumber()) {
+            return new SimpleNumber(node.numberValue());
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue() ? TemplateBooleanModel.TRUE : TemplateBooleanModel.FALSE;
+        }
+        return new SimpleScalar(node.asText());
+    }
+
+    /**
+     * Hash view of an object node.
+     */
+    static final class ObjectNodeModel extends WrappingTemplateModel
+            implements TemplateHashModelEx2, AdapterTemplateModel {
+
+        private final ObjectNode node;
+
+        ObjectNodeModel(ObjectNode node, JsonNodeObjectWrapper wrapper) {
+            super(wrapper);
+            this.node = node;
+        }
+
+        @Override
+        public TemplateModel get(String key) throws TemplateModelException {
+            return wrap(node.get(key));
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return node.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return node.size();
+        }
+
+        @Override
+        public TemplateCollectionModel keys() {
+            return () -> iterate(node.fieldNames());
+        }
+
+        @Override
+        public TemplateCollectionModel values() {
+            return () -> iterate(node.elements());
+        }
+
+        @Override
+        public KeyValuePairIterator keyValuePairIterator() {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.properties().iterator();
+            return new KeyValuePairIterator() {
+                @Override
+                public boolean hasNext() {
+                    return fields.hasNext();
+                }
+
+                @Override
+                public KeyValuePair next() throws TemplateModelException {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    TemplateModel key = new SimpleScalar(field.getKey());
+                    TemplateModel value = wrap(field.getValue());
+                    return new KeyValuePair() {
+                        @Override
+                        public TemplateModel getKey() {
+                            return key;
+                        }
+
+                        @Override
+                        public TemplateModel getValue() {
+                            return value;
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public Object getAdaptedObject(Class<?> hint) {
+            return node;
+        }
+
+        private TemplateModelIterator iterate(Iterator<?> iterator) {
+            return new TemplateModelIterator() {
+                @Override
+                public TemplateModel next() throws TemplateModelException {
+                    return wrap(iterator.next());
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+            };
+        }
+    }
+
+    /**
+     * Sequence view of an array node.
+     */
+    static final class ArrayNodeModel extends WrappingTemplateModel
+            implements TemplateSequenceModel, TemplateCollectionModel, AdapterTemplateModel {
+
+        private final ArrayNode node;
+
+        ArrayNodeModel(ArrayNode node, JsonNodeObjectWrapper wrapper) {
+            super(wrapper);
+            this.node = node;
+        }
+
+        @Override
+        public TemplateModel get(int index) throws TemplateModelException {
+            return index >= 0 && index < node.size() ? wrap(node.get(index)) : null;
+        }
+
+        @Override
+        public int size() {
+            return node.size();
+        }
+
+        @Override
+        public TemplateModelIterator iterator() {
+            Iterator<JsonNode> elements = node.elements();
+            return new TemplateModelIterator() {
+                @Override
+                public TemplateModel next() throws TemplateModelException {
+                    return wrap(elements.next());
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return elements.hasNext();
+                }
+            };
+        }
+
+        @Override
+        public Object getAdaptedObject(Class<?> hint) {
+            return node;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.adcb.adapter.transform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.adcb.adapter.commons.ServiceMetadata;
+import org.adcb.adapter.transform.impl.CompiledTemplateService;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateServiceResolverTest {
+
+    private final FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+    private final CompiledTemplateService compiled = new CompiledTemplateService(freemarker);
+    private final TemplateServiceResolver resolver = new TemplateServiceResolver(freemarker, compiled);
+
+    @Test
+    void testResolve_defaultsToSubstitutionAndKeepsRawJsonFragments() throws Exception {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("orders");
+
+        TemplateService service = resolver.resolve(config);
+
+        assertSame(compiled.substitutionOnly(), service);
+        assertEquals("{\"items\": [1,2]}",
+                service.processInline("{\"items\": ${itemsJson}}", Map.of("itemsJson", "[1,2]"), "o.json"));
+    }
+
+    @Test
+    void testResolve_honoursExplicitEngine() {
+        ServiceMetadata config = new ServiceMetadata();
+        config.setServiceName("orders");
+
+        config.setTemplateEngine("compiled");
+        assertSame(compiled, resolver.resolve(config));
+        config.setTemplateEngine(TemplateServiceResolver.FREEMARKER);
+        assertSame(freemarker, resolver.resolve(config));
+        config.setTemplateEngine(TemplateServiceResolver.SUBSTITUTION);
+        assertSame(compiled.substitutionOnly(), resolver.resolve(config));
+        config.setTemplateEngine("velocity");
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(config));
+    }
+
+    @Test
+    void testResolve_defaultEngineRendersLikeFreemarker() throws Exception {
+        TemplateService substitution = resolver.resolve(new ServiceMetadata());
+        String template = "{\"name\": \"${customer.name}\", \"amount\": ${amount}, \"fee\": ${fee}, "
+                + "\"ref\": ${ref}, \"limit\": ${limit!250000}, \"note\": \"${note!\"a & <b>\"}\", "
+                + "\"rate\": ${customer.rate}}";
+        Map<String, Object> data = Map.of(
+                "customer", new ObjectMapper().readTree("{\"name\": \"O'Neil \\\"Jr\\\"\", \"rate\": 1234.56789}"),
+                "amount", 1234567.5,
+                "fee", new BigDecimal("0.50"),
+                "ref", 9876543210L);
+
+        String rendered = substitution.processInline(template, data, "payment.json");
+
+        assertEquals(freemarker.processInline(template, data, "payment.json"), rendered);
+        assertTrue(rendered.contains("O'Neil \"Jr\""), rendered);
+    }
+
+    @Test
+    void testResolve_defaultEngineDefersToFreemarkerForOtherValues() throws Exception {
+        TemplateService substitution = resolver.resolve(new ServiceMetadata());
+
+        Map<String, Object> bean = Map.of("day", LocalDate.of(2024, 3, 1));
+        assertEquals(freemarker.processInline("${day.year}", bean, "d.txt"),
+                substitution.processInline("${day.year}", bean, "d.txt"));
+        assertThrows(TemplateProcessingException.class,
+                () -> substitution.processInline("${vip}", Map.of("vip", true), "v.txt"));
+        assertThrows(TemplateProcessingException.class,
+                () -> freemarker.processInline("${vip}", Map.of("vip", true), "v.txt"));
+    }
+}
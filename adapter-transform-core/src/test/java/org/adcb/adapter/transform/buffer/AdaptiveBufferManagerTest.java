@@ -0,0 +1,52 @@
+package org.adcb.adapter.transform.buffer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBufferManagerTest {
+
+    private final AdaptiveBufferManager manager = new AdaptiveBufferManager();
+
+    @Test
+    void testExpectedRequestSize_followsRecordedSizesWithHeadroom() {
+        assertEquals(AdaptiveBufferManager.MIN_BUFFER_SIZE, manager.expectedRequestSize("orders"));
+
+        for (int i = 0; i < 50; i++) {
+            manager.recordRequestSize("orders", 40_000);
+        }
+        assertEquals(50_000, manager.expectedRequestSize("orders"));
+        assertEquals(AdaptiveBufferManager.MIN_BUFFER_SIZE, manager.expectedResponseSize("orders"));
+
+        DataBuffer buffer = manager.allocateRequestBuffer("orders");
+        assertTrue(buffer.capacity() >= 50_000);
+    }
+
+    @Test
+    void testExpectedSize_isClampedAndKeepsHalfOfRecentMax() {
+        manager.recordResponseSize("small", 10);
+        assertEquals(AdaptiveBufferManager.MIN_BUFFER_SIZE, manager.expectedResponseSize("small"));
+
+        manager.recordResponseSize("huge", Integer.MAX_VALUE);
+        assertEquals(AdaptiveBufferManager.MAX_BUFFER_SIZE, manager.expectedResponseSize("huge"));
+
+        // One outlier after a steady average keeps the buffer at half the outlier
+        for (int i = 0; i < 50; i++) {
+            manager.recordResponseSize("spiky", 1_000);
+        }
+        manager.recordResponseSize("spiky", 100_000);
+        assertEquals(50_000, manager.expectedResponseSize("spiky"));
+    }
+
+    @Test
+    void testReset_dropsServiceStatistics() {
+        manager.recordRequestSize("orders", 40_000);
+        manager.recordResponseSize("orders", 40_000);
+
+        manager.reset("orders");
+
+        assertEquals(AdaptiveBufferManager.MIN_BUFFER_SIZE, manager.expectedRequestSize("orders"));
+        assertEquals(AdaptiveBufferManager.MIN_BUFFER_SIZE, manager.expectedResponseSize("orders"));
+    }
+}
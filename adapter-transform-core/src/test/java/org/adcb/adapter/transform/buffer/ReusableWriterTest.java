@@ -0,0 +1,95 @@
+package org.adcb.adapter.transform.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReusableWriterTest {
+
+    @Test
+    void testAcquire_reusesThreadWriterAndHandsOutTemporaryWhenInUse() {
+        ReusableWriter first = ReusableWriter.acquire(16);
+        first.write("abc", 0, 3);
+        ReusableWriter nested = ReusableWriter.acquire(16);
+        nested.write('x');
+
+        assertNotSame(first, nested);
+        assertEquals("abc", first.toString());
+        assertEquals("x", nested.toString());
+        nested.release();
+        first.release();
+
+        ReusableWriter again = ReusableWriter.acquire(16);
+        try {
+            assertSame(first, again);
+            assertEquals(0, again.length());
+        } finally {
+            again.release();
+        }
+    }
+
+    @Test
+    void testRelease_dropsOversizedBuffer() {
+        ReusableWriter writer = ReusableWriter.acquire(1024 * 1024);
+        writer.write(new char[300 * 1024], 0, 300 * 1024);
+        writer.release();
+
+        ReusableWriter again = ReusableWriter.acquire(16);
+        try {
+            assertEquals(0, again.length());
+            again.append("ok");
+            assertEquals("ok", again.getContent().toString());
+        } finally {
+            again.release();
+        }
+    }
+
+    @Test
+    void testStreamWriter_encodesUtf8AndRetargetsPerUse() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ReusableStreamWriter writer = ReusableStreamWriter.acquire(first);
+        try {
+            writer.write("café 😀");
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        ReusableStreamWriter again = ReusableStreamWriter.acquire(second);
+        try {
+            assertSame(writer, again);
+            again.write("next");
+            again.flush();
+        } finally {
+            again.release();
+        }
+
+        assertEquals("café 😀", first.toString(StandardCharsets.UTF_8));
+        assertEquals("next", second.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStreamWriter_releaseDiscardsUnflushedOutput() throws IOException {
+        ByteArrayOutputStream failed = new ByteArrayOutputStream();
+        ReusableStreamWriter writer = ReusableStreamWriter.acquire(failed);
+        writer.write("partial");
+        writer.release();
+
+        ByteArrayOutputStream next = new ByteArrayOutputStream();
+        writer = ReusableStreamWriter.acquire(next);
+        try {
+            writer.write("clean");
+            writer.flush();
+        } finally {
+            writer.release();
+        }
+
+        assertEquals(0, failed.size());
+        assertEquals("clean", next.toString(StandardCharsets.UTF_8));
+    }
+}
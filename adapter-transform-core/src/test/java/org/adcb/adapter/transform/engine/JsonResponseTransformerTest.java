@@ -0,0 +1,40 @@
+package org.adcb.adapter.transform.engine;
+
+import com.jayway.jsonpath.DocumentContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonResponseTransformerTest {
+
+    private final JsonResponseTransformer transformer = new JsonResponseTransformer();
+
+    @Test
+    void testExtractFields_readsManyPathsFromOneParse() {
+        DocumentContext document = transformer.parse(
+                "{\"profile\":{\"contact\":{\"email\":\"a@b.c\"},\"age\":30},\"tags\":[\"x\",\"y\"]}");
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put("email", "$.profile.contact.email");
+        paths.put("age", "$.profile.age");
+        paths.put("tags", "$.tags");
+        paths.put("missing", "$.profile.phone");
+
+        Map<String, Object> result = transformer.extractFields(document, paths);
+
+        assertEquals("a@b.c", result.get("email"));
+        assertEquals(30, result.get("age"));
+        assertEquals(List.of("x", "y"), result.get("tags"));
+        assertTrue(result.containsKey("missing"));
+        assertNull(result.get("missing"));
+    }
+
+    @Test
+    void testExtractField_returnsPlainJavaValues() {
+        assertEquals(Map.of("email", "a@b.c"),
+                transformer.extractField("{\"contact\":{\"email\":\"a@b.c\"}}", "$.contact"));
+    }
+}
@@ -0,0 +1,48 @@
+package org.adcb.adapter.transform.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTemplateEngineTest {
+
+    @Test
+    void testRender_concurrentTemplatesDoNotMix() throws Exception {
+        RequestTemplateEngine engine = new RequestTemplateEngine();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int n = i % 10;
+                results.add(pool.submit(() ->
+                        engine.render("{\"t" + n + "\": \"${v}\"}", Map.of("v", n))
+                                .equals("{\"t" + n + "\": \"" + n + "\"}")));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(10, engine.cachedTemplateCount());
+    }
+
+    @Test
+    void testRender_evictsBeyondBound() throws Exception {
+        RequestTemplateEngine engine = new RequestTemplateEngine(2);
+
+        engine.render("a${x}", Map.of("x", 1));
+        engine.render("b${x}", Map.of("x", 1));
+        engine.render("c${x}", Map.of("x", 1));
+
+        assertEquals(2, engine.cachedTemplateCount());
+        assertEquals("a1", engine.render("a${x}", Map.of("x", 1)));
+    }
+}
@@ -0,0 +1,39 @@
+package org.adcb.adapter.transform.engine;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlResponseTransformerTest {
+
+    private static final String SOAP_RESPONSE = """
+            <soap:Envelope xmlns:soap="http://schemas.xmlsoap.org/soap/envelope/">
+              <soap:Body>
+                <GetUserResponse xmlns="urn:users">
+                  <header><returnCode>0</returnCode><errorDetail/></header>
+                  <user id="7"><name>Ann</name><role>admin</role><role>ops</role></user>
+                </GetUserResponse>
+              </soap:Body>
+            </soap:Envelope>
+            """;
+
+    private final XmlResponseTransformer transformer = new XmlResponseTransformer();
+
+    @Test
+    void testToJsonMap_documentMatchesStringConversion() throws Exception {
+        Document document = transformer.parse(SOAP_RESPONSE);
+
+        assertEquals(transformer.toJsonMap(SOAP_RESPONSE), transformer.toJsonMap(document));
+    }
+
+    @Test
+    void testExtractField_reusesParsedDocument() throws Exception {
+        Document document = transformer.parse(SOAP_RESPONSE);
+
+        assertEquals("0", transformer.extractField(document, "//returnCode"));
+        assertEquals("Ann", transformer.extractField(document, "//user/name"));
+        assertEquals("0", transformer.extractField(document, "//returnCode"));
+        assertNull(transformer.extractField(document, null));
+    }
+}
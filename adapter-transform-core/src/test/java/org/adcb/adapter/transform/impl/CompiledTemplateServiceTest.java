@@ -0,0 +1,120 @@
+package org.adcb.adapter.transform.impl;
+
+import org.adcb.adapter.commons.context.RequestContext;
+import org.adcb.adapter.transform.compiled.TemplateCompiler;
+import org.adcb.adapter.transform.compiled.UnsupportedTemplateSyntaxException;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateServiceTest {
+
+    private CompiledTemplateService service;
+
+    @BeforeEach
+    void setup() {
+        service = new CompiledTemplateService(new FreemarkerTemplateService());
+    }
+
+    @Test
+    void testProcessInline_substitutesAndEscapesJson() throws Exception {
+        String template = "{\"amount\": \"${amount}\", \"note\": \"${customer.note}\", \"ccy\": \"${currency!\"AED\"}\"}";
+
+        String result = service.processInline(template,
+                Map.of("amount", 125, "customer", Map.of("note", "say \"hi\"\n")), "payment.json");
+
+        assertEquals("{\"amount\": \"125\", \"note\": \"say \\\"hi\\\"\\n\", \"ccy\": \"AED\"}", result);
+    }
+
+    @Test
+    void testProcessInline_escapesXml() throws Exception {
+        String result = service.processInline("<name>${name}</name>", Map.of("name", "A&B <C>"), "request.xml");
+
+        assertEquals("<name>A&amp;B &lt;C&gt;</name>", result);
+    }
+
+    @Test
+    void testProcessInline_evaluatesConditionals() throws Exception {
+        String template = "{<#if email??>\"email\": \"${email}\"<#else>\"email\": null</#if>"
+                + "<#-- optional block --><#if !vip>,\"tier\": \"std\"</#if>}";
+
+        assertEquals("{\"email\": \"a@b.c\",\"tier\": \"std\"}",
+                service.processInline(template, Map.of("email", "a@b.c", "vip", false), "c.json"));
+        assertEquals("{\"email\": null}",
+                service.processInline(template, Map.of("vip", true), "c.json"));
+    }
+
+    @Test
+    void testProcessInline_fallsBackToFreemarkerForUnsupportedSyntax() throws Exception {
+        String template = "[<#list items as i>${i}<#sep>,</#list>]";
+
+        assertThrows(UnsupportedTemplateSyntaxException.class, () -> TemplateCompiler.compile("list.json", template));
+        assertEquals("[a,b]", service.processInline(template, Map.of("items", List.of("a", "b")), "list.json"));
+    }
+
+    @Test
+    void testProcessInline_missingValueFails() {
+        assertThrows(TemplateProcessingException.class,
+                () -> service.processInline("${missing}", Map.of(), "m.json"));
+    }
+
+    @Test
+    void testSubstitutionOnly_rendersNestedSlotsAndDefaults() throws Exception {
+        String result = service.substitutionOnly().processInline(
+                "{\"id\": \"${customer.id}\", \"ccy\": \"${currency!\"AED\"}\"}",
+                Map.of("customer", Map.of("id", "C1")), "simple.json");
+
+        assertEquals("{\"id\": \"C1\", \"ccy\": \"AED\"}", result);
+    }
+
+    @Test
+    void testProcessInline_systemVariablesMatchFreemarker() throws Exception {
+        FreemarkerTemplateService freemarker = new FreemarkerTemplateService();
+        String template = "${systemName}/${version}/${correlationId}";
+        RequestContext previous = RequestContext.resolve("corr-9", null).bind();
+        try {
+            String compiled = service.processInline(template, Map.of(), "sys.txt");
+            assertEquals("ADCB_ADAPTER/1.0/corr-9", compiled);
+            assertEquals(freemarker.processInline(template, Map.of(), "sys.txt"), compiled);
+        } finally {
+            RequestContext.restore(previous);
+        }
+    }
+
+    @Test
+    void testProcessInline_conditionsRequireBooleansLikeFreemarker() {
+        String template = "<#if vip>V</#if>";
+
+        assertThrows(TemplateProcessingException.class,
+                () -> service.processInline(template, Map.of("vip", "true"), "c.txt"));
+        assertThrows(TemplateProcessingException.class,
+                () -> service.processInline(template, Map.of(), "c.txt"));
+    }
+
+    @Test
+    void testProcessInline_numbersRenderWithoutLocaleGrouping() throws Exception {
+        // Documented difference: Freemarker's default number_format groups digits by locale
+        String compiled = service.processInline("${n}", Map.of("n", 1234567), "n.txt");
+        String freemarker = new FreemarkerTemplateService().processInline("${n}", Map.of("n", 1234567), "n.txt");
+
+        assertEquals("1234567", compiled);
+        assertNotEquals(compiled, freemarker);
+    }
+
+    @Test
+    void testProcessInline_keepsOnlyRecentlyUsedInlineTemplates() throws Exception {
+        for (int i = 0; i < CompiledTemplateService.MAX_CACHED_INLINE_TEMPLATES + 50; i++) {
+            service.processInline("{\"n\": \"${n}\"}", Map.of("n", i), "inline-" + i + ".json");
+        }
+
+        assertEquals(CompiledTemplateService.MAX_CACHED_INLINE_TEMPLATES, service.cachedInlineTemplateCount());
+        assertEquals("{\"n\": \"7\"}", service.processInline("{\"n\": \"${n}\"}", Map.of("n", 7), "inline-0.json"));
+        service.clearCache();
+        assertEquals(0, service.cachedInlineTemplateCount());
+    }
+}
@@ -0,0 +1,22 @@
+package org.adcb.adapter.transform.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreemarkerTemplateServiceTest {
+
+    @Test
+    void testSizeBucket_roundsUpWithBoundedHeadroom() {
+        assertEquals(1024, FreemarkerTemplateService.sizeBucket(0));
+        assertEquals(1024, FreemarkerTemplateService.sizeBucket(1023));
+        assertEquals(1152, FreemarkerTemplateService.sizeBucket(1024));
+        assertEquals(1152, FreemarkerTemplateService.sizeBucket(1100));
+        // Nearby sizes share a bucket, so steady renders never rewrite the size map
+        assertEquals(FreemarkerTemplateService.sizeBucket(40_100), FreemarkerTemplateService.sizeBucket(40_900));
+        for (int size : new int[]{1024, 5_000, 40_000, 1_000_000}) {
+            int bucket = FreemarkerTemplateService.sizeBucket(size);
+            assertTrue(bucket > size && bucket <= size + (size >> 3), "bucket " + bucket + " for " + size);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.adcb.adapter.transform.mapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.adcb.adapter.transform.exception.TemplateProcessingException;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseMappingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testApply_mapsJsonTreeWithTypesAndDefaults() throws Exception {
+        ResponseMapping mapping = ResponseMappingCompiler.compile("payment", """
+                {
+                  "transactionId": "$.paymentId",
+                  "amount": { "path": "$.amount.value", "type": "DECIMAL" },
+                  "status": { "path": "$.status", "default": "UNKNOWN" },
+                  "customer": { "id": { "path": "$.customer.id", "type": "STRING" }, "tags": "$.customer.tags" }
+                }
+                """);
+
+        Map<String, Object> result = mapping.apply(objectMapper.readTree(
+                "{\"paymentId\":\"P-1\",\"amount\":{\"value\":\"12.50\"},\"customer\":{\"id\":42,\"tags\":[\"a\",\"b\"]}}"));
+
+        assertEquals("P-1", result.get("transactionId"));
+        assertEquals(new BigDecimal("12.50"), result.get("amount"));
+        assertEquals("UNKNOWN", result.get("status"));
+        assertEquals(Map.of("id", "42", "tags", List.of("a", "b")), result.get("customer"));
+    }
+
+    @Test
+    void testApply_mapsParsedMap() throws Exception {
+        ResponseMapping mapping = ResponseMappingCompiler.compile("m",
+                "{\"code\": {\"path\": \"$.header.returnCode\", \"type\": \"INTEGER\"}}");
+
+        assertEquals(Map.of("code", 0), mapping.apply(Map.of("header", Map.of("returnCode", "0"))));
+    }
+
+    @Test
+    void testApply_mapsDomWithXPath() throws Exception {
+        ResponseMapping mapping = ResponseMappingCompiler.compile("soap",
+                "{\"name\": \"//user/name\", \"active\": {\"path\": \"//user/@active\", \"type\": \"BOOLEAN\"}}");
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader("<r><user active=\"true\"><name>Ann</name></user></r>")));
+
+        Map<String, Object> result = mapping.apply(document);
+
+        assertEquals("Ann", result.get("name"));
+        assertEquals(Boolean.TRUE, result.get("active"));
+        assertEquals(ResponseMapping.SourceType.XML, mapping.getSourceType());
+    }
+
+    @Test
+    void testCompile_rejectsMixedPathKinds() {
+        assertThrows(TemplateProcessingException.class,
+                () -> ResponseMappingCompiler.compile("mixed", "{\"a\": \"$.a\", \"b\": \"//b\"}"));
+    }
+}
@@ -0,0 +1,58 @@
+package org.adcb.adapter.transform.tree;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.adcb.adapter.transform.impl.FreemarkerTemplateService;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonNodeObjectWrapperTest {
+
+    private final FreemarkerTemplateService templateService = new FreemarkerTemplateService();
+
+    @Test
+    void testProcessInline_readsJsonTreeDirectly() throws Exception {
+        ObjectNode response = (ObjectNode) new ObjectMapper().readTree(
+                "{\"user\":{\"name\":\"Ann\",\"age\":30,\"vip\":true,\"email\":null},\"roles\":[\"admin\",\"ops\"]}");
+        String template = "${user.name}|${user.age}|<#if user.vip>vip</#if>|${user.email!\"none\"}|"
+                + "<#list roles as r>${r}<#sep>,</#list>|${roles?size}|<#list user?keys as k>${k} </#list>";
+
+        String result = templateService.processInline(template, new JsonNodeMap(response), "tree.json");
+
+        assertEquals("Ann|30|vip|none|admin,ops|2|name age vip email ", result);
+    }
+
+    @Test
+    void testProcessInline_iteratesPairsValuesAndNestedArrays() throws Exception {
+        ObjectNode response = (ObjectNode) new ObjectMapper().readTree(
+                "{\"totals\":{\"debit\":12.5,\"credit\":3},\"rows\":[{\"id\":1},{\"id\":2}],\"flag\":false}");
+        String template = "<#list totals as k, v>${k}=${v?c};</#list>|<#list totals?values as v>${v?c} </#list>|"
+                + "<#list rows as row>${row.id}</#list>|${rows[0].id}|${(rows[5].id)!\"none\"}|"
+                + "<#if !flag>off</#if>|${missing!\"absent\"}";
+
+        String result = templateService.processInline(template, new JsonNodeMap(response), "pairs.json");
+
+        assertEquals("debit=12.5;credit=3;|12.5 3 |12|1|none|off|absent", result);
+    }
+
+    @Test
+    void testJsonNodeMap_viewsObjectNodeWithoutCopying() throws Exception {
+        ObjectNode response = (ObjectNode) new ObjectMapper().readTree("{\"a\":\"x\",\"b\":null,\"c\":[1]}");
+        JsonNodeMap map = new JsonNodeMap(response);
+
+        Map<String, Object> copy = new LinkedHashMap<>(map);
+
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("d"));
+        assertNull(map.get(1));
+        assertSame(response.get("c"), map.get("c"));
+        assertEquals(List.of("a", "b", "c"), List.copyOf(copy.keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("d", "y"));
+    }
+}